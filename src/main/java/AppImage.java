@@ -131,17 +131,17 @@ public final class AppImage extends JPanel {
             return;
         } // end if
 
-        int theScalingAlgorithm = Image.SCALE_SMOOTH;
-        if (theFactor > 1.0) theScalingAlgorithm = Image.SCALE_FAST;
+        int theWidth = (int) ((double) imageWidth * theFactor);
+        int theHeight = (int) ((double) imageHeight * theFactor);
+        if (theWidth <= 0 || theHeight <= 0) return; // Not enough room to show anything.
 
         // A smooth scale is needed more for shrinking than enlarging.
         // Also, it can take a lot more time when enlarging.
         // MemoryBank.debug("AppImage - scaleImage factor = " + theFactor);
 
-        theScaledImage = theImage.getScaledInstance(
-                (int) ((double) imageWidth * theFactor),
-                (int) ((double) imageHeight * theFactor),
-                theScalingAlgorithm);
+        // An icon image from the IconImageCache will be scaled there, and kept for the next
+        //   time that the same icon is shown at the same size.
+        theScaledImage = IconImageCache.getScaledImage(theImage, theWidth, theHeight);
 
         // MemoryBank.debug("Free Memory: " + Runtime.getRuntime().freeMemory());
         repaint();
@@ -0,0 +1,187 @@
+// AppTasks is where the background work of the app gets done, in place of a new Thread for every job.  Each
+//   task is submitted with a TaskType, and each type has its own pool, with a limit on how many of its tasks
+//   can run at once.  The pools are made when first needed; their threads are daemons, named for the type
+//   (so they can be told apart in a thread dump), and an idle thread goes away after a while.
+//
+// Every submit returns a Future, and a task can be cancelled with that; if it has already started then it is
+//   interrupted, and it is up to the task to notice.  For work whose result is needed on the EDT there is a
+//   submit that hands the result over when the work is done, unless the task was cancelled before then.
+//
+// The run times of the tasks are kept by type, as a count for each range of times along with the total and
+//   the longest; see getReport.  A task that throws is counted (and reported on the console) as a failure.
+// The source level of this project predates virtual threads, so these are pooled platform threads.
+
+import javax.swing.*;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+class AppTasks {
+    static final long[] TIME_LIMITS = {10, 50, 100, 500, 1000, 5000}; // milliseconds; the upper end of each range.
+    private static final long IDLE_SECONDS = 30;
+
+    private static final Map<TaskType, ThreadPoolExecutor> thePools = new EnumMap<>(TaskType.class);
+    private static final Map<TaskType, TaskTimes> theTimes = new EnumMap<>(TaskType.class);
+
+    private AppTasks() { } // All static; no instances needed.
+
+
+    // The run times of one type of task.
+    static class TaskTimes {
+        private final long[] counts = new long[TIME_LIMITS.length + 1]; // The last one is for anything longer.
+        private long count;
+        private long failures;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized long getCount() {
+            return count;
+        }
+
+        // A copy; one count for each of the TIME_LIMITS, then one for the longer ones.
+        synchronized long[] getCounts() {
+            return counts.clone();
+        }
+
+        synchronized long getFailures() {
+            return failures;
+        }
+
+        synchronized String getSummary() {
+            StringBuilder theSummary = new StringBuilder();
+            theSummary.append(count).append(" run");
+            if (failures > 0) theSummary.append(", ").append(failures).append(" failed");
+            if (count > 0) {
+                theSummary.append(", avg ").append(totalNanos / count / 1000000).append(" ms");
+                theSummary.append(", max ").append(maxNanos / 1000000).append(" ms;");
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) continue;
+                    if (i < TIME_LIMITS.length) theSummary.append("  <").append(TIME_LIMITS[i]);
+                    else theSummary.append("  >=").append(TIME_LIMITS[TIME_LIMITS.length - 1]);
+                    theSummary.append(": ").append(counts[i]);
+                }
+            }
+            return theSummary.toString();
+        }
+
+        synchronized void record(long theNanos, boolean failed) {
+            long theMillis = theNanos / 1000000;
+            int i = 0;
+            while (i < TIME_LIMITS.length && theMillis >= TIME_LIMITS[i]) i++;
+            counts[i]++;
+            count++;
+            if (failed) failures++;
+            totalNanos += theNanos;
+            maxNanos = Math.max(maxNanos, theNanos);
+        }
+    } // end class TaskTimes
+
+
+    // A task that hands its result to the EDT when it is done.
+    private static class EdtTask<T> extends FutureTask<T> {
+        private final Consumer<T> whenDone;
+
+        EdtTask(Callable<T> theWork, Consumer<T> whenDone) {
+            super(theWork);
+            this.whenDone = whenDone;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) return;
+            T theResult;
+            try {
+                theResult = get();
+            } catch (InterruptedException | ExecutionException e) {
+                return; // It failed; that has already been reported.
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (!isCancelled()) whenDone.accept(theResult);
+            });
+        }
+    } // end class EdtTask
+
+
+    private static synchronized ThreadPoolExecutor getPool(TaskType taskType) {
+        ThreadPoolExecutor thePool = thePools.get(taskType);
+        if (thePool == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            thePool = new ThreadPoolExecutor(taskType.maxThreads, taskType.maxThreads,
+                    IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), theRunnable -> {
+                Thread theThread = new Thread(theRunnable, taskType + " " + threadNumber.incrementAndGet());
+                theThread.setDaemon(true); // The shutdown hook does the saving; these should not hold up the exit.
+                return theThread;
+            });
+            thePool.allowCoreThreadTimeOut(true);
+            thePools.put(taskType, thePool);
+        }
+        return thePool;
+    } // end getPool
+
+
+    // A multi-line summary of the run times, for each type of task that has run.
+    static String getReport() {
+        StringBuilder theReport = new StringBuilder();
+        for (TaskType taskType : TaskType.values()) {
+            TaskTimes taskTimes;
+            synchronized (AppTasks.class) {
+                taskTimes = theTimes.get(taskType);
+            }
+            if (taskTimes == null) continue;
+            theReport.append(taskType).append(":  ").append(taskTimes.getSummary()).append("\n");
+        }
+        return theReport.toString();
+    } // end getReport
+
+
+    static synchronized TaskTimes getTimes(TaskType taskType) {
+        return theTimes.computeIfAbsent(taskType, k -> new TaskTimes());
+    }
+
+
+    // Run the code on the EDT; right now if this is the EDT, otherwise as soon as the EDT gets to it.
+    static void onEdt(Runnable theCode) {
+        if (SwingUtilities.isEventDispatchThread()) theCode.run();
+        else SwingUtilities.invokeLater(theCode);
+    }
+
+
+    static Future<?> submit(TaskType taskType, Runnable theTask) {
+        FutureTask<Object> theFuture = new FutureTask<>(() -> timed(taskType, () -> {
+            theTask.run();
+            return null;
+        }));
+        getPool(taskType).execute(theFuture);
+        return theFuture;
+    } // end submit
+
+
+    // Do the work in the background, then give its result to whenDone on the EDT.  If the task is cancelled
+    //   (or the work throws) then whenDone is not called.
+    static <T> Future<T> submit(TaskType taskType, Supplier<T> theWork, Consumer<T> whenDone) {
+        EdtTask<T> theFuture = new EdtTask<>(() -> timed(taskType, theWork::get), whenDone);
+        getPool(taskType).execute(theFuture);
+        return theFuture;
+    } // end submit
+
+
+    private static <T> T timed(TaskType taskType, Callable<T> theWork) throws Exception {
+        long theStart = System.nanoTime();
+        boolean failed = true;
+        try {
+            T theResult = theWork.call();
+            failed = false;
+            return theResult;
+        } catch (Throwable e) { // Errors too; the Future would otherwise keep them to itself.
+            System.out.println("Error - a " + taskType + " task failed: " + e.getMessage());
+            e.printStackTrace(System.out);
+            throw e;
+        } finally {
+            getTimes(taskType).record(System.nanoTime() - theStart, failed);
+        }
+    } // end timed
+
+} // end class AppTasks
@@ -4,9 +4,8 @@
 // Quick-reference notes:
 // 
 // MenuBar events        - actionPerformed() --> handleMenuBar().
-// Tree Selection events - valueChanged() --> treeSelectionChanged() in a new thread.
+// Tree Selection events - valueChanged() --> treeSelectionChanged() in a background task (see AppTasks).
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import org.apache.commons.io.FileUtils;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -63,6 +62,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
     JDialog theEventsDialog;
     private NoteGroupPanel theNoteGroupPanel; // A reference to the current selection
     private NoteGroupPanel deletedNoteGroupPanel;
+    private final NoteGroupLoader theGroupLoader = new NoteGroupLoader(); // For groups that load in the background.
     DayNoteGroupPanel theAppDays;
     MonthNoteGroupPanel theAppMonths;
     YearNoteGroupPanel theAppYears;
@@ -98,6 +98,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
 
     boolean restoringPreviousSelection;
     boolean searching;
+    private SearchMonitor activeSearch; // The search that is running now, if any.
 
     public AppTreePanel(@NotNull JFrame aFrame, AppOptions appOpts) {
         super(new GridLayout(1, 0));
@@ -133,13 +134,13 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
 
         //---------------------------------------------------
         // Create the menubar handler, but fire it from a
-        //   thread so we can quickly return and then if
+        //   background task so we can quickly return and then if
         //   any of those items need to show the 'Working...'
         //   dialog, they will be able to.
         //---------------------------------------------------
         ActionListener al = ae -> {
             final String what = ae.getActionCommand();
-            new Thread(() -> handleMenuBar(what)).start(); // Start the thread
+            AppTasks.submit(TaskType.MENU_ACTION, () -> handleMenuBar(what));
         };
         appMenuBar.addHandler(al); // Add the above handler to all menu items.
         //---------------------------------------------------------
@@ -715,6 +716,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
         if (choice == JOptionPane.OK_OPTION) {
             System.out.println("\nCreating an archive: \n");
             preClose(); // Preserve all changes across all open Panels.
+            NoteGroupSaveQueue.flush(); // The archive is a copy of the files, so they need to be written first.
             MemoryBank.dataAccessor.saveAppOptions();
 
             // Preserve the current tree selection
@@ -772,15 +774,21 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
     }
 
     // The 'real' search is done by a DataAccessor, based on the settings that
-    //   it gets from the SearchPanel (SearchPanelSettings).  This method calls
-    //   for the search to be done, makes a name for it, and then saves the results.
-    //   Finally, it makes a new selection tree leaf under 'Search Results', and
-    //   selects that leaf for display.
+    //   it gets from the SearchPanel (SearchPanelSettings), compiled into a SearchPredicate.  This method makes
+    //   a name for the search and saves its (so far empty) results, then makes a new selection tree leaf under
+    //   'Search Results' and selects that leaf for display.  The search itself runs on its own thread, and the
+    //   results are added to the display as they are found; the user can stop it from there.  When it is done
+    //   (even if it failed) the results are saved again, and 'searching' goes back to false.
+    // Only one search runs at a time; a new one stops the one before it, which then finishes as 'stopped'.
+    //   Until a search is done, its results Panel is pinned in the keeper so that it cannot be let go.
     void doSearch(SearchPanel searchPanel) {
+        if (activeSearch != null) activeSearch.stop();
+        searching = true;
+
         // We will display the results of the search, even if it finds nothing.
         SearchPanelSettings searchPanelSettings = searchPanel.getSettings();
         MemoryBank.debug("Running a Search with these settings: " + AppUtil.toJsonString(searchPanelSettings));
-        Vector<NoteData> foundDataVector = MemoryBank.dataAccessor.scanData(searchPanel);
+        SearchPredicate searchPredicate = new SearchPredicate(searchPanelSettings);
 
         // Make a unique name for the results
         String resultsName = searchPanelSettings.determineSearchResultsName();
@@ -789,20 +797,45 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
         SearchResultGroup theResultsGroup = new SearchResultGroup(new GroupInfo(resultsName, GroupType.SEARCH_RESULTS));
         SearchResultGroupProperties searchResultGroupProperties = (SearchResultGroupProperties) theResultsGroup.getGroupProperties();
         searchResultGroupProperties.setSearchSettings(searchPanelSettings);
-        System.out.println("Search performed at " + NoteGroupFile.getTimestamp() + " results: " + foundDataVector.size());
-        theResultsGroup.setNotes(foundDataVector);
+        theResultsGroup.setNotes(new Vector<NoteData>());
 
-        // Save the search settings and results.
-        // We will do a save even if nothing was found, because what was
+        // Save the search settings.
+        // We will do a save even if nothing is found, because what was
         //   searched for, and when, is just as important.
         theResultsGroup.saveNoteGroup();
 
-        // After-actions needed by prepareSearch
-        searching = false;
-        showWorkingDialog(false);
+        // Make the Panel that will show the results as they come in, and keep it so that it will be
+        //   the one that is shown when the new tree node is selected (not one from an earlier search
+        //   that had the same name).
+        theSearchResultsKeeper.remove(resultsName);
+        SearchResultGroupPanel theResultsPanel = new SearchResultGroupPanel(resultsName);
+        theSearchResultsKeeper.pin(theResultsPanel);
+        theSearchResultsKeeper.add(theResultsPanel);
+        SearchMonitor searchMonitor = new SearchMonitor(theFindings ->
+                SwingUtilities.invokeLater(() -> theResultsPanel.addResults(theFindings)));
+        theResultsPanel.searchStarted(searchMonitor);
+        activeSearch = searchMonitor;
 
         // Make (and select) a new tree node for these results.
         addSearchResultToBranch(resultsName);
+
+        AppTasks.submit(TaskType.SEARCH, () -> {
+            try {
+                Vector<NoteData> foundDataVector = MemoryBank.dataAccessor.scanData(searchPredicate, searchMonitor);
+                MemoryBank.debug("Search performed at " + NoteGroupFile.getTimestamp() + " results: " + foundDataVector.size()
+                        + (searchMonitor.isStopped() ? " (stopped)" : ""));
+            } finally {
+                // This goes onto the EDT after all the results that were handed over; they will be in by then.
+                SwingUtilities.invokeLater(() -> {
+                    theResultsPanel.searchFinished();
+                    theSearchResultsKeeper.unpin(theResultsPanel);
+                    if (activeSearch == searchMonitor) {
+                        activeSearch = null;
+                        searching = false; // After-actions needed by prepareSearch
+                    }
+                });
+            }
+        });
     } // end doSearch
 
 
@@ -841,14 +874,13 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
             // Then we can look at merging any possible child nodes into the CV group.
             theNodeName = eventNode.toString();
             GroupInfo theGroupInfo = new GroupInfo(theNodeName, GroupType.EVENTS);
+            BaseData.startLoading(); // We don't want to affect the lastModDates!
             Object[] theData = MemoryBank.dataAccessor.getNoteGroupDataAccessor(theGroupInfo).loadNoteGroupData();
+            BaseData.endLoading(); // Restore normal lastModDate updating.
             System.out.println("Data Length: " + theData.length);
 
-            BaseData.loading = true; // We don't want to affect the lastModDates!
-            Object vectorObject = theData[theData.length - 1]; // The Data has two Objects; properties and a Vector.
-            groupDataVector = AppUtil.mapper.convertValue(vectorObject, new TypeReference<Vector<EventNoteData>>() {
-            });
-            BaseData.loading = false; // Restore normal lastModDate updating.
+            // The Data has two Objects; properties and a Vector that was loaded as EventNoteData.
+            groupDataVector = (Vector) theData[theData.length - 1];
 
             if (theUniqueSet == null) {
                 theUniqueSet = new LinkedHashSet<>(groupDataVector);
@@ -1144,7 +1176,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
                 string1); //the title of the default button
 
         if (choice != JOptionPane.OK_OPTION) {
-            searching = false;
+            searching = activeSearch != null; // An earlier search may still be running.
             return;
         }
 
@@ -1153,16 +1185,14 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
                     " No location to search was chosen!",
                     "Search conditions specification error",
                     JOptionPane.ERROR_MESSAGE);
-            searching = false;
+            searching = activeSearch != null;
             return;
         } // end if no search location was specified.
 
         // Make sure that the most recent changes, if any, will be included in the search.
         preClose(); // Preserve all changes across all open Panels.
 
-        theWorkingDialog.setLocationRelativeTo(rightPane); // This can be needed if windowed app has moved from center screen.
-        showWorkingDialog(true); // Show the 'Working...' dialog; it's in a separate thread so we can keep going here...
-
+        // No 'Working...' dialog here; the results are shown as they are found, and the search can be stopped.
         doSearch(searchPanel);
     } // end prepareSearch
 
@@ -1833,7 +1863,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
         jTextArea.append(aLine);
         jTextArea.append("\n"); // Spacer
 
-        aLine = "\ntheGoalsKeeper: " + keptGoals + "\n";
+        aLine = "\ntheGoalsKeeper: " + keptGoals + "  (" + theGoalsKeeper.getStats() + ")\n";
         jTextArea.append(aLine);
         theNames = theGoalsKeeper.getNames();
         for (Object anObject : theNames) {
@@ -1841,7 +1871,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
             jTextArea.append(aLine);
         }
 
-        aLine = "\ntheEventListKeeper: " + keptEvents + "\n";
+        aLine = "\ntheEventListKeeper: " + keptEvents + "  (" + theEventListKeeper.getStats() + ")\n";
         jTextArea.append(aLine);
         theNames = theEventListKeeper.getNames();
         for (Object anObject : theNames) {
@@ -1849,7 +1879,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
             jTextArea.append(aLine);
         }
 
-        aLine = "\ntheTodoListKeeper: " + keptTodoLists + "\n";
+        aLine = "\ntheTodoListKeeper: " + keptTodoLists + "  (" + theTodoListKeeper.getStats() + ")\n";
         jTextArea.append(aLine);
         theNames = theTodoListKeeper.getNames();
         for (Object anObject : theNames) {
@@ -1857,7 +1887,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
             jTextArea.append(aLine);
         }
 
-        aLine = "\ntheSearchResultsKeeper: " + keptSearches + "\n";
+        aLine = "\ntheSearchResultsKeeper: " + keptSearches + "  (" + theSearchResultsKeeper.getStats() + ")\n";
         jTextArea.append(aLine);
         theNames = theSearchResultsKeeper.getNames();
         for (Object anObject : theNames) {
@@ -1865,12 +1895,48 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
             jTextArea.append(aLine);
         }
 
+        // Not keepers, but this is where the developer goes to see what is being held and how long things take.
+        jTextArea.append("\nBackground tasks (run times in ms):\n");
+        jTextArea.append(AppTasks.getReport());
+
         jScrollPane.setViewportView(jTextArea);
         jScrollPane.setPreferredSize(new Dimension(600, 500));
         theMessage = jScrollPane;
         optionPane.showMessageDialog(this, theMessage, "Viewing NoteGroup Keepers", PLAIN_MESSAGE);
     }
 
+    // Show a placeholder for a group that is not in its keeper, while its data is loaded in the background.  When
+    //   the data is ready its Panel is made (on the EDT), kept, and shown - unless the selection has changed by
+    //   then.  Restored selections do not come here; they are loaded directly, as before.
+    private void loadGroupLater(GroupInfo groupInfo, NoteGroupPanelKeeper theKeeper, String menuContext) {
+        TreePath thePath = theTree.getSelectionPath();
+        JPanel thePlaceholder = new JPanel(new GridBagLayout());
+        thePlaceholder.add(new JLabel("Loading " + groupInfo.getGroupName() + " ..."));
+        rightPane.setViewportView(thePlaceholder);
+
+        theGroupLoader.load(groupInfo, theNoteGroup -> {
+            if (thePath == null || !thePath.equals(theTree.getSelectionPath())) return; // The user has moved on.
+
+            NoteGroupPanel thePanel = GroupPanelFactory.makeNoteGroupPanel(theNoteGroup);
+            if (thePanel == null) { // The data is not there; same as when the direct load does not find it.
+                JOptionPane.showMessageDialog(this,
+                        "Cannot read in '" + groupInfo.getGroupName() + "'.\n" +
+                                "This selection will be removed.",
+                        "Group not accessible", JOptionPane.WARNING_MESSAGE);
+                closeGroup(); // Group is already gone; this just removes the tree node.
+                return;
+            }
+
+            log.debug("Loaded " + groupInfo.getGroupName() + " from the data repository");
+            theKeeper.add(thePanel);
+            if (groupInfo.groupType == GroupType.SEARCH_RESULTS) thePanel.treePanel = this;
+            theNoteGroupPanel = thePanel;
+            rightPane.setViewportView(thePanel.theBasePanel);
+            appMenuBar.manageMenus(menuContext);
+            thePanel.adjustMenuItems(thePanel.myNoteGroup.groupChanged);
+        });
+    } // end loadGroupLater
+
     // Called from YearView - a click on a Month name
     @Override
     public void showMonthView() {
@@ -1889,6 +1955,10 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
 
         // Otherwise load it, but only if a file for it already exists.
         if (dateTimeNoteGroupPanel == null) {
+            if (!restoringPreviousSelection) { // Load it in the background, and show it when it is ready.
+                loadGroupLater(new GroupInfo(theNodeString, GroupType.NOTES), theNotesKeeper, menuContext);
+                return "No Selection";
+            }
             dateTimeNoteGroupPanel = (DateTimeNoteGroupPanel) GroupPanelFactory.loadNoteGroupPanel(DataArea.NOTES.toString(), theNodeString);
             if (dateTimeNoteGroupPanel != null) {
                 MemoryBank.debug("Loaded " + theNodeString + " from filesystem");
@@ -1955,6 +2025,10 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
 
         // Otherwise load it, but only if a file for it already exists.
         if (todoNoteGroup == null) {
+            if (!restoringPreviousSelection) { // Load it in the background, and show it when it is ready.
+                loadGroupLater(new GroupInfo(theNodeString, GroupType.TODO_LIST), theTodoListKeeper, menuContext);
+                return "No Selection";
+            }
             todoNoteGroup = (TodoNoteGroupPanel) GroupPanelFactory.loadNoteGroupPanel(DataArea.TODO_LISTS.toString(), theNodeString);
             if (todoNoteGroup != null) {
                 log.debug("Loaded " + theNodeString + " from filesystem");
@@ -2024,18 +2098,13 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
             theWorkingDialog.setLocationRelativeTo(theInstance); // In case the app has been moved around.
             //new Exception("Test tracing").printStackTrace(); // Helpful in finding which tests left this up.
 
-            // Create a new thread and setVisible within the thread.
-            new Thread(() -> theWorkingDialog.setVisible(true)).start(); // Start the thread so that the dialog will show.
+            // The dialog is modal, so setVisible will not return until it is hidden.  It is done as a later
+            //   event on the EDT, which goes on handling events (including the hide) while the dialog shows,
+            //   and this caller is not held up.
+            SwingUtilities.invokeLater(() -> theWorkingDialog.setVisible(true));
         } else {
-            new Thread(() -> {
-                // Give the 'set visible' time to complete, before going invisible.
-                try {
-                    Thread.sleep(200);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-                theWorkingDialog.setVisible(false);
-            }).start();
+            // Events on the EDT are handled in order, so the show (if it is still waiting) goes first.
+            SwingUtilities.invokeLater(() -> theWorkingDialog.setVisible(false));
         } // end if show - else hide
     } // end showWorkingDialog
 
@@ -2053,6 +2122,7 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
     //   but can get here by constructing a valid TreePath and then calling setSelectionPath() on the JTree.
     private void treeSelectionChanged(TreePath newPath) {
         selectedArchiveNode = null; // Clear any previous archive selection.
+        theGroupLoader.cancel(); // A new selection supersedes any group that is still loading for the previous one.
 
         if (newPath == null) return;
         // You know how some animals will still move or twitch a bit after death?
@@ -2251,6 +2321,10 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
 
         // Otherwise construct it, but only if a file for it already exists.
         if (searchResultGroupPanel == null) {
+            if (!restoringPreviousSelection) { // Load it in the background, and show it when it is ready.
+                loadGroupLater(new GroupInfo(theNodeString, GroupType.SEARCH_RESULTS), theSearchResultsKeeper, menuContext);
+                return "No Selection";
+            }
             searchResultGroupPanel = (SearchResultGroupPanel) GroupPanelFactory.loadNoteGroupPanel(DataArea.SEARCH_RESULTS.toString(), theNodeString);
             if (searchResultGroupPanel != null) {
                 log.debug("Loaded " + theNodeString + " from the data repository");
@@ -2424,18 +2498,18 @@ public class AppTreePanel extends JPanel implements TreePanel, TreeSelectionList
             treeSelectionChanged(newPath);
         } else {
             // This is a user-directed selection;
-            // We handle this event by starting a separate new thread so we can
+            // We handle this event in a background task so we can
             //   quickly return from here to the 'main' JVM thread.  Otherwise,
             //   the 'working' dialog that is displayed during the treeSelectionChanged
             //   method would never update until after all actions had completed,
             //   and that defeats its entire purpose.  But be aware that this methodology
             //   can derail breakpoint debugging, especially during test runs.  This is
             //   why many tests will first set restoringPreviousSelection to true.
-            new Thread(() -> {
+            AppTasks.submit(TaskType.TREE_SELECTION, () -> {
                 // AppUtil.localDebug(true);
                 treeSelectionChanged(newPath);
                 // AppUtil.localDebug(false);
-            }).start(); // Start the thread
+            });
         }
     } // end valueChanged
 
@@ -432,19 +432,14 @@ public class ArchiveTreePanel extends JPanel implements TreePanel, TreeSelection
                 theWorkingDialog.setLocationRelativeTo(archiveWindow); // In case the app has been moved around.
                 //new Exception("Test tracing").printStackTrace(); // Helpful in finding which tests left this up.
 
-                // Create a new thread and setVisible within the thread.
-                new Thread(() -> theWorkingDialog.setVisible(true)).start(); // Start the thread so that the dialog will show.
+                // The dialog is modal, so setVisible will not return until it is hidden.  It is done as a later
+                //   event on the EDT, which goes on handling events (including the hide) while the dialog shows,
+                //   and this caller is not held up.
+                SwingUtilities.invokeLater(() -> theWorkingDialog.setVisible(true));
             }
         } else {
-            new Thread(() -> {
-                // Give the 'visible' time to complete, before going invisible.
-                try {
-                    Thread.sleep(200);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-                theWorkingDialog.setVisible(false);
-            }).start();
+            // Events on the EDT are handled in order, so the show (if it is still waiting) goes first.
+            SwingUtilities.invokeLater(() -> theWorkingDialog.setVisible(false));
         } // end if show - else hide
     } // end showWorkingDialog
 
@@ -745,19 +740,19 @@ public class ArchiveTreePanel extends JPanel implements TreePanel, TreeSelection
     //
     // Required by TreeSelectionListener interface.
     //
-    // We handle this event by starting a separate new thread so we can
+    // We handle this event in a background task so we can
     //   quickly return from here.  Otherwise, the 'working' dialog
     //   would never update until after all actions had completed,
     //   and that defeats its entire purpose.
     //-------------------------------------------------------------
     public void valueChanged(TreeSelectionEvent e) {
         final TreePath newPath = e.getNewLeadSelectionPath();
-        // Handle from a separate thread.
-        new Thread(() -> {
+        // Handle from a background task.
+        AppTasks.submit(TaskType.ARCHIVE_SELECTION, () -> {
             // AppUtil.localDebug(true);
             treeSelectionChanged(newPath);
             // AppUtil.localDebug(false);
-        }).start(); // Start the thread
+        });
 
     } // end valueChanged
 
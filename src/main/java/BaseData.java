@@ -2,29 +2,59 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class BaseData {
     // The base constructor here is unfortunately used by Jackson during loads and type conversions, and
     // during that construction is when the zdtLastModString (LMD) is set, even when we are reconstructing data that
-    // hasn't actually changed.  So we use the 'loading' boolean to avoid unwanted updates to the LMD.
+    // hasn't actually changed.  So the context that loads data calls startLoading beforehand and endLoading
+    // afterwards, and in between, touchLastMod does not update the LMD.
     //
     // Also, some children have additional members that when changed can & should update the LMD, but those 'set'
-    // methods are also called during the construction of a Group while it is loading in pre-existing data.
-    // Here again, we need to avoid the update to the LMD in that circumstance and so the context that loads the
-    // group will first have to set 'loading' to true, and then put it back to 'false' when done.
-    static boolean loading = false;
+    // methods are also called during the construction of a Group while it is loading in pre-existing data,
+    // and when a Panel shows the data (setNoteData).  Those contexts need to be inside a load as well.
+    //
+    // A load only applies to the thread that started it; groups are loaded and searched on pooled threads
+    //   while the user is making edits on the EDT, and those edits still need their LMD updates.  Loads can
+    //   be nested (a Panel refresh loads its group, and that group loads its data) so this is a count of the
+    //   loads in progress, not a flag; the one-element array is so that it can be changed without boxing.
+    private static final ThreadLocal<int[]> loadsOnThisThread = ThreadLocal.withInitial(() -> new int[1]);
+
+    static final long NO_LAST_MOD = Long.MIN_VALUE; // From the LMD accessors below, when there isn't one.
 
     protected String zdtLastModString; // This is the Last Modified Date (LMD) (and time)
     protected UUID instanceId;
 
+    // The LMD as parsed from zdtLastModString, kept so that the string is only parsed once; a search or a
+    //   sort asks for it on every note.  The string can be set without going through here (by Jackson, and
+    //   by tests) so it is kept along with the string that it came from, and a different string means
+    //   that it has to be parsed again.
+    private transient LastMod lastMod;
+
+    // All final, so that a thread that reads it sees the whole thing; the parallel search reads these.
+    private static class LastMod {
+        final String source;
+        final ZonedDateTime zdt;
+        final long millis;   // Since the epoch.
+        final long epochDay; // The local date of the LMD, in its own zone, as a count of days since the epoch.
+
+        LastMod(String source, ZonedDateTime zdt) {
+            this.source = source;
+            this.zdt = zdt;
+            millis = zdt.toInstant().toEpochMilli();
+            epochDay = zdt.toLocalDate().toEpochDay();
+        }
+    } // end class LastMod
+
     BaseData() { // This constructor is (unfortunately) used by Jackson during loads and type conversions.
-        instanceId = UUID.randomUUID();
+        instanceId = makeInstanceId();
     }
 
     // Copy constructor
     BaseData(BaseData baseData) {
         instanceId = baseData.instanceId;
         zdtLastModString = baseData.zdtLastModString;
+        lastMod = baseData.lastMod;
     }
 
     @JsonIgnore  // Don't even try to serialize this..
@@ -33,15 +63,80 @@ public class BaseData {
         //   encountered during serialization (Jackson 'sees' infinite recursion with a ZDT).
         // So when the request comes in, if somehow that string hasn't been set then we don't want
         //   to default to current date & time, so the best answer is to send back a null.
-        if(zdtLastModString == null) return null;
+        LastMod theLastMod = getLastMod();
+        if(theLastMod == null) return null;
+
+        return theLastMod.zdt;
+    }
+
+
+    private LastMod getLastMod() {
+        String theString = zdtLastModString;
+        if(theString == null) return null;
+
+        LastMod theLastMod = lastMod;
+        if(theLastMod == null || !theString.equals(theLastMod.source)) {
+            theLastMod = new LastMod(theString, ZonedDateTime.parse(theString));
+            lastMod = theLastMod;
+        }
+        return theLastMod;
+    }
+
+
+    // The local date of the LMD as a day count (see LocalDate.toEpochDay), or NO_LAST_MOD.
+    //   After the first call for a given LMD, this one does not make any new objects.
+    @JsonIgnore
+    long getLastModEpochDay() {
+        LastMod theLastMod = getLastMod();
+        if(theLastMod == null) return NO_LAST_MOD;
+        return theLastMod.epochDay;
+    }
+
+
+    // The LMD in milliseconds since the epoch, or NO_LAST_MOD.  Like the one above, for sorting.
+    @JsonIgnore
+    long getLastModMillis() {
+        LastMod theLastMod = getLastMod();
+        if(theLastMod == null) return NO_LAST_MOD;
+        return theLastMod.millis;
+    }
+
+
+    // A new random (version 4) UUID.  Jackson comes through the constructor above for every note that it
+    //   makes, only to then overwrite the ID with the one that was stored, so this needs to be cheap; the
+    //   SecureRandom behind UUID.randomUUID was showing up in the search.  The IDs only need to be unique
+    //   within the data of one user, and 122 bits from ThreadLocalRandom will do that.
+    static UUID makeInstanceId() {
+        ThreadLocalRandom theRandom = ThreadLocalRandom.current();
+        long mostSigBits = (theRandom.nextLong() & ~0xF000L) | 0x4000L; // Version 4
+        long leastSigBits = (theRandom.nextLong() & ~(0xCL << 60)) | (0x8L << 60); // IETF variant
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+
+    // Every startLoading needs an endLoading on the same thread; use a 'finally' where the load could throw.
+    static void startLoading() {
+        loadsOnThisThread.get()[0]++;
+    }
+
+
+    static void endLoading() {
+        int[] theLoads = loadsOnThisThread.get();
+        if (theLoads[0] > 0) theLoads[0]--;
+        else System.out.println("Error - BaseData.endLoading without a matching startLoading");
+    }
+
 
-        return ZonedDateTime.parse(zdtLastModString);
+    static boolean isLoading() {
+        return loadsOnThisThread.get()[0] > 0;
     }
 
 
     void touchLastMod() {
-        if(!loading) {
-            zdtLastModString = ZonedDateTime.now().toString();
+        if(!isLoading()) {
+            ZonedDateTime zdtNow = ZonedDateTime.now();
+            zdtLastModString = zdtNow.toString();
+            lastMod = new LastMod(zdtLastModString, zdtNow); // No need to parse what we just made.
         }
     }
 
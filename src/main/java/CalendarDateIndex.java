@@ -0,0 +1,124 @@
+// This class keeps an in-memory, ordered set of the dates that have data, one set for each of the Calendar
+//   note granularities (Day, Month, Year).  It supports the 'next date with data' navigation of the
+//   CalendarNoteGroupPanels, which can then be answered with a single higher() or lower() call on a set
+//   rather than by listing, sorting, and opening data files until one is found that has content.
+//
+// The sets are built once (on first use) from a scan of the 'Years' area.  After that they are kept current
+//   by the saves and deletes that go thru the NoteGroupFile, so a navigation does not need to look at the
+//   files at all.  A new FileDataAccessor (the user data location may have changed) drops the sets, so that
+//   they are built again on their next use.  Changes to the area from outside of the app are not seen until then.
+//
+// Dates in the sets are always the first date of their period - Day notes are kept as-is, Month notes as the
+//   1st of the month, and Year notes as January 1st.
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+class CalendarDateIndex {
+    private static final Map<ChronoUnit, NavigableSet<LocalDate>> theDateSets = new EnumMap<>(ChronoUnit.class);
+
+    // The 'Years' area that the sets were built from; null when they have not been built (or were dropped).
+    private static String indexedAreaPath;
+
+    private CalendarDateIndex() { } // All static; no instances needed.
+
+
+    // Called after a Calendar group has been saved or removed.  If the sets have not been built yet then there
+    //   is nothing to do here; the change will be seen when they are.
+    static synchronized void dateChanged(ChronoUnit dateType, LocalDate theDate, boolean hasData) {
+        if (indexedAreaPath == null || !indexedAreaPath.equals(FileDataAccessor.calendarNoteGroupAreaPath)) return;
+        NavigableSet<LocalDate> theDates = theDateSets.get(dateType);
+        if (theDates == null) return;
+        LocalDate theKey = getPeriodStart(theDate, dateType);
+        if (hasData) theDates.add(theKey);
+        else theDates.remove(theKey);
+    }
+
+
+    // Returns the date of the nearest period with data, in the indicated direction from (and not including) the
+    //   period that contains the initialDate.  If there is no such period, the return value is null.
+    static synchronized LocalDate getNextDateWithData(ChronoUnit dateType, LocalDate initialDate, CalendarNoteGroup.Direction direction) {
+        if (indexedAreaPath == null || !indexedAreaPath.equals(FileDataAccessor.calendarNoteGroupAreaPath)) buildSets();
+        NavigableSet<LocalDate> theDates = theDateSets.get(dateType);
+        if (theDates == null) return null;
+
+        LocalDate theKey = getPeriodStart(initialDate, dateType);
+        if (direction == CalendarNoteGroup.Direction.FORWARD) return theDates.higher(theKey);
+        else return theDates.lower(theKey);
+    }
+
+
+    // Drop the sets; they will be built again when they are next needed.
+    static synchronized void invalidate() {
+        theDateSets.clear();
+        indexedAreaPath = null;
+    }
+
+
+    static LocalDate getPeriodStart(LocalDate theDate, ChronoUnit dateType) {
+        return switch (dateType) {
+            case MONTHS -> theDate.withDayOfMonth(1);
+            case YEARS -> theDate.withDayOfYear(1);
+            default -> theDate;
+        };
+    }
+
+
+    // Scan the 'Years' area for the dates that have data.  The Day notes come from the per-year
+    //   CalendarYearIndex so that their files do not need to be opened; Month and Year notes are
+    //   few enough that a quick look into each of their files is not a problem.
+    private static void buildSets() {
+        NavigableSet<LocalDate> theDays = new TreeSet<>();
+        NavigableSet<LocalDate> theMonths = new TreeSet<>();
+        NavigableSet<LocalDate> theYears = new TreeSet<>();
+
+        File theYearsDir = new File(FileDataAccessor.calendarNoteGroupAreaPath);
+        File[] yearDirs = getYearDirectories(theYearsDir);
+        if (yearDirs != null) {
+            for (File yearDir : yearDirs) {
+                int theYear = Integer.parseInt(yearDir.getName());
+
+                CalendarYearIndex yearIndex = CalendarYearIndex.getIndex(theYear);
+                for (int month = 1; month <= 12; month++) {
+                    for (int day = 1; day <= 31; day++) {
+                        if (yearIndex.hasData(month, day)) theDays.add(LocalDate.of(theYear, month, day));
+                    }
+                }
+
+                addFileDates(yearDir, ChronoUnit.MONTHS, theMonths);
+                addFileDates(yearDir, ChronoUnit.YEARS, theYears);
+            }
+        }
+
+        theDateSets.clear();
+        theDateSets.put(ChronoUnit.DAYS, theDays);
+        theDateSets.put(ChronoUnit.MONTHS, theMonths);
+        theDateSets.put(ChronoUnit.YEARS, theYears);
+        indexedAreaPath = FileDataAccessor.calendarNoteGroupAreaPath;
+    }
+
+
+    private static void addFileDates(File yearDir, ChronoUnit dateType, NavigableSet<LocalDate> theDates) {
+        File[] dataFiles = yearDir.listFiles(new CalendarNoteGroup.CalendarFileFilter(dateType));
+        if (dataFiles == null) return; // Covers possible I/O errors.
+        for (File f : dataFiles) {
+            if (f.isDirectory()) continue;
+            LocalDate aDate = NoteGroupFile.getDateFromFilename(f);
+            if (aDate == null) continue;
+            if (NoteGroupFile.hasNoteData(f)) theDates.add(getPeriodStart(aDate, dateType));
+        }
+    }
+
+
+    // Only the directories with 4-digit numerical names; Mac may add a hidden one here, and we keep
+    //   our own '.index' here as well.
+    private static File[] getYearDirectories(File theYearsDir) {
+        return theYearsDir.listFiles(f -> f.isDirectory() && f.getName().matches("\\d{4}"));
+    }
+
+} // end class CalendarDateIndex
@@ -125,6 +125,9 @@ public abstract class CalendarNoteGroupPanel extends NoteGroupPanel {
         if (!getTitle().equals(getTitle(theNewChoice))) {
             preClosePanel(); // Save changes, if any.
 
+            // Going by the way that we came, the next group may be wanted soon; start reading it now.
+            prefetch(theNewChoice.isBefore(theDate) ? -1 : 1, dateGranularity, theNewChoice);
+
             // This new date will be used to generate a new title for the Panel, which also happens to be the Group Name.
             theDate = theNewChoice;
 
@@ -154,6 +157,16 @@ public abstract class CalendarNoteGroupPanel extends NoteGroupPanel {
     } // end setDate
 
 
+    // Start reading the group that is one more step (of the given size and direction) beyond the given date, in the
+    //   background, so that it is ready if the user takes that step.  See NoteGroupPrefetcher.
+    // Not done in review mode, where the next date with data is not simply the next date.
+    void prefetch(int theDirection, ChronoUnit theMagnitude, LocalDate fromDate) {
+        if (reviewMode || archiveDate != null || myNoteGroup == null) return;
+        LocalDate theNextDate = fromDate.plus(theDirection, theMagnitude);
+        NoteGroupPrefetcher.prefetch(new GroupInfo(getTitle(theNextDate), myNoteGroup.myGroupInfo.groupType));
+    }
+
+
     // Reduce the date by one increment and notify the AlteredDateListener, if one is defined.
     // To load in the new data after this, calling contexts should call 'refresh()'.
     // They should not call setDate() after this because the only value it would provide at that point is to make that
@@ -167,6 +180,7 @@ public abstract class CalendarNoteGroupPanel extends NoteGroupPanel {
             theDate = noteGroupDataAccessor.getNextDateWithData(theDate, theMagnitude, CalendarNoteGroup.Direction.BACKWARD);
         } else {
             theDate = theDate.minus(1, theMagnitude);
+            prefetch(-1, theMagnitude, theDate); // The step after this one, if the user keeps going.
         }
         myNoteGroup.myGroupInfo.setGroupName(getTitle()); // Fix the GroupInfo.groupName prior to data load
         if(alteredDateListener != null) alteredDateListener.dateChanged(myDateType, theDate);
@@ -193,6 +207,7 @@ public abstract class CalendarNoteGroupPanel extends NoteGroupPanel {
             else theDate = noteGroupDataAccessor.getNextDateWithData(theDate, theMagnitude, CalendarNoteGroup.Direction.FORWARD);
         } else {
             theDate = theDate.plus(1, theMagnitude);
+            prefetch(1, theMagnitude, theDate); // The step after this one, if the user keeps going.
         }
         myNoteGroup.myGroupInfo.setGroupName(getTitle()); // Fix the GroupInfo.groupName prior to data load
         if(alteredDateListener != null) alteredDateListener.dateChanged(myDateType, theDate);
@@ -0,0 +1,278 @@
+// A CalendarYearIndex is a small summary of the Day notes for one Year - which days have data, how many notes
+//   are on each of those days, and the descriptors of the first five icons that the MonthView would show for them.
+// It allows YearView, MonthView and ThreeMonthColumn to highlight a year without opening every Day file in it.
+//
+// The index is persisted as one small JSON file per year, in a '.index' directory under the 'Years' area.  It is
+//   kept current by NoteGroupFile saves and deletes, and it is rebuilt (lazily) when it is missing or stale.  Along
+//   with the index are the 'last modified' times of the Year directory and of each Day file in it.  When an index
+//   is loaded from its file (once per session) those times are checked; any difference means that the directory
+//   was changed without going thru the NoteGroupFile (crash, manual edit, a file rewritten in place) and the
+//   index is rebuilt.  After that, within the session, the saves and deletes keep it current.
+//
+// All of the indexes share the one lock, on this class.
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+
+class CalendarYearIndex {
+    static final String indexDirectoryName = ".index";
+    static final int ICON_COUNT = 5; // Same as the number of icons that a MonthView day can show.
+    private static final int SLOTS = 12 * 31; // One slot per month/day combination; some are never used.
+
+    // The indexes that have already been loaded or built during this session, keyed by the path to the
+    //   Year directory (rather than just the year) since the user data location can change during a session.
+    private static final Map<String, CalendarYearIndex> theIndexes = new HashMap<>();
+
+    int year;
+    long directoryTimestamp; // The 'last modified' time of the Year directory, as of our last update.
+    Map<String, Long> fileTimestamps; // The 'last modified' time of each Day file, by name.
+    long[] dayBits;          // One bit per slot; set when that day has significant data.
+    int[] noteCounts;        // The number of notes on each day, also by slot.
+    Map<Integer, String[]> iconDescriptors; // Keyed by slot; only for days that have notes.
+
+    // This constructor is used by Jackson during loads.
+    CalendarYearIndex() {
+        dayBits = new long[(SLOTS + 63) / 64];
+        noteCounts = new int[SLOTS];
+        iconDescriptors = new TreeMap<>();
+        fileTimestamps = new TreeMap<>();
+    }
+
+    CalendarYearIndex(int theYear) {
+        this();
+        year = theYear;
+    }
+
+
+    // Get the index for the requested year, building (and persisting) it first if needed.
+    // This is the entry point for the calendar views, via the DataAccessor.
+    static synchronized CalendarYearIndex getIndex(int theYear) {
+        CalendarYearIndex theIndex = getCurrentIndex(theYear);
+        if (theIndex == null) {
+            theIndex = rebuild(theYear);
+        }
+        return theIndex;
+    }
+
+
+    // Returns the index for the year only if one is already available (in memory or on disk) and not stale;
+    //   otherwise null.  Unlike getIndex, this one will never do a rebuild.  It is used by the NoteGroupFile
+    //   just before it changes the content of a Year directory, so that afterward it can apply that change
+    //   to an index that is known to have been accurate up to that point.
+    static synchronized CalendarYearIndex getCurrentIndex(int theYear) {
+        String theYearPath = getYearPath(theYear);
+        CalendarYearIndex theIndex = theIndexes.get(theYearPath);
+        if (theIndex != null && new File(getIndexFilename(theYear)).exists()) {
+            return theIndex; // Kept current by the saves and deletes since it was loaded or built.
+        }
+        theIndexes.remove(theYearPath); // If it was there, the data area has been cleared or replaced since.
+
+        theIndex = loadIndex(theYear);
+        if (theIndex == null || !theIndex.matchesFiles()) return null;
+        theIndexes.put(theYearPath, theIndex);
+        return theIndex;
+    }
+
+
+    // Drop the indexes that have been loaded, as at the start of a session; the next request for one will
+    //   load it from its file and check it against the directory again.
+    static synchronized void forgetAll() {
+        theIndexes.clear();
+    }
+
+
+    // Called after a Calendar group file in this index's year has been saved or removed.  For Day groups the
+    //   entry for that day is replaced with one developed from the notes that were saved (null or empty if
+    //   the file was removed), and for all types the new timestamp of the Year directory is recorded.
+    @SuppressWarnings("rawtypes")
+    void update(LocalDate theDate, GroupType groupType, Vector theNotes) {
+        synchronized (CalendarYearIndex.class) {
+            File theYearDir = new File(getYearPath(year));
+            if (groupType == GroupType.DAY_NOTES) {
+                setDay(theDate.getMonthValue(), theDate.getDayOfMonth(), theNotes);
+                String thePrefix = String.format("D%02d%02d", theDate.getMonthValue(), theDate.getDayOfMonth());
+                fileTimestamps.keySet().removeIf(theName -> theName.startsWith(thePrefix));
+                recordFiles(theYearDir, thePrefix);
+            }
+            directoryTimestamp = theYearDir.lastModified();
+            saveIndex();
+        }
+    }
+
+
+    // Return the 'hasData' array in the form that is used by the DataAccessor.findDataDays method.
+    boolean[][] getDataDays() {
+        boolean[][] hasDataArray = new boolean[12][31];
+        synchronized (CalendarYearIndex.class) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= 31; day++) {
+                    hasDataArray[month - 1][day - 1] = hasData(month, day);
+                }
+            }
+        }
+        return hasDataArray;
+    }
+
+    // Returns the (up to five) icon descriptors for the day, or null if there are no notes on that day.
+    // A null element means that the default icon should be shown; an empty string is a 'blank' icon.
+    String[] getIconDescriptors(int month, int day) {
+        synchronized (CalendarYearIndex.class) {
+            return iconDescriptors.get(getSlot(month, day));
+        }
+    }
+
+    int getNoteCount(int month, int day) {
+        synchronized (CalendarYearIndex.class) {
+            return noteCounts[getSlot(month, day)];
+        }
+    }
+
+    boolean hasData(int month, int day) {
+        int theSlot = getSlot(month, day);
+        synchronized (CalendarYearIndex.class) {
+            return (dayBits[theSlot / 64] & (1L << (theSlot % 64))) != 0;
+        }
+    }
+
+
+    private static String getIndexFilename(int theYear) {
+        return FileDataAccessor.calendarNoteGroupAreaPath + indexDirectoryName + File.separatorChar + theYear + ".json";
+    }
+
+    private static int getSlot(int month, int day) {
+        return (month - 1) * 31 + (day - 1);
+    }
+
+    private static String getYearPath(int theYear) {
+        return FileDataAccessor.calendarNoteGroupAreaPath + theYear;
+    }
+
+
+    // Develop the month view icon descriptors from a Vector of day notes, in the same way that the
+    //   MonthView has always chosen them - the first five notes that are flagged to show on the month.
+    @SuppressWarnings("rawtypes")
+    // The result only has as many elements as there are icons to show, so that a null element is not ambiguous.
+    static String[] makeIconDescriptors(Vector theNotes) {
+        ArrayList<String> theDescriptors = new ArrayList<>(ICON_COUNT);
+        for (Object theObject : theNotes) {
+            if (!(theObject instanceof IconNoteData iconNoteData)) continue;
+            if (!iconNoteData.getShowIconOnMonthBoolean()) continue;
+            theDescriptors.add(iconNoteData.getIconFileString()); // null --> the default icon.
+            if (theDescriptors.size() >= ICON_COUNT) break;
+        }
+        return theDescriptors.toArray(new String[0]);
+    }
+
+
+    // True if the Year directory and its Day files have the same 'last modified' times that were recorded
+    //   along with this index.
+    private boolean matchesFiles() {
+        File theYearDir = new File(getYearPath(year));
+        if (theYearDir.lastModified() != directoryTimestamp) return false;
+        String[] theNames = theYearDir.list(new AppUtil.logFileFilter("D"));
+        int theCount = theNames == null ? 0 : theNames.length;
+        if (theCount != fileTimestamps.size()) return false;
+        for (int i = 0; i < theCount; i++) {
+            Long theTimestamp = fileTimestamps.get(theNames[i]);
+            if (theTimestamp == null || theTimestamp != new File(theYearDir, theNames[i]).lastModified()) return false;
+        }
+        return true;
+    }
+
+
+    private static CalendarYearIndex loadIndex(int theYear) {
+        File theFile = new File(getIndexFilename(theYear));
+        if (!theFile.exists()) return null;
+        try {
+            return AppUtil.mapper.readValue(theFile, CalendarYearIndex.class);
+        } catch (IOException ioe) {
+            // Not a problem; an unreadable index will just be rebuilt.
+            MemoryBank.debug("Unable to load " + theFile.getName() + "; the index will be rebuilt.");
+            return null;
+        }
+    }
+
+
+    // Develop a new index for the year from the Day files that are in its directory.  This is the one time
+    //   that the files need to be opened; after that, the index is maintained by saves and deletes.
+    private static CalendarYearIndex rebuild(int theYear) {
+        MemoryBank.debug("Rebuilding the calendar index for " + theYear);
+        CalendarYearIndex theIndex = new CalendarYearIndex(theYear);
+        File theYearDir = new File(getYearPath(theYear));
+        theIndex.directoryTimestamp = theYearDir.lastModified();
+
+        String[] foundFiles = null;
+        if (theYearDir.isDirectory()) {
+            foundFiles = theYearDir.list(new AppUtil.logFileFilter("D"));
+        }
+
+        if (foundFiles != null) {
+            // Sorted, so that when there is more than one file for a day, the 'last' one wins - same as foundFilename.
+            Arrays.sort(foundFiles);
+            for (String foundFile : foundFiles) {
+                int month = Integer.parseInt(foundFile.substring(1, 3));
+                int day = Integer.parseInt(foundFile.substring(3, 5));
+                File theFile = new File(theYearDir, foundFile);
+                Object[] theGroup = NoteGroupFile.loadFileData(theFile, null, DayNoteData.class);
+                if (theGroup == null) continue;
+                Object theNotes = theGroup[theGroup.length - 1];
+                theIndex.setDay(month, day, theNotes instanceof Vector ? (Vector<?>) theNotes : null);
+                if (theGroup.length == 1) {
+                    // Older (pre linkages) data is significant even with no notes, since we didn't ever
+                    //   save 'empty' days then.  See NoteGroupFile.hasNoteData.
+                    theIndex.setBit(getSlot(month, day), true);
+                }
+            }
+            theIndex.recordFiles(theYearDir, "D");
+            // Only keep an index on disk for a year where there is (or has been) a directory.
+            theIndex.saveIndex();
+        }
+
+        theIndexes.put(getYearPath(theYear), theIndex);
+        return theIndex;
+    }
+
+
+    // Record the 'last modified' times of the Day files whose names start with the prefix.
+    private void recordFiles(File theYearDir, String thePrefix) {
+        String[] theNames = theYearDir.list(new AppUtil.logFileFilter(thePrefix));
+        if (theNames == null) return;
+        for (String theName : theNames) fileTimestamps.put(theName, new File(theYearDir, theName).lastModified());
+    }
+
+
+    private void saveIndex() {
+        File theFile = new File(getIndexFilename(year));
+        try {
+            File theDir = theFile.getParentFile();
+            if (!theDir.exists() && !theDir.mkdirs()) return;
+            AppUtil.mapper.writeValue(theFile, this);
+        } catch (IOException ioe) {
+            // The index is only a shortcut; the worst that happens without it is a rebuild next time.
+            MemoryBank.debug("Unable to save " + theFile.getName() + ": " + ioe.getMessage());
+        }
+    }
+
+
+    private void setBit(int theSlot, boolean value) {
+        if (value) dayBits[theSlot / 64] |= (1L << (theSlot % 64));
+        else dayBits[theSlot / 64] &= ~(1L << (theSlot % 64));
+    }
+
+
+    @SuppressWarnings("rawtypes")
+    private void setDay(int month, int day, Vector theNotes) {
+        int theSlot = getSlot(month, day);
+        int theCount = theNotes == null ? 0 : theNotes.size();
+        noteCounts[theSlot] = theCount;
+        setBit(theSlot, theCount > 0);
+        if (theCount > 0) {
+            iconDescriptors.put(theSlot, makeIconDescriptors(theNotes));
+        } else {
+            iconDescriptors.remove(theSlot);
+        }
+    }
+
+} // end class CalendarYearIndex
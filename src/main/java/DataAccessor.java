@@ -1,4 +1,5 @@
 import java.awt.*;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Vector;
@@ -50,7 +51,12 @@ public interface DataAccessor {
         if(accessType == AccessType.FILE) {
             return new FileDataAccessor();
         } else {
-            return new FileDataAccessor(); // Currently it's the only choice, anyway.
+            try {
+                return new DatabaseDataAccessor();
+            } catch (IOException ioe) {
+                System.out.println("Error - unable to open the database; using the data files instead: " + ioe.getMessage());
+                return new FileDataAccessor();
+            }
         }
     }
 
@@ -61,5 +67,8 @@ public interface DataAccessor {
 
     boolean removeArchive(LocalDateTime localDateTime);
     void saveAppOptions();
-    Vector<NoteData> scanData(SearchPanel searchPanel);
+    default Vector<NoteData> scanData(SearchPredicate searchPredicate) {
+        return scanData(searchPredicate, new SearchMonitor()); // Nobody watching, nobody to stop it.
+    }
+    Vector<NoteData> scanData(SearchPredicate searchPredicate, SearchMonitor searchMonitor);
 }
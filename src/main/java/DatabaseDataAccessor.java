@@ -0,0 +1,224 @@
+// This is the DATABASE flavor of the DataAccessor.  The NoteGroups and subject lists are kept in a
+//   NoteGroupDatabase in the user's data area, rather than in one file apiece.  Until there is a database for
+//   a user, their existing files are migrated into a new one whenever this accessor is made (see DatabaseMigrator).
+//
+// Everything that is not NoteGroup data (app options, locations, icons, archives) stays just as it is with the
+//   FileDataAccessor, so that is what this class extends.  Archives in particular are still made of files, so
+//   that they can be viewed the same way no matter which accessor made them; a GroupInfo with an archiveName
+//   gets a NoteGroupFile, as before.
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.Vector;
+
+@SuppressWarnings("rawtypes")
+class DatabaseDataAccessor extends FileDataAccessor {
+    private final NoteGroupDatabase theDatabase;
+
+    DatabaseDataAccessor() throws IOException {
+        super();
+        File dbFile = new File(userDataHome, NoteGroupDatabase.databaseFilename);
+        if (!dbFile.exists()) {
+            int theCount = DatabaseMigrator.migrate(new File(userDataHome), dbFile);
+            System.out.println("Migrated " + theCount + " data files into " + dbFile.getPath());
+        }
+        theDatabase = NoteGroupDatabase.open(userDataHome);
+    }
+
+
+    // Write out the active groups of one type, as the same files that the FileDataAccessor would have copied.
+    @Override
+    void archiveGroupType(File archiveRepo, GroupType groupType) throws IOException {
+        String theAreaName = switch (groupType) {
+            case GOALS -> DataArea.GOALS.getAreaName();
+            case EVENTS -> DataArea.UPCOMING_EVENTS.getAreaName();
+            case NOTES -> DataArea.NOTES.getAreaName();
+            case TODO_LIST -> DataArea.TODO_LISTS.getAreaName();
+            case SEARCH_RESULTS -> DataArea.SEARCH_RESULTS.getAreaName();
+            default -> null;
+        };
+        if (theAreaName == null) return;
+        File theDestDir = new File(archiveRepo, theAreaName);
+
+        // A Goal takes its sub-groups along with it.
+        GroupType[] theTypes = groupType == GroupType.GOALS ?
+                new GroupType[]{GroupType.GOALS, GroupType.MILESTONE, GroupType.GOAL_LOG, GroupType.GOAL_TODO, GroupType.GOAL_NOTES} :
+                new GroupType[]{groupType};
+        for (GroupType theType : theTypes) {
+            for (NoteGroupDatabase.Row theRow : theDatabase.getGroups(theType)) {
+                if (!MemoryBank.appOpts.active(groupType, theRow.groupName)) continue;
+                GroupInfo groupInfo = new GroupInfo(theRow.groupName, theType);
+                String theFilename = new File(new NoteGroupFile(groupInfo).makeFullFilename(theType, theRow.groupName)).getName();
+                Files.write(new File(theDestDir, theFilename).toPath(), theDatabase.getContent(theRow));
+            }
+        }
+    }
+
+
+    @Override
+    public boolean createArchive() {
+        NoteGroupSaveQueue.flush();
+        return super.createArchive();
+    }
+
+
+    @Override
+    public boolean[][] findDataDays(int year) {
+        boolean[][] hasDataArray = new boolean[12][31];
+        for (NoteGroupDatabase.Row theRow : theDatabase.getGroups(GroupType.DAY_NOTES,
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            if (!theRow.hasData) continue;
+            hasDataArray[theRow.localDate.getMonthValue() - 1][theRow.localDate.getDayOfMonth() - 1] = true;
+        }
+        return hasDataArray;
+    }
+
+
+    @Override
+    public Image[] getIconArray(int year, int month, int day) {
+        LocalDate theDate = LocalDate.of(year, month, day);
+        NoteGroupDatabase.Row theRow = theDatabase.getGroup(NoteGroupDatabase.getGroupKey(GroupType.DAY_NOTES, null, theDate));
+        if (theRow == null) return null;
+        return makeIconArray(theRow.iconDescriptors);
+    }
+
+
+    @Override
+    public ArrayList getGroupNames(GroupType groupType, boolean filterInactive) {
+        NoteGroupSaveQueue.flush(); // A brand-new group may not have been written yet.
+        ArrayList<String> theGroupNames = new ArrayList<>();
+        for (NoteGroupDatabase.Row theRow : theDatabase.getGroups(groupType)) {
+            if (filterInactive) {
+                if (!MemoryBank.appOpts.active(groupType, theRow.groupName)) continue;
+            }
+            theGroupNames.add(theRow.groupName);
+        }
+        return theGroupNames;
+    }
+
+
+    @Override
+    public NoteGroupDataAccessor getNoteGroupDataAccessor(GroupInfo groupInfo) {
+        if (groupInfo.archiveName != null) return new NoteGroupFile(groupInfo);
+        return new NoteGroupDatabaseAccessor(groupInfo, theDatabase);
+    }
+
+
+    @Override
+    public Vector<String> loadSubjects(String defaultSubject) {
+        // This is the the empty vector that they will get if the load operation does not succeed.
+        Vector<String> subjects = new Vector<>(6, 1);
+        try {
+            byte[] theContent = theDatabase.getSubjects(makeSubjectsName(defaultSubject));
+            if (theContent == null) {
+                MemoryBank.debug("Subjects not found.  Returning the default list.");
+            } else {
+                subjects = AppUtil.mapper.readValue(theContent,
+                        AppUtil.mapper.getTypeFactory().constructCollectionType(Vector.class, String.class));
+            }
+        } catch (IOException ioe) {
+            MemoryBank.debug("Error in loading subjects for " + defaultSubject + " !\n" + ioe
+                    + "\noperation failed; using default values.");
+        }
+        return subjects;
+    }
+
+
+    @Override
+    public boolean saveSubjects(String defaultSubject, Vector<String> subjects) {
+        NoteGroupDatabase.Row theRow = new NoteGroupDatabase.Row();
+        theRow.table = NoteGroupDatabase.subjectTable;
+        theRow.key = makeSubjectsName(defaultSubject);
+        MemoryBank.debug("Saving subject data in " + theRow.key);
+        try {
+            theDatabase.put(theRow, AppUtil.mapper.writeValueAsBytes(subjects));
+        } catch (IOException ioe) {
+            MemoryBank.debug(ioe.getMessage() + "\nSubjects save operation aborted.");
+            return false;
+        }
+        return true;
+    }
+
+
+    // The same filtering as the FileDataAccessor does with the filenames (by the name that the file of each group
+    //   would have), but here it is done with the Rows.  Of the Rows that pass, only those that the 'notes' index
+    //   says might have a match are read.  They are collected first, so that the monitor can know how many there are.
+    @Override
+    public Vector<NoteData> scanData(SearchPredicate searchPredicate, SearchMonitor searchMonitor) {
+        Vector<NoteData> foundDataVector = new Vector<>();
+        NoteGroupSaveQueue.flush(); // Search what the user sees, not what was last written.
+        Set<String> theCandidates = theDatabase.getCandidateKeys(searchPredicate);
+        List<NoteGroupDatabase.Row> theRows = new ArrayList<>();
+
+        for (GroupType groupType : GroupType.values()) {
+            if (groupType == GroupType.SEARCH_RESULTS) continue; // Not searched, as with the files.
+            for (NoteGroupDatabase.Row theRow : theDatabase.getGroups(groupType)) {
+                if (!FileDataAccessor.isSearched(getFilename(theRow), true, searchPredicate)) continue;
+                if (theRow.localDate != null && searchPredicate.getWhenSetting() != -1) {
+                    if (searchPredicate.filterWhen(theRow.localDate)) continue;
+                }
+
+                // As with the file, no note in the group can have a later last mod than the group itself.
+                if (searchPredicate.getLastModSetting() == SearchPanel.AFTER) {
+                    LocalDate dateLastMod = Instant.ofEpochMilli(theRow.lastModified).atZone(ZoneId.systemDefault()).toLocalDate();
+                    if (searchPredicate.filterLastMod(dateLastMod)) continue;
+                }
+
+                if (theCandidates == null || theCandidates.contains(theRow.key)) theRows.add(theRow);
+            }
+        }
+
+        searchMonitor.setGroupsToSearch(theRows.size());
+        for (NoteGroupDatabase.Row theRow : theRows) {
+            if (searchMonitor.isStopped()) break;
+            Vector<NoteData> theFindings = new Vector<>();
+            searchGroupRow(searchPredicate, theRow, theFindings);
+            searchMonitor.groupSearched(theFindings.size());
+            foundDataVector.addAll(theFindings);
+            searchMonitor.publish(theFindings);
+        }
+        return foundDataVector;
+    }
+
+
+    // The name (without the path) of the file that the group would be in, if it were kept as a file.
+    private static String getFilename(NoteGroupDatabase.Row theRow) {
+        String theFilename = switch (theRow.groupType) {
+            case DAY_NOTES -> NoteGroupFile.makeFullFilename(theRow.localDate, "D");
+            case MONTH_NOTES -> NoteGroupFile.makeFullFilename(theRow.localDate, "M");
+            case YEAR_NOTES -> NoteGroupFile.makeFullFilename(theRow.localDate, "Y");
+            default -> new NoteGroupFile(new GroupInfo(theRow.groupName, theRow.groupType))
+                    .makeFullFilename(theRow.groupType, theRow.groupName);
+        };
+        return new File(theFilename).getName();
+    }
+
+
+    private void searchGroupRow(SearchPredicate searchPredicate, NoteGroupDatabase.Row theRow, Vector<NoteData> theFindings) {
+        Object[] theGroupData;
+        BaseData.startLoading(); // Don't let the search muck up the Last Mod dates.
+        try {
+            byte[] theContent = theDatabase.getContent(theRow);
+            theGroupData = NoteGroupFile.loadGroupData(theContent, null, AllNoteData.class);
+        } catch (IOException ioe) {
+            System.out.println("Error - unable to search " + theRow.groupName + ": " + ioe.getMessage());
+            return;
+        } finally {
+            BaseData.endLoading();
+        }
+        if (theGroupData == null || !(theGroupData[theGroupData.length - 1] instanceof Vector)) return;
+
+        @SuppressWarnings("unchecked")
+        Vector<AllNoteData> searchDataVector = (Vector<AllNoteData>) theGroupData[theGroupData.length - 1];
+        searchGroupData(searchPredicate, searchDataVector, () -> new GroupInfo(theRow.groupName, theRow.groupType), theFindings);
+    }
+
+} // end class DatabaseDataAccessor
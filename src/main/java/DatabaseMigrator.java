@@ -0,0 +1,190 @@
+// This class moves the user's existing file data into a NoteGroupDatabase, so that a user who switches to the
+//   DATABASE access type does not start out with nothing.  The files themselves are not changed or removed,
+//   so that going back to the FILE access type is always possible.
+//
+// The content of each file goes into the database exactly as it is; the group is only read in order to develop
+//   the note counts, trigrams and icons that are kept on its Row.
+//
+// The database is built in a file off to the side, and only moved into place once the migration is complete.
+//   So a database that is there can be trusted to have all of the data; if a migration fails (or the app goes
+//   down in the middle of one) there is no database, and the next attempt starts over from the files.
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class DatabaseMigrator {
+    private static final int BATCH_SIZE = 500; // Rows per bulk write; bounds the content held in memory.
+
+    private final NoteGroupDatabase theDatabase;
+    private final List<NoteGroupDatabase.Row> theRows = new ArrayList<>();
+    private final List<byte[]> theContents = new ArrayList<>();
+    private int migratedCount;
+
+    private DatabaseMigrator(NoteGroupDatabase database) {
+        theDatabase = database;
+    }
+
+
+    // Develop the database file from the data files in the user data directory.
+    // Returns the number of groups and subject lists that were migrated.
+    static int migrate(File userDataDir, File dbFile) throws IOException {
+        long startTime = System.nanoTime();
+        Path theTarget = dbFile.toPath();
+        Path theTempFile = theTarget.resolveSibling("." + theTarget.getFileName() + ".migrating");
+        Files.deleteIfExists(theTempFile); // Left over from a migration that did not finish.
+
+        NoteGroupDatabase theDatabase = NoteGroupDatabase.openFile(theTempFile.toFile());
+        int theCount;
+        try {
+            theCount = migrate(userDataDir, theDatabase);
+            theDatabase.close();
+            try {
+                Files.move(theTempFile, theTarget, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(theTempFile, theTarget);
+            }
+        } catch (IOException | RuntimeException e) {
+            theDatabase.close();
+            Files.deleteIfExists(theTempFile);
+            throw e;
+        }
+
+        MemoryBank.debug("Migrated " + theCount + " items into " + dbFile.getName() + " in "
+                + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+        return theCount;
+    }
+
+
+    private static int migrate(File userDataDir, NoteGroupDatabase theDatabase) throws IOException {
+        DatabaseMigrator theMigrator = new DatabaseMigrator(theDatabase);
+
+        theMigrator.migrateCalendars(new File(userDataDir, DataArea.CALENDARS.getAreaName()));
+        theMigrator.migrateArea(new File(userDataDir, DataArea.TODO_LISTS.getAreaName()));
+        theMigrator.migrateArea(new File(userDataDir, DataArea.NOTES.getAreaName()));
+        theMigrator.migrateArea(new File(userDataDir, DataArea.UPCOMING_EVENTS.getAreaName()));
+        theMigrator.migrateArea(new File(userDataDir, DataArea.LOGS.getAreaName()));
+        theMigrator.migrateArea(new File(userDataDir, DataArea.SEARCH_RESULTS.getAreaName()));
+        theMigrator.migrateArea(new File(userDataDir, DataArea.GOALS.getAreaName()));
+        theMigrator.migrateSubjects(userDataDir);
+        theMigrator.writeBatch();
+        return theMigrator.migratedCount;
+    }
+
+
+    // The files of each Year are taken in name order, so that if there is more than one file for the
+    //   same date, the one with the latest timestamp is the one that the database keeps.
+    private void migrateCalendars(File theYearsDir) throws IOException {
+        File[] yearDirs = theYearsDir.listFiles(f -> f.isDirectory() && f.getName().matches("\\d{4}"));
+        if (yearDirs == null) return;
+        Arrays.sort(yearDirs);
+        for (File yearDir : yearDirs) {
+            File[] theFiles = listDataFiles(yearDir);
+            for (File aFile : theFiles) {
+                GroupType groupType = switch (aFile.getName().charAt(0)) {
+                    case 'D' -> GroupType.DAY_NOTES;
+                    case 'M' -> GroupType.MONTH_NOTES;
+                    case 'Y' -> GroupType.YEAR_NOTES;
+                    default -> null;
+                };
+                if (groupType == null) continue;
+                LocalDate theDate = NoteGroupFile.getDateFromFilename(aFile);
+                if (theDate == null) continue;
+                theDate = CalendarDateIndex.getPeriodStart(theDate, NoteGroupDatabaseAccessor.getDateType(groupType));
+                addGroup(aFile, groupType, CalendarNoteGroup.getGroupNameForDate(theDate, groupType), theDate);
+            }
+        }
+    }
+
+
+    private void migrateArea(File theAreaDir) throws IOException {
+        for (File aFile : listDataFiles(theAreaDir)) {
+            GroupType groupType = getGroupType(theAreaDir.getName(), aFile.getName());
+            if (groupType == null) {
+                System.out.println("Error - not migrated, unrecognized file: " + aFile.getPath());
+                continue;
+            }
+            addGroup(aFile, groupType, NoteGroupFile.getGroupNameFromFilename(aFile.getName()), null);
+        }
+    }
+
+
+    // The area tells us the type, except in the Goals area where each Goal has several groups, told apart by prefix.
+    private static GroupType getGroupType(String theAreaName, String theFilename) {
+        if (theAreaName.equals(DataArea.GOALS.getAreaName())) {
+            if (theFilename.startsWith(FileDataAccessor.goalGroupFilePrefix)) return GroupType.GOALS;
+            if (theFilename.startsWith(FileDataAccessor.milestoneGroupFilePrefix)) return GroupType.MILESTONE;
+            if (theFilename.startsWith(FileDataAccessor.logFilePrefix)) return GroupType.GOAL_LOG;
+            if (theFilename.startsWith(FileDataAccessor.todoListFilePrefix)) return GroupType.GOAL_TODO;
+            if (theFilename.startsWith(FileDataAccessor.noteFilePrefix)) return GroupType.GOAL_NOTES;
+            return null;
+        }
+        if (theAreaName.equals(DataArea.TODO_LISTS.getAreaName())) return GroupType.TODO_LIST;
+        if (theAreaName.equals(DataArea.NOTES.getAreaName())) return GroupType.NOTES;
+        if (theAreaName.equals(DataArea.UPCOMING_EVENTS.getAreaName())) return GroupType.EVENTS;
+        if (theAreaName.equals(DataArea.LOGS.getAreaName())) return GroupType.LOG;
+        if (theAreaName.equals(DataArea.SEARCH_RESULTS.getAreaName())) return GroupType.SEARCH_RESULTS;
+        return null;
+    }
+
+
+    private void migrateSubjects(File userDataDir) throws IOException {
+        File[] theFiles = userDataDir.listFiles(f -> f.isFile() && f.getName().endsWith("Subjects.json"));
+        if (theFiles == null) return;
+        for (File aFile : theFiles) {
+            NoteGroupDatabase.Row theRow = new NoteGroupDatabase.Row();
+            theRow.table = NoteGroupDatabase.subjectTable;
+            theRow.key = aFile.getName().replace(".json", "");
+            theRow.lastModified = aFile.lastModified();
+            add(theRow, Files.readAllBytes(aFile.toPath()));
+        }
+    }
+
+
+    // A file that cannot be parsed still goes in as-is; it would not have loaded from its file either,
+    //   and the user may yet be able to fix it.  It just does not get any counts or icons on its Row.
+    private void addGroup(File aFile, GroupType groupType, String groupName, LocalDate theDate) throws IOException {
+        byte[] theContent = Files.readAllBytes(aFile.toPath());
+        BaseData.startLoading(); // We don't want to affect the lastModDates!
+        Object[] theData = NoteGroupFile.loadGroupData(theContent, groupType);
+        BaseData.endLoading();
+        NoteGroupDatabase.Row theRow = NoteGroupDatabase.makeGroupRow(groupType, groupName, theDate, theData);
+        if (theData == null) theRow.hasData = NoteGroupFile.hasNoteData(aFile);
+        theRow.lastModified = aFile.lastModified();
+        add(theRow, theContent);
+    }
+
+
+    private void add(NoteGroupDatabase.Row theRow, byte[] theContent) throws IOException {
+        theRows.add(theRow);
+        theContents.add(theContent);
+        migratedCount++;
+        if (theRows.size() >= BATCH_SIZE) writeBatch();
+    }
+
+
+    private void writeBatch() throws IOException {
+        if (theRows.isEmpty()) return;
+        theDatabase.putAll(theRows, theContents);
+        theRows.clear();
+        theContents.clear();
+    }
+
+
+    // The data files of a directory in name order, without any subdirectories or hidden (or temporary) files.
+    private static File[] listDataFiles(File theDir) {
+        File[] theFiles = theDir.listFiles(f -> f.isFile() && !f.getName().startsWith(".")
+                && f.getName().endsWith(".json"));
+        if (theFiles == null) return new File[0];
+        Arrays.sort(theFiles);
+        return theFiles;
+    }
+
+} // end class DatabaseMigrator
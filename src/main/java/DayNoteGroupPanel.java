@@ -102,7 +102,7 @@ public class DayNoteGroupPanel extends CalendarNoteGroupPanel
     // Returns a DayNoteComponent that can be used to manipulate
     // component state as well as set/get underlying data.
     public DayNoteComponent getNoteComponent(int i) {
-        return (DayNoteComponent) groupNotesListPanel.getComponent(i);
+        return (DayNoteComponent) super.getNoteComponent(i);
     } // end getNoteComponent
 
 
@@ -0,0 +1,224 @@
+// EventIndex finds the Events of a group that are going on at some time within a range of dates, without
+//   looking at all of them.  Each Event is an interval, from its Start to its End (which may be days later);
+//   the intervals are sorted by Start and kept as an interval tree laid out in arrays - the middle one of any
+//   range is the root of that range, and it also holds the latest End in that range.  A query can then pass
+//   over any range that is all before the window (by that latest End), and stop at the first Start that is
+//   after it.  That makes it log n, plus the number that are found.
+//
+// An Event that recurs has an interval that goes to the end of its last occurrence (or on indefinitely) and
+//   when one of those is found, its occurrences are checked against the window to see if it really is in it.
+//
+// The index is made from the notes of a group as they are at the time, and then kept up to date as they are
+//   edited: each Event knows the index that it is in, and tells it when its Start, End, or Recurrence changes
+//   (see moved).  Only that one is moved; the others are not looked at again.  A note that is added, removed,
+//   or replaced is not seen that way, so the index keeps what it needs to tell when it no longer has the same
+//   notes as its group (see isFor); then a new one is made.
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+class EventIndex {
+    // One Event and its times, while the arrays are being made.
+    private static class Interval {
+        final EventNoteData eventNoteData;
+        final long theStart;
+        final long theEnd;
+
+        Interval(EventNoteData eventNoteData, long theStart, long theEnd) {
+            this.eventNoteData = eventNoteData;
+            this.theStart = theStart;
+            this.theEnd = theEnd;
+        }
+    } // end class Interval
+
+    private EventNoteData[] theEvents; // Sorted by Start.  Only the first theCount of each array are in use.
+    private long[] theStarts;          // Seconds, of the LocalDateTime as if it were UTC; only the order matters.
+    private long[] theEnds;
+    private long[] latestEnds;         // For the range that each one is the root of.
+    private int theCount;
+
+    // All of the notes that the index was made from, with or without a Start.  EventNoteData.hashCode is the
+    //   same for all of them, so they are kept by identity.
+    private final Map<EventNoteData, Boolean> theMembers = new IdentityHashMap<>();
+    private final List<?> theSource;
+    private final int sourceSize;
+    private boolean membersUnchecked; // The group has changed since the notes were last looked over.
+
+
+    EventIndex(List<?> theNotes) {
+        theSource = theNotes;
+        sourceSize = theNotes.size();
+
+        List<Interval> theIntervals = new ArrayList<>(sourceSize);
+        for (Object theNote : theNotes) {
+            EventNoteData eventNoteData = (EventNoteData) theNote;
+            theMembers.put(eventNoteData, Boolean.TRUE);
+            eventNoteData.setEventIndex(this);
+            LocalDateTime theStart = eventNoteData.getEventStartDateTime();
+            if (theStart == null) continue; // It is not at any time, so it can never be found.
+            theIntervals.add(new Interval(eventNoteData, toSeconds(theStart), getEnd(eventNoteData, theStart)));
+        }
+        theIntervals.sort(Comparator.comparingLong(theInterval -> theInterval.theStart));
+
+        theCount = theIntervals.size();
+        theEvents = new EventNoteData[theCount];
+        theStarts = new long[theCount];
+        theEnds = new long[theCount];
+        latestEnds = new long[theCount];
+        for (int i = 0; i < theCount; i++) {
+            Interval theInterval = theIntervals.get(i);
+            theEvents[i] = theInterval.eventNoteData;
+            theStarts[i] = theInterval.theStart;
+            theEnds[i] = theInterval.theEnd;
+        }
+        setLatestEnds(0, theCount);
+    } // end constructor
+
+
+    // Add the Events that overlap the window, from the given range of the arrays, in order.
+    private void collect(int lo, int hi, long windowStart, long windowEnd, List<EventNoteData> theResults) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        if (latestEnds[mid] < windowStart) return; // Everything in this range is over before the window.
+        collect(lo, mid, windowStart, windowEnd, theResults);
+        if (theStarts[mid] > windowEnd) return;    // This one, and the rest of the range, start after it.
+        if (theEnds[mid] >= windowStart) theResults.add(theEvents[mid]);
+        collect(mid + 1, hi, windowStart, windowEnd, theResults);
+    } // end collect
+
+
+    // The Events that are going on at any time from the start of the first day through the end of the last one,
+    //   in order by their Start.
+    synchronized List<EventNoteData> getEventsBetween(LocalDate fromDate, LocalDate toDate) {
+        List<EventNoteData> theResults = new ArrayList<>();
+        collect(0, theCount, toSeconds(fromDate.atStartOfDay()), toSeconds(toDate.atTime(LocalTime.MAX)),
+                theResults);
+
+        // A recurring Event is only in the window if one of its occurrences is.
+        theResults.removeIf(eventNoteData -> isRecurring(eventNoteData)
+                && eventNoteData.getOccurrences(fromDate, toDate).findAny().isEmpty());
+        return theResults;
+    } // end getEventsBetween
+
+
+    // An Event with no End is just the one moment at its Start.  A recurring one ends with its last occurrence.
+    private static long getEnd(EventNoteData eventNoteData, LocalDateTime theStart) {
+        if (isRecurring(eventNoteData)) {
+            LocalDate theLastDay = eventNoteData.getLastOccurrenceDay();
+            if (theLastDay == null) return Long.MAX_VALUE;
+            return toSeconds(theLastDay.atTime(LocalTime.MAX));
+        }
+        LocalDateTime theEnd = eventNoteData.getEventEndDateTime();
+        if (theEnd == null || theEnd.isBefore(theStart)) return toSeconds(theStart);
+        return toSeconds(theEnd);
+    } // end getEnd
+
+
+    // True if this index still has the same notes as the given ones, which are those of its group.  They are
+    //   only looked over again after the group has changed (see notesChanged), since a note cannot be added,
+    //   removed, or replaced without that.
+    synchronized boolean isFor(List<?> theNotes) {
+        if (theNotes != theSource || theNotes.size() != sourceSize) return false;
+        if (membersUnchecked) {
+            for (Object theNote : theNotes) {
+                if (!theMembers.containsKey(theNote)) return false;
+            }
+            membersUnchecked = false;
+        }
+        return true;
+    } // end isFor
+
+
+    // Put an Event into the arrays, after any others with the same Start.
+    private void insert(EventNoteData eventNoteData, long theStart, long theEnd) {
+        if (theCount == theEvents.length) {
+            int theCapacity = Math.max(8, theCount * 2);
+            theEvents = Arrays.copyOf(theEvents, theCapacity);
+            theStarts = Arrays.copyOf(theStarts, theCapacity);
+            theEnds = Arrays.copyOf(theEnds, theCapacity);
+            latestEnds = Arrays.copyOf(latestEnds, theCapacity);
+        }
+        int lo = 0;
+        int hi = theCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (theStarts[mid] <= theStart) lo = mid + 1;
+            else hi = mid;
+        }
+        System.arraycopy(theEvents, lo, theEvents, lo + 1, theCount - lo);
+        System.arraycopy(theStarts, lo, theStarts, lo + 1, theCount - lo);
+        System.arraycopy(theEnds, lo, theEnds, lo + 1, theCount - lo);
+        theEvents[lo] = eventNoteData;
+        theStarts[lo] = theStart;
+        theEnds[lo] = theEnd;
+        theCount++;
+    } // end insert
+
+
+    // Called by an Event of this index when its Start, End, or Recurrence has changed.  It is taken out of the
+    //   arrays and put back in where it now belongs (or left out, if it no longer has a Start).  That shifts the
+    //   ones in between, and the latest Ends are set again, but there is no sort and no other Event is looked at.
+    synchronized void moved(EventNoteData eventNoteData) {
+        if (!theMembers.containsKey(eventNoteData)) return; // It was, but this index has been replaced since.
+        for (int i = 0; i < theCount; i++) {
+            if (theEvents[i] == eventNoteData) {
+                remove(i);
+                break;
+            }
+        }
+        LocalDateTime theStart = eventNoteData.getEventStartDateTime();
+        if (theStart != null) insert(eventNoteData, toSeconds(theStart), getEnd(eventNoteData, theStart));
+        setLatestEnds(0, theCount);
+    } // end moved
+
+
+    // Called by the group when it has changed, which may mean that its notes are not all the ones here.
+    synchronized void notesChanged() {
+        membersUnchecked = true;
+    }
+
+
+    private void remove(int theIndex) {
+        int theMoving = theCount - theIndex - 1;
+        System.arraycopy(theEvents, theIndex + 1, theEvents, theIndex, theMoving);
+        System.arraycopy(theStarts, theIndex + 1, theStarts, theIndex, theMoving);
+        System.arraycopy(theEnds, theIndex + 1, theEnds, theIndex, theMoving);
+        theCount--;
+        theEvents[theCount] = null;
+    } // end remove
+
+
+    private static boolean isRecurring(EventNoteData eventNoteData) {
+        String theRecurrence = eventNoteData.getRecurrenceString();
+        return theRecurrence != null && !theRecurrence.trim().isEmpty();
+    }
+
+
+    // Returns the latest End in the range, after setting it for the root of that range and all below it.
+    private long setLatestEnds(int lo, int hi) {
+        if (lo >= hi) return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long theLatest = Math.max(theEnds[mid], Math.max(setLatestEnds(lo, mid), setLatestEnds(mid + 1, hi)));
+        latestEnds[mid] = theLatest;
+        return theLatest;
+    } // end setLatestEnds
+
+
+    synchronized int size() {
+        return theCount;
+    }
+
+
+    private static long toSeconds(LocalDateTime theDateTime) {
+        return theDateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+} // end class EventIndex
@@ -1,7 +1,6 @@
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.text.WordUtils;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -10,6 +9,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 
@@ -22,6 +22,8 @@ public class EventNoteData extends IconNoteData {
     private String eventEndTimeString;
 
     private String recurrenceString;
+    private transient RecurrenceRule recurrenceRule; // Compiled from the recurrenceString (see getRecurrenceRule).
+    private transient EventOccurrences occurrences;  // Made as needed, by getOccurrences.
     private boolean blnRetainNote;
 
     // Duration should be recalculated every time one of the Date/Time fields is set.
@@ -30,6 +32,10 @@ public class EventNoteData extends IconNoteData {
     // recalculation.  This var is used to stop that from happening.
     static boolean settingDuration = false;
 
+    // The index of the group that this Event is in, if one has been made (see EventIndex).  It is told of any
+    //   change to the Start, End, or Recurrence; every setter of a Date or Time goes through recalcDuration.
+    private transient EventIndex myEventIndex;
+
     // These two are set by the recalcDuration method via the Date/Time setters, and
     // they share their 'get' methods with durationValue and durationUnits.
     private transient Long calculatedDurationValue;
@@ -91,6 +97,7 @@ public class EventNoteData extends IconNoteData {
         locationString = "";
         recurrenceString = "";
         blnRetainNote = true;
+        timingChanged();
     } // end clearEventNoteData
 
 
@@ -181,7 +188,7 @@ public class EventNoteData extends IconNoteData {
 
     // Get the Event end, as the combination of the
     // end date and end time (with caveats).
-    private LocalDateTime getEventEndDateTime() {
+    LocalDateTime getEventEndDateTime() {
         LocalDate theEndDate = getEndDate();
         if (theEndDate == null) return null;
         LocalTime theEndTime = getEndTime();
@@ -209,6 +216,72 @@ public class EventNoteData extends IconNoteData {
         return locationString;
     }
 
+    // The last day that this Event or any of its recurrences runs through, or null if they go on
+    //   indefinitely (or if there is no Start).
+    LocalDate getLastOccurrenceDay() {
+        EventOccurrences theOccurrences = getEventOccurrences();
+        if (theOccurrences == null) return null;
+        return theOccurrences.getLastDay();
+    } // end getLastOccurrenceDay
+
+    //------------------------------------------------------
+    // Method Name: getOccurrences
+    //
+    // The Start dates of this Event and of its recurrences
+    //   (see EventOccurrences.between) within the given
+    //   dates, without moving the Event itself.
+    //------------------------------------------------------
+    Stream<LocalDate> getOccurrences(LocalDate fromDate, LocalDate toDate) {
+        EventOccurrences theOccurrences = getEventOccurrences();
+        if (theOccurrences == null) return Stream.empty();
+        return theOccurrences.between(fromDate, toDate);
+    } // end getOccurrences
+
+    // The occurrences are kept from one call to the next, until the setters for the Start, End, or
+    //   Recurrence drop them.  The strings can also be set directly (by Jackson, and by moveStart),
+    //   so they are checked here as well.
+    private EventOccurrences getEventOccurrences() {
+        LocalDate theStartDate = getStartDate();
+        if (theStartDate == null) return null;
+
+        EventOccurrences theOccurrences = occurrences;
+        if (theOccurrences == null
+                || !theOccurrences.isFor(eventStartDateString, eventEndDateString, recurrenceString)) {
+            LocalDate theEndDate = getEndDate();
+            long theSpan = theEndDate == null ? 0 : Math.max(DAYS.between(theStartDate, theEndDate), 0);
+            theOccurrences = new EventOccurrences(eventStartDateString, eventEndDateString, recurrenceString,
+                    theStartDate, theSpan, getRecurrenceRule());
+            occurrences = theOccurrences;
+        }
+        return theOccurrences;
+    } // end getEventOccurrences
+
+    // The recurrenceString can be set without going through setRecurrence (by Jackson, and by setStartDate), so
+    //   the rule is kept along with the string that it came from, and made again when that changes.
+    private RecurrenceRule getRecurrenceRule() {
+        String theSetting = recurrenceString;
+        if (theSetting == null || theSetting.trim().isEmpty()) return null;
+
+        RecurrenceRule theRule = recurrenceRule;
+        if (theRule == null || !theSetting.equals(theRule.source)) {
+            theRule = RecurrenceRule.compile(theSetting);
+            if (theRule == null) return null; // Not one that can be followed; it will be looked at again, next time.
+            recurrenceRule = theRule;
+        }
+        return theRule;
+    } // end getRecurrenceRule
+
+    void setEventIndex(EventIndex theIndex) {
+        myEventIndex = theIndex;
+    }
+
+    // Called after a change to the Start, End, or Recurrence, so that the index (if any) can move this Event
+    //   to where it now belongs, without being made again.
+    private void timingChanged() {
+        EventIndex theIndex = myEventIndex;
+        if (theIndex != null) theIndex.moved(this);
+    }
+
     String getRecurrenceString() {
         return recurrenceString;
     }
@@ -429,8 +502,8 @@ public class EventNoteData extends IconNoteData {
     //   more recurrence at all.
     //------------------------------------------------------
     boolean goForward() {
-        if (recurrenceString == null) return false;
-        if (recurrenceString.trim().equals("")) return false;
+        RecurrenceRule theRule = getRecurrenceRule();
+        if (theRule == null) return false;
 
         // Unlikely that this method was even called in this
         //   case, but test it to be sure since we're using
@@ -438,277 +511,61 @@ public class EventNoteData extends IconNoteData {
         LocalDate theStartDate = getStartDate();
         if (theStartDate == null) return false;
 
-        int intTheInterval;
-        String strDescription;
+        LocalDate futureDate = theRule.next(theStartDate);
+        if (theRule.stopBy != null && theRule.stopBy.isBefore(futureDate)) return false; // Past the 'Stop By' date.
+        moveStart(theStartDate, futureDate, theRule.getSettingAfter(1));
+        return true;
+    } // end goForward
 
-        int intUnderscore1 = recurrenceString.indexOf('_');
-        int intUnderscore2 = recurrenceString.lastIndexOf('_');
-
-        // Calculate the proposed new start date
-        LocalDate futureDate = theStartDate;
-        if (recurrenceString.startsWith("D")) {
-            intTheInterval = Integer.parseInt(recurrenceString.substring(1, intUnderscore1));
-            futureDate = futureDate.plusDays(intTheInterval);
-        } else if (recurrenceString.startsWith("W")) {
-            strDescription = recurrenceString.substring(intUnderscore1 + 1, intUnderscore2);
-            intTheInterval = Integer.parseInt(recurrenceString.substring(1, intUnderscore1));
-
-            while (true) {
-                // If we are at the end of the week, jump the
-                //   interval before we add another day.
-                // ok, doing that, but why?  need better comment here.
-                DayOfWeek dow = futureDate.getDayOfWeek();
-                if (dow == DayOfWeek.SATURDAY) {
-                    if (intTheInterval > 1) futureDate = futureDate.plusDays(7L * (intTheInterval - 1));
-                } // end if
-
-                futureDate = futureDate.plusDays(1);
-
-                // Now check to see if it 'counts'.
-                dow = futureDate.getDayOfWeek();
-                if (dow == DayOfWeek.SUNDAY) {
-                    if (strDescription.contains("Su")) break;
-                } else if (dow == DayOfWeek.MONDAY) {
-                    if (strDescription.contains("Mo")) break;
-                } else if (dow == DayOfWeek.TUESDAY) {
-                    if (strDescription.contains("Tu")) break;
-                } else if (dow == DayOfWeek.WEDNESDAY) {
-                    if (strDescription.contains("We")) break;
-                } else if (dow == DayOfWeek.THURSDAY) {
-                    if (strDescription.contains("Th")) break;
-                } else if (dow == DayOfWeek.FRIDAY) {
-                    if (strDescription.contains("Fr")) break;
-                } else if (dow == DayOfWeek.SATURDAY) {
-                    if (strDescription.contains("Sa")) break;
-                } // end testing to see if the day matters
-            } // end while
-        } else if (recurrenceString.startsWith("M")) {
-            strDescription = recurrenceString.substring(intUnderscore1 + 1, intUnderscore2);
-            intTheInterval = Integer.parseInt(recurrenceString.substring(1, intUnderscore1));
-//            calTmp.setTime(goForwardMonths(intTheInterval, strDescription));
-            futureDate = goForwardMonths(intTheInterval, strDescription); // IF startTime is not null.  ..
-        } else {  // Year
-            strDescription = recurrenceString.substring(intUnderscore1 + 1, intUnderscore2);
-//            calTmp.setTime(goForwardMonths(12, strDescription));
-            futureDate = goForwardMonths(12, strDescription); // IF startTime is not null.  ..
-        } // end if
 
-        // Examine our Recurrence Range End
-        if (!recurrenceString.endsWith("_")) { // recurrence has an end; does not go on indefinitely.
-            String strRecurEnd;
-            strRecurEnd = recurrenceString.substring(intUnderscore2 + 1);
-            if (strRecurEnd.length() < 4) {
-                // Adjust the 'Stop After' value
-                int intAfter = Integer.parseInt(strRecurEnd);
-                intAfter--; // Decrease the 'Stop After' by one
-                if (intAfter > 1) {
-                    recurrenceString = recurrenceString.substring(0, intUnderscore2 + 1);
-                    recurrenceString += String.valueOf(intAfter);
-                } else {
-                    // Now we are down to the last one so remove the recurrence
-                    //   for next time but we still goForward.
-                    recurrenceString = "";
-                } // end if there will be more
-            } else {              // Stop By
-                dtf = DateTimeFormatter.ofPattern("yyyyMMdd");
-                try {
-                    LocalDate d = LocalDate.parse(strRecurEnd, dtf);
-                    if (d.isBefore(futureDate)) return false;
-                } catch (Exception ignored) {
-                }
-            } // end if/else - Stop    After or By
-        } // end if there is an end recurrence range
+    //------------------------------------------------------
+    // Method Name: goForwardTo
+    //
+    // The same as calling goForward until the Start is on or
+    //   after the given date, or until it can go no further,
+    //   but the occurrences in between are skipped over rather
+    //   than visited one at a time.  Returns true if the
+    //   Start moved.
+    //------------------------------------------------------
+    boolean goForwardTo(LocalDate theDate) {
+        RecurrenceRule theRule = getRecurrenceRule();
+        if (theRule == null) return false;
+        LocalDate theStartDate = getStartDate();
+        if (theStartDate == null) return false;
 
-        // Various sections above have calculated the appropriate new
-        // date to which to set the Start.  Now - use it.
+        long theSteps = Math.min(theRule.getStepsUntil(theStartDate, theDate), theRule.getStepsAllowed(theStartDate));
+        if (theSteps < 1) return false;
+        moveStart(theStartDate, theRule.skip(theStartDate, theSteps), theRule.getSettingAfter(theSteps));
+        return true;
+    } // end goForwardTo
 
-        // Preserve the recurrence from being wiped by setStartDate().
-        String strKeepRecurrence = recurrenceString;
 
-        // Adjust to the new (later) Start Date.
+    // Go forward (see goForwardTo) to the first occurrence that has not started yet.
+    boolean goForwardPastNow() {
+        LocalDateTime rightNow = LocalDateTime.now();
+        LocalTime theStartTime = getStartTime();
+        if (theStartTime == null) theStartTime = LocalTime.MIDNIGHT;
+
+        // Same as in hasStarted; an Event that starts right now has not started yet.
+        LocalDate theDate = rightNow.toLocalDate();
+        if (rightNow.isAfter(theDate.atTime(theStartTime))) theDate = theDate.plusDays(1);
+        return goForwardTo(theDate);
+    } // end goForwardPastNow
+
+
+    // Set the new (later) Start, and move the End (if there is one) by the same amount.
+    private void moveStart(LocalDate theStartDate, LocalDate futureDate, String theRecurrence) {
         MemoryBank.debug("  Adjusting start date to: " + futureDate);
-        // If there is an End Date, it will need to move forward too, by the same amount.
         LocalDate theEndDate = getEndDate();
         if(theEndDate != null) {
             long theAdjustment = DAYS.between(theStartDate, futureDate);
             setEndDate(theEndDate.plusDays(theAdjustment));
         }
-        setStartDate(futureDate);
+        setStartDate(futureDate); // This clears the recurrence, which is then set to what it is after going forward.
 //        May need to also re-set duration here, if we have user-entered (vs calculated) settings.
-
-        // Restore the recurrence string.
-        recurrenceString = strKeepRecurrence;
-
-        return true;
-    } // end goForward
-
-
-    //------------------------------------------------------------
-    // Method Name: goForwardMonths
-    //
-    // Calculates and returns the end date that occurs after
-    //   the specified number of input months, adjusted to
-    //   fit the pattern.
-    //------------------------------------------------------------
-    private LocalDate goForwardMonths(int months, String strMonthPattern) {
-//        Date dateTheEndDate;  // Where we end up, after going forward.
-        LocalDate futureDate; // Where we end up, after going forward.
-//        calTmp.setTime(dateEventStart);  // eventStartDateTime
-
-        // Get our start day, for multiple uses below.
-        String strWhichOne = "first";
-        DayOfWeek dow = getStartDate().getDayOfWeek();
-
-        // Keep the last known 'good' date, as we scan forward.
-        LocalDate ldGood;
-
-        // This calculation works for a simple numeric date and
-        // does not consider the Monthly pattern.
-//        calTmp.setNotes(Calendar.MONTH, months);
-//        dateTheEndDate = calTmp.getTime();
-        futureDate = getStartDate().plusMonths(months);
-
-        // Preserve the month value.
-//        int intMonth = calTmp.get(Calendar.MONTH);
-        int intMonth = futureDate.getMonthValue() - 1;
-
-        // Examine the user-selected recurrence pattern.
-        if (!Character.isDigit(strMonthPattern.charAt(4))) {
-            // If the pattern is the simple numeric, then we are done.  Otherwise -
-            if (strMonthPattern.toLowerCase().contains("weekend")) {
-                // System.out.println("generalized - weekend");
-                // Now set the calendar to the first one in this month -
-//                calTmp.set(Calendar.DAY_OF_MONTH, 1);
-                LocalDate tmpFutureDate = futureDate.withDayOfMonth(1);
-//                while (RecurrencePanel.isWeekday(calTmp)) calTmp.setNotes(Calendar.DATE, 1);
-                while (RecurrencePanel.isWeekday(tmpFutureDate)) futureDate = futureDate.plusDays(1);
-//                dateGood = calTmp.getTime();
-                ldGood = tmpFutureDate;
-                // System.out.println("Adjusted to correct day: " + calTmp.getTime());
-
-                while (!strMonthPattern.toLowerCase().contains(strWhichOne)) {
-                    strWhichOne = switch (strWhichOne) {
-                        case "first" -> "second";
-                        case "second" -> "third";
-                        case "third" -> "fourth";
-                        default -> "keep going...";
-                    };
-
-//                    calTmp.setNotes(Calendar.DATE, 1); // add a day
-                    tmpFutureDate = tmpFutureDate.plusDays(1);
-
-                    // and keep going, if we need to,
-                    // to get to the next weekend day.
-//                    while (RecurrencePanel.isWeekday(calTmp)) calTmp.setNotes(Calendar.DATE, 1);
-                    while (RecurrencePanel.isWeekday(tmpFutureDate)) futureDate = futureDate.plusDays(1);
-
-                    // System.out.println(strWhichOne + " " + calTmp.getTime());
-//                    if (calTmp.get(Calendar.MONTH) != intMonth) {
-                    if (futureDate.getMonthValue() - 1 != intMonth) {
-                        // System.out.println("Shot past - resetting.");
-//                        calTmp.setTime(dateGood);
-                        tmpFutureDate = ldGood;
-                        break;
-                    } else {
-                        //if (!RecurrencePanel.isWeekday(calTmp)) dateGood = calTmp.getTime();
-                        if (!RecurrencePanel.isWeekday(tmpFutureDate)) ldGood = tmpFutureDate;
-                    } // end if/else
-                } // end while
-//                dateTheEndDate = calTmp.getTime();
-                futureDate = tmpFutureDate;
-            } else if (strMonthPattern.toLowerCase().contains("weekday")) {
-                // System.out.println("generalized - weekday");
-                // Now set the calendar to the first one in this month -
-//                calTmp.set(Calendar.DAY_OF_MONTH, 1);
-                LocalDate tmpFutureDate = futureDate.withDayOfMonth(1);
-
-//                while (!RecurrencePanel.isWeekday(calTmp)) calTmp.setNotes(Calendar.DATE, 1);
-                while (!RecurrencePanel.isWeekday(tmpFutureDate)) tmpFutureDate = tmpFutureDate.plusDays(1);
-//                dateGood = calTmp.getTime();
-                ldGood = tmpFutureDate;
-                // System.out.println("Adjusted to correct day: " + calTmp.getTime());
-
-                while (!strMonthPattern.contains(strWhichOne)) {
-                    strWhichOne = switch (strWhichOne) {
-                        case "first" -> "second";
-                        case "second" -> "third";
-                        case "third" -> "fourth";
-                        default -> "keep going...";
-                    };
-
-//                    calTmp.setNotes(Calendar.DATE, 1); // add a day
-                    tmpFutureDate = tmpFutureDate.plusDays(1);
-
-
-                    // and keep going, if we need to,
-                    // to get to the next weekday.
-//                    while (!RecurrencePanel.isWeekday(calTmp)) calTmp.setNotes(Calendar.DATE, 1);
-                    while (!RecurrencePanel.isWeekday(tmpFutureDate)) tmpFutureDate = tmpFutureDate.plusDays(1);
-
-                    // System.out.println(strWhichOne + " " + calTmp.getTime());
-//                    if (calTmp.get(Calendar.MONTH) != intMonth) {
-                    if (tmpFutureDate.getMonthValue() - 1 != intMonth) {
-                        // System.out.println("Shot past - resetting.");
-//                        calTmp.setTime(dateGood);
-                        tmpFutureDate = ldGood;
-                        break;
-                    } else {
-//                        if (RecurrencePanel.isWeekday(calTmp)) dateGood = calTmp.getTime();
-                        if (RecurrencePanel.isWeekday(tmpFutureDate)) ldGood = tmpFutureDate;
-                    } // end if/else
-                } // end while
-//                dateTheEndDate = calTmp.getTime();
-                futureDate = tmpFutureDate;
-            } else if (strMonthPattern.toLowerCase().contains("last day")) {
-                // System.out.println("last day");
-                LocalDate tmpFutureDate = futureDate;
-                while (true) {
-//                    dateGood = calTmp.getTime();
-                    ldGood = tmpFutureDate;
-//                    calTmp.setNotes(Calendar.DATE, 1); // add a day
-                    tmpFutureDate = tmpFutureDate.plusDays(1);
-
-//                    if (calTmp.get(Calendar.MONTH) != intMonth) {
-                    if (tmpFutureDate.getMonthValue() - 1 != intMonth) {
-                        // System.out.println("Shot past - resetting.");
-//                        calTmp.setTime(dateGood);
-                        tmpFutureDate = ldGood;
-                        break;
-                    } // end if
-                } // end while
-//                dateTheEndDate = calTmp.getTime();
-                futureDate = tmpFutureDate;
-            } else {
-                // System.out.println("specific day");
-                // Now set the calendar to the first one in this month -
-                LocalDate tmpFutureDate = futureDate.withDayOfMonth(1);
-                while (tmpFutureDate.getDayOfWeek() != dow) {
-                    tmpFutureDate = tmpFutureDate.plusDays(1);
-                }
-
-                while (!strMonthPattern.contains(strWhichOne)) {
-                    strWhichOne = switch (strWhichOne) {
-                        case "first" -> "second";
-                        case "second" -> "third";
-                        case "third" -> "fourth";
-                        default -> "keep going...";
-                    };
-
-                    ldGood = tmpFutureDate;
-                    tmpFutureDate = tmpFutureDate.plusWeeks(1);
-
-                    if (tmpFutureDate.getMonthValue() - 1 != intMonth) {
-                        // System.out.println("Shot past - resetting.");
-                        tmpFutureDate = ldGood;
-                        break;
-                    } // end if
-                } // end while
-                futureDate = tmpFutureDate;
-            } // end if/else - general or specific or last
-        }
-
-        return futureDate;
-    } // end goForwardMonths
+        recurrenceString = theRecurrence;
+        timingChanged();
+    } // end moveStart
 
 
     // This is used by a Set during uniqueness checking.  This method effectively disables
@@ -764,6 +621,7 @@ public class EventNoteData extends IconNoteData {
     // minutes and is only increased if there is no loss of precision.
     //-----------------------------------------------------------
     void recalcDuration() {
+        timingChanged();
         if (settingDuration) {
             return;
         } else {
@@ -1214,6 +1072,7 @@ public class EventNoteData extends IconNoteData {
     //------------------------------------------------------------
     public boolean setEndDate(LocalDate newEndDate) {
         touchLastMod();
+        occurrences = null;
         if (newEndDate == null) { // The user is 'un-setting' the date.
             eventEndDateString = null;
             recalcDuration();
@@ -1299,6 +1158,8 @@ public class EventNoteData extends IconNoteData {
 
     public void setRecurrence(String s) {
         recurrenceString = s;
+        occurrences = null;
+        timingChanged();
         touchLastMod();
     }
 
@@ -1310,6 +1171,7 @@ public class EventNoteData extends IconNoteData {
     public boolean setStartDate(LocalDate newStartDate) {
         touchLastMod();
         recurrenceString = ""; // Setting (or unsetting) the Start date invalidates recurrence.
+        occurrences = null;
 
         if (newStartDate == null) { // The user is 'un-setting' the date.
             eventStartDateString = null;
@@ -1338,7 +1200,10 @@ public class EventNoteData extends IconNoteData {
             }
             // The comparison -
             // Ensure that the proposed new Event Start is not after the current Event End.
-            if (newEventStart.isAfter(eventEnd)) return false;
+            if (newEventStart.isAfter(eventEnd)) {
+                timingChanged(); // The Start stays, but the recurrence was still cleared, above.
+                return false;
+            }
         }
 
         // Accept the proposed new Start date and recalculate duration.
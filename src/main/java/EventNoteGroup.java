@@ -1,15 +1,36 @@
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Vector;
 
 public class EventNoteGroup extends NoteGroup {
+    private EventIndex eventIndex; // Made when it is needed, and kept up to date after that (see EventIndex).
 
     EventNoteGroup(GroupInfo groupInfo) {
         super(groupInfo); // this sets 'myGroupInfo', in the base.
     }
 
+    // The Events that are going on at any time within the given dates, in order by their Start.
+    List<EventNoteData> getEventsBetween(LocalDate fromDate, LocalDate toDate) {
+        EventIndex theIndex = eventIndex;
+        if (theIndex == null || !theIndex.isFor(noteGroupDataVector)) {
+            theIndex = new EventIndex(noteGroupDataVector);
+            eventIndex = theIndex;
+        }
+        return theIndex.getEventsBetween(fromDate, toDate);
+    }
+
+    @Override
+    public void setGroupChanged(boolean b) {
+        super.setGroupChanged(b);
+        EventIndex theIndex = eventIndex;
+        if (b && theIndex != null) theIndex.notesChanged(); // Notes may have been added, removed, or replaced.
+    }
+
     @Override
     protected void setNotes(Object vectorObject) {
+        eventIndex = null;
         if(vectorObject instanceof Vector) {
             noteGroupDataVector = (Vector) vectorObject;
         } else {
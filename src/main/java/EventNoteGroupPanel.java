@@ -56,6 +56,7 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
         // Here, we just go right into it, without a separate method call.
         tmc = new ThreeMonthColumn();
         tmc.setSubscriber(this);
+        tmc.setDayMarker(this::hasEventOn); // Days with an Event (or an occurrence of one) are shown in blue.
 
         theHeader = new EventHeader(this);
         add(theHeader, BorderLayout.NORTH);
@@ -104,9 +105,14 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
     // The return value will be true if one or more events were aged
     //   off.  If they were not aged at all, or only aged forward, the
     //   return value is false.
+    //
+    // The notes that are kept from the occurrences go to their
+    //   day groups all at once, after the loop (see RetainedNotes).
     private boolean ageEvents() {
+        long startTime = System.nanoTime();
         boolean blnDropThisEvent;
         boolean blnAnEventWasAged = false;
+        RetainedNotes retainedNotes = new RetainedNotes();
 
         String s;
         EventNoteData tempNoteData;
@@ -119,17 +125,19 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
             s = tempNoteData.getNoteString();
             MemoryBank.debug("Examining: " + s + " starting " + tempNoteData.getEventStartDateTime());
 
+            // Without a note to keep from each occurrence, there is no need to stop at every one on the way.
+            //   This gets it to where the loop below would have, apart from dropping it if it has run out.
+            if (!tempNoteData.getRetainNote() && tempNoteData.hasStarted()) {
+                if (tempNoteData.goForwardPastNow()) {
+                    MemoryBank.debug("  Aged forward to: " + tempNoteData.getEventStartDateTime());
+                    blnAnEventWasAged = true;
+                }
+            }
+
             // 'Age' the event, if appropriate to do so.
             while (tempNoteData.hasStarted()) { // If it has started then we definitely have a start date.
                 if (tempNoteData.getRetainNote()) { // We save this version of the event.
-                    DayNoteData dnd = new DayNoteData(tempNoteData);
-                    LocalDate eventStartDate = tempNoteData.getStartDate();
-                    String dayName = CalendarNoteGroup.getGroupNameForDate(eventStartDate, GroupType.DAY_NOTES);
-                    GroupInfo dayGroupInfo = new GroupInfo(dayName, GroupType.DAY_NOTES);
-                    // Get the right group even if it is already open, with unsaved changes -
-                    NoteGroup dayNoteGroup = dayGroupInfo.getNoteGroup();
-                    dayNoteGroup.appendNote(dnd);
-                    dayNoteGroup.saveNoteGroup();
+                    retainedNotes.add(tempNoteData.getStartDate(), new DayNoteData(tempNoteData));
 
                     // FAQ:  I don't see any Exception handling going on here - what gives?
                     // This aging event is one of potentially several in the group, and one of the times that this
@@ -162,6 +170,11 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
 
         } // end for - for each Event
 
+        int theNoteCount = retainedNotes.getNoteCount();
+        int theFileCount = retainedNotes.saveAll();
+        MemoryBank.debug("Aging kept " + theNoteCount + " notes in " + theFileCount + " day files, in "
+                + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+
         //  Just clearing DATA (above) does not set noteChanged (nor should it,
         //    because that data may not even be loaded into a component).
         //  So since we can't go that route to a groupChanged, just do it explicitly.
@@ -210,6 +223,7 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
             // System.out.println(d);
             eventNoteComponent.setNoteData(end);
             theHeader.setEventSummary(end.getSummary());
+            tmc.showMarks(); // The Event is on a different day now.
         }
     } // end dateSelected
 
@@ -293,6 +307,14 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
     }
 
 
+    // Used by the ThreeMonthColumn to mark the days that have something going on.  The group's EventIndex
+    //   answers this without going thru all of the Events, so it can be asked about every day that is shown.
+    private boolean hasEventOn(LocalDate theDay) {
+        if (!(myNoteGroup instanceof EventNoteGroup eventNoteGroup)) return false;
+        return !eventNoteGroup.getEventsBetween(theDay, theDay).isEmpty();
+    } // end hasEventOn
+
+
     ThreeMonthColumn getThreeMonthColumn() {
         return tmc;
     }
@@ -388,6 +410,7 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
         // Unfortunately, that list will still have the old title, so it still needs
         // to be removed from the keeper.  The calling context (AppTreePanel) must take care of that.
         myGroupProperties.setGroupName(newName);
+        if (myKeeper != null) myKeeper.rename(oldName, newName); // So that the keeper can find it by its new name.
         GroupInfo myGroupInfo = new GroupInfo(myGroupProperties);
 
         // The data accessor (constructed along with this Panel) has the old name; need to update.
@@ -400,6 +423,14 @@ public class EventNoteGroupPanel extends NoteGroupPanel implements IconKeeper, D
         return true;
     } // end saveAs
 
+    // Any change to the group may have added, moved, or removed an Event, so the marked days are looked at again.
+    @Override
+    public void setGroupChanged(boolean b) {
+        super.setGroupChanged(b);
+        if (tmc != null) tmc.showMarks(); // It is not there yet, when the base constructor gets here.
+    } // end setGroupChanged
+
+
     // ----------------------------------------------------
     // Method Name: setDefaultIcon
     //
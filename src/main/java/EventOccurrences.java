@@ -0,0 +1,126 @@
+// EventOccurrences is the list of dates that an Event will start on, according to its recurrence (see
+//   RecurrenceRule), beginning with the one that it is set to now.  It is for the views that show what is
+//   coming up, without going through the Event itself with goForward.  Only a run of the list is kept: it
+//   starts at the first occurrence that a window asked for (skipped to, the same way as goForwardTo does it),
+//   and goes as far as it has been asked for.  A later window that starts within or just after the run adds
+//   on to it; one that starts before it, or well after it, starts a new run.
+//
+// It goes with the start, end, and recurrence strings that it was made from; the Event makes a new one when
+//   any of those change.  An Event with no recurrence (or one that cannot be followed) has just the one date.
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+class EventOccurrences {
+    private final String startSource;
+    private final String endSource;
+    private final String recurrenceSource;
+
+    private final RecurrenceRule theRule;
+    private final LocalDate theStartDate;
+    private final long stepsAllowed; // How many times the Event could goForward from its start.
+    final long spanDays;             // The number of days after its start that an occurrence ends on.
+
+    private final ArrayList<LocalDate> theDates = new ArrayList<>(); // The run that is kept; never empty.
+    private long firstStep;          // How many steps from the start, to the first date of the run.
+
+
+    EventOccurrences(String startSource, String endSource, String recurrenceSource,
+                     LocalDate theStartDate, long spanDays, RecurrenceRule theRule) {
+        this.startSource = startSource;
+        this.endSource = endSource;
+        this.recurrenceSource = recurrenceSource;
+        this.spanDays = spanDays;
+        this.theRule = theRule;
+        this.theStartDate = theStartDate;
+        stepsAllowed = theRule == null ? 0 : theRule.getStepsAllowed(theStartDate);
+        theDates.add(theStartDate);
+    } // end constructor
+
+
+    // The occurrences that start in the given window (inclusive), along with any that started before it but
+    //   are still going on when it begins, in order.  They are made as they are needed, so a caller that only
+    //   looks at the first few does not pay for the rest of the window.
+    Stream<LocalDate> between(LocalDate fromDate, LocalDate toDate) {
+        Iterator<LocalDate> theIterator = iterator(fromDate, toDate);
+        int theCharacteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(theIterator, theCharacteristics), false);
+    } // end between
+
+
+    // The occurrence that is the given number of steps from the start, or null if the rule ends before that.
+    private synchronized LocalDate get(long theStep) {
+        if (theStep > stepsAllowed) return null;
+        long theOffset = theStep - firstStep;
+        if (theOffset < 0 || theOffset > theDates.size()) { // Not in (or next to) the run; start a new one.
+            theDates.clear();
+            theDates.add(theRule.skip(theStartDate, theStep));
+            firstStep = theStep;
+            theOffset = 0;
+        }
+        if (theOffset == theDates.size()) theDates.add(theRule.next(theDates.get(theDates.size() - 1)));
+        return theDates.get((int) theOffset);
+    } // end get
+
+
+    // The number of steps from the start, to the first occurrence that is on or after the given date.  When
+    //   the run does not start after that date, the count is taken from within the run, or from its end.
+    private synchronized long stepOf(LocalDate theDate) {
+        if (theRule == null) return theStartDate.isBefore(theDate) ? 1 : 0;
+        LocalDate theLastDate = theDates.get(theDates.size() - 1);
+        if (theLastDate.isBefore(theDate)) {
+            long theLastStep = firstStep + theDates.size() - 1;
+            if (theLastStep >= stepsAllowed) return theLastStep + 1; // The rule has ended; there are no more.
+            return firstStep + theDates.size() - 1 + theRule.getStepsUntil(theLastDate, theDate);
+        }
+        if (!theDates.get(0).isAfter(theDate)) {
+            int theIndex = Collections.binarySearch(theDates, theDate);
+            return firstStep + (theIndex >= 0 ? theIndex : -theIndex - 1);
+        }
+        return theRule.getStepsUntil(theStartDate, theDate);
+    } // end stepOf
+
+
+    // The last day that the last occurrence runs through, or null if they go on indefinitely.
+    LocalDate getLastDay() {
+        if (theRule == null) return theStartDate.plusDays(spanDays);
+        if (stepsAllowed == Long.MAX_VALUE) return null;
+        return theRule.skip(theStartDate, stepsAllowed).plusDays(spanDays);
+    } // end getLastDay
+
+
+    boolean isFor(String theStart, String theEnd, String theRecurrence) {
+        return Objects.equals(startSource, theStart) && Objects.equals(endSource, theEnd)
+                && Objects.equals(recurrenceSource, theRecurrence);
+    } // end isFor
+
+
+    Iterator<LocalDate> iterator(LocalDate fromDate, LocalDate toDate) {
+        LocalDate theEarliest = fromDate.minusDays(spanDays);
+        return new Iterator<>() {
+            private long theStep = -1; // Found on first use, so that making the iterator does no work.
+
+            @Override
+            public boolean hasNext() {
+                if (theStep < 0) theStep = stepOf(theEarliest);
+                LocalDate theDate = get(theStep);
+                return theDate != null && !theDate.isAfter(toDate);
+            }
+
+            @Override
+            public LocalDate next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return get(theStep++);
+            }
+        };
+    } // end iterator
+
+} // end class EventOccurrences
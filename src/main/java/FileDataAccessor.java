@@ -12,7 +12,10 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Vector;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @SuppressWarnings("rawtypes")
 public class FileDataAccessor implements DataAccessor {
@@ -40,7 +43,7 @@ public class FileDataAccessor implements DataAccessor {
     static String locationsFilename;
     static String userDataHome; // User data top-level directory 'mbankData'
 
-    Vector<NoteData> foundDataVector;
+    static boolean parallelSearch = true; // Data files are searched on the fork/join pool; false for one at a time.
     static IconFileChooser iconFileChooser;
 
     static {
@@ -71,6 +74,7 @@ public class FileDataAccessor implements DataAccessor {
         logGroupAreaPath = basePath + DataArea.LOGS.getAreaName() + File.separatorChar;
         plainNoteGroupAreaPath = basePath + DataArea.NOTES.getAreaName() + File.separatorChar;
         todoListGroupAreaPath = basePath + DataArea.TODO_LISTS.getAreaName() + File.separatorChar;
+        CalendarDateIndex.invalidate(); // It may have been built from a different data area.
     }
 
     public static void setUserDataHome(String userEmail) {
@@ -139,7 +143,7 @@ public class FileDataAccessor implements DataAccessor {
 
     } // end setUserDataHome
 
-    static void archiveGroupType(File archiveRepo, GroupType groupType) throws IOException {
+    void archiveGroupType(File archiveRepo, GroupType groupType) throws IOException {
         String archiveRepoPath = archiveRepo.getAbsolutePath();
         File theSourceDir = null;
         File theDestDir = null;
@@ -172,6 +176,7 @@ public class FileDataAccessor implements DataAccessor {
 
         if (theFiles != null) {
             for (File aFile : theFiles) {
+                if (aFile.getName().startsWith(".")) continue; // Hidden OS content, or a stray temporary file.
                 GroupInfo groupInfo = NoteGroupFile.getGroupInfoFromFilePath(aFile);
                 // This GroupInfo will not be entirely accurate for sub-panels because the Type will be the type
                 //   of the parent panel, but that's exactly what we need for the condition below, and the
@@ -247,55 +252,11 @@ public class FileDataAccessor implements DataAccessor {
         return archiveFileFormat.format(localDateTime);
     }
 
-    //      @SuppressWarnings("rawtypes")
+    // The answer comes from the small per-year index rather than from opening each Day file of the year.
+    // The index is rebuilt first if it is missing or stale, so this is still correct after outside changes.
     @Override
     public boolean[][] findDataDays(int year) {
-        boolean[][] hasDataArray = new boolean[12][31];
-        // Will need to normalize the month integers from 0-11 to 1-12
-        // and the day integers from 0-30 to 1-31
-
-        // System.out.println("Searching for data in the year: " + year);
-        String FileName = calendarNoteGroupAreaPath + year;
-        //MemoryBank.debug("Looking in " + FileName);
-
-        String[] foundFiles = null;
-
-        File f = new File(FileName);
-        if (f.exists()) {
-            if (f.isDirectory()) {
-                foundFiles = f.list(new AppUtil.logFileFilter("D"));
-            } // end if directory
-        } // end if exists
-
-        if (foundFiles == null)
-            return hasDataArray;
-        int month, day;
-
-        // System.out.println("Found:");
-        for (String foundFile : foundFiles) {
-            month = Integer.parseInt(foundFile.substring(1, 3));
-            day = Integer.parseInt(foundFile.substring(3, 5));
-            // System.out.println(" " + foundFiles[i]);
-            // System.out.println("\tMonth: " + month + "\tDay: " + day);
-            Object[] theGroup = NoteGroupFile.loadFileData(FileName + File.separatorChar + foundFile);
-
-            // Look into the file to see if it has significant content.
-            boolean itHasData = false;
-            if (theGroup.length == 1) {
-                // It is not possible to have a length of one for DayNoteData, where the content is GroupProperties.
-                // When only linkages are present in DayNoteData, the file still contains a two-element array
-                // although the second element may be null.  So this is just older (pre linkages) data, and in
-                // that case it is significant since we didn't ever save 'empty' days.
-                itHasData = true;  // and DayNoteData did not get saved, if no notes.
-            } else { // new structure; element zero is a GroupProperties.  But nothing from the Properties is
-                // significant for purposes of this method; only the length of the second element (the ArrayList).
-                ArrayList arrayList = AppUtil.mapper.convertValue(theGroup[1], ArrayList.class);
-                if (arrayList.size() > 0) itHasData = true;
-            }
-            if (itHasData) hasDataArray[month - 1][day - 1] = true;
-        } // end for each foundFile
-
-        return hasDataArray;
+        return CalendarYearIndex.getIndex(year).getDataDays();
     } // end findDataDays
 
     @Override
@@ -375,74 +336,45 @@ public class FileDataAccessor implements DataAccessor {
         return theArray;
     }
 
-    // Returns an array of 5 Icons that are read from a file
-    //   of data for the specified day.  There may be one or more
-    //   null placeholders in the array.
+    // Returns an array of 5 Icons for the specified day, as
+    //   described by the calendar index for its year.  There may
+    //   be one or more null placeholders in the array.
     @Override
     public Image[] getIconArray(int year, int month, int day) {
-        LocalDate ld = LocalDate.of(year, month, day);
-
-        String theFilename = NoteGroupFile.foundFilename(ld, "D");
-        //System.out.println("Found this data file: " + theFilename);
-        if (!new File(theFilename).exists()) return null;
-
-        MemoryBank.debug("Loading: " + theFilename);
-        // There is a data file, so there will be 'something' to load.
-        Object[] theDayGroup = NoteGroupFile.loadFileData(theFilename);
-
-        // If we have only loaded GroupProperties but no accompanying data, then bail out now.
-        // The last entry in theDayGroup array will be an ArrayList, IF there is data for that day.
-        Object theObject = theDayGroup[theDayGroup.length - 1];
-        String theClass = theObject.getClass().getName();
-        //System.out.println("The DayGroup class type is: " + theClass);
-        if (!theClass.equals("java.util.ArrayList")) return null;
+        // The icon descriptors for the day are kept in the per-year index, so the Day file itself is not read.
+        String[] theDescriptors = CalendarYearIndex.getIndex(year).getIconDescriptors(month, day);
+        return makeIconArray(theDescriptors);
+    } // end getIconArray
 
-        // The loaded data is a Vector of DayNoteData.
-        // Not currently worried about the 'loading' boolean, since MonthView does not re-persist the data.
-        Vector<DayNoteData> theDayNotes = AppUtil.mapper.convertValue(theObject, new TypeReference<>() {
-        });
+    // Make the MonthView icons from their descriptors; see CalendarYearIndex.getIconDescriptors.
+    Image[] makeIconArray(String[] theDescriptors) {
+        if (theDescriptors == null) return null; // No data, or no notes for that day.
 
         Image[] returnArray = new Image[5];
         int index = 0;
         String iconFileString;
-        for (DayNoteData tempDayData : theDayNotes) {
-            if (tempDayData.getShowIconOnMonthBoolean()) {
-                iconFileString = tempDayData.getIconFileString();
-                if (iconFileString == null) { // Then show the default icon
-                    iconFileString = DayNoteGroupPanel.defaultIcon.getDescription();
-                } // end if
-
-                if (iconFileString.equals("")) { // NOT the same handling as null.
-                    // Show this 'blank' on the month, possibly as a 'spacer'.
-                    returnArray[index] = null;
-                } else {
-                    java.net.URL imgURL = FileDataAccessor.class.getResource(iconFileString);
-                    if (imgURL != null) {
-                        Image theImage = Toolkit.getDefaultToolkit().getImage(imgURL);
-                        IconInfo.scaleIcon(new ImageIcon(theImage));
-                        theImage.flush(); // SCR00035 - MonthView does not show all icons for a day.
-                        // Review the problem by: start the app on DayNotes, adjust the date to be within a month where one
-                        //   of the known bad icons (answer_bad.gif) should be shown (you don't need to go to an exact
-                        //   day), then switch to the MonthView (to be contructed for the first time in your session).
-                        // Adding a .flush() does fix the problem of some icons (answer_bad.gif) not showing the first time
-                        //   the MonthView is displayed but other .gif files didn't need it.
-                        // And - other file types may react differently.  This flush is needed in conjuction with a double
-                        //   load of the initial month to be shown; that is done in treePanel.treeSelectionChanged().
-                        returnArray[index] = theImage;
-                    } else {
-                        returnArray[index] = null;
-                    }
-                } // end if
+        for (String theDescriptor : theDescriptors) {
+            iconFileString = theDescriptor;
+            if (iconFileString == null) { // Then show the default icon
+                iconFileString = DayNoteGroupPanel.defaultIcon.getDescription();
+            } // end if
 
-                index++;
-                MemoryBank.debug("MonthView - Set icon " + index);
-                if (index > 4) break;
+            if (iconFileString.equals("")) { // NOT the same handling as null.
+                // Show this 'blank' on the month, possibly as a 'spacer'.
+                returnArray[index] = null;
+            } else {
+                // Decoded once and then kept; see IconImageCache.  A null means that the icon is not available.
+                returnArray[index] = IconImageCache.getImage(iconFileString);
             } // end if
+
+            index++;
+            MemoryBank.debug("MonthView - Set icon " + index);
+            if (index > 4) break;
         }
 
         //System.out.println("getIconArray: " + Arrays.toString(returnArray));
         return returnArray;
-    } // end getIconArray
+    } // end makeIconArray
 
     // At this point this is just a selection operation and the return value is not yet an image, just
     // the filesystem path to it, as a String.
@@ -479,6 +411,7 @@ public class FileDataAccessor implements DataAccessor {
         // Which type of accessor is used to retrieve the names is a bit constrained by the fact that we currently
         //   only have one type of accessor.  Therefore, unlike the 'getDataAccessor' method that tries to make you
         //   believe that it is so versatile, here we just go directly to the FileDataAccessor.
+        NoteGroupSaveQueue.flush(); // A brand-new group may not have been written yet.
 
         switch (groupType) {
             case SEARCH_RESULTS -> {
@@ -590,14 +523,16 @@ public class FileDataAccessor implements DataAccessor {
     //   subject that is the input parameter, by adding the
     //   text 'Subjects.json' after the first space, if any.
     private String makeSubjectFilename(String defaultSubject) {
-        String subjectsFilename;
+        return userDataHome + File.separatorChar + makeSubjectsName(defaultSubject) + ".json";
+    }
+
+    // The first word of the default subject, followed by 'Subjects'.
+    static String makeSubjectsName(String defaultSubject) {
         int space = defaultSubject.indexOf(" ");
         String s;
         if (space > -1) s = defaultSubject.substring(0, space);
         else s = defaultSubject;
-        s += "Subjects.json";
-        subjectsFilename = userDataHome + File.separatorChar + s;
-        return subjectsFilename;
+        return s + "Subjects";
     }
 
     @Override
@@ -686,91 +621,77 @@ public class FileDataAccessor implements DataAccessor {
     }// end saveSubjects
 
     @Override
-    public Vector<NoteData> scanData(SearchPanel searchPanel) {
-        // Make a Vector that can collect search results.
-        foundDataVector = new Vector<>();
+    public Vector<NoteData> scanData(SearchPredicate searchPredicate, SearchMonitor searchMonitor) {
+        // Make a Vector that can collect search results.  It is local, so that each search has its own.
+        Vector<NoteData> foundDataVector = new Vector<>();
 
         // Scan the user's data area for data files - we do a recursive
         //   directory search and each file is examined as soon as it is
         //   found, provided that it passes the file-level filters.
         MemoryBank.debug("Data location is: " + userDataHome);
+        NoteGroupSaveQueue.flush(); // Search what the user sees, not what was last written.
         File f = new File(userDataHome);
-        scanDataDir(f, 0, searchPanel); // Indirectly fills the foundDataVector
+        List<File> theFiles = new ArrayList<>();
+        scanDataDir(f, 0, searchPredicate, searchMonitor, theFiles);
+
+        // Of the files that passed the file-level filters, only the ones that the SearchIndex says might
+        //   have a match are opened and searched.
+        List<File> theCandidates = SearchIndex.getCandidates(theFiles, searchPredicate, searchMonitor);
+        searchMonitor.setGroupsToSearch(theCandidates.size());
+
+        // Each file is searched on its own, into its own list of findings.  In parallel, the files are spread
+        //   across the common fork/join pool; either way the findings are merged (and handed over to the
+        //   monitor) in the order of the files, as soon as all the files ahead of them have been searched.
+        Stream<File> theStream = parallelSearch ? theCandidates.parallelStream() : theCandidates.stream();
+        theStream.map(theFile -> searchDataFile(searchPredicate, searchMonitor, theFile))
+                .forEachOrdered(theFindings -> {
+                    foundDataVector.addAll(theFindings);
+                    searchMonitor.publish(theFindings);
+                });
 
         return foundDataVector;
     }
 
     // This method scans a directory for data files.  If it finds a directory rather than a file,
-    //   it will recursively call itself for that directory.
+    //   it will recursively call itself for that directory.  The files to be searched are collected
+    //   into theFiles, in the order that they were found.
     //
     // The SearchPanel interface follows a 'filter out' plan.  To support that, this method starts
     //   with the idea that ALL files will be searched and then considers the filters, to eliminate
-    //   candidate files.  If a file is not eliminated after the filters have been considered, the
-    //   search method is called for that file.
-    private void scanDataDir(File theDir, int level, SearchPanel searchPanel) {
+    //   candidate files.  If a file is not eliminated after the filters have been considered, it
+    //   is added to the list of files to be searched.
+    private void scanDataDir(File theDir, int level, SearchPredicate searchPredicate, SearchMonitor searchMonitor, List<File> theFiles) {
         MemoryBank.dbg("Scanning " + theDir.getName());
 
-        File[] theFiles = theDir.listFiles();
-        assert theFiles != null;
-        int howmany = theFiles.length;
+        File[] theDirFiles = theDir.listFiles();
+        assert theDirFiles != null;
+        Arrays.sort(theDirFiles); // By name, so that the results come out in the same order every time.
+        int howmany = theDirFiles.length;
         MemoryBank.debug("\t\tFound " + howmany + " data files");
         boolean goLook;
         LocalDate dateNoteDate;
         MemoryBank.debug("Level " + level);
 
-        for (File theFile : theFiles) {
+        for (File theFile : theDirFiles) {
+            if (searchMonitor.isStopped()) return;
             String theFile1Name = theFile.getName();
             if (theFile.isDirectory()) {
                 if (theFile1Name.equals("Archives")) continue;
                 if (theFile1Name.equals("icons")) continue;
                 if (theFile1Name.equals("SearchResults")) continue;
-                scanDataDir(theFile, level + 1, searchPanel);
+                if (theFile1Name.startsWith(".")) continue; // The calendar index, or hidden OS content.
+                scanDataDir(theFile, level + 1, searchPredicate, searchMonitor, theFiles);
             } else {
-                goLook = true;
-                String theGroupName = NoteGroupFile.getGroupNameFromFilename(theFile1Name);
-                if (theFile1Name.startsWith("goal_")) {
-                    if (!searchPanel.searchGoals()) {
-                        goLook = false;
-                    } else {
-                        if (!MemoryBank.appOpts.active(GroupType.GOALS, theGroupName)) goLook = false;
-                    }
-                } else if (theFile1Name.startsWith("event_")) {
-                    if (!searchPanel.searchEvents()) {
-                        goLook = false;
-                    } else {
-                        if (!MemoryBank.appOpts.active(GroupType.EVENTS, theGroupName)) goLook = false;
-                    }
-                } else if (theFile1Name.startsWith("todo_")) {
-                    if (!searchPanel.searchLists()) {
-                        goLook = false;
-                    } else {
-                        if (!MemoryBank.appOpts.active(GroupType.TODO_LIST, theGroupName)) goLook = false;
-                    }
-                } else if (theFile1Name.startsWith("notes_")) {
-                    if (!searchPanel.searchNotes()) {
-                        goLook = false;
-                    } else {
-                        if (!MemoryBank.appOpts.active(GroupType.NOTES, theGroupName)) goLook = false;
-                    }
-                } else if ((theFile1Name.startsWith("D")) && (level > 0)) {
-                    if (!searchPanel.searchDays()) goLook = false;
-                } else if ((theFile1Name.startsWith("M")) && (level > 0)) {
-                    if (!searchPanel.searchMonths()) goLook = false;
-                } else if ((theFile1Name.startsWith("Y")) && (level > 0)) {
-                    if (!searchPanel.searchYears()) goLook = false;
-                } else { // Any other file type not covered above.
-                    // This includes search results (for now - SCR0073)
-                    goLook = false;
-                } // end if / else if
+                goLook = isSearched(theFile1Name, level > 0, searchPredicate);
 
                 // Check the Note date, possibly filter out based on 'when'.
 
                 if (goLook) {
-                    if (searchPanel.getWhenSetting() != -1) {
+                    if (searchPredicate.getWhenSetting() != -1) {
                         // This section is only needed if the user has specified a date in the search.
                         dateNoteDate = NoteGroupFile.getDateFromFilename(theFile);
                         if (dateNoteDate != null) {
-                            if (searchPanel.filterWhen(dateNoteDate)) goLook = false;
+                            if (searchPredicate.filterWhen(dateNoteDate)) goLook = false;
                         } // end if
                     }
                 } // end if
@@ -784,23 +705,68 @@ public class FileDataAccessor implements DataAccessor {
                 //   or the app is being served from a server where only admins have access (and we
                 //   trust all admins, of course).
                 if (goLook) {
-                    if (searchPanel.getLastModSetting() != -1) {
+                    if (searchPredicate.getLastModSetting() != -1) {
                         // This section is only needed if the user has specified a date in the search.
                         LocalDate dateLastMod = Instant.ofEpochMilli(theFile.lastModified()).atZone(ZoneId.systemDefault()).toLocalDate();
-                        if (searchPanel.getLastModSetting() == SearchPanel.AFTER) {
-                            if (searchPanel.filterLastMod(dateLastMod)) goLook = false;
+                        if (searchPredicate.getLastModSetting() == SearchPanel.AFTER) {
+                            if (searchPredicate.filterLastMod(dateLastMod)) goLook = false;
                         } // end if
                     }
                 } // end if
 
                 if (goLook) {
-                    searchDataFile(searchPanel, theFile);
+                    theFiles.add(theFile);
                 } // end if
             } // end if
         }//end for i
     }//end scanDataDir
 
 
+    // Whether a data file is to be searched at all, going by its name - the group types that the search is for,
+    //   and whether the group is active.  Calendar files are only found below the top level of the data area.
+    //   The DatabaseDataAccessor asks this with the name that the file of a group would have, so that the two
+    //   search the same groups.
+    static boolean isSearched(String theFilename, boolean belowTop, SearchPredicate searchPredicate) {
+        boolean goLook = true;
+        String theGroupName = NoteGroupFile.getGroupNameFromFilename(theFilename);
+        if (theFilename.startsWith("goal_")) {
+            if (!searchPredicate.searchGoals()) {
+                goLook = false;
+            } else {
+                if (!MemoryBank.appOpts.active(GroupType.GOALS, theGroupName)) goLook = false;
+            }
+        } else if (theFilename.startsWith("event_")) {
+            if (!searchPredicate.searchEvents()) {
+                goLook = false;
+            } else {
+                if (!MemoryBank.appOpts.active(GroupType.EVENTS, theGroupName)) goLook = false;
+            }
+        } else if (theFilename.startsWith("todo_")) {
+            if (!searchPredicate.searchLists()) {
+                goLook = false;
+            } else {
+                if (!MemoryBank.appOpts.active(GroupType.TODO_LIST, theGroupName)) goLook = false;
+            }
+        } else if (theFilename.startsWith("notes_")) {
+            if (!searchPredicate.searchNotes()) {
+                goLook = false;
+            } else {
+                if (!MemoryBank.appOpts.active(GroupType.NOTES, theGroupName)) goLook = false;
+            }
+        } else if ((theFilename.startsWith("D")) && belowTop) {
+            if (!searchPredicate.searchDays()) goLook = false;
+        } else if ((theFilename.startsWith("M")) && belowTop) {
+            if (!searchPredicate.searchMonths()) goLook = false;
+        } else if ((theFilename.startsWith("Y")) && belowTop) {
+            if (!searchPredicate.searchYears()) goLook = false;
+        } else { // Any other file type not covered above.
+            // This includes search results (for now - SCR0073)
+            goLook = false;
+        } // end if / else if
+        return goLook;
+    } // end isSearched
+
+
     //---------------------------------------------------------
     // Method Name: searchDataFile
     //
@@ -810,46 +776,66 @@ public class FileDataAccessor implements DataAccessor {
     //   is done against Calendar notes, by using their
     //   filename, only.  To do items are not currently
     //   filtered by date so if not desired, don't search there in the first place.
+    //
+    // This may run on a pooled thread, alongside the search of other files;
+    //   the findings are returned, for scanData to merge.
+    //   Once the search has been stopped, the file is not even opened.
     //---------------------------------------------------------
-    private void searchDataFile(SearchPanel searchPanel, File dataFile) {
+    private Vector<NoteData> searchDataFile(SearchPredicate searchPredicate, SearchMonitor searchMonitor, File dataFile) {
         //MemoryBank.debug("Searching: " + dataFile.getName());  // This one is a bit too verbose.
+        Vector<NoteData> theFindings = new Vector<>();
         Vector<AllNoteData> searchDataVector = null;
+        if (searchMonitor.isStopped()) return theFindings;
 
         // Load the file
-        Object[] theGroupData = NoteGroupFile.loadFileData(dataFile);
-        if (theGroupData != null && theGroupData[theGroupData.length - 1] != null) {
-            // During a search these notes would not be re-preserved anyway, but the reason we care is that
-            // the search parameters may have specified a date-specific search; we don't want all Last Mod
-            // dates to get updated to this moment and thereby muck up the search results.
-            BaseData.loading = true;
-            searchDataVector = AppUtil.mapper.convertValue(theGroupData[theGroupData.length - 1], new TypeReference<>() {
-            });
-            BaseData.loading = false;
+        // During a search these notes would not be re-preserved anyway, but the reason we care is that
+        // the search parameters may have specified a date-specific search; we don't want all Last Mod
+        // dates to get updated to this moment and thereby muck up the search results.
+        // The group properties are not needed here, so they are skipped rather than loaded.
+        Object[] theGroupData;
+        BaseData.startLoading();
+        try {
+            theGroupData = NoteGroupFile.loadFileData(dataFile, null, AllNoteData.class);
+        } finally {
+            BaseData.endLoading(); // This is a pooled thread; it must not be left loading.
+        }
+        if (theGroupData != null && theGroupData[theGroupData.length - 1] instanceof Vector) {
+            @SuppressWarnings("unchecked")
+            Vector<AllNoteData> theNotes = (Vector<AllNoteData>) theGroupData[theGroupData.length - 1];
+            searchDataVector = theNotes;
+        }
+        if (searchDataVector == null) {
+            searchMonitor.groupSearched(0);
+            return theFindings;
         }
-        if (searchDataVector == null) return;
 
-        // Now get on with the search -
+        // Although this is a GroupInfo, we do not need to populate the foundIn.groupId because
+        //   search results are not intended to themselves be a part of the traceability chain.
+        // Currently, the method below does not read in the data, so it cannot provide the groupId.
+        // Further, it will always return a non-null value.
+        searchGroupData(searchPredicate, searchDataVector, () -> NoteGroupFile.getGroupInfoFromFilePath(dataFile), theFindings);
+        searchMonitor.groupSearched(theFindings.size());
+        return theFindings;
+    }// end searchDataFile
+
+
+    // Search the notes of one group, and add a SearchResultData to theFindings for each one that
+    //   the SearchPredicate wants.  The 'foundIn' info is only developed when there is a find.
+    void searchGroupData(SearchPredicate searchPredicate, Vector<AllNoteData> searchDataVector, Supplier<GroupInfo> foundIn, Vector<NoteData> theFindings) {
         for (AllNoteData vectorItem : searchDataVector) {
 
             // If we find what we're looking for in/about this note -
-            if (searchPanel.foundIt(vectorItem)) {
-                // Get the 'foundIn' info -
-                // Although this is a GroupInfo, we do not need to populate the foundIn.groupId because
-                //   search results are not intended to themselves be a part of the traceability chain.
-                // Currently, the method below does not read in the data, so it cannot provide the groupId.
-                // Further, it will always return a non-null value.
-                GroupInfo foundIn = NoteGroupFile.getGroupInfoFromFilePath(dataFile);
-
+            if (searchPredicate.foundIt(vectorItem)) {
                 // Make new search result data for this find.
                 SearchResultData srd = new SearchResultData(vectorItem);
 
                 // The copy constructor used above will preserve the dateLastMod of the original note.
-                srd.foundIn = foundIn; // No need to 'copy' foundIn; in this case it can be reused.
+                srd.foundIn = foundIn.get(); // No need to 'copy' foundIn; in this case it can be reused.
 
                 // Add this search result data to our findings.
-                foundDataVector.add(srd);
+                theFindings.add(srd);
 
             } // end if
         } // end for
-    }// end searchDataFile
+    } // end searchGroupData
 }
@@ -23,7 +23,11 @@ public class GoalGroup extends NoteGroup {
 
     @Override
     protected void setGroupProperties(Object propertiesObject) {
-        myProperties = AppUtil.mapper.convertValue(propertiesObject, GoalGroupProperties.class);
+        if (propertiesObject instanceof GoalGroupProperties) {
+            myProperties = (GoalGroupProperties) propertiesObject;
+        } else {
+            myProperties = AppUtil.mapper.convertValue(propertiesObject, GoalGroupProperties.class);
+        }
     }
 
     @Override
@@ -435,6 +435,7 @@ public class GoalGroupPanel extends NoteGroupPanel {
         // to be removed from the keeper, to force a reload when re-accessed.
         // The calling context (AppTreePanel) must take care of the removal.
         myGroupProperties.setGroupName(newName);
+        if (myKeeper != null) myKeeper.rename(oldName, newName); // So that the keeper can find it by its new name.
         GroupInfo myGroupInfo = new GroupInfo(myGroupProperties);
 
         // The data accessor (constructed along with this Panel) has the old name; need to update.
@@ -14,6 +14,7 @@ class GroupInfo {
     GroupType groupType;     // Says what kind of group it is.  Values defined above.
     private String groupName; // The name of the group, as shown in the Tree.
     transient String archiveName; // The human-readable one, with colons in the time portion (or null).
+    transient NoteGroup loadedNoteGroup; // Data that was loaded ahead of the Panel (see NoteGroupLoader); used once.
 
     public GroupInfo() { }
 
@@ -36,7 +37,12 @@ class GroupInfo {
     // no ID then return a NoteGroup of the requested type, whether we
     // can find one (first preference) or cannot, so must make one.
     NoteGroup getNoteGroup() {
-        NoteGroup theNoteGroup = null;
+        NoteGroup theNoteGroup = loadedNoteGroup;
+        if (theNoteGroup != null) { // It was loaded for us, off of the EDT.
+            loadedNoteGroup = null;
+            return theNoteGroup;
+        }
+
         // Try to get the NoteGroup from an existing Panel
         NoteGroupPanel thePanel = null;
         if (AppTreePanel.theInstance != null && archiveName == null) {
@@ -49,17 +55,7 @@ class GroupInfo {
             theNoteGroup = thePanel.myNoteGroup;
             thePanel.preClosePanel(); // Ensures persisted data matches Panel data.
         } else { // There isn't a Panel for it, so we will just make a NoteGroup of the right type; Panel not needed.
-            theNoteGroup = switch (groupType) {
-                case SEARCH_RESULTS -> new SearchResultGroup(this);
-                case  TODO_LIST, GOAL_TODO -> new TodoNoteGroup(this);
-                case EVENTS -> new EventNoteGroup(this);  // No longer planned to be standalone.  Remove this option when this comment gets too old.  5 May 2022
-                case LOG, GOAL_LOG -> new LogNoteGroup(this);
-                case GOALS -> new GoalGroup(this);
-                case MILESTONE -> new MilestoneNoteGroup(this);
-                case NOTES, DAY_NOTES, GOAL_NOTES -> new DayNoteGroup(this);
-                case MONTH_NOTES, YEAR_NOTES -> new CalendarNoteGroup(this);
-                default -> theNoteGroup;
-            };
+            theNoteGroup = makeNoteGroup();
         }
 
         // If we have a groupId then we only want theNoteGroup if the ID matches.
@@ -73,6 +69,23 @@ class GroupInfo {
         return theNoteGroup;
     }
 
+    // Make a NoteGroup of the right type, and load its data (if any).  This does not look for one that is already
+    //   in a Panel, so it does not need the Swing side of the app and can be called from any thread.
+    NoteGroup makeNoteGroup() {
+        return switch (groupType) {
+            case SEARCH_RESULTS -> new SearchResultGroup(this);
+            case  TODO_LIST, GOAL_TODO -> new TodoNoteGroup(this);
+            case EVENTS -> new EventNoteGroup(this);  // No longer planned to be standalone.  Remove this option when this comment gets too old.  5 May 2022
+            case LOG, GOAL_LOG -> new LogNoteGroup(this);
+            case GOALS -> new GoalGroup(this);
+            case MILESTONE -> new MilestoneNoteGroup(this);
+            case NOTES, DAY_NOTES, GOAL_NOTES -> new DayNoteGroup(this);
+            case MONTH_NOTES, YEAR_NOTES -> new CalendarNoteGroup(this);
+            default -> null;
+        };
+    }
+
+
     // This method will either find and return the one unique existing Panel for this GroupInfo, or it will
     // make one and return that.  If it has to make one, it will not add it to a keeper.
     NoteGroupPanel getNoteGroupPanel() {
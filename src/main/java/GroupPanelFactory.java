@@ -47,6 +47,24 @@ class GroupPanelFactory {
 
 
 
+    // Make the Panel for a NoteGroup whose data has already been loaded, without loading it again.  This is for
+    //   the group types that the AppTreePanel loads in the background (see NoteGroupLoader); for any other type,
+    //   or a null group, it returns null.
+    static NoteGroupPanel makeNoteGroupPanel(NoteGroup theNoteGroup) {
+        if (theNoteGroup == null) return null;
+        GroupInfo groupInfo = theNoteGroup.myGroupInfo;
+        groupInfo.loadedNoteGroup = theNoteGroup; // The Panel constructor will take it from here.
+        NoteGroupPanel thePanel = switch (groupInfo.groupType) {
+            case TODO_LIST -> new TodoNoteGroupPanel(groupInfo);
+            case NOTES -> new DateTimeNoteGroupPanel(groupInfo);
+            case SEARCH_RESULTS -> new SearchResultGroupPanel(groupInfo);
+            default -> null;
+        };
+        groupInfo.loadedNoteGroup = null; // In case it was not taken.
+        return thePanel;
+    }
+
+
     // Use this method if you want to get the panel whether it has persisted data or not.
     static NoteGroupPanel loadOrMakePanel(String theContext, String nodeName) {
         NoteGroupPanel theGroup = loadNoteGroupPanel(theContext, nodeName);
@@ -0,0 +1,220 @@
+// The IconImageCache holds icon images that have already been read, decoded, and (for a given size) scaled, so
+//   that the same icon does not go thru all of that again every time it is shown.  The MonthView and the
+//   IconInfo handles are its customers; the MonthView asks for the icons of each day again every time it changes
+//   months, and a page of IconNoteComponents may show the same icon dozens of times.  Most of those are the same
+//   few icons, shown at the same size as they were the last time.
+//
+// Entries are keyed by the icon descriptor (its resource path, such as "icons/cake.gif") and a target size; the
+//   decoded image at its own size is kept under a size of 0 x 0.  The cache is bounded, with the least recently
+//   used entries dropped first, and the images are only softly held so that the collector can take them back
+//   if memory gets tight.  A scaled entry can be remade from its decoded one, and a decoded entry from its
+//   resource, so nothing is lost by dropping one, other than time.
+//
+// The images kept here are fully loaded before they go in.  So their width and height are known right away,
+//   which is what the MonthView had been working around with its flush() and double load (SCR00035).  The
+//   .ico and .bmp files come out of their decoders as BufferedImages; the others are Toolkit images so that
+//   an animated gif stays animated.
+//
+// Decoding can be done on the calling thread, or on a background thread with the result handed back on the
+//   EDT (getImageLater).  Either way, two requests for the same icon at the same time share one decode.
+
+import net.sf.image4j.codec.bmp.BMPDecoder;
+import net.sf.image4j.codec.ico.ICODecoder;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+class IconImageCache {
+    static int maxEntries = 256;
+
+    // Access-ordered, so that iteration (and so, removal of the eldest) goes from least to most recently used.
+    private static final Map<String, SoftReference<Image>> theImages = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SoftReference<Image>> eldest) {
+            if (size() <= maxEntries) return false;
+            Image theImage = eldest.getValue().get();
+            if (theImage != null) theDescriptors.remove(theImage);
+            return true;
+        }
+    };
+
+    // The descriptor of each decoded image that was handed out, so that the image can be traced back to the
+    //   key for its scaled versions.  Images do not override equals, so this is an identity lookup, and it
+    //   does not keep an image alive once nobody else has it.
+    private static final Map<Image, String> theDescriptors = new WeakHashMap<>();
+
+    // The decodes that are underway, by descriptor.
+    private static final Map<String, CompletableFuture<Image>> theDecodes = new HashMap<>();
+
+    private static int hits;
+    private static int misses;
+
+
+    static synchronized void clear() {
+        theImages.clear();
+        theDescriptors.clear();
+    }
+
+    static synchronized int getHits() {
+        return hits;
+    }
+
+    static synchronized int getMisses() {
+        return misses;
+    }
+
+    // The cached image under the key, or null if there is none (or there was one, but it has been collected).
+    private static Image getCached(String theKey) {
+        SoftReference<Image> theReference = theImages.get(theKey);
+        if (theReference == null) return null;
+        Image theImage = theReference.get();
+        if (theImage == null) theImages.remove(theKey);
+        return theImage;
+    }
+
+    // Get the decoded image for the descriptor, or null if there is no such icon or it could not be read.
+    // If it is not already here then it is decoded on this thread, unless another thread is already doing
+    //   that, in which case this one waits for it.
+    static Image getImage(String theDescriptor) {
+        String theKey = makeKey(theDescriptor, 0, 0);
+        CompletableFuture<Image> theDecode;
+        boolean decodeItHere = false;
+        synchronized (IconImageCache.class) {
+            Image theImage = getCached(theKey);
+            if (theImage != null) {
+                hits++;
+                return theImage;
+            }
+            misses++;
+            theDecode = theDecodes.get(theDescriptor);
+            if (theDecode == null) {
+                theDecode = new CompletableFuture<>();
+                theDecodes.put(theDescriptor, theDecode);
+                decodeItHere = true;
+            }
+        }
+
+        if (decodeItHere) {
+            Image theImage = null;
+            try {
+                theImage = readImage(theDescriptor); // Outside of the lock; this is the slow part.
+            } catch (RuntimeException re) { // From a decoder, on a file that it did not expect.
+                System.out.println("Error - unable to decode " + theDescriptor + ": " + re.getMessage());
+            } finally {
+                // Whatever happened, the ones waiting on this decode are let go.
+                synchronized (IconImageCache.class) {
+                    theDecodes.remove(theDescriptor);
+                    if (theImage != null) { // A failure is not kept; if the icon shows up later it will be found then.
+                        theImages.put(theKey, new SoftReference<>(theImage));
+                        theDescriptors.put(theImage, theDescriptor);
+                    }
+                }
+                theDecode.complete(theImage);
+            }
+        }
+        return theDecode.join();
+    } // end getImage
+
+
+    // If the image for the descriptor is already decoded then it is given to the consumer right away, on this
+    //   thread, and the return value is true.  Otherwise the decode is done on a background thread and the
+    //   return value is false; the consumer will get the image (or null, if it could not be read) on the EDT.
+    static boolean getImageLater(String theDescriptor, Consumer<Image> theConsumer) {
+        synchronized (IconImageCache.class) {
+            Image theImage = getCached(makeKey(theDescriptor, 0, 0));
+            if (theImage != null) {
+                hits++;
+                theConsumer.accept(theImage);
+                return true;
+            }
+        }
+        AppTasks.submit(TaskType.ICON_DECODE, () -> getImage(theDescriptor), theConsumer);
+        return false;
+    } // end getImageLater
+
+
+    // Get the image scaled to the given size, from the cache if it has been done before.  The image must
+    //   be one that came from getImage; any other is scaled but not kept.  The scaling is done outside of the
+    //   lock; if two threads ask for the same new size at once, they both scale it and the later one is kept.
+    static Image getScaledImage(Image theImage, int theWidth, int theHeight) {
+        String theKey;
+        synchronized (IconImageCache.class) {
+            String theDescriptor = theDescriptors.get(theImage);
+            if (theDescriptor == null) theKey = null;
+            else {
+                theKey = makeKey(theDescriptor, theWidth, theHeight);
+                Image theScaledImage = getCached(theKey);
+                if (theScaledImage != null) {
+                    hits++;
+                    return theScaledImage;
+                }
+                misses++;
+            }
+        }
+
+        Image theScaledImage = scaleImage(theImage, theWidth, theHeight);
+        if (theKey != null && theScaledImage != null) {
+            synchronized (IconImageCache.class) {
+                theImages.put(theKey, new SoftReference<>(theScaledImage));
+            }
+        }
+        return theScaledImage;
+    } // end getScaledImage
+
+
+    // Wait for an image to be completely loaded; returns null if it could not be.
+    private static Image loadImage(Image theImage) {
+        ImageIcon theIcon = new ImageIcon(theImage); // This waits for the image to load.
+        if (theIcon.getIconWidth() <= 0 || theIcon.getIconHeight() <= 0) return null; // It did not load.
+        return theImage;
+    } // end loadImage
+
+
+    private static String makeKey(String theDescriptor, int theWidth, int theHeight) {
+        return theDescriptor + "@" + theWidth + "x" + theHeight;
+    }
+
+
+    private static Image readImage(String theDescriptor) {
+        java.net.URL imgURL = IconImageCache.class.getResource(theDescriptor);
+        if (imgURL == null) return null;
+
+        String theFormat = theDescriptor.substring(theDescriptor.lastIndexOf('.') + 1);
+        if (!theFormat.equalsIgnoreCase("ico") && !theFormat.equalsIgnoreCase("bmp")) {
+            // This handles .png, .jpg, .gif.  It is a new image rather than the Toolkit's own cached one,
+            //   since this cache is the one that decides how long it is kept.
+            return loadImage(Toolkit.getDefaultToolkit().createImage(imgURL));
+        }
+        try (InputStream inputStream = new BufferedInputStream(imgURL.openStream())) {
+            if (theFormat.equalsIgnoreCase("ico")) return ICODecoder.read(inputStream).get(0);
+            return BMPDecoder.read(inputStream);
+        } catch (IOException ioe) {
+            System.out.println("Error - unable to read " + theDescriptor + ": " + ioe.getMessage());
+            return null;
+        }
+    } // end readImage
+
+
+    // Shrinking gets the smooth treatment; enlarging does not need it and can take a lot longer with it.
+    private static Image scaleImage(Image theImage, int theWidth, int theHeight) {
+        int theScalingAlgorithm = Image.SCALE_SMOOTH;
+        if (theWidth > theImage.getWidth(null)) theScalingAlgorithm = Image.SCALE_FAST;
+        return loadImage(theImage.getScaledInstance(theWidth, theHeight, theScalingAlgorithm));
+    } // end scaleImage
+
+
+    static synchronized int size() {
+        return theImages.size();
+    }
+
+} // end class IconImageCache
@@ -1,12 +1,9 @@
-import net.sf.image4j.codec.bmp.BMPDecoder;
-import net.sf.image4j.codec.ico.ICODecoder;
-
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.BufferedInputStream;
-import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 // This class is a 'handle' by which icon images may be acquired by the app.  It is needed as an alternative
 //  to the 'iconFileString' of IconNoteData, that does not have the filesystem path and filename but still
@@ -45,6 +42,10 @@ public class IconInfo {
     String iconName;
     String iconFormat;
 
+    // Shown in place of an icon that is still being decoded; it is the size of a scaled icon, so that the
+    //   layout does not change when the real one arrives.
+    private static final Image placeholderImage = new BufferedImage(36, 36, BufferedImage.TYPE_INT_ARGB);
+
     IconInfo() {
         // Data members may be set directly.
         // A null or empty dataArea can be interpreted as a 'default' area.  For now, that will be 'icons'.
@@ -57,62 +58,69 @@ public class IconInfo {
         iconFormat = format;
     }
 
-    ImageIcon getImageIcon() {
-        ImageIcon theImageIcon = null;
-        if (ready()) {
-            String baseIconPath; // when dataArea is null we look in the default area.
+    // The resource path of the icon, such as "icons/cake.gif".  This is also the key of its decoded image in
+    //   the IconImageCache, and the description that goes onto its ImageIcon.
+    String getIconDescription() {
+        String baseIconPath; // when dataArea is null we look in the default area.
 
-            if (dataArea == DataArea.IMAGES) {
-                baseIconPath = "images/";
-            } else {
-                baseIconPath = "icons/";  // This is the default area.
-            }
+        if (dataArea == DataArea.IMAGES) {
+            baseIconPath = "images/";
+        } else {
+            baseIconPath = "icons/";  // This is the default area.
+        }
 
-            String theIconDescription;
-            if(iconName.startsWith(baseIconPath)) {
-                theIconDescription = iconName + "." + iconFormat;
-            } else {
-                theIconDescription = baseIconPath + iconName + "." + iconFormat;
-            }
+        if(iconName.startsWith(baseIconPath)) {
+            return iconName + "." + iconFormat;
+        } else {
+            return baseIconPath + iconName + "." + iconFormat;
+        }
+    }
+
+    // Each call gets its own ImageIcon (callers may scale it or otherwise change it) but the image that it starts
+    //   with is shared; it is only decoded the first time that it is needed.  See IconImageCache.
+    ImageIcon getImageIcon() {
+        if (!ready()) return null;
+        String theIconDescription = getIconDescription();
+        //MemoryBank.debug("Full icon name: " + theIconDescription);
+        return makeImageIcon(IconImageCache.getImage(theIconDescription), theIconDescription);
+    }
+
+    // This one does not wait for a decode.  If the image is already decoded (or the decode finishes before this
+    //   method can return) then the returned ImageIcon has it and whenReady is not called.  Otherwise the returned ImageIcon has a blank placeholder image (of the same
+    //   description) and when the decode is done, whenReady is called on the EDT with the real ImageIcon (or
+    //   with null, if the icon could not be read).
+    ImageIcon getImageIcon(Consumer<ImageIcon> whenReady) {
+        if (!ready()) return null;
+        String theIconDescription = getIconDescription();
+
+        // The callback can come on this thread before getImageLater returns, or on the EDT at any time after
+        //   the decode was submitted - possibly even before getImageLater returns.  So whichever one of us sets
+        //   'answered' first, decides: if it is the callback then its icon is the one that gets returned, and
+        //   if it is this method then the placeholder is returned and the real icon goes to whenReady.
+        AtomicBoolean answered = new AtomicBoolean();
+        AtomicReference<ImageIcon> theImmediateIcon = new AtomicReference<>();
+        boolean isReady = IconImageCache.getImageLater(theIconDescription, theImage -> {
+            ImageIcon theImageIcon = makeImageIcon(theImage, theIconDescription);
+            theImmediateIcon.set(theImageIcon);
+            if (!answered.compareAndSet(false, true)) whenReady.accept(theImageIcon);
+        });
+        if (!isReady && answered.compareAndSet(false, true)) {
+            return makeImageIcon(placeholderImage, theIconDescription);
+        }
+        return theImmediateIcon.get();
+    }
 
-            //MemoryBank.debug("Full icon name: " + theIconDescription);
-
-            java.net.URL imgURL = IconInfo.class.getResource(theIconDescription);
-            if(imgURL != null) {
-
-                Image theImage = null;
-                if (iconFormat.equalsIgnoreCase("ico")) {
-                    try {
-                        BufferedInputStream inputStream = new BufferedInputStream(imgURL.openStream());
-                        List<BufferedImage> images = ICODecoder.read(inputStream);
-                        theImage = images.get(0);
-                    } catch (IOException ioe) {
-                        ioe.printStackTrace();
-                    }
-                } else if (iconFormat.equalsIgnoreCase("bmp")) {
-                    try {
-                        BufferedInputStream inputStream = new BufferedInputStream(imgURL.openStream());
-                        theImage = BMPDecoder.read(inputStream);
-                    } catch (IOException ioe) {
-                        ioe.printStackTrace();
-                    }
-                } else { // This handles .png, .jpg, .gif
-                    theImage = Toolkit.getDefaultToolkit().getImage(imgURL);
-                } // end if
-
-                if (theImage != null) {
-                    theImageIcon = new ImageIcon();
-                    theImageIcon.setImage(theImage);
-
-                    //===================================== IMPORTANT !!! ================================================
-                    // ImageIcon docs will say that the description is not used or needed, BUT - it IS used by this app.
-                    //   This is tricky; the description is picked up by IconNoteComponent.setIcon(ImageIcon theIcon).
-                    //   With the URL hiding in the place of the description, we can update the associated
-                    //   IconNoteData, and later restore the image from that.
-                    theImageIcon.setDescription(theIconDescription);
-                }
-            } // end if we have a non-null URL
-        } // end if the IconInfo is 'ready'.
+    private static ImageIcon makeImageIcon(Image theImage, String theIconDescription) {
+        if (theImage == null) return null;
+        ImageIcon theImageIcon = new ImageIcon();
+        theImageIcon.setImage(theImage);
+
+        //===================================== IMPORTANT !!! ================================================
+        // ImageIcon docs will say that the description is not used or needed, BUT - it IS used by this app.
+        //   This is tricky; the description is picked up by IconNoteComponent.setIcon(ImageIcon theIcon).
+        //   With the URL hiding in the place of the description, we can update the associated
+        //   IconNoteData, and later restore the image from that.
+        theImageIcon.setDescription(theIconDescription);
         return theImageIcon;
     }
 
@@ -126,8 +134,8 @@ public class IconInfo {
     // Scale the icon to a specific dimension
     public static void scaleIcon(ImageIcon theIcon, int theWidth, int theHeight) {
         Image tmpImg = theIcon.getImage();
-        tmpImg = tmpImg.getScaledInstance(theWidth, theHeight, Image.SCALE_SMOOTH);
-        theIcon.setImage(tmpImg);
+        tmpImg = IconImageCache.getScaledImage(tmpImg, theWidth, theHeight);
+        if (tmpImg != null) theIcon.setImage(tmpImg);
     }
 
     // Scale the icon to a proportional dimension where the larger of width vs length is a set limit (36).
@@ -153,10 +161,10 @@ public class IconInfo {
 
         Image tmpImg = theIcon.getImage();
         if (scaleIt) {
-            tmpImg = tmpImg.getScaledInstance(theWidth, theHeight, Image.SCALE_SMOOTH);
+            tmpImg = IconImageCache.getScaledImage(tmpImg, theWidth, theHeight);
         }
 
-        theIcon.setImage(tmpImg);
+        if (tmpImg != null) theIcon.setImage(tmpImg);
     } // end scaleIcon
 
 }
@@ -367,7 +367,13 @@ public class IconNoteComponent extends NoteComponent {
                 MemoryBank.debug("IconNoteComponent resetComponent:  Icon string empty - showing blank icon");
             } else {
                 MemoryBank.debug("Setting icon to: " + infs);
-                theIcon = iconNoteData.getImageIcon();
+                // An icon that has not been seen yet is decoded in the background, with a blank in its place
+                //   until then.  By the time it is ready, this component may be showing some other note.
+                theIcon = iconNoteData.getImageIcon(theRealIcon -> {
+                    if (theRealIcon == null || getNoteData() != iconNoteData) return;
+                    if (!infs.equals(iconNoteData.getIconFileString())) return;
+                    setIcon(theRealIcon);
+                });
             } // end if
         } // end if
 
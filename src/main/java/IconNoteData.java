@@ -1,6 +1,7 @@
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import javax.swing.*;
+import java.util.function.Consumer;
 
 class IconNoteData extends NoteData {
     String iconFileString;  // The 'description' of the icon.
@@ -73,6 +74,14 @@ class IconNoteData extends NoteData {
         return theImageIcon;
     } // end getImageIcon
 
+    // As above, but without waiting for the icon to be decoded; see IconInfo.getImageIcon(Consumer).
+    @JsonIgnore
+    ImageIcon getImageIcon(Consumer<ImageIcon> whenReady) {
+        iconFileString = getIconFileString(); // drop out any leading drive/path specifier.
+        if (iconFileString == null) return null;
+        return getIconInfo().getImageIcon(whenReady);
+    } // end getImageIcon
+
     boolean getShowIconOnMonthBoolean() {
         return showIconOnMonthBoolean;
     }
@@ -20,7 +20,11 @@ public class LogNoteGroup extends NoteGroup {
 
     @Override
     protected void setGroupProperties(Object propertiesObject) {
-        myProperties = AppUtil.mapper.convertValue(propertiesObject, LogGroupProperties.class);
+        if (propertiesObject instanceof LogGroupProperties) {
+            myProperties = (LogGroupProperties) propertiesObject;
+        } else {
+            myProperties = AppUtil.mapper.convertValue(propertiesObject, LogGroupProperties.class);
+        }
     }
 
     @Override
@@ -246,7 +246,7 @@ public class MemoryBank {
         splash.setVisible(true);
         logApplicationShowing = false;
         // end run
-        new Thread(() -> {
+        AppTasks.submit(TaskType.SPLASH, () -> {
             try {
                 while (!logApplicationShowing) {
                     //noinspection BusyWait
@@ -257,7 +257,7 @@ public class MemoryBank {
             }
             splash.setVisible(false);
             splash = null;
-        }).start();
+        });
 
         // Tool Tip display time adjustments
         ToolTipManager.sharedInstance().setInitialDelay(1300); // Wait just a bit longer to show the first tooltip.
@@ -390,6 +390,8 @@ public class MemoryBank {
         // end run
         Thread logPreClose = new Thread(() -> {
             appTreePanel.preClose(); // Preserve all changes across all open Panels.
+            NoteGroupSaveQueue.flush(); // And wait for them to be written, before we go.
+            SearchIndex.persist();
             AppOptions.saveOpts();
         });
         Runtime.getRuntime().addShutdownHook(logPreClose);
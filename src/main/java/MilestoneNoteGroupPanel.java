@@ -65,7 +65,7 @@ public class MilestoneNoteGroupPanel extends NoteGroupPanel {
     // component state as well as set/get underlying data.
     @Override
     public MilestoneNoteComponent getNoteComponent(int i) {
-        return (MilestoneNoteComponent) groupNotesListPanel.getComponent(i);
+        return (MilestoneNoteComponent) super.getNoteComponent(i);
     } // end getNoteComponent
 
 
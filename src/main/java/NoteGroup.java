@@ -45,8 +45,12 @@ class NoteGroup {
         groupDataAccessor = MemoryBank.dataAccessor.getNoteGroupDataAccessor(groupInfo);  // currently this can only be a new NoteGroupFile.
 
         // Load the group data (using the accessor).
-        BaseData.loading = true;
-        loadNoteGroup();
+        BaseData.startLoading();
+        try {
+            loadNoteGroup();
+        } finally {
+            BaseData.endLoading(); // This may be a pooled thread; it should not be left loading, even after a failure.
+        }
         // For all NoteGroup children, if we have a loaded data set then we will be able to deserialize our
         //   properties from that data.  But when there IS no persisted data then the GroupProperties will remain
         //   null after a data load, so the condition below takes care of that, right?
@@ -62,7 +66,6 @@ class NoteGroup {
         //   the GroupProperties correctly so that the data is not persisted with a null in that data member.
         // Now you ask why am I talking about Panels in this class?  Mainly because Panels are the primary customer of
         //   the NoteGroup constructor, and CNG type Panels are the ones trying to retrieve Groups that have no data.
-        BaseData.loading = false;
 
         // Make the basic default properties, if none were loaded.
         if (myProperties == null) {
@@ -218,6 +221,14 @@ class NoteGroup {
     }
 
 
+    // Same as saveNoteGroup, but the writing is done in the background (see NoteGroupSaveQueue).  This is the one
+    //   to use for the routine saves that happen on a panel switch or close, where the user is waiting on the UI.
+    void saveNoteGroupLater() {
+        groupDataAccessor.saveNoteGroupDataLater(getTheData());
+        setGroupChanged(false);
+    }
+
+
     public void setGroupChanged(boolean b) {
         groupChanged = b;
         if (myProperties != null) myProperties.touchLastMod();
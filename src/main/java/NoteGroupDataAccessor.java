@@ -15,6 +15,7 @@ public interface NoteGroupDataAccessor {
     String getObjectionToName(String theName);
 
     void saveNoteGroupData(Object[] theData);
+    void saveNoteGroupDataLater(Object[] theData); // Write-behind; see NoteGroupSaveQueue.
 
     boolean renameNoteGroupData(GroupType theType, String nodeName, String renamedTo);
 
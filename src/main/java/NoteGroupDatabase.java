@@ -0,0 +1,386 @@
+// This is an embedded, in-process store for NoteGroup data, for use by the DatabaseDataAccessor.  There is no
+//   server and no additional library; the entire database is a single file in the user's data area.
+//
+// The file is an append-only log of records.  Each record is a one-line JSON header (a Row) followed by the
+//   content for that row - the same JSON that a NoteGroupFile would hold - and a newline.  A save appends a new
+//   record for the row and a delete appends a deletion marker; the record that was superseded stays in the file
+//   until the next compaction, which happens at open time when more than half of the file is superseded records.
+//
+// The log is read once, when the database is opened, to develop the tables and their indexes in memory:
+//   groups   - every NoteGroup Row, by its key (the group type plus either its name or its date)
+//   names    - by GroupType, the group Rows in the order of their names        (getGroupNames)
+//   dates    - by Calendar GroupType, the group Rows in the order of their dates (findDataDays, next date, search)
+//   subjects - the subject lists, by their 'default subject' key
+//   notes    - by trigram, the keys of the groups whose notes have it in their text  (scanData)
+// The notes of a group are kept in its content, but the Row also carries the number of notes, the trigrams of
+//   their text (see SearchIndex) and (for Day notes) the MonthView icon descriptors, so that the calendar views
+//   do not need to read any content at all, and a search only reads the content of the groups that might have
+//   a match.  Content is only read (by its offset in the file) when a group is actually loaded or searched.
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.*;
+
+class NoteGroupDatabase {
+    static final String databaseFilename = "MemoryBank.mbdb";
+    static final String groupTable = "group";
+    static final String subjectTable = "subject";
+    private static final long COMPACTION_MINIMUM = 1024 * 1024; // Not worth the trouble, for less than this.
+
+    // One instance per database file, no matter how many accessors are made for it.
+    private static final Map<String, NoteGroupDatabase> openDatabases = new HashMap<>();
+
+    // The header of a record in the log, and also the in-memory row of a table.
+    static class Row {
+        String table;
+        String key;
+        GroupType groupType;
+        String groupName;
+        String date;              // Calendar groups only; ISO format.
+        long lastModified;        // When the row was written, in epoch milliseconds.
+        int noteCount;
+        boolean hasData;          // The same meaning as NoteGroupFile.hasNoteData
+        String[] iconDescriptors; // Day groups only; see CalendarYearIndex.makeIconDescriptors.
+        String grams;             // The trigrams of the text of the notes; null when not known.
+        boolean deleted;          // True for a deletion marker.
+        int length;               // The number of content bytes that follow the header.
+
+        transient LocalDate localDate; // Developed from the date string, as the row is read or made.
+        transient long offset;         // Where the content starts, in the file.
+        transient long recordSize;     // Header, content, and their newlines.
+    }
+
+    private final File theFile;
+    private RandomAccessFile theLog;
+    private long deadBytes; // The size of the records that have been superseded.
+
+    private final Map<String, Row> groups = new HashMap<>();
+    private final EnumMap<GroupType, TreeMap<String, Row>> names = new EnumMap<>(GroupType.class);
+    private final EnumMap<GroupType, TreeMap<LocalDate, Row>> dates = new EnumMap<>(GroupType.class);
+    private final Map<String, Row> subjects = new HashMap<>();
+    private final Map<String, Set<String>> notes = new HashMap<>();
+    private final Set<String> notesNotIndexed = new HashSet<>(); // Keys of group Rows with no grams.
+
+
+    private NoteGroupDatabase(File dbFile) throws IOException {
+        theFile = dbFile;
+        theLog = new RandomAccessFile(theFile, "rw");
+        readLog();
+        if (deadBytes > COMPACTION_MINIMUM && deadBytes > theLog.length() / 2) compact();
+    }
+
+
+    // Get the database that lives in the indicated directory, opening (or creating) it if needed.
+    static synchronized NoteGroupDatabase open(String theDirectory) throws IOException {
+        File dbFile = new File(theDirectory, databaseFilename).getCanonicalFile();
+        NoteGroupDatabase theDatabase = openDatabases.get(dbFile.getPath());
+        if (theDatabase == null) {
+            theDatabase = new NoteGroupDatabase(dbFile);
+            openDatabases.put(dbFile.getPath(), theDatabase);
+        }
+        return theDatabase;
+    }
+
+
+    // Open a database file that is not shared with any accessor, such as the one that the DatabaseMigrator
+    //   builds off to the side.
+    static NoteGroupDatabase openFile(File dbFile) throws IOException {
+        return new NoteGroupDatabase(dbFile);
+    }
+
+
+    static String getGroupKey(GroupType groupType, String groupName, LocalDate theDate) {
+        if (theDate != null) return groupType + "|" + theDate;
+        return groupType + "|" + groupName;
+    }
+
+
+    // Develop the Row for a group from its data; the counts and icons are taken now so that they do not
+    //   need to be read back out of the content later.  The date is only given for Calendar groups.
+    @SuppressWarnings("rawtypes")
+    static Row makeGroupRow(GroupType groupType, String groupName, LocalDate theDate, Object[] theData) {
+        Row theRow = new Row();
+        theRow.table = groupTable;
+        theRow.key = getGroupKey(groupType, groupName, theDate);
+        theRow.groupType = groupType;
+        theRow.groupName = groupName;
+        if (theDate != null) theRow.date = theDate.toString();
+
+        if (theData != null && theData[theData.length - 1] instanceof Vector theNotes) {
+            theRow.noteCount = theNotes.size();
+            if (groupType == GroupType.DAY_NOTES && theRow.noteCount > 0) {
+                theRow.iconDescriptors = CalendarYearIndex.makeIconDescriptors(theNotes);
+            }
+            theRow.grams = SearchIndex.makeGrams(theNotes);
+        }
+        // One element is older data with no properties; see NoteGroupFile.hasNoteData.
+        theRow.hasData = theRow.noteCount > 0 || (theData != null && theData.length == 1);
+        return theRow;
+    }
+
+
+    synchronized void close() throws IOException {
+        theLog.close();
+        synchronized (NoteGroupDatabase.class) {
+            openDatabases.remove(theFile.getPath());
+        }
+    }
+
+
+    //----------------------------------------------------------------
+    // Queries
+    //----------------------------------------------------------------
+    synchronized Row getGroup(String theKey) {
+        return groups.get(theKey);
+    }
+
+    // All the groups of one type, in the order of their names.
+    synchronized List<Row> getGroups(GroupType groupType) {
+        TreeMap<String, Row> theRows = names.get(groupType);
+        if (theRows == null) return new ArrayList<>();
+        return new ArrayList<>(theRows.values());
+    }
+
+    // The Calendar groups of one type that fall within the (inclusive) date range, in date order.
+    synchronized List<Row> getGroups(GroupType groupType, LocalDate fromDate, LocalDate toDate) {
+        TreeMap<LocalDate, Row> theRows = dates.get(groupType);
+        if (theRows == null) return new ArrayList<>();
+        return new ArrayList<>(theRows.subMap(fromDate, true, toDate, true).values());
+    }
+
+    // The nearest date (not including the one given) that has a Calendar group with data, or null if none.
+    synchronized LocalDate getNextDateWithData(GroupType groupType, LocalDate theDate, boolean forward) {
+        TreeMap<LocalDate, Row> theRows = dates.get(groupType);
+        if (theRows == null) return null;
+        Map.Entry<LocalDate, Row> theEntry = forward ? theRows.higherEntry(theDate) : theRows.lowerEntry(theDate);
+        while (theEntry != null && !theEntry.getValue().hasData) {
+            theEntry = forward ? theRows.higherEntry(theEntry.getKey()) : theRows.lowerEntry(theEntry.getKey());
+        }
+        return theEntry == null ? null : theEntry.getKey();
+    }
+
+    // The keys of the groups that might have a note that the SearchPredicate keywords would find, or null if
+    //   the keywords cannot narrow the search at all.
+    synchronized Set<String> getCandidateKeys(SearchPredicate searchPredicate) {
+        Set<String> theKeys = SearchIndex.getCandidateKeys(searchPredicate, notes);
+        if (theKeys != null) theKeys.addAll(notesNotIndexed);
+        return theKeys;
+    }
+
+    synchronized byte[] getContent(Row theRow) throws IOException {
+        byte[] theContent = new byte[theRow.length];
+        theLog.seek(theRow.offset);
+        theLog.readFully(theContent);
+        return theContent;
+    }
+
+    synchronized byte[] getSubjects(String theKey) throws IOException {
+        Row theRow = subjects.get(theKey);
+        if (theRow == null) return null;
+        return getContent(theRow);
+    }
+
+
+    //----------------------------------------------------------------
+    // Updates
+    //----------------------------------------------------------------
+    synchronized void put(Row theRow, byte[] theContent) throws IOException {
+        theRow.lastModified = System.currentTimeMillis();
+        long position = theLog.length();
+        byte[] theRecord = makeRecord(theRow, theContent);
+        theLog.seek(position);
+        theLog.write(theRecord);
+        theRow.offset += position;
+        index(theRow);
+    }
+
+    // For the bulk loading of many rows, such as by the DatabaseMigrator.  The records all go out in one
+    //   buffered pass rather than one write per row.
+    synchronized void putAll(List<Row> theRows, List<byte[]> theContents) throws IOException {
+        long position = theLog.length();
+        theLog.seek(position);
+        ByteArrayOutputStream theBuffer = new ByteArrayOutputStream(256 * 1024);
+        for (int i = 0; i < theRows.size(); i++) {
+            Row theRow = theRows.get(i);
+            theBuffer.write(makeRecord(theRow, theContents.get(i)));
+            theRow.offset += position;
+            position += theRow.recordSize;
+            index(theRow);
+            if (theBuffer.size() > 128 * 1024) {
+                theLog.write(theBuffer.toByteArray());
+                theBuffer.reset();
+            }
+        }
+        theLog.write(theBuffer.toByteArray());
+    }
+
+    synchronized void delete(String theTable, String theKey) throws IOException {
+        Row theMarker = new Row();
+        theMarker.table = theTable;
+        theMarker.key = theKey;
+        theMarker.deleted = true;
+        byte[] theRecord = makeRecord(theMarker, new byte[0]);
+        theLog.seek(theLog.length());
+        theLog.write(theRecord);
+        index(theMarker);
+    }
+
+
+    //----------------------------------------------------------------
+    // The log
+    //----------------------------------------------------------------
+
+    // Develop the record for a row and its content.  The row's offset is set relative to the
+    //   start of the record; the caller adds the position of the record in the file.
+    private byte[] makeRecord(Row theRow, byte[] theContent) throws IOException {
+        theRow.length = theContent.length;
+        byte[] theHeader = AppUtil.mapper.writeValueAsBytes(theRow);
+        ByteArrayOutputStream theRecord = new ByteArrayOutputStream(theHeader.length + theContent.length + 2);
+        theRecord.write(theHeader);
+        theRecord.write('\n');
+        theRecord.write(theContent);
+        theRecord.write('\n');
+        theRow.recordSize = theRecord.size();
+        theRow.offset = theHeader.length + 1;
+        return theRecord.toByteArray();
+    }
+
+
+    // Add a row that was just written (or read) to its table and indexes, replacing any earlier row
+    //   with the same key.  A deletion marker removes the earlier row.
+    private void index(Row theRow) {
+        if (theRow.date != null) theRow.localDate = LocalDate.parse(theRow.date);
+
+        Map<String, Row> theTable = subjectTable.equals(theRow.table) ? subjects : groups;
+        Row oldRow = theRow.deleted ? theTable.remove(theRow.key) : theTable.put(theRow.key, theRow);
+        if (oldRow != null) {
+            deadBytes += oldRow.recordSize;
+            if (theTable == groups) unindexGroup(oldRow);
+        }
+        if (theRow.deleted) {
+            deadBytes += theRow.recordSize; // A marker is only needed until the next compaction.
+        } else if (theTable == groups) {
+            if (theRow.grams == null) notesNotIndexed.add(theRow.key);
+            else SearchIndex.addPostings(notes, theRow.key, theRow.grams);
+            names.computeIfAbsent(theRow.groupType, k -> new TreeMap<>()).put(theRow.groupName, theRow);
+            if (theRow.localDate != null) {
+                dates.computeIfAbsent(theRow.groupType, k -> new TreeMap<>()).put(theRow.localDate, theRow);
+            }
+        }
+    }
+
+
+    private void unindexGroup(Row oldRow) {
+        if (oldRow.grams == null) notesNotIndexed.remove(oldRow.key);
+        else SearchIndex.removePostings(notes, oldRow.key, oldRow.grams);
+        TreeMap<String, Row> theNames = names.get(oldRow.groupType);
+        if (theNames != null && theNames.get(oldRow.groupName) == oldRow) theNames.remove(oldRow.groupName);
+        if (oldRow.localDate != null) {
+            TreeMap<LocalDate, Row> theDates = dates.get(oldRow.groupType);
+            if (theDates != null && theDates.get(oldRow.localDate) == oldRow) theDates.remove(oldRow.localDate);
+        }
+    }
+
+
+    // Read the entire log, to develop the tables.  A record that is incomplete (the app went down in the
+    //   middle of a write) can only be the last one; it is cut off.
+    private void readLog() throws IOException {
+        long theLength = theLog.length();
+        long recordStart = 0;
+        try (InputStream theStream = new BufferedInputStream(new FileInputStream(theFile), 64 * 1024)) {
+            ByteArrayOutputStream theHeader = new ByteArrayOutputStream(512);
+            while (recordStart < theLength) {
+                theHeader.reset();
+                int theByte;
+                while ((theByte = theStream.read()) != -1 && theByte != '\n') theHeader.write(theByte);
+                if (theByte == -1) break; // No complete header.
+
+                Row theRow;
+                try {
+                    theRow = AppUtil.mapper.readValue(theHeader.toByteArray(), Row.class);
+                } catch (IOException ioe) {
+                    break; // Not a header that we can use; the rest of the file cannot be trusted.
+                }
+                long contentStart = recordStart + theHeader.size() + 1;
+                if (contentStart + theRow.length + 1 > theLength) break; // The content is not all there.
+                long toSkip = theRow.length + 1;
+                while (toSkip > 0) {
+                    long skipped = theStream.skip(toSkip);
+                    if (skipped <= 0) break;
+                    toSkip -= skipped;
+                }
+
+                theRow.offset = contentStart;
+                theRow.recordSize = theHeader.size() + 1 + theRow.length + 1;
+                index(theRow);
+                recordStart += theRow.recordSize;
+            }
+        }
+        if (recordStart < theLength) {
+            System.out.println("Error - the database " + theFile.getName() + " had an incomplete record; it was removed.");
+            theLog.setLength(recordStart);
+        }
+    }
+
+
+    // Rewrite the file with only the current rows, and move it into place in one step.  The rows keep their
+    //   offsets into the old file until the move is done; if anything goes wrong before then, the old file is
+    //   still there (and still open) and nothing has changed.
+    synchronized void compact() throws IOException {
+        long startTime = System.nanoTime();
+        Path theTarget = theFile.toPath();
+        Path theTempFile = theTarget.resolveSibling("." + theTarget.getFileName() + ".tmp");
+
+        List<Row> theRows = new ArrayList<>(groups.values());
+        theRows.addAll(subjects.values());
+        long[] newOffsets = new long[theRows.size()];
+        long[] newSizes = new long[theRows.size()];
+        long position = 0;
+        try {
+            try (OutputStream theStream = new BufferedOutputStream(Files.newOutputStream(theTempFile))) {
+                for (int i = 0; i < theRows.size(); i++) {
+                    Row theRow = theRows.get(i);
+                    byte[] theHeader = AppUtil.mapper.writeValueAsBytes(theRow);
+                    theStream.write(theHeader);
+                    theStream.write('\n');
+                    theStream.write(getContent(theRow));
+                    theStream.write('\n');
+                    newOffsets[i] = position + theHeader.length + 1;
+                    newSizes[i] = theHeader.length + 1 + theRow.length + 1;
+                    position += newSizes[i];
+                }
+            }
+
+            theLog.close();
+            try {
+                Files.move(theTempFile, theTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(theTempFile, theTarget, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ioe) {
+            Files.deleteIfExists(theTempFile);
+            throw ioe;
+        } finally {
+            // Whichever file is in place now, is the one that the rows must be read from.
+            if (!theLog.getChannel().isOpen()) theLog = new RandomAccessFile(theFile, "rw");
+        }
+
+        for (int i = 0; i < theRows.size(); i++) {
+            theRows.get(i).offset = newOffsets[i];
+            theRows.get(i).recordSize = newSizes[i];
+        }
+        deadBytes = 0;
+        MemoryBank.debug("Compacted " + theFile.getName() + " to " + position + " bytes in "
+                + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+    }
+
+    @Override
+    public String toString() {
+        return theFile.getPath() + " (" + groups.size() + " groups)";
+    }
+
+} // end class NoteGroupDatabase
@@ -0,0 +1,238 @@
+// This is the database-flavored implementation of the NoteGroupDataAccessor interface; it does for one
+//   NoteGroup in the NoteGroupDatabase what a NoteGroupFile does for one in its own file.
+//
+// The content that is stored for a group is the same JSON that would go into its file, so the two can be
+//   converted either way (see the DatabaseMigrator, and DatabaseDataAccessor.createArchive).
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+class NoteGroupDatabaseAccessor implements NoteGroupDataAccessor {
+    private final NoteGroupDatabase theDatabase;
+    private final GroupInfo myGroupInfo;
+    private final ChronoUnit dateType; // Only for Calendar groups.
+    private final boolean saveWithoutData;
+    private String failureReason;
+
+    // Counts the saves that have been started.  A queued save records its outcome only if no other save of this
+    //   group has been started since; otherwise its outcome is old news.  Both are guarded by this accessor.
+    private long saveCount;
+
+    NoteGroupDatabaseAccessor(GroupInfo groupInfo, NoteGroupDatabase database) {
+        myGroupInfo = groupInfo;
+        theDatabase = database;
+        dateType = getDateType(groupInfo.groupType);
+        saveWithoutData = NoteGroupFile.isSavedWithoutData(groupInfo.groupType);
+        failureReason = null;
+    }
+
+
+    static ChronoUnit getDateType(GroupType groupType) {
+        return switch (groupType) {
+            case DAY_NOTES -> ChronoUnit.DAYS;
+            case MONTH_NOTES -> ChronoUnit.MONTHS;
+            case YEAR_NOTES -> ChronoUnit.YEARS;
+            default -> null;
+        };
+    }
+
+    // The date that a Calendar group is keyed by; the name of the group is developed from the date
+    //   that its Panel is showing, so (unlike with other groups) the key needs to be taken at the time of use.
+    private static LocalDate getGroupDate(GroupInfo groupInfo) {
+        ChronoUnit theDateType = getDateType(groupInfo.groupType);
+        if (theDateType == null) return null;
+        return CalendarDateIndex.getPeriodStart(CalendarNoteGroup.getDateFromGroupName(groupInfo), theDateType);
+    }
+
+    private static String getKey(GroupInfo groupInfo) {
+        return NoteGroupDatabase.getGroupKey(groupInfo.groupType, groupInfo.getGroupName(), getGroupDate(groupInfo));
+    }
+
+
+    @Override
+    public void deleteNoteGroupData() {
+        NoteGroupSaveQueue.flush(myGroupInfo); // A queued save would bring it back.
+        synchronized (this) {
+            failureReason = null;
+        }
+        String theKey = getKey(myGroupInfo);
+        if (theDatabase.getGroup(theKey) == null) return; // Already gone; we can live with that.
+        try {
+            theDatabase.delete(NoteGroupDatabase.groupTable, theKey);
+        } catch (IOException ioe) {
+            String theFailure = "Failed to delete " + myGroupInfo.getGroupName();
+            System.out.println("Error - " + theFailure + ": " + ioe.getMessage());
+            synchronized (this) {
+                failureReason = theFailure;
+            }
+        }
+    }
+
+
+    @Override
+    public boolean exists() {
+        NoteGroupSaveQueue.flush(myGroupInfo);
+        return theDatabase.getGroup(getKey(myGroupInfo)) != null;
+    }
+
+
+    // Same contract as the NoteGroupFile version, but the answer comes from the 'dates' index of the database.
+    @Override
+    public LocalDate getNextDateWithData(LocalDate initialDate, ChronoUnit dateDelta, CalendarNoteGroup.Direction direction) {
+        LocalDate returnDate; // The default return value, in case nothing is found.
+        if (direction == CalendarNoteGroup.Direction.FORWARD) {
+            returnDate = initialDate.plus(1, dateDelta);
+        } else {  // direction == BACKWARD
+            returnDate = initialDate.minus(1, dateDelta);
+        }
+        if (dateType == null) return returnDate;
+
+        LocalDate theDate = theDatabase.getNextDateWithData(myGroupInfo.groupType,
+                CalendarDateIndex.getPeriodStart(initialDate, dateType),
+                direction == CalendarNoteGroup.Direction.FORWARD);
+        if (theDate != null) returnDate = theDate;
+        return returnDate;
+    }
+
+
+    @Override
+    public Object[] loadNoteGroupData() {
+        return loadNoteGroupData(myGroupInfo);
+    }
+
+
+    @Override
+    public Object[] loadNoteGroupData(GroupInfo groupInfo) {
+        NoteGroupSaveQueue.flush(groupInfo); // Any save of this group that is still in the queue, goes first.
+        NoteGroupDatabase.Row theRow = theDatabase.getGroup(getKey(groupInfo));
+        if (theRow == null) {
+            MemoryBank.debug("No data was found for: " + groupInfo.getGroupName());
+            return null;
+        }
+        try {
+            return NoteGroupFile.loadGroupData(theDatabase.getContent(theRow), groupInfo.groupType);
+        } catch (IOException ioe) {
+            System.out.println("Error - unable to read " + groupInfo.getGroupName() + ": " + ioe.getMessage());
+            return null;
+        }
+    }
+
+
+    // The names must still be usable as filenames, since an archive is made of files.
+    @Override
+    public String getObjectionToName(String theName) {
+        return new NoteGroupFile(myGroupInfo).getObjectionToName(theName);
+    }
+
+
+    @Override
+    public void saveNoteGroupData(Object[] theData) {
+        NoteGroupSaveQueue.flush(myGroupInfo); // An older save of this group should not land on top of this one.
+        long theSave;
+        synchronized (this) {
+            theSave = ++saveCount;
+            failureReason = null;
+        }
+        byte[] theContent;
+        try {
+            theContent = theData == null ? null : AppUtil.mapper.writeValueAsBytes(theData);
+        } catch (IOException ioe) {
+            String theFailure = "Failed to save " + myGroupInfo.getGroupName();
+            System.out.println("Error - " + theFailure + ": " + ioe.getMessage());
+            synchronized (this) {
+                if (theSave == saveCount) failureReason = theFailure;
+            }
+            return;
+        }
+        writeGroup(theSave, makeRow(theData), theContent);
+    }
+
+
+    // The Row and the content are both developed now, on the calling thread; only the append to the
+    //   database is left to the NoteGroupSaveQueue.  That also takes care of the Calendar groups, since their
+    //   key is taken here, along with everything else.
+    @Override
+    public void saveNoteGroupDataLater(Object[] theData) {
+        byte[] theContent;
+        try {
+            theContent = theData == null ? null : AppUtil.mapper.writeValueAsBytes(theData);
+        } catch (IOException ioe) {
+            System.out.println("Error - unable to queue the save of " + myGroupInfo.getGroupName() + ": " + ioe.getMessage());
+            saveNoteGroupData(theData); // Then it will have to be done the slower way.
+            return;
+        }
+        NoteGroupDatabase.Row theRow = makeRow(theData);
+        long theSave;
+        synchronized (this) {
+            theSave = ++saveCount;
+            failureReason = null;
+        }
+        NoteGroupSaveQueue.submit(new GroupInfo(myGroupInfo.getGroupName(), myGroupInfo.groupType),
+                () -> writeGroup(theSave, theRow, theContent));
+    }
+
+
+    private NoteGroupDatabase.Row makeRow(Object[] theData) {
+        return NoteGroupDatabase.makeGroupRow(myGroupInfo.groupType, myGroupInfo.getGroupName(),
+                getGroupDate(myGroupInfo), theData);
+    }
+
+
+    // A group with no data is removed rather than saved, unless it is one of the types that are kept anyway.
+    //   The outcome is recorded before this returns (so, before a queued save lets go of the group), and only
+    //   if theSave is still the latest one.
+    private void writeGroup(long theSave, NoteGroupDatabase.Row theRow, byte[] theContent) {
+        String theFailure = null;
+        try {
+            if (theContent == null || (!theRow.hasData && !saveWithoutData)) {
+                if (theDatabase.getGroup(theRow.key) != null) theDatabase.delete(NoteGroupDatabase.groupTable, theRow.key);
+            } else {
+                theDatabase.put(theRow, theContent);
+            }
+        } catch (IOException ioe) {
+            theFailure = "Failed to save " + theRow.groupName;
+            System.out.println("Error - " + theFailure + ": " + ioe.getMessage());
+        }
+        synchronized (this) {
+            if (theSave == saveCount) failureReason = theFailure;
+        }
+    }
+
+
+    @Override
+    public boolean renameNoteGroupData(GroupType groupType, String nodeName, String renamedTo) {
+        GroupInfo oldInfo = new GroupInfo(nodeName, groupType);
+        NoteGroupSaveQueue.flush(oldInfo);
+        String oldKey = getKey(oldInfo);
+        NoteGroupDatabase.Row oldRow = theDatabase.getGroup(oldKey);
+        if (oldRow == null) return false;
+        String newKey = getKey(new GroupInfo(renamedTo, groupType));
+        if (theDatabase.getGroup(newKey) != null) return false; // Same as a file rename; no overwrites.
+
+        NoteGroupDatabase.Row newRow = NoteGroupDatabase.makeGroupRow(groupType, renamedTo, oldRow.localDate, null);
+        newRow.noteCount = oldRow.noteCount;
+        newRow.hasData = oldRow.hasData;
+        newRow.iconDescriptors = oldRow.iconDescriptors;
+        newRow.grams = oldRow.grams; // Otherwise a search would have to read its notes again.
+        try {
+            theDatabase.put(newRow, theDatabase.getContent(oldRow));
+            theDatabase.delete(NoteGroupDatabase.groupTable, oldKey);
+        } catch (IOException ioe) {
+            System.out.println("Error - unable to rename " + nodeName + " to " + renamedTo + ": " + ioe.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+
+    // If there was not a failure then this value will be null.
+    @Override
+    public String getFailureReason() {
+        NoteGroupSaveQueue.flush(myGroupInfo); // The outcome of a queued save is not known until it has been written.
+        synchronized (this) {
+            return failureReason;
+        }
+    }
+
+} // end class NoteGroupDatabaseAccessor
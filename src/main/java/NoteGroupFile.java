@@ -1,13 +1,24 @@
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.swing.*;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Name is short but should be: NoteGroupFileDataAccessor.
 @SuppressWarnings("rawtypes")
@@ -17,10 +28,25 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
     GroupInfo myGroupInfo;
 
     private String failureReason; // Various file access failure reasons, or null.
+
+    // Counts the saves that have been started.  A queued save records its outcome only if no other save of this
+    //   group has been started since; otherwise its outcome is old news.  Both are guarded by this accessor.
+    private long saveCount;
+
+    // The size of the file and the time it took to write it, for the most recent successful save.
+    long lastSaveByteCount;
+    long lastSaveMillis;
     private ChronoUnit dateType;
-    private CalendarNoteGroup.CalendarFileFilter fileFilter;
 
     static StringBuilder ems = new StringBuilder();  // Error Message String
+
+    // Typed readers for the two parts of a group file, built on first use and then shared.  An ObjectReader
+    //   is immutable and thread-safe, so there is no need to develop a new one for every file that we load.
+    private static final Map<Class, ObjectReader> propertiesReaders = new ConcurrentHashMap<>();
+    private static final Map<Class, ObjectReader> notesReaders = new ConcurrentHashMap<>();
+
+    // The writer for group files; same output as AppUtil.toJsonString, but it can stream.
+    private static final ObjectWriter groupWriter = AppUtil.mapper.writerWithDefaultPrettyPrinter();
     static int MAX_FILENAME_LENGTH = 20; // Somewhat arbitrary, but helps with UI issues.
 
     // This is the FULL filename, with storage specifier & path, prefix and extension.
@@ -37,26 +63,24 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
         saveIsOngoing = false;
         failureReason = null;
 
-        // Default
-        saveWithoutData = false;
-
-        // Calendar-type groups do not need to be saved when they have no data.
-        // Some of the others - saving them creates a placeholder for a new group where notes will
-        //   be added subsequently, and/or they have extended properties that should be
-        //   preserved even though there are no notes to go along with them, such as the
-        //   search panel settings of a SearchResultGroup.
         switch (groupInfo.groupType) {
             case DAY_NOTES -> dateType = ChronoUnit.DAYS;
             case MONTH_NOTES -> dateType = ChronoUnit.MONTHS;
             case YEAR_NOTES -> dateType = ChronoUnit.YEARS;
-            case SEARCH_RESULTS -> saveWithoutData = true;
-            case TODO_LIST -> saveWithoutData = true;
-            case LOG -> saveWithoutData = false;
-            case EVENTS -> saveWithoutData = true;
-            case GOALS -> saveWithoutData = true;
-            case MILESTONE -> saveWithoutData = false;
         }
-        if (dateType != null) fileFilter = new CalendarNoteGroup.CalendarFileFilter(dateType);
+        saveWithoutData = isSavedWithoutData(groupInfo.groupType);
+    }
+
+    // Calendar-type groups do not need to be saved when they have no data.
+    // Some of the others - saving them creates a placeholder for a new group where notes will
+    //   be added subsequently, and/or they have extended properties that should be
+    //   preserved even though there are no notes to go along with them, such as the
+    //   search panel settings of a SearchResultGroup.
+    static boolean isSavedWithoutData(GroupType groupType) {
+        return switch (groupType) {
+            case SEARCH_RESULTS, TODO_LIST, EVENTS, GOALS -> true;
+            default -> false;
+        };
     }
 
     //-------------------------------------------------------------------
@@ -189,11 +213,8 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
         // occasionally return a false negative (because of gc/timing issues?).
         // But File.exists() does not ever return a false positive (that I've seen).
         // With this sandwiched condition, the user is only notified of a problem if the file still exists.
-        if (f.exists() && !f.delete() && f.exists()) {
-            (new Exception("File removal exception!")).printStackTrace();
-            NoteGroupPanel.ems = "Error - unable to remove: " + f.getName();
-            NoteGroupPanel.optionPane.showMessageDialog(null,
-                    NoteGroupPanel.ems, "Error", JOptionPane.ERROR_MESSAGE);
+        if (!removeFile(f)) {
+            showRemovalFailure(f);
             return false;
         } else {
             return true;
@@ -201,18 +222,49 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
     } // end deleteFile
 
 
+    // The part of deleteFile that does not involve the user, for use off of the EDT.
+    private static boolean removeFile(File f) {
+        return !(f.exists() && !f.delete() && f.exists());
+    }
+
+
+    private static void showRemovalFailure(File f) {
+        (new Exception("File removal exception!")).printStackTrace();
+        NoteGroupPanel.ems = "Error - unable to remove: " + f.getName();
+        NoteGroupPanel.optionPane.showMessageDialog(null,
+                NoteGroupPanel.ems, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+
     // Can be called directly, or as the first step of the 'save' operation.
     public void deleteNoteGroupData() {
+        if (!saveIsOngoing) NoteGroupSaveQueue.flush(myGroupInfo); // A queued save would bring it back.
         if (!groupFilename.isEmpty()) {
             MemoryBank.debug("NoteGroupFile.saveNoteGroupData: old filename = " + groupFilename);
             File f = new File(groupFilename);
             if (f.exists()) { // It must exist, for the delete to succeed.  If it already doesn't exist - we can live with that.
+                // When this is a direct call for a Calendar group, the year index needs to hear about it.
+                // During a save we leave that to the save operation, which will know the final outcome.
+                LocalDate theDate = null;
+                CalendarYearIndex yearIndex = null;
+                if (dateType != null && !saveIsOngoing) {
+                    theDate = getDateFromFilename(f);
+                    if (theDate != null) yearIndex = CalendarYearIndex.getCurrentIndex(theDate.getYear());
+                }
+
                 // Deleting (or archiving, if ever implemented) as the first step of saving is necessary in case the
                 // current change is to just delete the information; we might not have any data to save.
                 if (!deleteFile(f)) { // If we continued after this then the save would fail; may as well stop now.
                     failureReason = "Failed to delete " + groupFilename;
                     System.out.println("Error - " + failureReason);
                     saveIsOngoing = false;
+                } else {
+                    SearchIndex.fileChanged(f, null);
+                    NoteGroupPrefetcher.invalidate(groupFilename);
+                    if (theDate != null) {
+                        if (yearIndex != null) yearIndex.update(theDate, myGroupInfo.groupType, null);
+                        CalendarDateIndex.dateChanged(dateType, theDate, false);
+                    }
                 }
             }
         } // end if
@@ -220,6 +272,7 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
 
 
     public boolean exists() {
+        NoteGroupSaveQueue.flush(myGroupInfo);
         String theFilename = foundFilename();
         return !theFilename.isEmpty();
     }
@@ -457,103 +510,23 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
     } // end getDateFromFilename
 
 
-    // This method searches the repository for the next data file in the indicated direction.
-    // If it finds one, it returns the associated date.  If there are no more data files in
-    // that direction then it simply returns the next date in that direction.
+    // This method finds the next date that has data, in the indicated direction, for the type of Calendar group
+    // that this accessor was made for.  The answer comes from the CalendarDateIndex rather than from a walk
+    // thru the Year directories.  If there are no more dates with data in that direction then it simply returns
+    // the next date in that direction.
     @Override
     public LocalDate getNextDateWithData(LocalDate initialDate, ChronoUnit dateDelta, CalendarNoteGroup.Direction direction) {
-        LocalDate returnDate;
-        int initialYear = initialDate.getYear();
-
-        // Get a list of all Years (directories) where the user has data
-        // Potential issue here if we're not looking into a directory (but we know that we are).
-        // And if the directory is empty?  Not too much of a problem; it will still 'sort', and then we don't iterate.
-        File theYears = new File(calendarNoteGroupAreaPath); // All directories here, with 4-digit numerical names.
-        List<File> yearsList = Arrays.asList(Objects.requireNonNull(theYears.listFiles()));
-
-        // Sort the Years according to the direction we will be searching.
-        // But also - set a default return value in case nothing is found.
+        LocalDate returnDate; // The default return value, in case nothing is found.
         if (direction == CalendarNoteGroup.Direction.FORWARD) {
-            Collections.sort(yearsList);
             returnDate = initialDate.plus(1, dateDelta);
         } else {  // direction == BACKWARD
-            yearsList.sort(Collections.reverseOrder());
             returnDate = initialDate.minus(1, dateDelta);
         }
+        if (dateType == null) return returnDate;
 
-        // Cycle through the sorted directories -
-        String theName;
-        for (File f : yearsList) {
-            theName = f.getName();
-            if(theName.startsWith(".")) continue; // Mac may add a hidden file here.
-            int dataYear = Integer.parseInt(theName);
-
-            // Skip all Years that are in the 'wrong' direction from the initialDate
-            if (direction == CalendarNoteGroup.Direction.FORWARD) {
-                if (dataYear < initialYear) continue;
-            } else {
-                if (dataYear > initialYear) continue;
-            }
-            if (dateType == ChronoUnit.YEARS && dataYear == initialYear) continue;
-
-            // Now we can start looking in this Year for data -
-            System.out.println("Looking in: " + f.getAbsolutePath());
-
-            LocalDate theDate = getDataDate(f, returnDate, direction);
-            if (theDate != null) { // This will be the one we were looking for.
-                returnDate = theDate;
-                break;
-            }
-            // Otherwise, we keep looking as long as there are 'Year' directories remaining to be searched -
-        }
-
-        return returnDate; // This is just the default return value.
-    }
-
-    // Get the date of the next data file (that has data) in the direction we are looking.
-    private LocalDate getDataDate(File yearDirectory, LocalDate initialDate, CalendarNoteGroup.Direction direction) {
-        // Get a list of the right type of data files that are in the yearDirectory -
-        File[] dataFiles = yearDirectory.listFiles(fileFilter);
-        if (dataFiles == null || dataFiles.length == 0) return null; // The null check covers possible I/O errors.
-
-        List<File> filesList = Arrays.asList(dataFiles);
-
-        // Sort the data files according to the direction we will be searching.
-        if (direction == CalendarNoteGroup.Direction.FORWARD) {
-            Collections.sort(filesList);
-        } else {  // direction == BACKWARD
-            filesList.sort(Collections.reverseOrder());
-        }
-
-        for (File f : filesList) {
-            LocalDate aDate = getDateFromFilename(f);
-            assert aDate != null;
-            //System.out.println("The date for " + f.getAbsolutePath() + " is " + aDate.toString());
-
-            if (direction == CalendarNoteGroup.Direction.FORWARD) {
-                if (aDate.isBefore(initialDate)) continue;
-            } else {
-                if (aDate.isAfter(initialDate)) continue;
-            }
-
-            // Look into the file to see if it has significant content.
-            Object[] theGroup = NoteGroupFile.loadFileData(f);
-            boolean itHasData = false;
-            if (theGroup.length == 1) {
-                // It is not possible to have a length of one for DayNoteData, where the content is GroupProperties.
-                // When only linkages are present in DayNoteData, the file still contains a two-element array
-                // although the second element may be null.  So this is just older (pre linkages) data, and in
-                // that case it is significant since we didn't ever save 'empty\ days.
-                itHasData = true;  // and DayNoteData did not get saved, if no notes.
-            } else { // new structure; element zero is a GroupProperties.  But nothing from the Properties is
-                // significant for purposes of this method; only the length of the second element (the ArrayList).
-                ArrayList arrayList = AppUtil.mapper.convertValue(theGroup[1], ArrayList.class);
-                if (arrayList.size() > 0) itHasData = true;
-            }
-            if (itHasData) return aDate;
-
-        }
-        return null;
+        LocalDate theDate = CalendarDateIndex.getNextDateWithData(dateType, initialDate, direction);
+        if (theDate != null) returnDate = theDate;
+        return returnDate;
     }
 
 
@@ -650,6 +623,137 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
     }
 
 
+    // This typed variant streams the file content directly into the GroupProperties and NoteData classes that
+    //   are specified, so that there is no intermediate parse into LinkedHashMaps followed by a second pass
+    //   through 'convertValue' in the calling context.  The returned array has the same shape as the file:
+    //   one element (legacy, a Vector of notes only) or two (the GroupProperties, then a Vector of notes).
+    // A null class for either part means that the caller has no use for it; it is skipped rather than built.
+    // The caller is responsible for the BaseData load (startLoading), same as it would have been for the conversion.
+    static Object[] loadFileData(File theFile, Class<? extends GroupProperties> propertiesClass, Class<? extends NoteData> noteClass) {
+        Object[] theGroup = null;
+        try (JsonParser parser = AppUtil.mapper.getFactory().createParser(theFile)) {
+            theGroup = readGroupData(parser, propertiesClass, noteClass);
+        } catch (FileNotFoundException fnfe) { // This is allowed, but you get back a null.
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }// end try/catch
+        return theGroup;
+    }
+
+    static Object[] loadFileData(File theFile, GroupType groupType) {
+        return loadFileData(theFile, getPropertiesClass(groupType), getNoteClass(groupType));
+    }
+
+    // The same as loadFileData, for group data that was stored somewhere other than in its own file.
+    static Object[] loadGroupData(byte[] theContent, Class<? extends GroupProperties> propertiesClass, Class<? extends NoteData> noteClass) {
+        Object[] theGroup = null;
+        try (JsonParser parser = AppUtil.mapper.getFactory().createParser(theContent)) {
+            theGroup = readGroupData(parser, propertiesClass, noteClass);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }// end try/catch
+        return theGroup;
+    }
+
+    static Object[] loadGroupData(byte[] theContent, GroupType groupType) {
+        return loadGroupData(theContent, getPropertiesClass(groupType), getNoteClass(groupType));
+    }
+
+    private static Object[] readGroupData(JsonParser parser, Class<? extends GroupProperties> propertiesClass, Class<? extends NoteData> noteClass) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) return null;
+        ArrayList<Object> theElements = new ArrayList<>(2);
+        JsonToken theToken = parser.nextToken();
+        while (theToken != null && theToken != JsonToken.END_ARRAY) {
+            if (theToken == JsonToken.START_OBJECT) {
+                if (propertiesClass == null) {
+                    parser.skipChildren();
+                    theElements.add(null);
+                } else {
+                    theElements.add(getPropertiesReader(propertiesClass).readValue(parser));
+                }
+            } else if (theToken == JsonToken.START_ARRAY) {
+                if (noteClass == null) {
+                    parser.skipChildren();
+                    theElements.add(new Vector<>(0, 1));
+                } else {
+                    theElements.add(getNotesReader(noteClass).readValue(parser));
+                }
+            } else { // A null (or some other unexpected scalar) holds the place of the element.
+                theElements.add(null);
+            }
+            theToken = parser.nextToken();
+        }
+        return theElements.toArray();
+    }
+
+    private static ObjectReader getPropertiesReader(Class<? extends GroupProperties> propertiesClass) {
+        return propertiesReaders.computeIfAbsent(propertiesClass, theClass -> AppUtil.mapper.readerFor(theClass));
+    }
+
+    // The plain NoteData is read from groups (Goals) whose notes may have been written as one of its children,
+    //   so the fields that it does not have are passed over rather than failing the whole group.
+    private static ObjectReader getNotesReader(Class<? extends NoteData> noteClass) {
+        return notesReaders.computeIfAbsent(noteClass, theClass -> {
+            ObjectReader theReader = AppUtil.mapper.readerFor(
+                    AppUtil.mapper.getTypeFactory().constructCollectionType(Vector.class, theClass));
+            if (theClass == NoteData.class) theReader = theReader.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            return theReader;
+        });
+    }
+
+    // The types of GroupProperties and NoteData that go with each GroupType.  These need to stay in
+    //   agreement with the NoteGroup children that GroupInfo.getNoteGroup() makes for the same types.
+    static Class<? extends GroupProperties> getPropertiesClass(GroupType groupType) {
+        return switch (groupType) {
+            case SEARCH_RESULTS -> SearchResultGroupProperties.class;
+            case TODO_LIST, GOAL_TODO -> TodoGroupProperties.class;
+            case LOG, GOAL_LOG -> LogGroupProperties.class;
+            case GOALS -> GoalGroupProperties.class;
+            default -> GroupProperties.class;
+        };
+    }
+
+    static Class<? extends NoteData> getNoteClass(GroupType groupType) {
+        return switch (groupType) {
+            case SEARCH_RESULTS -> SearchResultData.class;
+            case TODO_LIST, GOAL_TODO -> TodoNoteData.class;
+            case EVENTS -> EventNoteData.class;
+            case LOG, GOAL_LOG -> LogNoteData.class;
+            case GOALS -> NoteData.class; // A GoalGroup does not show them, but older goal files do have notes.
+            case MILESTONE -> MilestoneNoteData.class;
+            case NOTES, DAY_NOTES, GOAL_NOTES -> DayNoteData.class;
+            case MONTH_NOTES, YEAR_NOTES -> IconNoteData.class;
+            default -> NoteData.class;
+        };
+    }
+
+    // Look into a file to see if it has significant content, without building any of the notes.
+    // The tokens are streamed and the notes are only counted, so this is much cheaper than a load.
+    static boolean hasNoteData(File theFile) {
+        try (JsonParser parser = AppUtil.mapper.getFactory().createParser(theFile)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) return false;
+            JsonToken theToken = parser.nextToken();
+            int elementCount = 0;
+            while (theToken != null && theToken != JsonToken.END_ARRAY) {
+                elementCount++;
+                if (theToken == JsonToken.START_ARRAY) {
+                    // The first token inside the notes array tells us all we need to know.
+                    if (parser.nextToken() != JsonToken.END_ARRAY) return true;
+                } else {
+                    parser.skipChildren();
+                }
+                theToken = parser.nextToken();
+            }
+            // It is not possible to have a length of one for DayNoteData, where the content is GroupProperties.
+            // So one element is older (pre linkages) data, and in that case it is significant since we
+            //   didn't ever save 'empty' days.
+            return elementCount == 1;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+
     @Override // The NoteGroupDataAccessor method implementation.
     public Object[] loadNoteGroupData() {
         return loadNoteGroupData(myGroupInfo);
@@ -658,6 +762,8 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
 
     @Override // The NoteGroupDataAccessor method implementation.
     public Object[] loadNoteGroupData(GroupInfo groupInfo) {
+        NoteGroupSaveQueue.flush(groupInfo); // Any save of this group that is still in the queue, goes first.
+
         // Get the Filename for the GroupInfo.  Refresh it
         //   just prior to loading the group rather than earlier, because the Panel content may
         //   have changed so that the file to load now is not the same as it was at group construction;
@@ -683,10 +789,18 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
         }
 
         MemoryBank.debug("File for " + groupInfo.getGroupName() + " is: " + theFilename);
-        //   From the file, the raw data comes in as a JSON string that can be parsed as an
-        //   array of one or two Objects that identify themselves as either a LinkedHashMap
-        //   or an ArrayList (although I never called them that; I called them Vector).
-        return loadFileData(theFilename);
+
+        // A calendar group may have already been read, in the background (see NoteGroupPrefetcher).
+        switch (groupInfo.groupType) {
+            case DAY_NOTES, MONTH_NOTES, YEAR_NOTES -> {
+                Object[] thePrefetchedData = NoteGroupPrefetcher.take(theFilename);
+                if (thePrefetchedData != null) return thePrefetchedData;
+            }
+        }
+
+        //   From the file, the data comes in as an array of one or two Objects that are already of the
+        //   correct types for this group - a GroupProperties (or child) and a Vector of NoteData (or child).
+        return loadFileData(new File(theFilename), groupInfo.groupType);
     } // end loadNoteGroupData
 
     String makeFullFilename() {
@@ -899,106 +1013,262 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
 
     @Override
     public boolean renameNoteGroupData(GroupType groupType, String nodeName, String renamedTo) {
+        NoteGroupSaveQueue.flush(new GroupInfo(nodeName, groupType));
         String oldNamedFile = makeFullFilename(groupType, nodeName);
         String newNamedFile = makeFullFilename(groupType, renamedTo);
         MemoryBank.debug("Full name of original file: " + oldNamedFile);
         File f = new File(oldNamedFile);
-        return f.renameTo(new File(newNamedFile));
+        if (!f.renameTo(new File(newNamedFile))) return false;
+        SearchIndex.fileRenamed(f, new File(newNamedFile));
+        NoteGroupPrefetcher.invalidate(oldNamedFile);
+        return true;
     }
 
     // To arrive at this point we have already ensured that either the data is entirely new or there has been
     // some change to it, so at least some of the processing here is known to be needed.
     // Steps:
-    //   1.  Move the old file (if any) out of the way.
-    //   2.  Bail out early if there is no reason to create a file for this data.
-    //   3.  Get the full path and filename
-    //   4.  Verify the path
-    //   5.  Write the data to a new file
+    //   1.  Bail out early (after removing the old file) if there is no reason to create a file for this data.
+    //   2.  Get the full path and filename
+    //   3.  Verify the path
+    //   4.  Write the data to a temporary file in the same directory
+    //   5.  Move the temporary file into place, then remove the old file if it had a different name.
     @Override // This is the file-flavored implementation of the NoteGroupDataAccessor interface method
     public void saveNoteGroupData(Object[] theData) {
+        NoteGroupSaveQueue.flush(myGroupInfo); // An older save of this group should not land on top of this one.
+        writeNoteGroupData(theData);
+    } // end saveNoteGroupData
+
+
+    // The write-behind flavor of the save.  The data is rendered to JSON now, on the calling thread, so that
+    //   changes made after this call do not get into the file; the disk work is left to the NoteGroupSaveQueue.
+    // Calendar groups are always saved right away, since their GroupInfo and filename move along with the date
+    //   that their Panel is showing, and a late save needs them to be as they were at the time of the call.
+    //   So is a save that only removes the file.
+    // The filename is settled here, and groupFilename is set to it before the write, so that another save of the
+    //   group that comes in before this one is written will go to the same file.  If the write fails, it goes back.
+    @Override
+    public void saveNoteGroupDataLater(Object[] theData) {
+        if (dateType != null || (theData == null && !saveWithoutData)) {
+            saveNoteGroupData(theData);
+            return;
+        }
+        byte[] theContent;
+        try {
+            theContent = groupWriter.writeValueAsBytes(theData);
+        } catch (IOException ioe) {
+            System.out.println("Error - unable to queue the save of " + myGroupInfo.getGroupName() + ": " + ioe.getMessage());
+            saveNoteGroupData(theData); // Then it will have to be done the slower way.
+            return;
+        }
+
+        long theSave;
+        String oldFilename;
+        String theFilename;
+        synchronized (this) {
+            theSave = ++saveCount;
+            failureReason = null;
+            oldFilename = groupFilename;
+            theFilename = getGroupFilename();
+            if (new File(theFilename).exists() && !theFilename.equals(oldFilename)) {
+                failureReason = theFilename + " is a pre-existing file";
+                System.out.println("Error - " + failureReason);
+                return;
+            }
+            setGroupFilename(theFilename);
+        }
+
+        Vector<?> theNotes = null;
+        if (theData != null && theData[theData.length - 1] instanceof Vector) {
+            theNotes = new Vector<>((Vector<?>) theData[theData.length - 1]);
+        }
+        Vector<?> savedNotes = theNotes;
+        NoteGroupSaveQueue.submit(myGroupInfo, () -> writeQueuedSave(theSave, theFilename, oldFilename, savedNotes, theContent));
+    } // end saveNoteGroupDataLater
+
+
+    // The background half of saveNoteGroupDataLater.  This runs on the writer thread (or on whatever thread
+    //   flushes the queue).  The outcome is recorded here, before the queue lets go of the write, so that it is
+    //   already in place when a flush returns; only the complaint about an old file goes to the EDT.
+    private void writeQueuedSave(long theSave, String theFilename, String oldFilename, Vector<?> theNotes, byte[] theContent) {
+        String theFailure = null;
+        File theOldFile = null; // Set only if it could not be removed.
+        long theByteCount = 0;
+        long theMillis = 0;
+
+        File f = new File(theFilename);
+        File theDir = f.getParentFile();
+        if (theDir.exists() && !theDir.isDirectory()) {
+            theFailure = theDir.getPath() + " is not a directory!";
+        } else if (!theDir.exists() && !theDir.mkdirs()) {
+            theFailure = "Unable to create this directory path: " + theDir.getPath();
+        } else {
+            long startTime = System.nanoTime();
+            try {
+                theByteCount = writeFile(theFilename, null, theContent);
+                theMillis = (System.nanoTime() - startTime) / 1_000_000;
+                MemoryBank.debug("  Wrote " + theByteCount + " bytes to " + f.getName() + " in " + theMillis + " ms");
+                SearchIndex.fileChanged(f, theNotes);
+                NoteGroupPrefetcher.invalidate(theFilename);
+
+                if (!oldFilename.isEmpty() && !oldFilename.equals(theFilename)) {
+                    if (!removeFile(new File(oldFilename))) {
+                        theOldFile = new File(oldFilename);
+                        theFailure = "Failed to delete " + oldFilename;
+                    } else {
+                        SearchIndex.fileChanged(new File(oldFilename), null);
+                        NoteGroupPrefetcher.invalidate(oldFilename);
+                    }
+                }
+            } catch (Exception ex) {
+                theFailure = ex.getMessage();
+            }
+        }
+        if (theFailure != null) System.out.println("Error - " + theFailure);
+
+        boolean writeFailed = theFailure != null && theOldFile == null;
+        synchronized (this) {
+            if (theSave == saveCount) { // No newer save has been started, that this would be overwriting.
+                failureReason = theFailure;
+                if (writeFailed) {
+                    if (groupFilename.equals(theFilename)) setGroupFilename(oldFilename); // Still the one on disk.
+                } else {
+                    setGroupFilename(theFilename);
+                    lastSaveByteCount = theByteCount;
+                    lastSaveMillis = theMillis;
+                }
+            }
+        }
+        File notRemoved = theOldFile;
+        if (notRemoved != null) AppTasks.onEdt(() -> showRemovalFailure(notRemoved));
+    } // end writeQueuedSave
+
+
+    private void writeNoteGroupData(Object[] theData) {
         //AppUtil.localDebug(true);
+        synchronized (this) {
+            saveCount++; // Any queued save that is still being written will leave its outcome to this one.
+            failureReason = null;
+        }
         saveIsOngoing = true;
-        failureReason = null;
 
-        // Now here is an important consideration - in this class we have a member that holds the associated filename,
-        // (groupFilename) but we could also just extract it from the inner data.  So is there a difference?
-        // Possibly.  In some cases the data from a file that has been loaded will be saved into a file with a
-        // different name.  This can happen when filenames are constructed from timestamps (possily for archiving) and
-        // also in support of a 'saveAs' operation.  In any case, we treat the separate groupFilename as the one that
-        // was loaded, and as for the one to save to, we ask the implementing child class what name to use, and don't
-        // actually get into the data to see what file it came from and thinks it should go back to.
-
-        // Step 1 - Move the old file (if any) out of the way.
-        // If we have a value in groupFilename at this point then it should mean that a file for it has been
-        // successfully loaded in the current session, and that is the one that should be removed.
-        // In this case we can trust the 'legality' of the name and path; we just need to verify that the file exists
-        // and if so, delete it so that it does not conflict when we save a new file with the updated info.
-        deleteNoteGroupData();
-        if (!saveIsOngoing) return; // A problem in deleting might have derailed the save operation.
-
-        // Step 2 - Bail out early if there is no reason to create a file for this data.
-        if (theData == null && !saveWithoutData) {
-            saveIsOngoing = false;
-            return;
+        // Calendar groups are summarized in a per-year index.  Get it now, before we change the content of the
+        //   Year directory, while it can still be trusted to be current.  If there isn't one (or it is stale),
+        //   there is nothing to update; it will be rebuilt the next time that it is needed.
+        LocalDate theDate = null;
+        CalendarYearIndex yearIndex = null;
+        if (dateType != null) {
+            theDate = CalendarNoteGroup.getDateFromGroupName(myGroupInfo);
+            yearIndex = CalendarYearIndex.getCurrentIndex(theDate.getYear());
         }
+        Vector savedNotes = null; // Only gets a value if the data is successfully written.
+        boolean saveProceeded = false; // Becomes true once the content of the directory has changed.
 
-        // Step 3 - Get the full path and filename
-        // Here we use the GroupInfo we were constructed with to determine the name of the file to save to; it may be
-        // different than the one we aready have (and theoretically not a match to the GroupInfo in the data either).
-        setGroupFilename(getGroupFilename()); // Set it according to the getter.
-        MemoryBank.debug("  Saving NoteGroup data in " + groupFilename);
-
-        // Step 4 - Verify the path
-        File f = new File(groupFilename);
-        if (f.exists()) { // If the file already exists -
-            // Having now established the filename to save to, we need to check for pre-existence.
-            // If the filename is different that the one we started with then the new one might conceivably
-            // already exist, but we could also have arrived here in the case where the filename had NOT
-            // changed, although that is much less likely (such as a rogue thread that recreated the file
-            // after we had deleted it, above).
+        try {
+            // Now here is an important consideration - in this class we have a member that holds the associated filename,
+            // (groupFilename) but we could also just extract it from the inner data.  So is there a difference?
+            // Possibly.  In some cases the data from a file that has been loaded will be saved into a file with a
+            // different name.  This can happen when filenames are constructed from timestamps (possily for archiving) and
+            // also in support of a 'saveAs' operation.  In any case, we treat the separate groupFilename as the one that
+            // was loaded, and as for the one to save to, we ask the implementing child class what name to use, and don't
+            // actually get into the data to see what file it came from and thinks it should go back to.
+            // If we have a value in groupFilename at this point then it should mean that a file for it has been
+            // successfully loaded in the current session, and that is the one that is being replaced.
+            String oldFilename = groupFilename;
+
+            // Step 1 - Bail out early if there is no reason to create a file for this data.
+            // In that case, the save is just a removal of the old file (if any).
+            if (theData == null && !saveWithoutData) {
+                deleteNoteGroupData();
+                saveProceeded = saveIsOngoing; // A problem in deleting would have cleared the flag.
+                saveIsOngoing = false;
+                return;
+            }
+
+            // Step 2 - Get the full path and filename
+            // Here we use the GroupInfo we were constructed with to determine the name of the file to save to; it may be
+            // different than the one we aready have (and theoretically not a match to the GroupInfo in the data either).
+            setGroupFilename(getGroupFilename()); // Set it according to the getter.
+            MemoryBank.debug("  Saving NoteGroup data in " + groupFilename);
+
+            // Step 3 - Verify the path
+            File f = new File(groupFilename);
             if (f.isDirectory()) { // If somehow the file is actually a directory -
                 failureReason = groupFilename + " is a pre-existing directory";
-            } else { // Not a directory, but still shouldn't be here.
-                // At this point we might want to do/try another deletion, IF the name is different than it was for the
-                // deletion earlier.     // but that's just a thought; don't bother if not going to be needed.
+                System.out.println("Error - " + failureReason);
+                saveIsOngoing = false;
+                return;
+            } else if (f.exists() && !groupFilename.equals(oldFilename)) {
+                // Having now established the filename to save to, we need to check for pre-existence.  The file
+                // that we loaded is expected to be there (it is about to be replaced) but if the filename is
+                // different than the one we started with then the new one should not already exist.
                 failureReason = groupFilename + " is a pre-existing file";
+                System.out.println("Error - " + failureReason);
+                saveIsOngoing = false;
+                return;
+            } else { // Create the path to the file, if needed.
+                String strThePath;
+                strThePath = groupFilename.substring(0, groupFilename.lastIndexOf(File.separatorChar));
+                f = new File(strThePath);
+                if (!f.exists()) { // The directory path does not exist
+                    if (!f.mkdirs()) { // Create the directory path down to the level you need.
+                        failureReason = "Unable to create this directory path: " + strThePath;
+                        System.out.println("Error - " + failureReason);
+                        saveIsOngoing = false;
+                        return;
+                    } // end if directory creation failed
+                } else { // The directory path does exist; make sure that it IS a directory.
+                    if (!f.isDirectory()) {
+                        failureReason = strThePath + " is not a directory!";
+                        System.out.println("Error - " + failureReason);
+                        saveIsOngoing = false;
+                        return;
+                    } // end if not a directory
+                } // end if/else the path exists
+            } // end if/else the file exists
+
+            // Steps 4 and 5 - Write the data to a temporary file and then move it into place.
+            // Until the move, the old file (if any) is untouched; if anything goes wrong before then, it remains.
+            if (!writeDataToFile(groupFilename, theData)) {
+                saveIsOngoing = false;
+                return;
             }
-            System.out.println("Error - " + failureReason);
-            saveIsOngoing = false;
-            return;
-        } else { // The file does not already exist; create the path to it, if needed.
-            String strThePath;
-            strThePath = groupFilename.substring(0, groupFilename.lastIndexOf(File.separatorChar));
-            f = new File(strThePath);
-            if (!f.exists()) { // The directory path does not exist
-                if (!f.mkdirs()) { // Create the directory path down to the level you need.
-                    failureReason = "Unable to create this directory path: " + strThePath;
-                    System.out.println("Error - " + failureReason);
-                    saveIsOngoing = false;
-                    return;
-                } // end if directory creation failed
-            } else { // The directory path does exist; make sure that it IS a directory.
-                if (!f.isDirectory()) {
-                    failureReason = strThePath + " is not a directory!";
+            saveProceeded = true;
+            if (theData != null && theData[theData.length - 1] instanceof Vector) {
+                savedNotes = (Vector) theData[theData.length - 1];
+            }
+            SearchIndex.fileChanged(new File(groupFilename), savedNotes);
+            NoteGroupPrefetcher.invalidate(groupFilename);
+
+            // Calendar filenames are timestamped, so the new file will usually have a different name than the old
+            //   one, and the old one must now go.  Otherwise the move has already replaced it.
+            if (!oldFilename.isEmpty() && !oldFilename.equals(groupFilename)) {
+                if (!deleteFile(new File(oldFilename))) {
+                    failureReason = "Failed to delete " + oldFilename;
                     System.out.println("Error - " + failureReason);
-                    saveIsOngoing = false;
-                    return;
-                } // end if not a directory
-            } // end if/else the path exists
-        } // end if/else the file exists
-
-        // Step 5 - Write the data to a new file
-        writeDataToFile(groupFilename, theData);
+                } else {
+                    SearchIndex.fileChanged(new File(oldFilename), null);
+                    NoteGroupPrefetcher.invalidate(oldFilename);
+                }
+            }
 
-        //AppUtil.localDebug(false);
-        saveIsOngoing = false;
-    } // end saveNoteGroupData
+            //AppUtil.localDebug(false);
+            saveIsOngoing = false;
+        } finally {
+            if (yearIndex != null && saveProceeded) yearIndex.update(theDate, myGroupInfo.groupType, savedNotes);
+            if (theDate != null && saveProceeded) {
+                CalendarDateIndex.dateChanged(dateType, theDate, savedNotes != null && !savedNotes.isEmpty());
+            }
+        }
+    } // end writeNoteGroupData
 
     // Provides a way for a calling context to retrieve the most recent result.
     // If there was not a failure then this value will be null.
     @Override
     public String getFailureReason() {
-        return failureReason;
+        NoteGroupSaveQueue.flush(myGroupInfo); // The outcome of a queued save is not known until it has been written.
+        synchronized (this) {
+            return failureReason;
+        }
     }
 
 
@@ -1036,36 +1306,51 @@ class NoteGroupFile extends FileDataAccessor implements NoteGroupDataAccessor {
 
 
     // Write the Group data to a file.  Provide the full path and filename, including extension.
-    private void writeDataToFile(String theFilename, Object[] theGroup) {
-        BufferedWriter bw = null;
-        Exception e = null;
+    private boolean writeDataToFile(String theFilename, Object[] theGroup) {
+        long startTime = System.nanoTime();
         try {
-            FileOutputStream fileStream = FileUtils.openOutputStream(new File(theFilename)); // Creates parent directories, if needed.
-            OutputStreamWriter writer = new OutputStreamWriter(fileStream, StandardCharsets.UTF_8);
-            bw = new BufferedWriter(writer);
-            bw.write(AppUtil.toJsonString(theGroup));
-            // Set the number of notes written, only AFTER the write.
+            lastSaveByteCount = writeFile(theFilename, theGroup, null);
         } catch (Exception ex) {
-            // This is a catch-all for other problems that may arise, such as finding a subdirectory of the
+            // This is a catch-all for problems that may arise, such as finding a subdirectory of the
             // same name in the directory where you want to put the file, or not having write permission.
-            e = ex;
-        } finally {
-            if (e != null) {
-                // This one may have been ignorable; print the message and see.
-                System.out.println("Exception in NoteGroupFile.writeDataToFile: \n  " + e.getMessage());
-            } // end if there was an exception
+            failureReason = ex.getMessage();
+            System.out.println("Exception in NoteGroupFile.writeDataToFile: \n  " + failureReason);
+            return false;
+        }
+        lastSaveMillis = (System.nanoTime() - startTime) / 1_000_000;
+        MemoryBank.debug("  Wrote " + lastSaveByteCount + " bytes to " + new File(theFilename).getName() + " in " + lastSaveMillis + " ms");
+        return true;
+    }
+
+
+    // The data goes first to a temporary file in the same directory (streamed thru the Jackson generator unless
+    //   it has already been rendered), which is then moved over the target in one step, so that there is never
+    //   a time when the target is missing or only partly written.  The temporary name starts with a '.' so that
+    //   if one is ever left behind, none of the group listings or data scans will pick it up.
+    // Returns the size of the file that was written.
+    private static long writeFile(String theFilename, Object[] theGroup, byte[] theContent) throws IOException {
+        Path theTarget = Paths.get(theFilename);
+        Path theTempFile = theTarget.resolveSibling("." + theTarget.getFileName() + ".tmp");
+        try {
+            try (OutputStream theStream = new BufferedOutputStream(Files.newOutputStream(theTempFile))) {
+                if (theContent != null) theStream.write(theContent);
+                else groupWriter.writeValue(theStream, theGroup);
+            }
+            long theByteCount = Files.size(theTempFile);
             try {
-                if (bw != null) {
-                    // These flush/close lines may seem like overkill, but there is internet support for being so cautious.
-                    bw.flush();
-                    bw.close(); // Also closes the wrapped FileWriter
-                }
-            } catch (Exception ex) { // This one would be more serious - raise a 'louder' alarm.
-                // Most likely would be an IOException, but we catch them all, to be sure.
-                failureReason = ex.getMessage();
-                ex.printStackTrace(System.out);
-            } // end try/catch
-        } // end try/catch
+                Files.move(theTempFile, theTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(theTempFile, theTarget, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return theByteCount;
+        } catch (IOException | RuntimeException ex) {
+            try {
+                Files.deleteIfExists(theTempFile);
+            } catch (IOException ioe) {
+                ioe.printStackTrace(System.out);
+            }
+            throw ex;
+        }
     }
 
 } // end NoteGroupFile class
@@ -0,0 +1,59 @@
+// A NoteGroupLoader reads the data for a NoteGroup on a background thread, so that a large group (a long
+//   To Do List, or a Search Result with thousands of finds) does not hold up the app while its file is read
+//   and its notes are converted to their proper types.  The NoteGroup that comes of it is handed back on the
+//   EDT, where its Panel can be made; see GroupPanelFactory.makeNoteGroupPanel.
+//
+// There is only one load at a time that matters.  Starting another one, or calling cancel(), supersedes the
+//   one that was in flight; it is interrupted if it has not finished, and if it finishes anyway then its
+//   results are dropped and its consumer is never called.
+
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+class NoteGroupLoader {
+    private Future<NoteGroup> theLoad; // The one in flight, if any.
+    private long loadNumber;           // Goes up with every load and every cancel.
+
+
+    // Stop caring about the load that is in flight, if there is one.
+    synchronized void cancel() {
+        loadNumber++;
+        if (theLoad != null) theLoad.cancel(true);
+        theLoad = null;
+    } // end cancel
+
+
+    synchronized boolean isLoading() {
+        return theLoad != null;
+    }
+
+
+    // Start loading the data for the group.  The consumer will get the loaded NoteGroup on the EDT, or a null
+    //   if there is no data for the group, unless this load is superseded before then.
+    synchronized void load(GroupInfo groupInfo, Consumer<NoteGroup> whenLoaded) {
+        cancel();
+        long thisLoad = loadNumber;
+
+        theLoad = AppTasks.submit(TaskType.GROUP_LOAD, () -> {
+            if (!isCurrent(thisLoad)) return null; // Superseded while it was waiting in line.
+            NoteGroup theNoteGroup = null;
+            if (groupInfo.exists()) {
+                theNoteGroup = groupInfo.makeNoteGroup();
+                MemoryBank.debug("Loaded " + groupInfo.getGroupName() + " in the background");
+            }
+            return theNoteGroup;
+        }, theNoteGroup -> {
+            synchronized (this) {
+                if (thisLoad != loadNumber) return; // Another one has come along since then.
+                theLoad = null;
+            }
+            whenLoaded.accept(theNoteGroup);
+        });
+    } // end load
+
+
+    private synchronized boolean isCurrent(long theLoadNumber) {
+        return theLoadNumber == loadNumber;
+    }
+
+} // end class NoteGroupLoader
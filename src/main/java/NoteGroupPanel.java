@@ -2,8 +2,6 @@ import javax.swing.*;
 import javax.swing.text.DefaultStyledDocument;
 import java.awt.*;
 import java.io.Serial;
-import java.time.ZonedDateTime;
-import java.util.Comparator;
 import java.util.Vector;
 
 // Provides an editable view of the Notes in the noteGroupDataVector of a NoteGroup.
@@ -31,7 +29,9 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
     int lastVisibleNoteIndex = 0;
     int pageSize;
 
-    // Container for graphical members - limited to pageSize
+    // Container for graphical members - limited to pageSize.  The NoteComponents are made as they are
+    //   needed (see realizeNoteComponents) rather than all of them up front, so a short group does not
+    //   carry a full page of components that it never shows.
     protected JPanel groupNotesListPanel;
 
     // Container for a paging control
@@ -44,7 +44,7 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
     NoteGroupPanel fosterNoteGroupPanel; // If not out on our own, where are we staying?  For menu management.
 
     // Private members
-    private int intHighestNoteComponentIndex;
+    private int intHighestNoteComponentIndex; // The highest index of the NoteComponents made so far.
     private JScrollPane jsp;
     private JLabel lblStatusMessage; // The Information/Status panel of the frame.
 
@@ -122,10 +122,10 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
             if (!thisNote.initialized) return;
         }
 
-        if (lastVisibleNoteIndex < intHighestNoteComponentIndex) {
+        if (lastVisibleNoteIndex < pageSize - 1) {
             lastVisibleNoteIndex++;
             NoteComponent nc;
-            nc = (NoteComponent) groupNotesListPanel.getComponent(lastVisibleNoteIndex);
+            nc = getNoteComponent(lastVisibleNoteIndex);
             nc.setVisible(true);
         } else {
             // Implement a page rollover.
@@ -172,7 +172,7 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
         theBasePanel.setName("theBasePanel");
         editable = true;
         setAppendable(true);
-        intHighestNoteComponentIndex = pageSize - 1;
+        intHighestNoteComponentIndex = -1;
 
         jsp = new JScrollPane() {
             @Serial
@@ -208,15 +208,8 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
         //   to display it to the user by adding it to their interface.
         theNotePager = new NotePager(this);
 
-        // The 'makeNewNoteComponent' methodology works for ALL child groups regardless
-        //   of the Type of new note that they make, because they all must inherit from
-        //   JComponent.  Every Group method that accesses the
-        //   container contents will either be overridden and cast the
-        //   note to the correct type, or it will call a method common
-        //   to all JComponents, such as 'setVisible'.
-        for (int i = 0; i <= intHighestNoteComponentIndex; i++) {
-            groupNotesListPanel.add(makeNewNoteComponent(i));
-        } // end for
+        // Only the first note is made now; the rest of the page is made as it is needed.
+        realizeNoteComponents(0);
 
         // The first note should not be invisible.
         groupNotesListPanel.getComponent(0).setVisible(true);
@@ -408,7 +401,9 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
 
     // Returns a NoteComponent that can be used to manipulate
     // component state as well as set/get underlying data.
+    // If the component at that index has not been needed before, it is made now.
     public NoteComponent getNoteComponent(int i) {
+        realizeNoteComponents(i);
         return (NoteComponent) groupNotesListPanel.getComponent(i);
     } // end getNoteComponent
 
@@ -468,13 +463,17 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
 
         lastVisibleNoteIndex = -1;
         NoteComponent tempNoteComponent;
-        BaseData.loading = true; // We don't want to update the LMDs just for showing the info.
+        BaseData.startLoading(); // We don't want to update the LMDs just for showing the info.
         for (int panelIndex = 0; panelIndex < pageSize; panelIndex++) {
+            // Past the end of the data, only the components that have already been made need to be wiped.
+            //   The ones that were never made have nothing to wipe, and no need to be made just for that.
+            if (dataIndex > maxDataIndex && panelIndex > intHighestNoteComponentIndex) break;
+
             // The next line casts to NoteComponent.  Since the component is actually
             //   a child of NoteComponent, the 'setNoteData' method that is called
             //   later will be the child class method that is an override of the one
             //   in NoteComponent.  That behavior is critical to this operation.
-            tempNoteComponent = (NoteComponent) groupNotesListPanel.getComponent(panelIndex);
+            tempNoteComponent = getNoteComponent(panelIndex);
 
             // This method may have been called directly after a Group load but can also be called
             // as a result of a change to the panel's editability.
@@ -518,13 +517,14 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
         // having preserved the original value, we now set it back to that.
         setGroupChanged(currentChangedState);
 
-        BaseData.loading = false;
+        BaseData.endLoading();
 
         //AppUtil.localDebug(false);
     } // end loadPage
 
 
-    // This method is called from buildNotesPanel, which is called in the constructor.
+    // This method is called from realizeNoteComponents, the first time from buildNotesPanel (in the constructor)
+    //   and after that whenever a page needs more components than it has had before.
     // It should be overridden by child classes and those children should NOT call this one.
     JComponent makeNewNoteComponent(int i) {
         NoteComponent nc = new NoteComponent(this, i);
@@ -554,6 +554,32 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
         loadPage(pageTo);
     } // end pageTo
 
+    // Make sure that the NoteComponents up to the given index (but not beyond the page) have been made.
+    // The 'makeNewNoteComponent' methodology works for ALL child groups regardless
+    //   of the Type of new note that they make, because they all must inherit from
+    //   JComponent.  Every Group method that accesses the
+    //   container contents will either be overridden and cast the
+    //   note to the correct type, or it will call a method common
+    //   to all JComponents, such as 'setVisible'.
+    void realizeNoteComponents(int theIndex) {
+        int theHighestIndex = Math.min(theIndex, pageSize - 1);
+        if (intHighestNoteComponentIndex >= theHighestIndex) return;
+        while (intHighestNoteComponentIndex < theHighestIndex) {
+            intHighestNoteComponentIndex++;
+            JComponent theComponent = makeNewNoteComponent(intHighestNoteComponentIndex);
+            groupNotesListPanel.add(theComponent);
+
+            // A component made after the group was loaded should look the same as one that was made up front and
+            //   then wiped by a loadPage, with any group-level settings (such as a column order) applied to it.
+            if (myNoteGroup != null && theComponent instanceof NoteComponent theNoteComponent) {
+                theNoteComponent.makeDataObject();
+                theNoteComponent.resetText();
+                theNoteComponent.resetComponent();
+            }
+        }
+        groupNotesListPanel.revalidate();
+    } // end realizeNoteComponents
+
     void preCloseAndRefresh() {
         boolean doRefresh = myNoteGroup.groupChanged;
         preClosePanel(); // Save any in-progress changes
@@ -572,7 +598,7 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
         //   already been loaded into this Panel before that move/addition.
         if (myNoteGroup.groupChanged) {
             getPanelData(); // update the data, condense.
-            myNoteGroup.saveNoteGroup();
+            myNoteGroup.saveNoteGroupLater();
         }
     } // end preClosePanel
 
@@ -705,30 +731,26 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
 
 
     void sortLastMod(int direction) {
-        // Preserve current interface changes before sorting.
-        unloadNotesPanel(theNotePager.getCurrentPage());
-
-        // Do the sort
-        LastModComparator lmc = new LastModComparator(direction);
-        myNoteGroup.noteGroupDataVector.sort(lmc);
-
-        // Display the same page, now with possibly different contents.
-        loadPage(theNotePager.getCurrentPage());
+        sortNotes(NoteSorter.byLastMod(direction));
     } // end sortLastMod
 
 
     void sortNoteString(int direction) {
+        sortNotes(NoteSorter.byNoteString(direction));
+    } // end sortNoteString
+
 
+    // Sort all the notes of the group (not just the ones on this page) by the column(s).
+    void sortNotes(NoteSorter.SortColumn... theColumns) {
         // Preserve current interface changes before sorting.
         unloadNotesPanel(theNotePager.getCurrentPage());
 
         // Do the sort
-        NoteStringComparator nsc = new NoteStringComparator(direction);
-        myNoteGroup.noteGroupDataVector.sort(nsc);
+        NoteSorter.sort(myNoteGroup.noteGroupDataVector, theColumns);
 
         // Display the same page, now with possibly different contents.
         loadPage(theNotePager.getCurrentPage());
-    } // end sortNoteString
+    } // end sortNotes
 
 
     // This method transfers the visible notes from the page to their
@@ -779,7 +801,7 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
     // Called by various actions.  To preserve changes,
     //   the calling context should first call 'preClosePanel'.
     public void refresh() {
-        BaseData.loading = true; // This needs to happen before we 'clear'.
+        BaseData.startLoading(); // This needs to happen before we 'clear'.
         clearPage(); // Clears the data from the interface Components.
 
         // The page reset below is needed BEFORE loadGroup, in case we came here
@@ -790,12 +812,12 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
         theNotePager.reset(1);
 
         myNoteGroup.loadNoteGroup(); // Now we have 'new' data.
-        BaseData.loading = false;
+        BaseData.endLoading();
 
-        loadNotesPanel();      // Loads the data array and interface.  This calls loadPage, which toggles BaseData.loading.
-        BaseData.loading = true;
+        loadNotesPanel();      // Loads the data array and interface.  This calls loadPage, which has its own load.
+        BaseData.startLoading();
         setGroupChanged(false);
-        BaseData.loading = false;
+        BaseData.endLoading();
 
         myNoteGroup.myNoteGroupPanel = this; // The 'load' cleared this value; needs a reset.
 
@@ -815,48 +837,6 @@ public abstract class NoteGroupPanel implements NoteComponentManager {
         loadPage(1); // Page to the start of the notes, to show the one that was just inserted.
     }
 
-    static class LastModComparator implements Comparator<NoteData> {
-        int direction;
-
-        LastModComparator(int d) {
-            direction = d;
-        } // end constructor
-
-        public int compare(NoteData nd1, NoteData nd2) {
-            ZonedDateTime zdt1 = nd1.getLastModDate();
-            ZonedDateTime zdt2 = nd2.getLastModDate();
-
-            if (direction == ASCENDING) {
-                return zdt1.compareTo(zdt2);
-            } else {
-                return zdt2.compareTo(zdt1);
-            } // end if
-        } // end compare
-    } // end class LastModComparator
-
-
-    static class NoteStringComparator implements Comparator<NoteData> {
-        int direction;
-
-        NoteStringComparator(int d) {
-            direction = d;
-        } // end constructor
-
-        public int compare(NoteData nd1, NoteData nd2) {
-            String s1, s2;
-
-            s1 = nd1.getNoteString();
-            s2 = nd2.getNoteString();
-
-            if (direction == ASCENDING) {
-                return s1.compareTo(s2);
-            } else {
-                return s2.compareTo(s1);
-            } // end if
-        } // end compare
-    } // end class NoteStringComparator
-
-
 
     // Not all NoteGroups need to manage enablement of items in their menu but all those
     // that do will call this method.  On the provided menu (currently) there will always
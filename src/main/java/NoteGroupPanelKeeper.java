@@ -1,76 +1,137 @@
 import java.util.ArrayList;
-import java.util.Vector;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /*
- Basically a wrapper for a vector of NoteGroupPanels.  The idea is
+ Basically a wrapper for a collection of NoteGroupPanels.  The idea is
  that since loading of a list can sometimes take long enough for the user to
  notice/care, we could just load them once, and when not currently
  selected, keep them out of sight but in memory and ready to quickly redisplay.
- Using a vector vs an ArrayList, for additional speed and less overhead; we do
- not need any of the 'Collections' bells and whistles (such as sorting).
  The idea does work (fairly well, actually) but it turns out that there are
  some operations (RENAME, SAVE-AS) that after they complete, it would be better
  to remove the copy here so that upon reselection, the list will be reloaded.
  For those operations we provide the 'remove' method, and every new list action
  should consider whether or not to use it.
+
+ The panels are kept by group name, in the order of their most recent use.  Keeping
+ all of them for the whole session lets the heap grow with every group that the user
+ browses, so there is a limit on how many are kept and on roughly how much memory they
+ hold; when either one is exceeded the least recently used panels are let go.  A panel
+ is saved (preClosePanel) before it is let go, the same as it would be at app exit.
+ The most recently used panel is always kept, whatever its size, and so is any panel
+ that has been pinned - one that is still being filled in by a running search, for example.
+
+ A keeper is used from the EDT and from the background tasks that select and search, and
+ even a lookup changes the usage order, so every method that touches the panels is
+ synchronized.  A panel whose group is renamed while it is kept here (a saveAs does that)
+ is moved to its new name by the saveAs (see rename), so that a lookup is just a get.
  */
 
 public class NoteGroupPanelKeeper {
-    private final Vector<NoteGroupPanel> theNoteGroups;
+    static final int DEFAULT_MAX_PANELS = 24;
+    static final long DEFAULT_MEMORY_BUDGET = 32L * 1024 * 1024;
+
+    // Rough sizes, for the memory budget.  A NoteComponent is a small tree of Swing components
+    //   (text field and area, buttons, labels, listeners) and it outweighs the data that it shows.
+    static final long BYTES_PER_NOTE = 1024;
+    static final long BYTES_PER_COMPONENT = 24 * 1024;
+
+    // Access-ordered, so that iteration goes from least to most recently used.
+    private final LinkedHashMap<String, NoteGroupPanel> theNoteGroups;
+    private final Set<NoteGroupPanel> pinnedPanels = new HashSet<>();
+    private int maxPanels;
+    private long memoryBudget;
+    private int hits;
+    private int misses;
+    private int evictions;
 
     NoteGroupPanelKeeper() {
-        theNoteGroups = new Vector<>();
+        this(DEFAULT_MAX_PANELS, DEFAULT_MEMORY_BUDGET);
     }
 
-    public void add(NoteGroupPanel tng) {
-        theNoteGroups.add(tng);
+    NoteGroupPanelKeeper(int maxPanels, long memoryBudget) {
+        theNoteGroups = new LinkedHashMap<>(16, 0.75f, true);
+        setLimits(maxPanels, memoryBudget);
+    }
+
+    public synchronized void add(NoteGroupPanel tng) {
+        theNoteGroups.put(getName(tng), tng);
         tng.myKeeper = this;
+        trim();
+    }
+
+    // The estimated memory held by one panel; its data plus the NoteComponents that it has made.
+    static long estimateSize(NoteGroupPanel noteGroupPanel) {
+        long theSize = (noteGroupPanel.getHighestNoteComponentIndex() + 1) * BYTES_PER_COMPONENT;
+        if (noteGroupPanel.myNoteGroup != null && noteGroupPanel.myNoteGroup.noteGroupDataVector != null) {
+            theSize += noteGroupPanel.myNoteGroup.noteGroupDataVector.size() * BYTES_PER_NOTE;
+        }
+        return theSize;
+    }
+
+    public synchronized NoteGroupPanel get(String aListName) {
+        NoteGroupPanel noteGroup = theNoteGroups.get(aListName);
+        if (noteGroup == null) misses++;
+        else hits++;
+        return noteGroup;
+    }
+
+    // Keep the panel, no matter what the limits are, until it is unpinned.
+    synchronized void pin(NoteGroupPanel noteGroupPanel) {
+        pinnedPanels.add(noteGroupPanel);
+    }
+
+    synchronized void unpin(NoteGroupPanel noteGroupPanel) {
+        pinnedPanels.remove(noteGroupPanel);
+        trim();
+    }
+
+    synchronized int getEvictions() {
+        return evictions;
+    }
+
+    synchronized int getHits() {
+        return hits;
+    }
+
+    synchronized int getMisses() {
+        return misses;
+    }
+
+    private static String getName(NoteGroupPanel noteGroupPanel) {
+        GroupProperties groupProperties = noteGroupPanel.myNoteGroup.getGroupProperties();
+        if (groupProperties != null) return groupProperties.getGroupName();
+        return noteGroupPanel.myNoteGroup.myGroupInfo.getGroupName();
     }
 
-    public NoteGroupPanel get(String aListName) {
-        // Search the Vector for the list.
-        for (NoteGroupPanel noteGroup : theNoteGroups) {
-            String tngName;
-            GroupProperties groupProperties = noteGroup.myNoteGroup.getGroupProperties();
-            if (groupProperties != null) {
-                tngName = groupProperties.getGroupName();
-            } else {
-                tngName = noteGroup.myNoteGroup.myGroupInfo.getGroupName();
-            }
-            if (aListName.equals(tngName)) {
-                return noteGroup;
-            } // end if
-        } // end for
-        return null;
-    }
-
-    ArrayList<String> getNames() {
+    // From least to most recently used.
+    synchronized ArrayList<String> getNames() {
         ArrayList<String> theList = new ArrayList<>();
-        for (NoteGroupPanel noteGroupPanel : theNoteGroups) {
-            theList.add(noteGroupPanel.myNoteGroup.getGroupProperties().getGroupName());
+        for (NoteGroupPanel noteGroupPanel : theNoteGroups.values()) {
+            theList.add(getName(noteGroupPanel));
         }
         return theList;
     }
 
-    // Scan the vector looking for the indicated group and if found, remove.
-    public void remove(String aListName) {
-        NoteGroupPanel theGroup = null; // Keep a temporary reference
+    // A one-line summary of the counters, for the 'Show Keepers' view.
+    synchronized String getStats() {
+        long theSize = 0;
+        for (NoteGroupPanel noteGroupPanel : theNoteGroups.values()) theSize += estimateSize(noteGroupPanel);
+        return "hits " + hits + ", misses " + misses + ", evictions " + evictions
+                + ", about " + (theSize / 1024) + " KB of " + (memoryBudget / 1024) + " KB";
+    }
 
-        // Search the Vector for the group.
-        for (NoteGroupPanel noteGroup : theNoteGroups) {
-            String tngName = noteGroup.myNoteGroup.getGroupProperties().getGroupName();
-            if (aListName.equals(tngName)) {
-                theGroup = noteGroup;
-                // Note: cannot remove from within this loop;
-                // ConcurrentModificationException.
-                break;
-            } // end if
-        } // end for
+    // Look for the indicated group and if found, remove.
+    public synchronized void remove(String aListName) {
+        NoteGroupPanel theGroup = theNoteGroups.get(aListName);
 
         // If found, then remove.  Otherwise no action needed.
         if (theGroup != null) {
             MemoryBank.debug("  Removing " + aListName + " from the NoteGroupKeeper");
-            theNoteGroups.removeElement(theGroup);
+            theNoteGroups.remove(aListName);
             // We don't want to null out the group's 'myKeeper';
             //   we will need it if a deletion is undone.
         } else {
@@ -78,34 +139,61 @@ public class NoteGroupPanelKeeper {
         } // end if
     } // end remove
 
-    // Scan the vector and remove all but the one indicated.
-    public void removeOthers(String aListName) {
-        NoteGroupPanel theGroup = null; // Keep a temporary reference
-
-        // Search the Vector for the group.
-        for (NoteGroupPanel noteGroup : theNoteGroups) {
-            String tngName = noteGroup.myNoteGroup.getGroupProperties().getGroupName();
-            if (aListName.equals(tngName)) {
-                theGroup = noteGroup;
-                // Note: cannot remove from within this loop;
-                // ConcurrentModificationException.
-                break;
-            } // end if
-        } // end for
+    // Remove all but the one indicated.
+    public synchronized void removeOthers(String aListName) {
+        NoteGroupPanel theGroup = theNoteGroups.get(aListName);
 
         if(theGroup == null) return; // Don't remove any, if the one indicated will not remain.
         theNoteGroups.clear();
-        theNoteGroups.add(theGroup);
+        theNoteGroups.put(aListName, theGroup);
     } // end removeOthers
 
-    void saveAll() {
-        for (NoteGroupPanel aNoteGroup : theNoteGroups) {
+    // Called when the group of a kept panel has been given a new name, so that it is found by that name.
+    //   It keeps its place in the usage order.
+    synchronized void rename(String oldName, String newName) {
+        NoteGroupPanel theGroup = theNoteGroups.get(oldName);
+        if (theGroup == null || oldName.equals(newName)) return;
+        ArrayList<Map.Entry<String, NoteGroupPanel>> theEntries = new ArrayList<>(theNoteGroups.entrySet());
+        theNoteGroups.clear();
+        for (Map.Entry<String, NoteGroupPanel> entry : theEntries) {
+            theNoteGroups.put(entry.getValue() == theGroup ? newName : entry.getKey(), entry.getValue());
+        }
+    } // end rename
+
+    synchronized void saveAll() {
+        for (NoteGroupPanel aNoteGroup : theNoteGroups.values()) {
             aNoteGroup.preClosePanel();
         }
     }
 
-    int size() {
+    // A limit of zero (or less) on the panel count or the memory means no limit of that kind.
+    synchronized void setLimits(int maxPanels, long memoryBudget) {
+        this.maxPanels = maxPanels > 0 ? maxPanels : Integer.MAX_VALUE;
+        this.memoryBudget = memoryBudget > 0 ? memoryBudget : Long.MAX_VALUE;
+        trim();
+    }
+
+    synchronized int size() {
         return theNoteGroups.size();
     }
 
+    // Let go of the least recently used panels until the rest are within the limits.
+    private void trim() {
+        long theSize = 0;
+        for (NoteGroupPanel noteGroupPanel : theNoteGroups.values()) theSize += estimateSize(noteGroupPanel);
+
+        Iterator<Map.Entry<String, NoteGroupPanel>> iterator = theNoteGroups.entrySet().iterator();
+        while (iterator.hasNext() && (theNoteGroups.size() > maxPanels || theSize > memoryBudget)) {
+            Map.Entry<String, NoteGroupPanel> eldest = iterator.next();
+            if (!iterator.hasNext()) break; // This is the most recently used one.
+            NoteGroupPanel noteGroupPanel = eldest.getValue();
+            if (pinnedPanels.contains(noteGroupPanel)) continue;
+            MemoryBank.debug("  Letting go of " + eldest.getKey() + " from the NoteGroupKeeper");
+            noteGroupPanel.preClosePanel(); // Save it first, if it was changed.
+            theSize -= estimateSize(noteGroupPanel);
+            iterator.remove();
+            evictions++;
+        }
+    } // end trim
+
 } // end class NoteGroupPanelKeeper
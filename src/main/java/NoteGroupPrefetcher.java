@@ -0,0 +1,123 @@
+// The NoteGroupPrefetcher reads the data of a calendar group (day, month or year notes) ahead of its need, on a
+//   background thread, so that when the user steps on to the next date in a CalendarNoteGroupPanel the data has
+//   already been read and deserialized.  The Panel asks for the group that is one more step along in the same
+//   direction, while it loads the one that it is going to show.
+//
+// The cache is small and keyed by the full filename.  An entry is taken, not copied; once its notes have gone into
+//   a NoteGroup they belong to that group, and a second load of the same file goes back to the disk.  An entry is
+//   only good if the file still has the same modified time and length as when it was read, and any save, delete,
+//   or rename of a group file drops the entry for it (see NoteGroupFile).  A read that was already underway when a
+//   file changed is not kept.
+//
+// Only the file-based data accessor is served here; for other accessors, prefetch is a no-op.
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class NoteGroupPrefetcher {
+    static int maxEntries = 8;
+
+    private static class Entry {
+        final Object[] theData;
+        final long lastModified;
+        final long length;
+
+        Entry(Object[] theData, long lastModified, long length) {
+            this.theData = theData;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+
+    // Access-ordered, so that the least recently used entry is the one that goes when the cache is full.
+    private static final Map<String, Entry> theGroups = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private static long generation; // Goes up with every invalidation.
+    private static int hits;
+    private static int misses;
+
+
+    static synchronized void clear() {
+        theGroups.clear();
+        generation++;
+    }
+
+    static synchronized int getHits() {
+        return hits;
+    }
+
+    static synchronized int getMisses() {
+        return misses;
+    }
+
+    // Called whenever a group file is written, deleted, or renamed.
+    static synchronized void invalidate(String theFilename) {
+        if (theFilename != null) theGroups.remove(theFilename);
+        generation++;
+    }
+
+
+    // Start reading the data for the group on a background thread, if there is a file for it.  The read (if any)
+    //   happens later; this returns right away.
+    static void prefetch(GroupInfo groupInfo) {
+        if (!(MemoryBank.dataAccessor instanceof FileDataAccessor)) return;
+        AppTasks.submit(TaskType.PREFETCH, () -> read(groupInfo));
+    } // end prefetch
+
+
+    private static void read(GroupInfo groupInfo) {
+        String theFilename = new NoteGroupFile(groupInfo).foundFilename(groupInfo);
+        if (theFilename.isEmpty()) return; // No file, nothing to read.
+
+        long theGeneration;
+        synchronized (NoteGroupPrefetcher.class) {
+            if (theGroups.containsKey(theFilename)) return; // Already here.
+            theGeneration = generation;
+        }
+
+        File theFile = new File(theFilename);
+        long theLastModified = theFile.lastModified();
+        long theLength = theFile.length();
+        Object[] theData;
+        BaseData.startLoading(); // Reading the notes should not change their Last Mod dates.
+        try {
+            theData = NoteGroupFile.loadFileData(theFile, groupInfo.groupType);
+        } finally {
+            BaseData.endLoading();
+        }
+        if (theData == null) return;
+
+        synchronized (NoteGroupPrefetcher.class) {
+            if (theGeneration != generation) return; // Something changed while we were reading; this may be stale.
+            theGroups.put(theFilename, new Entry(theData, theLastModified, theLength));
+        }
+        MemoryBank.debug("Prefetched " + groupInfo.getGroupName());
+    } // end read
+
+
+    static synchronized int size() {
+        return theGroups.size();
+    }
+
+
+    // Take the prefetched data for the file, if there is any and it is still current.  Otherwise null.
+    static synchronized Object[] take(String theFilename) {
+        Entry theEntry = theGroups.remove(theFilename);
+        if (theEntry != null) {
+            File theFile = new File(theFilename);
+            if (theFile.lastModified() == theEntry.lastModified && theFile.length() == theEntry.length) {
+                hits++;
+                return theEntry.theData;
+            }
+        }
+        misses++;
+        return null;
+    } // end take
+
+} // end class NoteGroupPrefetcher
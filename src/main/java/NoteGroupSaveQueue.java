@@ -0,0 +1,114 @@
+// This class is a write-behind stage for NoteGroup persistence.  A data accessor that supports it takes a
+//   snapshot of the group data on the calling thread (usually the EDT) and submits a save of that snapshot here,
+//   and then the calling context can go on about its business while a background writer does the disk work.
+//
+// Saves are coalesced per group - if a group is saved again before its earlier save has been written, only the
+//   later one is kept (the last write wins).  The writer waits a short time after the first submittal before it
+//   starts, so that a burst of saves (a panel switch followed by a preClose of all the keepers, for example)
+//   goes out as one write per group, and no save waits much longer than that.
+//
+// Any operation that needs the persisted data to be up to date must flush first - either all pending saves,
+//   such as before the app exits or an archive is made, or just the one for a group that is about to be loaded,
+//   renamed, or removed.  A flush runs the pending saves on the calling thread, after waiting for any write
+//   that is already underway.
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+class NoteGroupSaveQueue {
+    static final long WRITE_DELAY = 250; // milliseconds
+
+    // Keyed by the group type and name, in the order of first submittal.
+    private static final Map<String, Runnable> pendingSaves = new LinkedHashMap<>();
+
+    // Held for the duration of each write, whether it is done by the background writer or by a flush.
+    private static final ReentrantLock writeLock = new ReentrantLock();
+
+    private static Thread theWriter;
+
+    private NoteGroupSaveQueue() { } // All static; no instances needed.
+
+
+    // Write out every pending save, and do not return until that is done.
+    static void flush() {
+        //noinspection StatementWithEmptyBody
+        while (writeNext(null)) ;
+    }
+
+
+    // Write out the pending save (if any) for the one group, and wait for any write that is already in progress.
+    static void flush(GroupInfo groupInfo) {
+        writeNext(getKey(groupInfo));
+    }
+
+
+    private static String getKey(GroupInfo groupInfo) {
+        return groupInfo.groupType + ":" + groupInfo.getGroupName();
+    }
+
+
+    // The save that is submitted should already have its own copy of the data that it will write;
+    //   it will run on a different thread, at a later time.
+    static void submit(GroupInfo groupInfo, Runnable theSave) {
+        String theKey = getKey(groupInfo);
+        synchronized (pendingSaves) {
+            pendingSaves.put(theKey, theSave); // Replaces an unwritten earlier save of the same group, if any.
+            if (theWriter == null) {
+                theWriter = new Thread(NoteGroupSaveQueue::runWriter, "NoteGroup Writer");
+                theWriter.setDaemon(true); // The shutdown hook will flush; this thread should not hold up the exit.
+                theWriter.start();
+            }
+            pendingSaves.notifyAll();
+        }
+    }
+
+
+    private static void runWriter() {
+        while (true) {
+            try {
+                synchronized (pendingSaves) {
+                    while (pendingSaves.isEmpty()) pendingSaves.wait();
+                }
+                Thread.sleep(WRITE_DELAY); // Let more saves come in, to be coalesced with the ones we have.
+            } catch (InterruptedException ie) {
+                return;
+            }
+            //noinspection StatementWithEmptyBody
+            while (writeNext(null)) ;
+        }
+    }
+
+
+    // Take the pending save for the key (or the oldest one, if the key is null) and run it on the current thread.
+    // Returns false when there was nothing to write.
+    private static boolean writeNext(String theKey) {
+        writeLock.lock();
+        try {
+            Runnable theSave;
+            synchronized (pendingSaves) {
+                if (theKey == null) {
+                    Iterator<Runnable> theSaves = pendingSaves.values().iterator();
+                    if (!theSaves.hasNext()) return false;
+                    theSave = theSaves.next();
+                    theSaves.remove();
+                } else {
+                    theSave = pendingSaves.remove(theKey);
+                    if (theSave == null) return false;
+                }
+            }
+            try {
+                theSave.run();
+            } catch (Exception e) {
+                // A failed save should not stop the ones behind it.
+                System.out.println("Error - a queued NoteGroup save failed: " + e.getMessage());
+                e.printStackTrace(System.out);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+} // end class NoteGroupSaveQueue
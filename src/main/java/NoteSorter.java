@@ -0,0 +1,101 @@
+// NoteSorter puts the notes of a group in order by one or more columns.  Some of the keys take work to get
+//   from a note (the Last Mod date is kept as a String, and has to be parsed) and a Comparator that got them
+//   itself would do that work twice for every comparison, of which there are n log n.  So here the keys of
+//   each note are gotten just once; then the notes are sorted along with their keys and put back into the
+//   list in their new order.
+//
+// The sort is stable; notes with the same keys stay in the order that they were in before.  With more than
+//   one column, the second one only comes into play where the first one is the same, and so on.  A large
+//   list is sorted in parallel, on the common fork/join pool (that sort is stable as well).
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+class NoteSorter {
+    static int parallelThreshold = 8192; // Arrays.parallelSort does not split up anything smaller than this.
+
+    // One column of a sort; how to get its key from a note, and which way to order them.
+    static class SortColumn {
+        final String columnName;
+        final Function<NoteData, Comparable> keyMaker;
+        final int direction;
+
+        SortColumn(String columnName, Function<NoteData, Comparable> keyMaker, int direction) {
+            this.columnName = columnName;
+            this.keyMaker = keyMaker;
+            this.direction = direction;
+        }
+    } // end class SortColumn
+
+
+    // A note along with its keys, for the length of a sort.
+    private static class KeyedNote {
+        final Object theNote;
+        final Comparable[] theKeys;
+
+        KeyedNote(Object theNote, Comparable[] theKeys) {
+            this.theNote = theNote;
+            this.theKeys = theKeys;
+        }
+    } // end class KeyedNote
+
+
+    // The key is the time in milliseconds, which the note keeps once its date has been parsed.
+    static SortColumn byLastMod(int direction) {
+        return new SortColumn("Last Mod", noteData -> {
+            long theMillis = noteData.getLastModMillis();
+            if (theMillis == BaseData.NO_LAST_MOD) return null;
+            return theMillis;
+        }, direction);
+    }
+
+
+    static SortColumn byNoteString(int direction) {
+        return new SortColumn("Note Text", NoteData::getNoteString, direction);
+    }
+
+
+    // A missing key (or note) goes before all the others, or after them when descending.
+    private static int compareKeys(Comparable key1, Comparable key2) {
+        if (key1 == null) return key2 == null ? 0 : -1;
+        if (key2 == null) return 1;
+        return key1.compareTo(key2);
+    }
+
+
+    static void sort(List theNotes, SortColumn... theColumns) {
+        int theSize = theNotes.size();
+        KeyedNote[] keyedNotes = new KeyedNote[theSize];
+        for (int i = 0; i < theSize; i++) {
+            Object theNote = theNotes.get(i);
+            Comparable[] theKeys = new Comparable[theColumns.length];
+            if (theNote != null) {
+                for (int j = 0; j < theColumns.length; j++) {
+                    theKeys[j] = theColumns[j].keyMaker.apply((NoteData) theNote);
+                }
+            }
+            keyedNotes[i] = new KeyedNote(theNote, theKeys);
+        }
+
+        Comparator<KeyedNote> theComparator = (keyedNote1, keyedNote2) -> {
+            for (int j = 0; j < theColumns.length; j++) {
+                int theResult;
+                if (theColumns[j].direction == NoteGroupPanel.DESCENDING) {
+                    theResult = compareKeys(keyedNote2.theKeys[j], keyedNote1.theKeys[j]);
+                } else {
+                    theResult = compareKeys(keyedNote1.theKeys[j], keyedNote2.theKeys[j]);
+                }
+                if (theResult != 0) return theResult;
+            }
+            return 0;
+        };
+        if (theSize >= parallelThreshold) Arrays.parallelSort(keyedNotes, theComparator);
+        else Arrays.sort(keyedNotes, theComparator);
+
+        for (int i = 0; i < theSize; i++) theNotes.set(i, keyedNotes[i].theNote);
+    } // end sort
+
+} // end class NoteSorter
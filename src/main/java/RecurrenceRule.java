@@ -0,0 +1,262 @@
+// A RecurrenceRule is the recurrence setting of an Event (see RecurrencePanel.getRecurrenceSetting), compiled
+//   from its String form so that the String only needs to be taken apart once.  The forms are:
+//     D<interval>_<end>                     every <interval> days
+//     W<interval>_<days>_<end>              on the <days> (SuMoTuWeThFrSa) of every <interval>th week
+//     M<interval>_<description>_<end>       every <interval> months, on the described day
+//     Y_<description>_<end>                 every year, on the described day
+//   where <end> is empty (no end), a 'stop after' count, or a 'stop by' date (yyyyMMdd).
+//
+// It gives the next occurrence after a given date, and can also skip over any number of occurrences at once;
+//   for Day and Week rules that is done with arithmetic rather than by going through each one.  The Month and
+//   Year rules still go one occurrence at a time, but each of those is a direct calculation.  They have to;
+//   a date like the 31st that gets cut short by a shorter month stays that way, for all the months after.
+//
+// A setting that would never get anywhere (an interval of less than one day or month, or a Week rule with no
+//   days) does not compile; there is no rule for it.
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+class RecurrenceRule {
+    private static final String[] ORDINALS = {"first", "second", "third", "fourth"};
+    private static final int LAST = 0; // The ordinal, when the description says 'last' (or no ordinal at all).
+
+    // The kinds of description for a Month or Year rule.
+    private enum DayKind {
+        DATE,         // the 15th (of May)
+        WEEKDAY,      // the second weekday (in May), or the last weekday
+        WEEKEND_DAY,  // the first weekend day (in May), or the last weekend day
+        LAST_DAY,     // the last day (of May)
+        DAY_OF_WEEK   // the third Friday (in May), or the last Friday
+    }
+
+    final String source;      // The setting that this rule was made from.
+    private final char type;  // D, W, M, or Y.
+    private final int interval;
+    private final boolean[] weekDays = new boolean[7]; // For a Week rule, by DayOfWeek.getValue() % 7 (Sunday is 0).
+    private final int weekDayCount;
+    private final DayKind dayKind;
+    private final int ordinal;
+
+    // A Day or Week rule repeats itself exactly; after the first step, every cycleSteps more steps go
+    //   cycleDays further on.  For the others these are zero.
+    private final int cycleSteps;
+    private final long cycleDays;
+
+    final int stopAfter;   // The number of occurrences left, counting the current one; zero if there is no count.
+    final LocalDate stopBy; // No occurrence may be after this date; null if there is no such end.
+    private final String prefix; // The setting up to its end, for making a new one when the count goes down.
+
+
+    private RecurrenceRule(String theSetting) {
+        source = theSetting;
+        int intUnderscore1 = theSetting.indexOf('_');
+        int intUnderscore2 = theSetting.lastIndexOf('_');
+        prefix = theSetting.substring(0, intUnderscore2 + 1);
+
+        type = switch (theSetting.charAt(0)) {
+            case 'D', 'W', 'M' -> theSetting.charAt(0);
+            default -> 'Y';
+        };
+        if (type == 'Y') interval = 12;
+        else interval = Integer.parseInt(theSetting.substring(1, intUnderscore1));
+        String strDescription = type == 'D' ? "" : theSetting.substring(intUnderscore1 + 1, intUnderscore2);
+
+        int theCount = 0;
+        if (type == 'W') {
+            String[] theDays = {"Su", "Mo", "Tu", "We", "Th", "Fr", "Sa"};
+            for (int i = 0; i < 7; i++) {
+                weekDays[i] = strDescription.contains(theDays[i]);
+                if (weekDays[i]) theCount++;
+            }
+        }
+        weekDayCount = theCount;
+
+        if (type == 'M' || type == 'Y') {
+            String strLower = strDescription.toLowerCase();
+            if (Character.isDigit(strDescription.charAt(4))) dayKind = DayKind.DATE;
+            else if (strLower.contains("weekend")) dayKind = DayKind.WEEKEND_DAY;
+            else if (strLower.contains("weekday")) dayKind = DayKind.WEEKDAY;
+            else if (strLower.contains("last day")) dayKind = DayKind.LAST_DAY;
+            else dayKind = DayKind.DAY_OF_WEEK;
+            ordinal = getOrdinal(dayKind == DayKind.WEEKEND_DAY ? strLower : strDescription);
+        } else {
+            dayKind = null;
+            ordinal = LAST;
+        }
+
+        switch (type) {
+            case 'D' -> {
+                cycleSteps = 1;
+                cycleDays = interval;
+            }
+            case 'W' -> {
+                cycleSteps = weekDayCount;
+                cycleDays = 7L * Math.max(interval, 1); // Any interval under 2 is every week.
+            }
+            default -> {
+                cycleSteps = 0;
+                cycleDays = 0;
+            }
+        }
+
+        int theStopAfter = 0;
+        LocalDate theStopBy = null;
+        if (!theSetting.endsWith("_")) { // recurrence has an end; does not go on indefinitely.
+            String strRecurEnd = theSetting.substring(intUnderscore2 + 1);
+            if (strRecurEnd.length() < 4) {
+                // A count under two still allows one more; after that there is no more recurrence.
+                theStopAfter = Math.max(Integer.parseInt(strRecurEnd), 1);
+            } else {
+                try {
+                    theStopBy = LocalDate.parse(strRecurEnd, DateTimeFormatter.ofPattern("yyyyMMdd"));
+                } catch (Exception ignored) { // Then there is no end, after all.
+                }
+            }
+        }
+        stopAfter = theStopAfter;
+        stopBy = theStopBy;
+    } // end constructor
+
+
+    // Returns null if there is no recurrence, or if the setting is not one that can be followed.
+    static RecurrenceRule compile(String theSetting) {
+        if (theSetting == null || theSetting.trim().isEmpty()) return null;
+        if (theSetting.indexOf('_') < 0) return null;
+
+        RecurrenceRule theRule;
+        try {
+            theRule = new RecurrenceRule(theSetting);
+        } catch (RuntimeException e) { // A number that isn't, or a description that is too short.
+            System.out.println("Error - unusable recurrence setting: " + theSetting);
+            return null;
+        }
+        if (theRule.type == 'W' && theRule.weekDayCount == 0) return null;
+        if ((theRule.type == 'D' || theRule.type == 'M') && theRule.interval < 1) return null;
+        return theRule;
+    } // end compile
+
+
+    // The first of the ordinals that the description contains (so, 1 to 4), or LAST.
+    private static int getOrdinal(String strDescription) {
+        for (int i = 0; i < ORDINALS.length; i++) {
+            if (strDescription.contains(ORDINALS[i])) return i + 1;
+        }
+        return LAST;
+    }
+
+
+    private static boolean isWeekday(LocalDate theDay) {
+        return theDay.getDayOfWeek() != DayOfWeek.SATURDAY && theDay.getDayOfWeek() != DayOfWeek.SUNDAY;
+    }
+
+
+    // The setting as it will be after going forward by the given number of occurrences; that only
+    //   changes when there is a 'stop after' count.  When the count is used up it becomes "".
+    String getSettingAfter(long theSteps) {
+        if (stopAfter == 0) return source;
+        long theCount = stopAfter - theSteps;
+        if (theCount > 1) return prefix + theCount;
+        return "";
+    } // end getSettingAfter
+
+
+    // The number of times that the Event can go forward from the given date before this rule ends.
+    long getStepsAllowed(LocalDate fromDate) {
+        long theSteps = Long.MAX_VALUE;
+        if (stopAfter > 0) theSteps = Math.max(stopAfter - 1, 1);
+        if (stopBy != null) theSteps = Math.min(theSteps, getStepsUntil(fromDate, stopBy.plusDays(1)) - 1);
+        return Math.max(theSteps, 0);
+    } // end getStepsAllowed
+
+
+    // The fewest steps (zero or more) to get from the given date to one that is on or after the target date.
+    long getStepsUntil(LocalDate fromDate, LocalDate targetDate) {
+        if (!fromDate.isBefore(targetDate)) return 0;
+        LocalDate theDate = next(fromDate);
+        long theSteps = 1;
+        if (cycleSteps > 0 && theDate.isBefore(targetDate)) {
+            long theCycles = DAYS.between(theDate, targetDate) / cycleDays;
+            theDate = theDate.plusDays(theCycles * cycleDays);
+            theSteps += theCycles * cycleSteps;
+        }
+        while (theDate.isBefore(targetDate)) {
+            theDate = next(theDate);
+            theSteps++;
+        }
+        return theSteps;
+    } // end getStepsUntil
+
+
+    // The occurrence after the given date.
+    LocalDate next(LocalDate fromDate) {
+        return switch (type) {
+            case 'D' -> fromDate.plusDays(interval);
+            case 'W' -> nextInWeeks(fromDate);
+            default -> nextInMonths(fromDate);
+        };
+    } // end next
+
+
+    // The next of the selected days; after the Saturday of a week, the weeks in between are skipped.
+    //   With at least one day selected, this goes no more than seven times around.
+    private LocalDate nextInWeeks(LocalDate fromDate) {
+        LocalDate theDate = fromDate;
+        while (true) {
+            if (theDate.getDayOfWeek() == DayOfWeek.SATURDAY && interval > 1) {
+                theDate = theDate.plusDays(7L * (interval - 1));
+            }
+            theDate = theDate.plusDays(1);
+            if (weekDays[theDate.getDayOfWeek().getValue() % 7]) return theDate;
+        }
+    } // end nextInWeeks
+
+
+    // Go forward by the interval in months, then to the described day of that month.  A specific day of the
+    //   week is taken from the date that we are going forward from, not from the description.
+    private LocalDate nextInMonths(LocalDate fromDate) {
+        LocalDate theDate = fromDate.plusMonths(interval);
+        return switch (dayKind) {
+            case DATE -> theDate;
+            case LAST_DAY -> theDate.with(TemporalAdjusters.lastDayOfMonth());
+            case DAY_OF_WEEK -> {
+                DayOfWeek dow = fromDate.getDayOfWeek();
+                if (ordinal == LAST) yield theDate.with(TemporalAdjusters.lastInMonth(dow));
+                yield theDate.with(TemporalAdjusters.dayOfWeekInMonth(ordinal, dow));
+            }
+            case WEEKDAY, WEEKEND_DAY -> {
+                boolean wantWeekday = dayKind == DayKind.WEEKDAY;
+                if (ordinal == LAST) {
+                    theDate = theDate.with(TemporalAdjusters.lastDayOfMonth());
+                    while (isWeekday(theDate) != wantWeekday) theDate = theDate.minusDays(1);
+                    yield theDate;
+                }
+                theDate = theDate.withDayOfMonth(1);
+                int theCount = 0;
+                while (true) { // Any month has at least eight of each; the fourth is no more than 25 days in.
+                    if (isWeekday(theDate) == wantWeekday && ++theCount == ordinal) yield theDate;
+                    theDate = theDate.plusDays(1);
+                }
+            }
+        };
+    } // end nextInMonths
+
+
+    // Where the given number of steps from the given date would get to.
+    LocalDate skip(LocalDate fromDate, long theSteps) {
+        if (theSteps <= 0) return fromDate;
+        LocalDate theDate = next(fromDate);
+        long theStepsLeft = theSteps - 1;
+        if (cycleSteps > 0) {
+            theDate = theDate.plusDays(theStepsLeft / cycleSteps * cycleDays);
+            theStepsLeft %= cycleSteps;
+        }
+        for (long i = 0; i < theStepsLeft; i++) theDate = next(theDate);
+        return theDate;
+    } // end skip
+
+} // end class RecurrenceRule
@@ -0,0 +1,53 @@
+// RetainedNotes holds the notes that Events leave behind as they are aged (see EventNoteGroupPanel.ageEvents),
+//   sorted by the day that each one goes to.  When the aging is done they are all added to their day groups,
+//   so that each of those groups is loaded and saved only once, no matter how many notes it gets.  A weekly
+//   Event that is aged across a year still writes 52 files, but a day that several Events land on is written
+//   just the one time.
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class RetainedNotes {
+    // By day group name; the days stay in the order that they were first added.
+    private final Map<String, List<DayNoteData>> notesByDay = new LinkedHashMap<>();
+    private int noteCount;
+
+
+    void add(LocalDate theDate, DayNoteData dayNoteData) {
+        String dayName = CalendarNoteGroup.getGroupNameForDate(theDate, GroupType.DAY_NOTES);
+        notesByDay.computeIfAbsent(dayName, k -> new ArrayList<>()).add(dayNoteData);
+        noteCount++;
+    }
+
+    int getDayCount() {
+        return notesByDay.size();
+    }
+
+    int getNoteCount() {
+        return noteCount;
+    }
+
+    // Add the notes to their day groups and save each of those groups once.  Returns the number that were saved.
+    int saveAll() {
+        int theCount = 0;
+        for (Map.Entry<String, List<DayNoteData>> theEntry : notesByDay.entrySet()) {
+            GroupInfo dayGroupInfo = new GroupInfo(theEntry.getKey(), GroupType.DAY_NOTES);
+            // Get the right group even if it is already open, with unsaved changes -
+            NoteGroup dayNoteGroup = dayGroupInfo.getNoteGroup();
+            if (dayNoteGroup == null) {
+                System.out.println("Error - could not get the day group for " + theEntry.getKey());
+                continue;
+            }
+            for (DayNoteData dayNoteData : theEntry.getValue()) dayNoteGroup.appendNote(dayNoteData);
+            dayNoteGroup.saveNoteGroup();
+            theCount++;
+        }
+        notesByDay.clear();
+        noteCount = 0;
+        return theCount;
+    } // end saveAll
+
+} // end class RetainedNotes
@@ -0,0 +1,362 @@
+// The SearchIndex is a persistent inverted index over the text of the notes in the user's data files, so that a
+//   search does not need to open and parse every file in the data area in order to find the few that have a match.
+//
+// The SearchPanel keywords are matched as substrings (not as whole words), so the index is not by word but by
+//   trigram - every three-character sequence of the (case-folded) text that the SearchPredicate searches.  A note
+//   can only contain a keyword if its file has every trigram of that keyword, so the intersection of the posting
+//   lists of those trigrams is the set of files that might have it.  The AND/OR/NOT/parentheses logic of the
+//   SearchPanel is then applied to those sets (see getCandidates), and only the files that remain are searched,
+//   by foundIt, as before.  The index only narrows the search; it never decides a match on its own.
+//
+// The index is kept as one JSON file in a '.index' directory at the top of the user's data area.  Each entry has
+//   the 'last modified' time and length of its file as of indexing; an entry that no longer matches its file (a
+//   change that did not come thru the NoteGroupFile) is redone when a search next needs that file.  The saves,
+//   removals and renames that do go thru the NoteGroupFile are applied to the in-memory index as they happen.
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class SearchIndex {
+    private static final String indexFilename = "search.json";
+    private static final int GRAM_LENGTH = 3;
+    private static final int INDEX_VERSION = 1; // Entries made with any other version are redone.
+
+    // The index for the current user data location, once it has been loaded.
+    private static SearchIndex theIndex;
+
+    static class Entry {
+        long lastModified;
+        long length;
+        String grams; // The distinct trigrams of the file's notes, run together.
+    }
+
+    int version;
+
+    // Keyed by the path of the file, relative to the user data location.
+    Map<String, Entry> entries = new HashMap<>();
+
+    private transient String indexedHome;
+    private transient Map<String, Set<String>> postings; // Trigram to file keys.
+    private transient boolean changed;
+
+
+    // Called after a group file has been written or removed by the NoteGroupFile.  If the index has
+    //   not been loaded then there is nothing to do here; the change will be seen when it is.
+    @SuppressWarnings("rawtypes")
+    static synchronized void fileChanged(File theFile, Vector theNotes) {
+        if (!isLoaded()) return;
+        String theKey = theIndex.getKey(theFile);
+        if (theKey == null) return;
+        if (theFile.exists()) theIndex.put(theKey, theFile, makeGrams(theNotes));
+        else theIndex.remove(theKey);
+    }
+
+
+    // A rename does not change the content or the timestamp of a file, so the entry just moves.
+    static synchronized void fileRenamed(File oldFile, File newFile) {
+        if (!isLoaded()) return;
+        String oldKey = theIndex.getKey(oldFile);
+        String newKey = theIndex.getKey(newFile);
+        if (oldKey == null || newKey == null) return;
+        Entry theEntry = theIndex.entries.get(oldKey);
+        theIndex.remove(oldKey);
+        if (theEntry != null) theIndex.put(newKey, theEntry);
+    }
+
+
+    // Of the files that a search would otherwise open, return (in the same order) the ones that might have a
+    //   note that the SearchPredicate keywords would find.  Any of the files that have not been indexed yet, or
+    //   that have changed since they were, are (re)indexed first.  If the search is stopped during that, the files
+    //   not yet read are left as they were (to be indexed by a later search) and there are no candidates.
+    //
+    // The index is only locked while it is looked at or changed, not while the files are read.  A cold index
+    //   can take a while to build, and in the meantime the saves (some of them on the EDT) need to get in with
+    //   their changes.  A file is entered with the timestamp and length that it had before it was read, so that if
+    //   it changes while it is being read, it will be read again next time.
+    static List<File> getCandidates(List<File> theFiles, SearchPredicate searchPredicate, SearchMonitor searchMonitor) {
+        long startTime = System.nanoTime();
+        SearchIndex searchIndex;
+        List<File> toIndex = new ArrayList<>();
+        synchronized (SearchIndex.class) {
+            searchIndex = getIndex();
+            for (File aFile : theFiles) {
+                if (!searchIndex.isCurrent(searchIndex.getKey(aFile), aFile)) toIndex.add(aFile);
+            }
+        }
+
+        // Reading the files is the slow part (all of them, for a new index), so it can be spread across the
+        //   fork/join pool.
+        long[] theTimes = new long[toIndex.size()];
+        long[] theLengths = new long[toIndex.size()];
+        for (int i = 0; i < toIndex.size(); i++) {
+            theTimes[i] = toIndex.get(i).lastModified();
+            theLengths[i] = toIndex.get(i).length();
+        }
+        Stream<File> theStream = FileDataAccessor.parallelSearch ? toIndex.parallelStream() : toIndex.stream();
+        List<String> theGrams = theStream.map(aFile -> searchMonitor.isStopped() ? null : readGrams(aFile))
+                .collect(Collectors.toList());
+
+        synchronized (SearchIndex.class) {
+            for (int i = 0; i < toIndex.size(); i++) {
+                if (theGrams.get(i) == null) continue; // Not read; the search was stopped.
+                String theKey = searchIndex.getKey(toIndex.get(i));
+                if (searchIndex.isCurrent(theKey, toIndex.get(i))) continue; // A save has already put it in.
+                Entry theEntry = new Entry();
+                theEntry.lastModified = theTimes[i];
+                theEntry.length = theLengths[i];
+                theEntry.grams = theGrams.get(i);
+                searchIndex.remove(theKey);
+                searchIndex.put(theKey, theEntry);
+            }
+            boolean stillInUse = searchIndex == theIndex; // Not if the user data location has changed since.
+            if (searchMonitor.isStopped()) {
+                if (stillInUse) searchIndex.saveIndex(); // Keep what was done.
+                return new ArrayList<>();
+            }
+
+            Set<String> theKeys = getCandidateKeys(searchPredicate, searchIndex.postings);
+            List<File> theCandidates = new ArrayList<>();
+            for (File aFile : theFiles) {
+                if (theKeys == null || theKeys.contains(searchIndex.getKey(aFile))) theCandidates.add(aFile);
+            }
+            if (stillInUse) searchIndex.saveIndex();
+            MemoryBank.debug("SearchIndex: " + theCandidates.size() + " of " + theFiles.size() + " files to search, in "
+                    + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+            return theCandidates;
+        }
+    }
+
+
+    // Write out the in-memory changes, if any, such as at the end of the session.
+    static synchronized void persist() {
+        if (isLoaded()) theIndex.saveIndex();
+    }
+
+
+    private static SearchIndex getIndex() {
+        if (!isLoaded()) theIndex = loadIndex();
+        return theIndex;
+    }
+
+    private static boolean isLoaded() {
+        return theIndex != null && theIndex.indexedHome.equals(FileDataAccessor.userDataHome);
+    }
+
+    private static File getIndexFile() {
+        return new File(FileDataAccessor.userDataHome + File.separatorChar + CalendarYearIndex.indexDirectoryName
+                + File.separatorChar + indexFilename);
+    }
+
+
+    // The keys (of files, or of whatever else the postings are for) that might satisfy the keywords, or null
+    //   if the keywords cannot narrow the search at all.  The DatabaseDataAccessor uses this with its own postings.
+    //
+    // Each keyword condition has a set of the files that might contain its word; a condition that is true
+    //   without its word (a NOT) or false with it (a NOT, again) is possible in any file.  For each combination
+    //   of condition outcomes that the SearchPredicate logic would accept, the files that could give that
+    //   combination are those in the sets of all the conditions that need their word to be present.  The
+    //   candidates are the union of those, over all the accepted combinations.
+    static Set<String> getCandidateKeys(SearchPredicate searchPredicate, Map<String, Set<String>> postings) {
+        String[] theWords = searchPredicate.getNeedles();
+        boolean[] theNots = searchPredicate.getNots();
+        List<Set<String>> theMatches = new ArrayList<>();
+        for (String theWord : theWords) theMatches.add(theWord == null ? null : getMatches(theWord, postings));
+
+        Set<String> theCandidates = new HashSet<>();
+        for (int theCombo = 0; theCombo < 8; theCombo++) {
+            Boolean[] theOutcomes = new Boolean[3];
+            boolean possible = true;
+            for (int i = 0; i < 3; i++) {
+                boolean outcome = (theCombo & (1 << i)) != 0;
+                if (theWords[i] == null) {
+                    if (outcome) possible = false; // A word that was not given has no outcome but null.
+                } else {
+                    theOutcomes[i] = outcome;
+                }
+            }
+            if (!possible) continue;
+            if (!searchPredicate.conditionsMet(theOutcomes[0], theOutcomes[1], theOutcomes[2])) continue;
+
+            Set<String> theFiles = null; // Null here means every file.
+            for (int i = 0; i < 3; i++) {
+                if (theOutcomes[i] == null) continue;
+                boolean needsTheWord = theOutcomes[i] != theNots[i];
+                if (!needsTheWord || theMatches.get(i) == null) continue;
+                if (theFiles == null) theFiles = new HashSet<>(theMatches.get(i));
+                else theFiles.retainAll(theMatches.get(i));
+            }
+            if (theFiles == null) return null;
+            theCandidates.addAll(theFiles);
+        }
+        return theCandidates;
+    }
+
+
+    // The files that have every trigram of the (folded) word, or null if the word is too short to tell.
+    private static Set<String> getMatches(String theText, Map<String, Set<String>> postings) {
+        if (theText.length() < GRAM_LENGTH || hasSurrogate(theText)) return null;
+        Set<String> theFiles = null;
+        for (int i = 0; i + GRAM_LENGTH <= theText.length(); i++) {
+            Set<String> thePosting = postings.get(theText.substring(i, i + GRAM_LENGTH));
+            if (thePosting == null) return new HashSet<>();
+            if (theFiles == null) theFiles = new HashSet<>(thePosting);
+            else theFiles.retainAll(thePosting);
+            if (theFiles.isEmpty()) break;
+        }
+        return theFiles;
+    }
+
+
+    // The key for a file in the user data area; null for any other file.
+    private String getKey(File theFile) {
+        String thePath = theFile.getPath();
+        if (!thePath.startsWith(indexedHome + File.separatorChar)) return null;
+        return thePath.substring(indexedHome.length() + 1).replace(File.separatorChar, '/');
+    }
+
+
+    // Trigrams with a surrogate char are left out of the index, since half of a pair cannot be persisted.
+    //   A keyword with one is then not narrowed by the index, and so nothing is missed.
+    private static boolean hasSurrogate(String theText) {
+        for (int i = 0; i < theText.length(); i++) {
+            if (Character.isSurrogate(theText.charAt(i))) return true;
+        }
+        return false;
+    }
+
+
+    // The distinct trigrams of the text of the notes, run together; that is how an Entry keeps them.
+    @SuppressWarnings("rawtypes")
+    static String makeGrams(Vector theNotes) {
+        Set<String> theGrams = new TreeSet<>();
+        if (theNotes != null) {
+            for (Object theObject : theNotes) {
+                if (!(theObject instanceof NoteData noteData)) continue;
+                String theText = SearchPredicate.getSearchText(noteData);
+                for (int i = 0; i + GRAM_LENGTH <= theText.length(); i++) {
+                    String theGram = theText.substring(i, i + GRAM_LENGTH);
+                    if (!hasSurrogate(theGram)) theGrams.add(theGram);
+                }
+            }
+        }
+        return String.join("", theGrams);
+    }
+
+
+    // This may run on a pooled thread, alongside the reading of other files.
+    private static String readGrams(File theFile) {
+        Object[] theGroupData;
+        BaseData.startLoading(); // Same as for the search; we don't want to affect the lastModDates.
+        try {
+            theGroupData = NoteGroupFile.loadFileData(theFile, null, AllNoteData.class);
+        } finally {
+            BaseData.endLoading();
+        }
+        Vector<?> theNotes = null;
+        if (theGroupData != null && theGroupData[theGroupData.length - 1] instanceof Vector) {
+            theNotes = (Vector<?>) theGroupData[theGroupData.length - 1];
+        }
+        return makeGrams(theNotes);
+    }
+
+
+    private static SearchIndex loadIndex() {
+        SearchIndex searchIndex = null;
+        File theFile = getIndexFile();
+        if (theFile.exists()) {
+            try {
+                searchIndex = AppUtil.mapper.readValue(theFile, SearchIndex.class);
+            } catch (IOException ioe) {
+                MemoryBank.debug("Unable to load " + theFile.getName() + ": " + ioe.getMessage());
+            }
+        }
+        if (searchIndex == null) searchIndex = new SearchIndex();
+        if (searchIndex.version != INDEX_VERSION) {
+            // The text of an older index was not folded the same way, so none of it can be trusted.
+            searchIndex.entries.clear();
+            searchIndex.version = INDEX_VERSION;
+            searchIndex.changed = true;
+        }
+        searchIndex.indexedHome = FileDataAccessor.userDataHome;
+
+        // Develop the postings, and drop the entries for files that have gone away.
+        searchIndex.postings = new HashMap<>();
+        Iterator<Map.Entry<String, Entry>> theEntries = searchIndex.entries.entrySet().iterator();
+        while (theEntries.hasNext()) {
+            Map.Entry<String, Entry> theEntry = theEntries.next();
+            if (new File(searchIndex.indexedHome, theEntry.getKey()).exists()) {
+                searchIndex.addPostings(theEntry.getKey(), theEntry.getValue());
+            } else {
+                theEntries.remove();
+                searchIndex.changed = true;
+            }
+        }
+        return searchIndex;
+    }
+
+
+    // True if there is an entry for the file, and it was made from the file as it is now.
+    private boolean isCurrent(String theKey, File theFile) {
+        Entry theEntry = entries.get(theKey);
+        return theEntry != null && theEntry.lastModified == theFile.lastModified() && theEntry.length == theFile.length();
+    }
+
+    private void put(String theKey, File theFile, String theGrams) {
+        Entry theEntry = new Entry();
+        theEntry.lastModified = theFile.lastModified();
+        theEntry.length = theFile.length();
+        theEntry.grams = theGrams;
+        remove(theKey);
+        put(theKey, theEntry);
+    }
+
+    private void put(String theKey, Entry theEntry) {
+        entries.put(theKey, theEntry);
+        addPostings(theKey, theEntry);
+        changed = true;
+    }
+
+    private void remove(String theKey) {
+        Entry oldEntry = entries.remove(theKey);
+        if (oldEntry == null) return;
+        removePostings(postings, theKey, oldEntry.grams);
+        changed = true;
+    }
+
+    private void addPostings(String theKey, Entry theEntry) {
+        addPostings(postings, theKey, theEntry.grams);
+    }
+
+    // Add the key to (or take it out of) the posting of each of the grams.
+    static void addPostings(Map<String, Set<String>> postings, String theKey, String theGrams) {
+        for (int i = 0; i + GRAM_LENGTH <= theGrams.length(); i += GRAM_LENGTH) {
+            postings.computeIfAbsent(theGrams.substring(i, i + GRAM_LENGTH), k -> new HashSet<>()).add(theKey);
+        }
+    }
+
+    static void removePostings(Map<String, Set<String>> postings, String theKey, String theGrams) {
+        for (int i = 0; i + GRAM_LENGTH <= theGrams.length(); i += GRAM_LENGTH) {
+            Set<String> thePosting = postings.get(theGrams.substring(i, i + GRAM_LENGTH));
+            if (thePosting != null) thePosting.remove(theKey);
+        }
+    }
+
+
+    private void saveIndex() {
+        if (!changed) return;
+        File theFile = getIndexFile();
+        try {
+            File theDir = theFile.getParentFile();
+            if (!theDir.exists() && !theDir.mkdirs()) return;
+            AppUtil.mapper.writeValue(theFile, this);
+            changed = false;
+        } catch (IOException ioe) {
+            // The index is only a shortcut; the worst that happens without it is a re-index next time.
+            MemoryBank.debug("Unable to save " + theFile.getName() + ": " + ioe.getMessage());
+        }
+    }
+
+} // end class SearchIndex
@@ -0,0 +1,73 @@
+// A SearchMonitor goes along with one search, between the DataAccessor that is doing the scan and whoever
+//   started it.  The scan counts the groups that it searches and the notes that it finds, and hands over the
+//   findings one group at a time, in the same order as they will be in the final results.  The other side can
+//   read the counts at any time (from any thread), and it can ask for the scan to stop.
+//
+// A stop is not immediate; the scan checks for it between files, so the files already being searched will
+//   finish.  Whatever was found up to that point is still returned, as the results of a stopped search.
+
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+class SearchMonitor {
+    private final Consumer<Vector<NoteData>> resultsListener; // May be null.
+    private final AtomicInteger groupsSearched = new AtomicInteger();
+    private final AtomicInteger notesFound = new AtomicInteger();
+    private volatile int groupsToSearch = -1; // Not known until the walk is done.
+    private volatile boolean stopped;
+
+    SearchMonitor() {
+        this(null);
+    }
+
+    SearchMonitor(Consumer<Vector<NoteData>> resultsListener) {
+        this.resultsListener = resultsListener;
+    }
+
+
+    // Called by the scan after each group, from whichever thread searched it.
+    void groupSearched(int theFindCount) {
+        notesFound.addAndGet(theFindCount);
+        groupsSearched.incrementAndGet();
+    }
+
+    int getGroupsSearched() {
+        return groupsSearched.get();
+    }
+
+    int getGroupsToSearch() {
+        return groupsToSearch;
+    }
+
+    int getNotesFound() {
+        return notesFound.get();
+    }
+
+    // A short description of the progress so far, suitable for a status line.
+    String getSummary() {
+        String theCount = "Scanning; ";
+        if (groupsToSearch >= 0) theCount = "Searched " + groupsSearched.get() + " of " + groupsToSearch + " groups; ";
+        String theState = stopped ? " (stopped)" : "";
+        return theCount + notesFound.get() + " found" + theState;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    // Called by the scan, in order, with the findings of one group.  The listener (if there is one) is
+    //   called on the scanning thread; it is up to the listener to get onto the EDT, if it needs to.
+    void publish(Vector<NoteData> theFindings) {
+        if (resultsListener != null && !theFindings.isEmpty()) resultsListener.accept(theFindings);
+    }
+
+    void setGroupsToSearch(int theCount) {
+        groupsToSearch = theCount;
+    }
+
+    void stop() {
+        stopped = true;
+    }
+
+} // end class SearchMonitor
@@ -12,13 +12,9 @@ public class SearchPanel extends JPanel implements DocumentListener {
 
     // 'My' Variables declaration section
     //-------------------------------------------------------------
-    private static final int NOPARENS = 0;
-    private static final int PARENS1 = 1;
-    private static final int PARENS2 = 2;
-
     public static final int AFTER = 3;
     public static final int BEFORE = 4;
-    private static final int BETWEEN = 5;
+    static final int BETWEEN = 5;
 
     private final int intPreferredWidth;    // See note in constructor.
     private final int intPreferredHeight;   // See note in constructor.
@@ -124,297 +120,17 @@ public class SearchPanel extends JPanel implements DocumentListener {
         container.add(c);
     }
 
-    //------------------------------------------------------------
-    // Method Name: allConditionsFalse
-    //
-    // This method is a simple check to see if all three of the
-    //   individual conditions evaluates to false (keeping in mind
-    //   that a null is also treated as a false).  If so then the
-    //   truth table for the totality of conditions will certainly also evaluate to false.
-    // The return value will be true if this situation is found;
-    //   the presence or lack of parens is not a factor.
-    //------------------------------------------------------------
-    private boolean allConditionsFalse(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
-
-        if (blnC1 != null) if (blnC1) return false;
-        if (blnC2 != null) if (blnC2) return false;
-        if (blnC3 != null) if (blnC3) return false;
-
-        if (blnC1 == null)
-            if (blnC2 == null)
-                return blnC3 == null;
-
-        return true;
-    } // end allConditionsFalse
-
-
-    private boolean allConditionsNull(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
-        return (blnC1 == null && blnC2 == null && blnC3 == null);
-    } // end allConditionsNull
-
-
-    //------------------------------------------------------------
-    // Method Name: checkFalseCombo
-    //
-    // This method is a simple check to see if there is either a
-    //   (false AND x) or (x AND false) situation specified.  If so
-    //   then that portion of the statement will evaluate to false.
-    // The return value from this method will be true if this situation
-    //   is found.  Note that this check alone is not used to rule out
-    //   a 'hit', because prior checks and parentheses are also a factor.
-    //------------------------------------------------------------
-    private boolean checkFalseCombo(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
-        boolean rv = false;
-        // At first glance it would appear that the logic here could be simplified, but
-        // the extra wrinkle of having C2 possibly be null while still considering the
-        // interactions between C1 and C3 due to rbtnAnd2 being selected is why the
-        // extra conditional wrappers are needed.  This constitutes a 'bending over backward'
-        // assist to the user, to allow maximum versatility of the SearchPanel keyword
-        // combinations, but it does seem overly complex.
-
-        // Tests should show whether we can even get to all the conditions here.
-
-        if ((blnC1 != null) && (!blnC1)) { // if C1 is false
-            if ((rbtnAnd1.isSelected() && blnC2 != null)) return true; // C1 && C2
-            if (blnC2 == null) {
-                if ((rbtnAnd2.isSelected() && blnC3 != null)) return true; // C1 && C3
-            } // end if C2 is null
-        } // end if C1 is false
-
-        if ((blnC2 != null) && (!blnC2)) { // if C2 is false
-            if ((rbtnAnd1.isSelected() && blnC1 != null)) return true; // C2 && C1  (C1 can only be null or true by now)
-            if ((rbtnAnd2.isSelected() && blnC3 != null)) return true; // C2 && C3
-        } // end if C2 is false
-
-        if ((blnC3 != null) && (!blnC3)) { // if C3 is false
-            if (blnC2 == null) {
-                if ((rbtnAnd2.isSelected() && blnC1 != null)) return true; // C1 && C3
-            } // end if C2 is null
-            if ((rbtnAnd2.isSelected() && blnC2 != null)) return true;   // C2 && C3
-        } // end if C3 is false
-
-        return rv;
-    } // end checkFalseCombo
-
-
-    //--------------------------------------------------------------------
-    // Method Name: filterLastMod
-    //
-    // Tests the input Date against the 'Last Mod' date settings and
-    //   returns true if the date passes thru the filter; otherwise
-    //   returns a false.
-    //
-    // Relies on the constraints of the operation of the interface to
-    //   ensure that if a setting has been chosen then the appropriate
-    //   date fields are also set.  If no setting has been made then
-    //   we return the default - true.
-    //--------------------------------------------------------------------
-    boolean filterLastMod(LocalDate dateInQuestion) {
-        boolean rv = true;
-        switch (getLastModSetting()) {
-            case AFTER -> {
-                if (dateInQuestion != null) {
-                    if (dateInQuestion.isBefore(dateLastMod1)) rv = false;
-                }
-            }
-            case BEFORE -> {
-                if (dateInQuestion.isAfter(dateLastMod1)) rv = false;
-            }
-            case BETWEEN -> {
-                if (dateInQuestion.isBefore(dateLastMod1)) rv = false;
-                if (dateInQuestion.isAfter(dateLastMod2)) rv = false;
-            }
-        } // end switch
-
-        return !rv;
-    } // end filterLastMod
-
-
-    //--------------------------------------------------------------------
-    // Method Name: filterWhen
-    //
-    // Tests the input Date against the 'When' date settings and
-    //   returns true if the date passes the filter; otherwise returns
-    //   a false.
-    //
-    // Relies on the constraints of the operation of the interface to
-    //   ensure that if a setting has been chosen then the appropriate
-    //   date fields are also set.  If no setting has been made then
-    //   we return the default - true.
-    //--------------------------------------------------------------------
-    boolean filterWhen(LocalDate d) {
-        boolean rv = true;
-        if (d == null) return false;
-
-        switch (getWhenSetting()) {
-            case AFTER -> {
-                if (d.isBefore(noteWhen1)) rv = false;
-            }
-            case BEFORE -> {
-                if (d.isAfter(noteWhen1)) rv = false;
-            }
-            case BETWEEN -> {
-                if (d.isBefore(noteWhen1)) rv = false;
-                if (d.isAfter(noteWhen2)) rv = false;
-            }
-        } // end switch
-
-        return !rv;
-    } // end filterWhen
-
-
     //-------------------------------------------------------------------
     // Method Name: foundIt
     //
     // Returns true if the input NoteData passes the various
     //   filters of the interface; otherwise false.
     //
-    // When it comes to text searching, the search will be done as
-    //   case insensitive.  The user currently does not have the
-    //   option to change this.
+    // This compiles the current settings every time; a scan should get
+    //   the SearchPredicate once, and use that for all of its notes.
     //-------------------------------------------------------------------
     boolean foundIt(NoteData nd) {
-        // Remember that the Panel is for filtering OUT results; therefore
-        //   the default is true (found), but if it fails even one test
-        //   then the return value will be false.  If search text is not provided then
-        //   that is not a basis by which to reject an item, so it may pass.  If the
-        //   SearchPanel settings are all left at their defaults (with no search text
-        //   specified), then ALL notes will be 'found'.
-
-        // Test the 'Last Mod' condition
-        if (filterLastMod(nd.getLastModDate().toLocalDate())) return false;
-
-        // Test the 'Items with Dates' condition (but not really; just putting it here for completeness).
-        // Filename-level date filtering for DayNotes, MonthNotes, and YearNotes will have already been
-        //   done prior to this point, and there is no date associated with a base NoteData.
-        //   No further filtering needed.
-
-        // Construct a string to search, from the base NoteData elements.
-        String s = nd.getNoteString();
-        s += " " + nd.getSubjectString();
-        s += " " + nd.getExtendedNoteString();
-        s = s.toLowerCase(); // For case-insensitivity
-
-        // These text conditions include the 'NOT' toggle, so that if
-        //   NOT is checked and the word is not found, it is true.  We
-        //   are using the object vs the primitive type, so that we can
-        //   also make use of a third possible value - null.
-        Boolean blnC1;  // 'C' is short for Condition
-        Boolean blnC2;
-        Boolean blnC3;
-
-        // First, we evaluate the three individual conditions.
-        //------------------------------------------------------
-        String strW1 = getWord1();
-        if (strW1 != null) {
-            // A non-specified word is a default 'found'.
-            if (chkboxNot1.isSelected()) {
-                blnC1 = !s.contains(strW1.toLowerCase());
-            } else {
-                blnC1 = s.contains(strW1.toLowerCase());
-            } // end if NOT, else
-        } else {
-            // If the word was not even filled in, it should not affect
-            //   the outcome of the search.  We need this as a flag
-            //   that tells us - do not consider this condition.
-            blnC1 = null;
-        } // end if
-
-        String strW2 = getWord2();
-        if (strW2 != null) {
-            // A non-specified word is a default 'found'.
-            if (chkboxNot2.isSelected()) {
-                blnC2 = !s.contains(strW2.toLowerCase());
-            } else {
-                blnC2 = s.contains(strW2.toLowerCase());
-            } // end if NOT, else
-        } else {
-            blnC2 = null;
-        } // end if
-
-        String strW3 = getWord3();
-        if (strW3 != null) {
-            // A non-specified word is a default 'found'.
-            if (chkboxNot3.isSelected()) {
-                blnC3 = !s.contains(strW3.toLowerCase());
-            } else {
-                blnC3 = s.contains(strW3.toLowerCase());
-            } // end if NOT, else
-        } else {
-            blnC3 = null;
-        } // end if
-
-        // The rest of this method is concerned with keyword searching.  If no keywords have been supplied in
-        // the first place then by this point we have already done all the filtering that is possible, and
-        // the NoteData under consideration has been 'found'.
-        if(allConditionsNull(blnC1, blnC2, blnC3)) return true;
-
-        // Now we have between one and three conditions (based on search keywords) to use in the evaluations below.
-        // The possible variations of these three conditions, along with
-        //   their possible combinations of AND/OR and in some cases
-        //   grouped with parentheses, results in a truth table that has
-        //   a total of 48 entries.  Of those, we are only interested in
-        //   the 24 that evaluate to false, so that we can return early.
-        // The complete truth table is contained in the documentation:
-        //   SupportingData.xlsx
-
-        // This first check applies to 6 of the 24 false cases,
-        //   regardless of whether or not there are parens.
-        if (allConditionsFalse(blnC1, blnC2, blnC3)) return false; // Af  (All false)
-
-        // Now we consider the presence or lack of the parentheses -
-        if (getParens() == NOPARENS) {
-            // There are 6 remaining cases without parentheses where one false is ANDed with at
-            // least one true, so that the overall result will also be false (the case where
-            // a false is ANDed with other falses - was already covered by the 'Af' check).
-            return !checkFalseCombo(blnC1, blnC2, blnC3); // Nfat (No parens, false ANDed with true)
-        } else { // 12 cases left, that can fully evaluate to false.  6 in each parentheses grouping.
-            // If we have parens then no one condition should have remained null.  But just in case
-            // we got here thru some invisible back door, and to make IJ happy:
-            assert blnC1 != null;
-            assert blnC2 != null;
-            assert blnC3 != null;
-
-            // Note to self:  Beware of the differences between boolean logic, boolean arithmetic, truth
-            // tables, and coding logic to implement a truth table; they don't always look like they are
-            // tracking together, and reviewing this code you may think you see flaws but I have been over it
-            // repeatedly for the past 3+ days working on the logic here and inching the tests past each 'if'
-            // block while debugging to be sure that the right lines and conditions are hit.  They are. So
-            // regardless of how it may look to you on some later session, before you start to trash it, I
-            // highly recommend setting aside a pristene copy, to be kept until you are sure you no longer
-            // need it.  That includes 'fixing' the comments.
-
-            boolean p1, p2; // The composite booleans results, depending on location of parentheses.
-
-            if (getParens() == PARENS1) {  // C1 grouped with C2
-                if (rbtnOr1.isSelected()) { // This means they are OR'd
-                    p1 = blnC1 || blnC2; // C1 OR C2 - evaluates to true if either one or both are true
-                    // which means that the collective P1 is AND'd with C3
-                    // So if C3 is false, then the P1 result didn't matter.
-                    if (!blnC3) return false; // P1taC3f - 3 total cases
-                    // But if it was true then we fall thru to here and now P1 does matter -
-                    if (!p1) return false;   // P1faC3t - line 39 of the truth table.
-                } else { // This means that C1 is AND'd with C2
-                    p1 = blnC1 && blnC2; // C1 AND C2 - evaluated to true only if both are true
-                    if (!p1 && !blnC3) return false;  // P1foC3f - lines 23,35 two cases
-                }
-            } // end if PARENS1
-
-            if (getParens() == PARENS2) { // PARENS2 -  C2 grouped with C3
-                if (rbtnOr2.isSelected()) { // This means they are OR'd
-                    p2 = blnC2 || blnC3; // C2 OR C3 - evaluates to true if either one or both are true
-                    // which means that the collective P2 is AND'd with C1
-                    // So if C1 false, then the P2 result didn't matter.
-                    if (!blnC1) return false;  // C1faP2t - 3 total cases
-                    // But if it was true then we fall thru to here and now P2 does matter -
-                    return p2;   // C1taP2f - line 24 of the truth table.
-                } else { // This means that C2 is AND'd with C3
-                    p2 = blnC2 && blnC3; // C2 AND C3 - evaluated to true only if both are true
-                    return p2 || blnC1;  // C1foP2f - lines 34,40 two cases
-                }
-            } // end if PARENS2
-        } // end else there are PARENS.
-        return true;
+        return getSearchPredicate().foundIt(nd);
     } // end foundIt
 
     private boolean getAnd1() {
@@ -480,12 +196,11 @@ public class SearchPanel extends JPanel implements DocumentListener {
         return getMinimumSize();
     }
 
-
-    private int getParens() {
-        if (searchPanelSettings.paren1) return PARENS1;
-        if (searchPanelSettings.paren2) return PARENS2;
-        return NOPARENS;
-    } // end getParens
+    // The current settings, compiled for a search.  This reads the components, so it is
+    //   made on the EDT; the predicate itself can then be used from any thread.
+    SearchPredicate getSearchPredicate() {
+        return new SearchPredicate(getSettings());
+    }
 
     // Set the values of our settings from the current states of our components
     // But not covered here: paren1 & paren2
@@ -0,0 +1,498 @@
+// A SearchPredicate is the compiled form of a set of SearchPanelSettings - everything that a scan needs in
+//   order to decide which groups to open and which of their notes to keep.  It is made once per search, from
+//   the settings as they were when the search was started, and after that it never changes and never looks
+//   back at the SearchPanel.  So it can be used from any thread, including the pooled ones of a parallel scan,
+//   and it can be exercised (and timed) without a panel at all.
+//
+// The keywords are folded to lower case once, here, rather than for every note.  A note is matched without
+//   making a lower-cased copy of its text; its note, subject and extended note strings are compared in place,
+//   a character at a time with case ignored, as though they had been joined with single spaces (the same text
+//   that the matching was originally done against, so that a keyword can still span the join).
+//
+// The AND/OR/NOT/parentheses logic (the 48-entry truth table in SupportingData.xlsx) is also evaluated here,
+//   but only once per possible outcome of the three keyword conditions.  Each condition can only be null (no
+//   keyword), false, or true, so there are just 27 of those, and the verdicts are kept in a table.  Matching a
+//   note is then the (up to) three keyword tests and a single lookup.
+
+import java.time.LocalDate;
+
+class SearchPredicate {
+    private static final int NOPARENS = 0;
+    private static final int PARENS1 = 1;
+    private static final int PARENS2 = 2;
+
+    // Where to look
+    private final boolean typeGoal;
+    private final boolean typeDay;
+    private final boolean typeMonth;
+    private final boolean typeYear;
+    private final boolean typeOtherNote;
+    private final boolean typeFutureEvent;
+    private final boolean typeTask;
+
+    // Date filters; a choice of -1 means that there is no filter.
+    private final int whenChoice;
+    private final LocalDate noteWhen1;
+    private final LocalDate noteWhen2;
+    private final int modChoice;
+    private final long lastModDay1; // As day counts (LocalDate.toEpochDay), to compare with those of the notes.
+    private final long lastModDay2;
+
+    // Keyword conditions
+    private final String[] needles = new String[3]; // Folded; null for a keyword that was not given.
+    private final boolean[] nots = new boolean[3];
+    private final boolean and1;
+    private final boolean and2;
+    private final boolean or1;
+    private final boolean or2;
+    private final int parens;
+    private final boolean[] verdicts = new boolean[27];
+
+
+    SearchPredicate(SearchPanelSettings sps) {
+        typeGoal = sps.typeGoal;
+        typeDay = sps.typeDay;
+        typeMonth = sps.typeMonth;
+        typeYear = sps.typeYear;
+        typeOtherNote = sps.typeOtherNote;
+        typeFutureEvent = sps.typeFutureEvent;
+        typeTask = sps.typeTask;
+
+        whenChoice = getChoice(sps.whenChoice);
+        noteWhen1 = sps.noteDateWhen1String == null ? null : LocalDate.parse(sps.noteDateWhen1String);
+        noteWhen2 = sps.noteDateWhen2String == null ? null : LocalDate.parse(sps.noteDateWhen2String);
+        modChoice = getChoice(sps.modChoice);
+        lastModDay1 = sps.dateLastMod1String == null ? 0 : LocalDate.parse(sps.dateLastMod1String).toEpochDay();
+        lastModDay2 = sps.dateLastMod2String == null ? 0 : LocalDate.parse(sps.dateLastMod2String).toEpochDay();
+
+        String[] theWords = new String[]{sps.word1, sps.word2, sps.word3};
+        for (int i = 0; i < 3; i++) {
+            // A keyword of only spaces is the same as no keyword at all, but otherwise
+            //   leading or trailing spaces are kept; they are a part of what to look for.
+            if (theWords[i] != null && !theWords[i].trim().isEmpty()) needles[i] = fold(theWords[i]);
+        }
+        nots[0] = sps.not1;
+        nots[1] = sps.not2;
+        nots[2] = sps.not3;
+        and1 = sps.and1;
+        and2 = sps.and2;
+        or1 = sps.or1;
+        or2 = sps.or2;
+        if (sps.paren1) parens = PARENS1;
+        else if (sps.paren2) parens = PARENS2;
+        else parens = NOPARENS;
+
+        for (int theCombo = 0; theCombo < verdicts.length; theCombo++) {
+            Boolean blnC1 = getOutcome(theCombo % 3);
+            Boolean blnC2 = getOutcome(theCombo / 3 % 3);
+            Boolean blnC3 = getOutcome(theCombo / 9);
+            verdicts[theCombo] = evaluate(blnC1, blnC2, blnC3);
+        }
+    } // end constructor
+
+
+    //------------------------------------------------------------
+    // Method Name: allConditionsFalse
+    //
+    // This method is a simple check to see if all three of the
+    //   individual conditions evaluates to false (keeping in mind
+    //   that a null is also treated as a false).  If so then the
+    //   truth table for the totality of conditions will certainly also evaluate to false.
+    // The return value will be true if this situation is found;
+    //   the presence or lack of parens is not a factor.
+    //------------------------------------------------------------
+    private static boolean allConditionsFalse(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
+
+        if (blnC1 != null) if (blnC1) return false;
+        if (blnC2 != null) if (blnC2) return false;
+        if (blnC3 != null) if (blnC3) return false;
+
+        if (blnC1 == null)
+            if (blnC2 == null)
+                return blnC3 == null;
+
+        return true;
+    } // end allConditionsFalse
+
+
+    private static boolean allConditionsNull(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
+        return (blnC1 == null && blnC2 == null && blnC3 == null);
+    } // end allConditionsNull
+
+
+    //------------------------------------------------------------
+    // Method Name: checkFalseCombo
+    //
+    // This method is a simple check to see if there is either a
+    //   (false AND x) or (x AND false) situation specified.  If so
+    //   then that portion of the statement will evaluate to false.
+    // The return value from this method will be true if this situation
+    //   is found.  Note that this check alone is not used to rule out
+    //   a 'hit', because prior checks and parentheses are also a factor.
+    //------------------------------------------------------------
+    private boolean checkFalseCombo(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
+        boolean rv = false;
+        // At first glance it would appear that the logic here could be simplified, but
+        // the extra wrinkle of having C2 possibly be null while still considering the
+        // interactions between C1 and C3 due to and2 being selected is why the
+        // extra conditional wrappers are needed.  This constitutes a 'bending over backward'
+        // assist to the user, to allow maximum versatility of the SearchPanel keyword
+        // combinations, but it does seem overly complex.
+
+        // Tests should show whether we can even get to all the conditions here.
+
+        if ((blnC1 != null) && (!blnC1)) { // if C1 is false
+            if ((and1 && blnC2 != null)) return true; // C1 && C2
+            if (blnC2 == null) {
+                if ((and2 && blnC3 != null)) return true; // C1 && C3
+            } // end if C2 is null
+        } // end if C1 is false
+
+        if ((blnC2 != null) && (!blnC2)) { // if C2 is false
+            if ((and1 && blnC1 != null)) return true; // C2 && C1  (C1 can only be null or true by now)
+            if ((and2 && blnC3 != null)) return true; // C2 && C3
+        } // end if C2 is false
+
+        if ((blnC3 != null) && (!blnC3)) { // if C3 is false
+            if (blnC2 == null) {
+                if ((and2 && blnC1 != null)) return true; // C1 && C3
+            } // end if C2 is null
+            if ((and2 && blnC2 != null)) return true;   // C2 && C3
+        } // end if C3 is false
+
+        return rv;
+    } // end checkFalseCombo
+
+
+    // The keyword logic of the search, applied to the outcomes of the three individual conditions
+    //   (null for a condition whose word was not specified).  This is only a lookup; the SearchIndex
+    //   uses it to decide which groups need to be searched at all.
+    boolean conditionsMet(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
+        return verdicts[getCombo(blnC1) + 3 * getCombo(blnC2) + 9 * getCombo(blnC3)];
+    }
+
+
+    // Return true if the needle occurs in the parts, as they would read if joined by single spaces.
+    //   The needle has already been folded; the parts are folded as they are compared.
+    static boolean contains(String[] theParts, String theNeedle) {
+        int needleLength = theNeedle.length();
+        for (int p = 0; p < theParts.length; p++) {
+            String thePart = theParts[p];
+            int partLength = thePart.length();
+
+            // The places where the needle would lie entirely within this part -
+            for (int i = 0; i + needleLength <= partLength; i++) {
+                if (thePart.regionMatches(true, i, theNeedle, 0, needleLength)) return true;
+            }
+
+            // And the ones where it would start in this part (or at the space after it) and run on past it.
+            if (p == theParts.length - 1) break;
+            for (int i = Math.max(0, partLength - needleLength + 1); i <= partLength; i++) {
+                if (spanMatches(theParts, p, i, theNeedle)) return true;
+            }
+        }
+        return false;
+    } // end contains
+
+
+    //--------------------------------------------------------------------
+    // Method Name: evaluate
+    //
+    // The full keyword logic, for one combination of the outcomes of the
+    //   three conditions.  This is only called while the predicate is
+    //   being made; after that, see conditionsMet.
+    //--------------------------------------------------------------------
+    private boolean evaluate(Boolean blnC1, Boolean blnC2, Boolean blnC3) {
+        // If no keywords have been supplied in the first place then the
+        // NoteData under consideration has been 'found'.
+        if(allConditionsNull(blnC1, blnC2, blnC3)) return true;
+
+        // Now we have between one and three conditions (based on search keywords) to use in the evaluations below.
+        // The possible variations of these three conditions, along with
+        //   their possible combinations of AND/OR and in some cases
+        //   grouped with parentheses, results in a truth table that has
+        //   a total of 48 entries.  Of those, we are only interested in
+        //   the 24 that evaluate to false, so that we can return early.
+        // The complete truth table is contained in the documentation:
+        //   SupportingData.xlsx
+
+        // This first check applies to 6 of the 24 false cases,
+        //   regardless of whether or not there are parens.
+        if (allConditionsFalse(blnC1, blnC2, blnC3)) return false; // Af  (All false)
+
+        // Now we consider the presence or lack of the parentheses -
+        if (parens == NOPARENS) {
+            // There are 6 remaining cases without parentheses where one false is ANDed with at
+            // least one true, so that the overall result will also be false (the case where
+            // a false is ANDed with other falses - was already covered by the 'Af' check).
+            return !checkFalseCombo(blnC1, blnC2, blnC3); // Nfat (No parens, false ANDed with true)
+        } else { // 12 cases left, that can fully evaluate to false.  6 in each parentheses grouping.
+            // If we have parens then no one condition should have remained null.  But since every
+            // combination of outcomes is evaluated here, including the ones that the keywords could
+            // never produce, a null is taken as a condition that was not met.
+            if (blnC1 == null || blnC2 == null || blnC3 == null) return false;
+
+            // Note to self:  Beware of the differences between boolean logic, boolean arithmetic, truth
+            // tables, and coding logic to implement a truth table; they don't always look like they are
+            // tracking together, and reviewing this code you may think you see flaws but I have been over it
+            // repeatedly for the past 3+ days working on the logic here and inching the tests past each 'if'
+            // block while debugging to be sure that the right lines and conditions are hit.  They are. So
+            // regardless of how it may look to you on some later session, before you start to trash it, I
+            // highly recommend setting aside a pristene copy, to be kept until you are sure you no longer
+            // need it.  That includes 'fixing' the comments.
+
+            boolean p1, p2; // The composite booleans results, depending on location of parentheses.
+
+            if (parens == PARENS1) {  // C1 grouped with C2
+                if (or1) { // This means they are OR'd
+                    p1 = blnC1 || blnC2; // C1 OR C2 - evaluates to true if either one or both are true
+                    // which means that the collective P1 is AND'd with C3
+                    // So if C3 is false, then the P1 result didn't matter.
+                    if (!blnC3) return false; // P1taC3f - 3 total cases
+                    // But if it was true then we fall thru to here and now P1 does matter -
+                    if (!p1) return false;   // P1faC3t - line 39 of the truth table.
+                } else { // This means that C1 is AND'd with C2
+                    p1 = blnC1 && blnC2; // C1 AND C2 - evaluated to true only if both are true
+                    if (!p1 && !blnC3) return false;  // P1foC3f - lines 23,35 two cases
+                }
+            } // end if PARENS1
+
+            if (parens == PARENS2) { // PARENS2 -  C2 grouped with C3
+                if (or2) { // This means they are OR'd
+                    p2 = blnC2 || blnC3; // C2 OR C3 - evaluates to true if either one or both are true
+                    // which means that the collective P2 is AND'd with C1
+                    // So if C1 false, then the P2 result didn't matter.
+                    if (!blnC1) return false;  // C1faP2t - 3 total cases
+                    // But if it was true then we fall thru to here and now P2 does matter -
+                    return p2;   // C1taP2f - line 24 of the truth table.
+                } else { // This means that C2 is AND'd with C3
+                    p2 = blnC2 && blnC3; // C2 AND C3 - evaluated to true only if both are true
+                    return p2 || blnC1;  // C1foP2f - lines 34,40 two cases
+                }
+            } // end if PARENS2
+        } // end else there are PARENS.
+        return true;
+    } // end evaluate
+
+
+    //--------------------------------------------------------------------
+    // Method Name: filterLastMod
+    //
+    // Tests the input Date against the 'Last Mod' date settings and
+    //   returns true if the date should be filtered out; otherwise
+    //   returns a false.
+    //
+    // Relies on the constraints of the operation of the interface to
+    //   ensure that if a setting has been chosen then the appropriate
+    //   date fields are also set.  If no setting has been made then
+    //   nothing is filtered out.
+    //--------------------------------------------------------------------
+    boolean filterLastMod(LocalDate dateInQuestion) {
+        return filterLastMod(dateInQuestion == null ? BaseData.NO_LAST_MOD : dateInQuestion.toEpochDay());
+    } // end filterLastMod
+
+
+    // The same test, with the date given as a day count (see LocalDate.toEpochDay); this is the form that
+    //   BaseData keeps, so the search does not need to make a date for every note that it looks at.
+    //   A note with no Last Mod date cannot be said to meet any of the settings, so it is filtered out by all
+    //   of them.
+    boolean filterLastMod(long epochDayInQuestion) {
+        if (modChoice == -1) return false;
+        if (epochDayInQuestion == BaseData.NO_LAST_MOD) return true;
+
+        boolean rv = true;
+        switch (modChoice) {
+            case SearchPanel.AFTER -> {
+                if (epochDayInQuestion < lastModDay1) rv = false;
+            }
+            case SearchPanel.BEFORE -> {
+                if (epochDayInQuestion > lastModDay1) rv = false;
+            }
+            case SearchPanel.BETWEEN -> {
+                if (epochDayInQuestion < lastModDay1) rv = false;
+                if (epochDayInQuestion > lastModDay2) rv = false;
+            }
+        } // end switch
+
+        return !rv;
+    } // end filterLastMod
+
+
+    //--------------------------------------------------------------------
+    // Method Name: filterWhen
+    //
+    // Tests the input Date against the 'When' date settings and
+    //   returns true if the date should be filtered out; otherwise
+    //   returns a false.  A null date is never filtered out.
+    //--------------------------------------------------------------------
+    boolean filterWhen(LocalDate d) {
+        boolean rv = true;
+        if (d == null) return false;
+
+        switch (whenChoice) {
+            case SearchPanel.AFTER -> {
+                if (d.isBefore(noteWhen1)) rv = false;
+            }
+            case SearchPanel.BEFORE -> {
+                if (d.isAfter(noteWhen1)) rv = false;
+            }
+            case SearchPanel.BETWEEN -> {
+                if (d.isBefore(noteWhen1)) rv = false;
+                if (d.isAfter(noteWhen2)) rv = false;
+            }
+        } // end switch
+
+        return !rv;
+    } // end filterWhen
+
+
+    // Case is ignored by comparing characters in this form; it is the same comparison that
+    //   String.regionMatches makes when it ignores case, so the two can be used together.
+    static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    static String fold(String theText) {
+        char[] theChars = theText.toCharArray();
+        for (int i = 0; i < theChars.length; i++) theChars[i] = fold(theChars[i]);
+        return new String(theChars);
+    }
+
+
+    //-------------------------------------------------------------------
+    // Method Name: foundIt
+    //
+    // Returns true if the input NoteData passes the various
+    //   filters; otherwise false.
+    //
+    // When it comes to text searching, the search will be done as
+    //   case insensitive.  The user currently does not have the
+    //   option to change this.
+    //-------------------------------------------------------------------
+    boolean foundIt(NoteData nd) {
+        // Remember that the Panel is for filtering OUT results; therefore
+        //   the default is true (found), but if it fails even one test
+        //   then the return value will be false.  If search text is not provided then
+        //   that is not a basis by which to reject an item, so it may pass.  If the
+        //   SearchPanel settings are all left at their defaults (with no search text
+        //   specified), then ALL notes will be 'found'.
+
+        // Test the 'Last Mod' condition
+        if (modChoice != -1 && filterLastMod(nd.getLastModEpochDay())) return false;
+
+        // Test the 'Items with Dates' condition (but not really; just putting it here for completeness).
+        // Filename-level date filtering for DayNotes, MonthNotes, and YearNotes will have already been
+        //   done prior to this point, and there is no date associated with a base NoteData.
+        //   No further filtering needed.
+
+        // The text conditions include the 'NOT' toggle, so that if NOT is checked and the word
+        //   is not found, it is true.  A word that was not filled in stays at 0 (null) and does
+        //   not affect the outcome.
+        String[] theParts = null;
+        int theCombo = 0;
+        for (int i = 0, theWeight = 1; i < 3; i++, theWeight *= 3) {
+            if (needles[i] == null) continue;
+            if (theParts == null) theParts = getSearchParts(nd);
+            boolean outcome = contains(theParts, needles[i]) != nots[i];
+            theCombo += theWeight * (outcome ? 2 : 1);
+        }
+        return verdicts[theCombo];
+    } // end foundIt
+
+
+    private static int getChoice(int theChoice) {
+        return switch (theChoice) {
+            case SearchPanel.AFTER, SearchPanel.BEFORE, SearchPanel.BETWEEN -> theChoice;
+            default -> -1;
+        };
+    }
+
+    private static int getCombo(Boolean theOutcome) {
+        if (theOutcome == null) return 0;
+        return theOutcome ? 2 : 1;
+    }
+
+    private static Boolean getOutcome(int theCombo) {
+        if (theCombo == 0) return null;
+        return theCombo == 2;
+    }
+
+    int getLastModSetting() {
+        return modChoice;
+    }
+
+    // The keywords (null for any that was not specified), already folded.
+    String[] getNeedles() {
+        return needles.clone();
+    }
+
+    // The 'NOT' toggles of the three keywords, in the same order.
+    boolean[] getNots() {
+        return nots.clone();
+    }
+
+    // The base NoteData elements that a keyword is looked for in.  A null element reads as "null",
+    //   as it always has.
+    static String[] getSearchParts(NoteData nd) {
+        return new String[]{String.valueOf(nd.getNoteString()), String.valueOf(nd.getSubjectString()),
+                String.valueOf(nd.getExtendedNoteString())};
+    }
+
+    // The same text that the keywords are matched against, as one folded string.
+    //   The SearchIndex is developed from this.
+    static String getSearchText(NoteData nd) {
+        return fold(String.join(" ", getSearchParts(nd)));
+    }
+
+    int getWhenSetting() {
+        return whenChoice;
+    }
+
+    boolean searchGoals() {
+        return typeGoal;
+    }
+
+    boolean searchDays() {
+        return typeDay;
+    }
+
+    boolean searchMonths() {
+        return typeMonth;
+    }
+
+    boolean searchYears() {
+        return typeYear;
+    }
+
+    boolean searchEvents() {
+        return typeFutureEvent;
+    }
+
+    boolean searchLists() {
+        return typeTask;
+    }
+
+    boolean searchNotes() {
+        return typeOtherNote;
+    }
+
+
+    // Compare the needle to the parts starting at the given place, stepping from one part to the
+    //   next over the space that would join them.
+    private static boolean spanMatches(String[] theParts, int p, int i, String theNeedle) {
+        for (int n = 0; n < theNeedle.length(); n++) {
+            char c;
+            if (i < theParts[p].length()) {
+                c = theParts[p].charAt(i++);
+            } else {
+                if (p == theParts.length - 1) return false; // Ran out of text.
+                c = ' ';
+                p++;
+                i = 0;
+            }
+            if (fold(c) != theNeedle.charAt(n)) return false;
+        }
+        return true;
+    } // end spanMatches
+
+} // end class SearchPredicate
@@ -16,7 +16,11 @@ public class SearchResultGroup extends NoteGroup {
 
     @Override
     protected void setGroupProperties(Object propertiesObject) {
-        myProperties = AppUtil.mapper.convertValue(propertiesObject, SearchResultGroupProperties.class);
+        if (propertiesObject instanceof SearchResultGroupProperties) {
+            myProperties = (SearchResultGroupProperties) propertiesObject;
+        } else {
+            myProperties = AppUtil.mapper.convertValue(propertiesObject, SearchResultGroupProperties.class);
+        }
     }
 
     @Override
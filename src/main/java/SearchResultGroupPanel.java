@@ -7,10 +7,15 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Vector;
 
 public class SearchResultGroupPanel extends NoteGroupPanel {
     private static final Logger log = LoggerFactory.getLogger(SearchResultGroupPanel.class);
     private JLabel resultsPageOf;
+    private JButton stopButton;
+    private SearchMonitor searchMonitor; // Only while the search for this group is still running.
+    private Timer searchTimer;
+    private NoteSorter.SortColumn previousSort; // Breaks ties in the next sort by a different column.
 
     SearchResultHeader listHeader;
     static final int INORDER = 123;
@@ -193,6 +198,15 @@ public class SearchResultGroupPanel extends NoteGroupPanel {
         searchDateLabel.setText(searchDateLabelString);
         headingRow2.add(searchDateLabel, "Center");
 
+        // A way out of a search that is taking too long; only shown while the search is running.
+        stopButton = new JButton("Stop");
+        stopButton.setFont(Font.decode("Dialog-bold-12"));
+        stopButton.setVisible(false);
+        stopButton.addActionListener(e -> {
+            if (searchMonitor != null) searchMonitor.stop();
+        });
+        headingRow2.add(stopButton, "East");
+
         heading.add(headingRow1);
         heading.add(headingRow2);
         add(heading, BorderLayout.NORTH);
@@ -201,6 +215,43 @@ public class SearchResultGroupPanel extends NoteGroupPanel {
         setGroupHeader(listHeader);
     } // end buildPanelContent
 
+    // Called on the EDT with each batch of results from a search that is still running.  The results
+    //   go on the end of the list, so the page being shown only needs a reload if it was not full.
+    @SuppressWarnings("unchecked")
+    void addResults(Vector<NoteData> theFindings) {
+        boolean pageWasFull = getLastVisibleNoteIndex() == pageSize - 1;
+        myNoteGroup.noteGroupDataVector.addAll(theFindings);
+        int thePage = theNotePager.getCurrentPage();
+        theNotePager.reset(thePage); // Recalculate the number of pages.
+        if (!pageWasFull) loadPage(thePage);
+    } // end addResults
+
+
+    // Called on the EDT after the last of the results have been added (or the search was stopped).
+    //   Now that the results are complete, they are saved.
+    void searchFinished() {
+        if (searchTimer != null) searchTimer.stop();
+        stopButton.setVisible(false);
+        myNoteGroup.saveNoteGroup();
+        String theSummary = theNotePager.getSummary();
+        if (searchMonitor != null && searchMonitor.isStopped()) theSummary += " (stopped)";
+        resultsPageOf.setText(theSummary);
+        searchMonitor = null;
+    } // end searchFinished
+
+
+    // Called on the EDT when this group has been made to show the results of a search that is just starting.
+    //   Until it finishes, the header shows the progress of the search, and the Stop button.
+    void searchStarted(SearchMonitor theMonitor) {
+        searchMonitor = theMonitor;
+        stopButton.setVisible(true);
+        searchTimer = new Timer(250, e -> {
+            if (searchMonitor != null) resultsPageOf.setText(searchMonitor.getSummary());
+        });
+        searchTimer.start();
+    } // end searchStarted
+
+
     //-------------------------------------------------------------------
     // Method Name: checkColumnOrder
     //
@@ -232,7 +283,7 @@ public class SearchResultGroupPanel extends NoteGroupPanel {
     //--------------------------------------------------------
     @Override
     public SearchResultComponent getNoteComponent(int i) {
-        return (SearchResultComponent) groupNotesListPanel.getComponent(i);
+        return (SearchResultComponent) super.getNoteComponent(i);
     } // end getNoteComponent
 
 
@@ -376,6 +427,21 @@ public class SearchResultGroupPanel extends NoteGroupPanel {
     } // end resetColumnOrder
 
 
+    // A sort by one column keeps the order of the previous sort by another column, where the new keys are the
+    //   same.  The stable sort alone would do that, but not for the results that come in after the previous sort,
+    //   or after a reload; so the previous column goes along as the second one.
+    @Override
+    void sortNotes(NoteSorter.SortColumn... theColumns) {
+        NoteSorter.SortColumn theSort = theColumns[0];
+        if (theColumns.length == 1 && previousSort != null && !previousSort.columnName.equals(theSort.columnName)) {
+            super.sortNotes(theSort, previousSort);
+        } else {
+            super.sortNotes(theColumns);
+        }
+        previousSort = theSort;
+    } // end sortNotes
+
+
     // Originally this 'sort' method was cloned from a class where it was possible that
     // the items being sorted might not actually have a value in the field they were being sorted
     // on.  So those cases needed to be handled and the question to ask was - if there is no sort
@@ -249,7 +249,7 @@ public class SearchResultHeader extends Container implements ClingSource {
                 doUserHeader();
             } else {
                 final int shiftPressed = e.getModifiersEx() & InputEvent.SHIFT_DOWN_MASK;
-                new Thread(() -> doSorting(shiftPressed)).start(); // Start the thread
+                AppTasks.submit(TaskType.SORT, () -> doSorting(shiftPressed));
             } // end if
         } // end mouseClicked
 
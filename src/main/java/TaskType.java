@@ -0,0 +1,27 @@
+// The kinds of background work that go through AppTasks.  Each kind has its own pool of threads, with a limit
+//   on how many of them can run at once; when the limit is reached, further tasks of that kind wait in line.
+
+enum TaskType {
+    MENU_ACTION("Menu Action", 2),
+    TREE_SELECTION("Tree Selection", 1),     // One at a time, in the order that the selections were made.
+    SORT("Sort", 1),
+    SEARCH("Search", 2),
+    ARCHIVE_SELECTION("Archive Selection", 1),
+    SPLASH("Splash", 1),
+    GROUP_LOAD("NoteGroup Loader", 1),
+    PREFETCH("NoteGroup Prefetch", 1),
+    ICON_DECODE("Icon Decoder", 2);
+
+    private final String display;
+    final int maxThreads;
+
+    TaskType(String s, int maxThreads) {
+        display = s;
+        this.maxThreads = maxThreads;
+    }
+
+    @Override
+    public String toString() {
+        return display;
+    }
+}
@@ -15,6 +15,7 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.function.Predicate;
 
 public class ThreeMonthColumn extends JPanel {
     private static final long serialVersionUID = 1L;
@@ -34,6 +35,7 @@ public class ThreeMonthColumn extends JPanel {
 
     private LocalDate baseDate;
     private DateSelection twimc; // To Whom It May Concern - the subscriber.
+    private Predicate<LocalDate> dayMarker; // The days to be shown in a different color; may be null.
 
     static {
         // Initialize month names.
@@ -82,10 +84,25 @@ public class ThreeMonthColumn extends JPanel {
         monthColumn.showChoice(theChoice);
     } // end setChoice
 
+    // The marker is asked about each day that is shown, and the ones that it says yes to are shown in blue.
+    void setDayMarker(Predicate<LocalDate> theMarker) {
+        dayMarker = theMarker;
+        showMarks();
+    }
+
     void setSubscriber(DateSelection ds) {
         twimc = ds;
     }
 
+    // Ask the marker about the days again, after whatever it looks at has changed.
+    void showMarks() {
+        for (Component theCanvas : monthColumn.getComponents()) {
+            for (Component theDay : ((MonthCanvas) theCanvas).monthGridPanel.getComponents()) {
+                ((DayLabel) theDay).showMark();
+            }
+        }
+    } // end showMarks
+
     class MonthColumn extends JPanel {
         private static final long serialVersionUID = 1L;
 
@@ -336,6 +353,8 @@ public class ThreeMonthColumn extends JPanel {
 
         int day;
         LocalDate myLocalDate;
+        boolean marked;
+        boolean highlighted;
 
         DayLabel(LocalDate cal) {
             this();
@@ -353,13 +372,15 @@ public class ThreeMonthColumn extends JPanel {
         } // end constructor
 
         public void highlight() {
+            highlighted = true;
             setForeground(Color.red);
             setFont(Font.decode("Dialog-bold-16"));
         } // end highlight
 
         public void reset() {
+            highlighted = false;
             setFont(Font.decode("Dialog-plain-14"));
-            setForeground(Color.black);
+            setForeground(marked ? Color.blue : Color.black);
         } // end reset
 
         public void setDay(LocalDate ld) {
@@ -373,8 +394,14 @@ public class ThreeMonthColumn extends JPanel {
                 day = myLocalDate.getDayOfMonth();
                 setText(String.valueOf(day));
             }
+            showMark();
         } // end setDay
 
+        void showMark() {
+            marked = myLocalDate != null && dayMarker != null && dayMarker.test(myLocalDate);
+            if (!highlighted) setForeground(marked ? Color.blue : Color.black);
+        } // end showMark
+
         public void mouseClicked(MouseEvent e) {
         }
 
@@ -16,7 +16,11 @@ public class TodoNoteGroup extends NoteGroup {
 
     @Override
     protected void setGroupProperties(Object propertiesObject) {
-        myProperties = AppUtil.mapper.convertValue(propertiesObject, TodoGroupProperties.class);
+        if (propertiesObject instanceof TodoGroupProperties) {
+            myProperties = (TodoGroupProperties) propertiesObject;
+        } else {
+            myProperties = AppUtil.mapper.convertValue(propertiesObject, TodoGroupProperties.class);
+        }
     }
 
     @Override
@@ -1,4 +1,3 @@
-import com.fasterxml.jackson.core.type.TypeReference;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -158,7 +157,7 @@ public class TodoNoteGroupPanel extends NoteGroupPanel implements DateSelection
     //--------------------------------------------------------
     @Override
     public TodoNoteComponent getNoteComponent(int i) {
-        return (TodoNoteComponent) groupNotesListPanel.getComponent(i);
+        return (TodoNoteComponent) super.getNoteComponent(i);
     } // end getNoteComponent
 
 
@@ -183,8 +182,8 @@ public class TodoNoteGroupPanel extends NoteGroupPanel implements DateSelection
         Object[] theGroup = myNoteGroup.groupDataAccessor.loadNoteGroupData(groupInfo);
         //System.out.println("Merging NoteGroup data from JSON file: " + AppUtil.toJsonString(theGroup));
 
-        Vector<TodoNoteData> mergeVector = AppUtil.mapper.convertValue(theGroup[1], new TypeReference<>() {
-        });
+        // The loaded notes are already of the right type; no conversion needed.
+        Vector<TodoNoteData> mergeVector = (Vector<TodoNoteData>) theGroup[theGroup.length - 1];
 
         // Create a 'set', to contain only unique items from both lists.
         LinkedHashSet<NoteData> theUniqueSet = new LinkedHashSet<>(myNoteGroup.noteGroupDataVector);
@@ -420,6 +419,7 @@ public class TodoNoteGroupPanel extends NoteGroupPanel implements DateSelection
         // Unfortunately, that list will still have the old title, so it still needs
         // to be removed from the keeper.  The calling context must take care of that.
         myGroupProperties.setGroupName(newName);
+        if (myKeeper != null) myKeeper.rename(oldName, newName); // So that the keeper can find it by its new name.
         GroupInfo myGroupInfo = new GroupInfo(myGroupProperties);
 
         // The data accessor (constructed along with this Panel) has the old name; need to update.
@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AppTasksTest {
+
+    @Test
+    void testNamedDaemonThreads() throws Exception {
+        CompletableFuture<Thread> theThread = new CompletableFuture<>();
+        AppTasks.submit(TaskType.SORT, () -> theThread.complete(Thread.currentThread()));
+        Thread thread = theThread.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(thread.getName().startsWith("Sort "));
+        Assertions.assertTrue(thread.isDaemon());
+    }
+
+    // The Tree Selection type allows only one at a time, so a second one waits for the first.
+    @Test
+    void testBoundedAndCancellable() throws Exception {
+        CountDownLatch theFirstStarted = new CountDownLatch(1);
+        CountDownLatch letTheFirstGo = new CountDownLatch(1);
+        AtomicBoolean theSecondRan = new AtomicBoolean();
+        AtomicInteger theThirdRan = new AtomicInteger();
+
+        Future<?> theFirst = AppTasks.submit(TaskType.TREE_SELECTION, () -> {
+            theFirstStarted.countDown();
+            try {
+                letTheFirstGo.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        Assertions.assertTrue(theFirstStarted.await(5, TimeUnit.SECONDS));
+        Future<?> theSecond = AppTasks.submit(TaskType.TREE_SELECTION, () -> theSecondRan.set(true));
+        Future<?> theThird = AppTasks.submit(TaskType.TREE_SELECTION, theThirdRan::incrementAndGet);
+
+        Thread.sleep(100);
+        Assertions.assertFalse(theSecond.isDone()); // Still waiting in line.
+        theSecond.cancel(true);
+        letTheFirstGo.countDown();
+
+        theFirst.get(5, TimeUnit.SECONDS);
+        theThird.get(5, TimeUnit.SECONDS);
+        Assertions.assertFalse(theSecondRan.get());
+        Assertions.assertEquals(1, theThirdRan.get());
+    }
+
+    @Test
+    void testResultOnTheEdt() throws Exception {
+        CompletableFuture<String> theResult = new CompletableFuture<>();
+        AppTasks.submit(TaskType.GROUP_LOAD, () -> {
+            Assertions.assertFalse(SwingUtilities.isEventDispatchThread());
+            return "done";
+        }, theString -> {
+            Assertions.assertTrue(SwingUtilities.isEventDispatchThread());
+            theResult.complete(theString);
+        });
+        Assertions.assertEquals("done", theResult.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCancelledResultIsNotHandedBack() throws Exception {
+        CountDownLatch letItGo = new CountDownLatch(1);
+        AtomicBoolean handedBack = new AtomicBoolean();
+        Future<String> theTask = AppTasks.submit(TaskType.SEARCH, () -> {
+            try {
+                letItGo.await();
+            } catch (InterruptedException ignored) {
+            }
+            return "too late";
+        }, theString -> handedBack.set(true));
+        theTask.cancel(true);
+        letItGo.countDown();
+
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> { });
+        Assertions.assertFalse(handedBack.get());
+    }
+
+    // The number of runs that took 50 ms or more.
+    private static long countAtLeast50(AppTasks.TaskTimes theTimes) {
+        long[] theCounts = theTimes.getCounts();
+        long theCount = 0;
+        for (int i = 2; i < theCounts.length; i++) theCount += theCounts[i];
+        return theCount;
+    }
+
+    @Test
+    void testTimesAreKept() throws Exception {
+        AppTasks.TaskTimes theTimes = AppTasks.getTimes(TaskType.SPLASH);
+        long theCount = theTimes.getCount();
+        long theFailures = theTimes.getFailures();
+        long theSlowOnes = countAtLeast50(theTimes);
+
+        AppTasks.submit(TaskType.SPLASH, () -> {
+            try {
+                Thread.sleep(60);
+            } catch (InterruptedException ignored) {
+            }
+        }).get(5, TimeUnit.SECONDS);
+        Future<?> theFailure = AppTasks.submit(TaskType.SPLASH, () -> {
+            throw new IllegalStateException("Expected, in a test");
+        });
+        Assertions.assertThrows(Exception.class, () -> theFailure.get(5, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(theCount + 2, theTimes.getCount());
+        Assertions.assertEquals(theFailures + 1, theTimes.getFailures());
+        Assertions.assertEquals(theSlowOnes + 1, countAtLeast50(theTimes)); // The failure was quicker than that.
+        Assertions.assertTrue(AppTasks.getReport().contains("Splash:"));
+    }
+
+    // An Error is reported the same as an Exception is, and still reaches whoever is waiting on the task.
+    @Test
+    void testErrorsAreReported() throws Exception {
+        PrintStream theOut = System.out;
+        ByteArrayOutputStream theReport = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(theReport, true));
+        try {
+            Future<?> theFailure = AppTasks.submit(TaskType.SPLASH, () -> {
+                throw new AssertionError("Expected, in a test");
+            });
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                    () -> theFailure.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof AssertionError);
+        } finally {
+            System.setOut(theOut);
+        }
+        Assertions.assertTrue(theReport.toString().contains("task failed: Expected, in a test"));
+    }
+}
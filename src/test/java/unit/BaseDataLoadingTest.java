@@ -0,0 +1,139 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Loads (BaseData.startLoading) keep the LMDs of the data they read from being updated, but only on their own thread.
+
+class BaseDataLoadingTest {
+
+    @BeforeAll
+    static void meFirst() throws IOException {
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        try {
+            FileUtils.cleanDirectory(testData);
+        } catch (Exception e) {
+            System.out.println("ignored Exception: " + e.getMessage());
+        }
+
+        // Retrieve a fresh set of test data from test resources
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(BaseDataLoadingTest.class.getResource(fileName));
+        FileUtils.copyDirectory(testResource, testData);
+    }
+
+    @Test
+    void testLoadsAreNested() {
+        Assertions.assertFalse(BaseData.isLoading());
+        BaseData.startLoading();
+        BaseData.startLoading();
+        BaseData.endLoading();
+        Assertions.assertTrue(BaseData.isLoading()); // The outer one is still going.
+        BaseData.endLoading();
+        Assertions.assertFalse(BaseData.isLoading());
+        BaseData.endLoading(); // One too many; it should not leave the count below zero.
+        BaseData.startLoading();
+        Assertions.assertTrue(BaseData.isLoading());
+        BaseData.endLoading();
+    }
+
+    // These properties touch their LMD when constructed, so if they are loaded from data that has none, the
+    //   LMD stays null unless the load was not in effect.
+    private static SearchResultGroupProperties loadPropertiesWithNoLastMod() throws Exception {
+        BaseData.startLoading();
+        try {
+            return AppUtil.mapper.readValue("{\"groupName\" : \"No LMD\"}", SearchResultGroupProperties.class);
+        } finally {
+            BaseData.endLoading();
+        }
+    }
+
+    // A load on another thread does not stop the edits on this one from updating their LMDs, and the edits do not
+    //   end that load.
+    @Test
+    void testLoadIsOnlyForItsThread() throws Exception {
+        CountDownLatch theLoadStarted = new CountDownLatch(1);
+        CountDownLatch theEditIsDone = new CountDownLatch(1);
+        ExecutorService theLoader = Executors.newSingleThreadExecutor();
+        try {
+            Future<SearchResultGroupProperties> theLoad = theLoader.submit(() -> {
+                BaseData.startLoading();
+                try {
+                    theLoadStarted.countDown();
+                    Assertions.assertTrue(theEditIsDone.await(5, TimeUnit.SECONDS));
+                    return AppUtil.mapper.readValue("{\"groupName\" : \"No LMD\"}", SearchResultGroupProperties.class);
+                } finally {
+                    BaseData.endLoading();
+                }
+            });
+            Assertions.assertTrue(theLoadStarted.await(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(BaseData.isLoading());
+            NoteData noteData = new NoteData();
+            noteData.setNoteString("Edited during a load");
+            Assertions.assertNotNull(noteData.getLastModDate());
+            theEditIsDone.countDown();
+
+            Assertions.assertNull(theLoad.get(5, TimeUnit.SECONDS).zdtLastModString);
+        } finally {
+            theLoader.shutdownNow();
+        }
+    }
+
+    // Groups loading on several threads at once, while this one makes edits; every LMD should come out right.
+    @Test
+    void testConcurrentLoadsAndEdits() throws Exception {
+        GroupInfo groupInfo = new GroupInfo("20201107080501", GroupType.SEARCH_RESULTS);
+        NoteGroup theFirstLoad = groupInfo.makeNoteGroup();
+        String theGroupLastMod = theFirstLoad.getGroupProperties().zdtLastModString;
+        Assertions.assertNotNull(theGroupLastMod);
+        List<String> theNoteLastMods = new ArrayList<>();
+        for (Object theNote : theFirstLoad.noteGroupDataVector) theNoteLastMods.add(((BaseData) theNote).zdtLastModString);
+        Assertions.assertFalse(theNoteLastMods.isEmpty());
+
+        AtomicBoolean theLoadsAreDone = new AtomicBoolean();
+        ExecutorService theLoaders = Executors.newFixedThreadPool(4);
+        List<Future<?>> theLoads = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                theLoads.add(theLoaders.submit(() -> {
+                    for (int j = 0; j < 50; j++) {
+                        NoteGroup noteGroup = new GroupInfo("20201107080501", GroupType.SEARCH_RESULTS).makeNoteGroup();
+                        Assertions.assertEquals(theGroupLastMod, noteGroup.getGroupProperties().zdtLastModString);
+                        for (int k = 0; k < theNoteLastMods.size(); k++) {
+                            BaseData theNote = (BaseData) noteGroup.noteGroupDataVector.get(k);
+                            Assertions.assertEquals(theNoteLastMods.get(k), theNote.zdtLastModString);
+                        }
+                        Assertions.assertNull(loadPropertiesWithNoLastMod().zdtLastModString);
+                        Assertions.assertFalse(BaseData.isLoading());
+                    }
+                    return null;
+                }));
+            }
+
+            // Edit until the loads are done; each one has to update the LMD.
+            int theEdits = 0;
+            NoteData noteData = new NoteData();
+            while (!theLoadsAreDone.get() || theEdits < 100) {
+                noteData.zdtLastModString = null;
+                noteData.setNoteString("Edit " + theEdits++);
+                Assertions.assertNotNull(noteData.zdtLastModString, "Edit " + theEdits);
+                theLoadsAreDone.set(theLoads.stream().allMatch(Future::isDone));
+            }
+            for (Future<?> theLoad : theLoads) theLoad.get(30, TimeUnit.SECONDS); // Rethrows a failed assertion.
+        } finally {
+            theLoaders.shutdownNow();
+        }
+        Assertions.assertFalse(BaseData.isLoading());
+    }
+}
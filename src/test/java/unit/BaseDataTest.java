@@ -5,6 +5,10 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 // The big difference between the two tests here and all the ones in the LastModRetentionTest is that here we look
@@ -68,4 +72,45 @@ class BaseDataTest {
         Assertions.assertEquals(zdtLastModNote, noteLastMod);
     }
 
-}
\ No newline at end of file
+    // The Last Mod date is parsed once and then kept, until the string changes.
+    @Test
+    void testLastModIsKept() {
+        NoteData noteData = new NoteData("Kept");
+        noteData.zdtLastModString = "2020-10-17T23:47:50.533+04:00[Europe/Samara]";
+        ZonedDateTime theDate = noteData.getLastModDate();
+        Assertions.assertSame(theDate, noteData.getLastModDate());
+        Assertions.assertEquals(theDate.toInstant().toEpochMilli(), noteData.getLastModMillis());
+        // The local date is the one in the zone of the LMD, not in the zone of whoever is asking.
+        Assertions.assertEquals(LocalDate.of(2020, 10, 17).toEpochDay(), noteData.getLastModEpochDay());
+
+        // Set directly, the way that Jackson does it.
+        noteData.zdtLastModString = "2021-01-02T03:04:05Z";
+        Assertions.assertEquals(ZonedDateTime.parse("2021-01-02T03:04:05Z"), noteData.getLastModDate());
+        Assertions.assertEquals(LocalDate.of(2021, 1, 2).toEpochDay(), noteData.getLastModEpochDay());
+
+        noteData.touchLastMod();
+        Assertions.assertEquals(ZonedDateTime.parse(noteData.zdtLastModString), noteData.getLastModDate());
+        Assertions.assertEquals(LocalDate.now().toEpochDay(), noteData.getLastModEpochDay());
+
+        noteData.zdtLastModString = null;
+        Assertions.assertNull(noteData.getLastModDate());
+        Assertions.assertEquals(BaseData.NO_LAST_MOD, noteData.getLastModMillis());
+        Assertions.assertEquals(BaseData.NO_LAST_MOD, noteData.getLastModEpochDay());
+    }
+
+    // New IDs are well-formed random UUIDs, and do not repeat.
+    @Test
+    void testMakeInstanceId() {
+        Set<UUID> theIds = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            UUID theId = BaseData.makeInstanceId();
+            Assertions.assertEquals(4, theId.version());
+            Assertions.assertEquals(2, theId.variant());
+            Assertions.assertEquals(theId, UUID.fromString(theId.toString()));
+            theIds.add(theId);
+        }
+        Assertions.assertEquals(10000, theIds.size());
+        Assertions.assertNotEquals(new NoteData().instanceId, new NoteData().instanceId);
+    }
+
+}
@@ -0,0 +1,61 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+class CalendarDateIndexTest {
+
+    @BeforeAll
+    static void meFirst() throws IOException {
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        try {
+            FileUtils.cleanDirectory(testData);
+        } catch (Exception e) {
+            System.out.println("ignored Exception: " + e.getMessage());
+        }
+
+        // Retrieve a fresh set of test data from test resources
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(CalendarDateIndexTest.class.getResource(fileName));
+        FileUtils.copyDirectory(testResource, testData);
+    }
+
+    private static LocalDate getNextDay(LocalDate theDate) {
+        return CalendarDateIndex.getNextDateWithData(ChronoUnit.DAYS, theDate, CalendarNoteGroup.Direction.FORWARD);
+    }
+
+    // Saves and deletes are applied to the sets as they happen; a file that is put into place some other
+    //   way is not seen until the sets are dropped.
+    @Test
+    void testKeptCurrentBySaves() throws IOException {
+        LocalDate theStart = LocalDate.of(2019, 3, 16);
+        Assertions.assertEquals(LocalDate.of(2019, 7, 8), getNextDay(theStart));
+
+        LocalDate theNewDay = LocalDate.of(2019, 4, 1);
+        String theName = CalendarNoteGroup.getGroupNameForDate(theNewDay, GroupType.DAY_NOTES);
+        DayNoteGroup dayNoteGroup = new DayNoteGroup(new GroupInfo(theName, GroupType.DAY_NOTES));
+        dayNoteGroup.appendNote(new DayNoteData());
+        dayNoteGroup.saveNoteGroup();
+        Assertions.assertEquals(theNewDay, getNextDay(theStart));
+
+        dayNoteGroup.deleteNoteGroup();
+        Assertions.assertEquals(LocalDate.of(2019, 7, 8), getNextDay(theStart));
+
+        File theYearDir = new File(NoteGroupFile.calendarNoteGroupAreaPath + "2019");
+        FileUtils.copyFile(new File(theYearDir, "D0315_20190914091225.json"),
+                new File(theYearDir, "D0402_20190914091225.json"));
+        Assertions.assertEquals(LocalDate.of(2019, 7, 8), getNextDay(theStart));
+        CalendarYearIndex.forgetAll(); // As at a restart.
+        CalendarDateIndex.invalidate();
+        Assertions.assertEquals(LocalDate.of(2019, 4, 2), getNextDay(theStart));
+    }
+}
@@ -0,0 +1,108 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+class CalendarYearIndexTest {
+
+    @BeforeAll
+    static void setup() throws IOException {
+        // Set the test user's data location
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        FileUtils.cleanDirectory(testData);
+
+        // Retrieve a fresh set of test data from test resources.
+        // This test user has Day notes (with icons) in 2019 and 2020.
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(AppTreePanel.class.getResource(fileName));
+        assert testResource != null;
+        FileUtils.copyDirectory(testResource, testData);
+    }
+
+    // The index answers must be the same as the ones we get by looking into each Day file.
+    @Test
+    void testDataDaysMatchTheFiles() {
+        int theYear = 2019;
+        boolean[][] fromIndex = MemoryBank.dataAccessor.findDataDays(theYear);
+
+        boolean[][] fromFiles = new boolean[12][31];
+        File theYearDir = new File(NoteGroupFile.calendarNoteGroupAreaPath + theYear);
+        String[] foundFiles = theYearDir.list(new AppUtil.logFileFilter("D"));
+        Assertions.assertNotNull(foundFiles);
+        for (String foundFile : foundFiles) {
+            int month = Integer.parseInt(foundFile.substring(1, 3));
+            int day = Integer.parseInt(foundFile.substring(3, 5));
+            if (NoteGroupFile.hasNoteData(new File(theYearDir, foundFile))) fromFiles[month - 1][day - 1] = true;
+        }
+
+        for (int month = 0; month < 12; month++) {
+            Assertions.assertArrayEquals(fromFiles[month], fromIndex[month]);
+        }
+        Assertions.assertTrue(new File(NoteGroupFile.calendarNoteGroupAreaPath + ".index" + File.separatorChar + theYear + ".json").exists());
+    }
+
+    // A save of a Day group should show up in the index, without a rebuild.
+    @Test
+    void testSaveAndDeleteUpdateTheIndex() {
+        LocalDate theDate = LocalDate.of(2020, 6, 15);
+        CalendarYearIndex theIndex = CalendarYearIndex.getIndex(2020);
+        Assertions.assertFalse(theIndex.hasData(6, 15));
+
+        String theName = CalendarNoteGroup.getGroupNameForDate(theDate, GroupType.DAY_NOTES);
+        DayNoteGroup dayNoteGroup = new DayNoteGroup(new GroupInfo(theName, GroupType.DAY_NOTES));
+        DayNoteData dayNoteData = new DayNoteData();
+        dayNoteData.setNoteString("Index this");
+        dayNoteData.setIconFileString("icons/heart0c.gif");
+        dayNoteData.setShowIconOnMonthBoolean(true);
+        dayNoteGroup.appendNote(dayNoteData);
+        dayNoteGroup.saveNoteGroup();
+
+        // The same index instance should still be the current one, and it has the new day.
+        Assertions.assertSame(theIndex, CalendarYearIndex.getCurrentIndex(2020));
+        Assertions.assertTrue(theIndex.hasData(6, 15));
+        Assertions.assertEquals(1, theIndex.getNoteCount(6, 15));
+        Assertions.assertArrayEquals(new String[]{"icons/heart0c.gif"}, theIndex.getIconDescriptors(6, 15));
+
+        // Now remove it, and verify that the index follows along.
+        dayNoteGroup.deleteNoteGroup();
+        Assertions.assertSame(theIndex, CalendarYearIndex.getCurrentIndex(2020));
+        Assertions.assertFalse(theIndex.hasData(6, 15));
+        Assertions.assertNull(theIndex.getIconDescriptors(6, 15));
+    }
+
+    // A Day file that is rewritten in place (outside of the app) leaves the directory time as it was; the
+    //   time of the file itself should show that the index on disk is stale, when it is next loaded.
+    @Test
+    void testFileRewrittenInPlace() throws IOException {
+        CalendarYearIndex theIndex = CalendarYearIndex.getIndex(2019);
+        Assertions.assertEquals(1, theIndex.getNoteCount(3, 15));
+        File theYearDir = new File(NoteGroupFile.calendarNoteGroupAreaPath + "2019");
+        long theDirTimestamp = theYearDir.lastModified();
+
+        // This one is in the older form, with just the notes; give it a second one.
+        File theFile = new File(theYearDir, "D0315_20190914091225.json");
+        Object[] theGroup = AppUtil.mapper.readValue(theFile, Object[].class);
+        List<?> theNotes = (List<?>) theGroup[theGroup.length - 1];
+        theGroup[theGroup.length - 1] = List.of(theNotes.get(0), theNotes.get(0));
+        AppUtil.mapper.writeValue(theFile, theGroup);
+        Assertions.assertTrue(theFile.setLastModified(theFile.lastModified() + 10_000));
+        Assertions.assertEquals(theDirTimestamp, theYearDir.lastModified());
+
+        CalendarYearIndex.forgetAll(); // As if the app had been restarted.
+        Assertions.assertNull(CalendarYearIndex.getCurrentIndex(2019));
+        Assertions.assertEquals(2, CalendarYearIndex.getIndex(2019).getNoteCount(3, 15));
+
+        // And the rebuilt one is good for the next session.
+        CalendarYearIndex.forgetAll();
+        Assertions.assertNotNull(CalendarYearIndex.getCurrentIndex(2019));
+    }
+}
@@ -0,0 +1,195 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Vector;
+import java.util.stream.Collectors;
+
+class DatabaseDataAccessorTest {
+    private static FileDataAccessor fileDataAccessor;
+    private static DatabaseDataAccessor databaseDataAccessor;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        // Set the test user's data location
+        MemoryBank.userEmail = "test.user@lcware.net";
+        fileDataAccessor = (FileDataAccessor) DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        FileUtils.cleanDirectory(testData);
+
+        // Retrieve a fresh set of test data from test resources.
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(AppTreePanel.class.getResource(fileName));
+        assert testResource != null;
+        FileUtils.copyDirectory(testResource, testData);
+        MemoryBank.dataAccessor = fileDataAccessor;
+        AppOptions.loadOpts();
+
+        // The test data has its lists in 'TodoLists'; on a case-sensitive file system, they would not be found there.
+        File theListsDir = new File(testData, "TodoLists");
+        if (theListsDir.exists()) Assertions.assertTrue(theListsDir.renameTo(new File(testData, DataArea.TODO_LISTS.getAreaName())));
+
+        // The database does not exist yet, so this will migrate the files into it.
+        databaseDataAccessor = new DatabaseDataAccessor();
+        MemoryBank.dataAccessor = databaseDataAccessor;
+    }
+
+    @AfterAll
+    static void teardown() throws IOException {
+        NoteGroupDatabase.open(FileDataAccessor.userDataHome).close();
+        MemoryBank.dataAccessor = fileDataAccessor;
+    }
+
+    // After the migration, the database should give the same answers as the files.
+    @Test
+    void testMigratedDataMatchesTheFiles() {
+        boolean[][] fromFiles = fileDataAccessor.findDataDays(2019);
+        boolean[][] fromDatabase = databaseDataAccessor.findDataDays(2019);
+        for (int month = 0; month < 12; month++) {
+            Assertions.assertArrayEquals(fromFiles[month], fromDatabase[month]);
+        }
+
+        Vector<String> fromFileNames = new Vector<>(fileDataAccessor.getGroupNames(GroupType.GOALS, false));
+        fromFileNames.sort(null);
+        Assertions.assertFalse(fromFileNames.isEmpty());
+        Assertions.assertEquals(fromFileNames, databaseDataAccessor.getGroupNames(GroupType.GOALS, false));
+        Assertions.assertEquals(fileDataAccessor.loadSubjects("Day Note"), databaseDataAccessor.loadSubjects("Day Note"));
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        GroupInfo groupInfo = new GroupInfo("Database List", GroupType.TODO_LIST);
+        TodoNoteGroup todoNoteGroup = new TodoNoteGroup(groupInfo);
+        TodoNoteData todoNoteData = new TodoNoteData();
+        todoNoteData.setNoteString("Kept in the database");
+        todoNoteGroup.appendNote(todoNoteData);
+        NoteGroupDataAccessor groupAccessor = databaseDataAccessor.getNoteGroupDataAccessor(groupInfo);
+        groupAccessor.saveNoteGroupData(todoNoteGroup.getTheData());
+        Assertions.assertNull(groupAccessor.getFailureReason());
+        Assertions.assertTrue(groupAccessor.exists());
+        Assertions.assertFalse(new File(NoteGroupFile.todoListGroupAreaPath + "todo_Database List.json").exists());
+
+        Object[] theData = groupAccessor.loadNoteGroupData();
+        Assertions.assertNotNull(theData);
+        Vector<?> theNotes = (Vector<?>) theData[theData.length - 1];
+        Assertions.assertEquals("Kept in the database", ((TodoNoteData) theNotes.get(0)).getNoteString());
+
+        Assertions.assertTrue(groupAccessor.renameNoteGroupData(GroupType.TODO_LIST, "Database List", "Renamed List"));
+        Assertions.assertFalse(groupAccessor.exists());
+        Assertions.assertTrue(databaseDataAccessor.getGroupNames(GroupType.TODO_LIST, false).contains("Renamed List"));
+
+        // The renamed group keeps its trigrams, so that a search does not need to read it again.
+        NoteGroupDatabase theDatabase = NoteGroupDatabase.open(FileDataAccessor.userDataHome);
+        NoteGroupDatabase.Row theRow = theDatabase.getGroup(NoteGroupDatabase.getGroupKey(GroupType.TODO_LIST, "Renamed List", null));
+        Assertions.assertNotNull(theRow.grams);
+    }
+
+    // A queued save has its outcome recorded by the time that anyone can ask for it.
+    @Test
+    void testSaveLater() {
+        GroupInfo groupInfo = new GroupInfo("Database Later", GroupType.TODO_LIST);
+        TodoNoteGroup todoNoteGroup = new TodoNoteGroup(groupInfo);
+        TodoNoteData todoNoteData = new TodoNoteData();
+        todoNoteData.setNoteString("Queued for the database");
+        todoNoteGroup.appendNote(todoNoteData);
+        NoteGroupDataAccessor groupAccessor = databaseDataAccessor.getNoteGroupDataAccessor(groupInfo);
+        groupAccessor.saveNoteGroupDataLater(todoNoteGroup.getTheData());
+        Assertions.assertNull(groupAccessor.getFailureReason());
+
+        Object[] theData = groupAccessor.loadNoteGroupData();
+        Assertions.assertNotNull(theData);
+        Vector<?> theNotes = (Vector<?>) theData[theData.length - 1];
+        Assertions.assertEquals("Queued for the database", ((TodoNoteData) theNotes.get(0)).getNoteString());
+    }
+
+    @Test
+    void testGetNextDateWithData() {
+        GroupInfo groupInfo = new GroupInfo(CalendarNoteGroup.getGroupNameForDate(LocalDate.of(2019, 8, 20), GroupType.MONTH_NOTES), GroupType.MONTH_NOTES);
+        NoteGroupDataAccessor groupAccessor = databaseDataAccessor.getNoteGroupDataAccessor(groupInfo);
+        NoteGroupDataAccessor fileAccessor = fileDataAccessor.getNoteGroupDataAccessor(groupInfo);
+
+        LocalDate initialDate = LocalDate.of(2019, 8, 20);
+        for (CalendarNoteGroup.Direction direction : CalendarNoteGroup.Direction.values()) {
+            Assertions.assertEquals(fileAccessor.getNextDateWithData(initialDate, ChronoUnit.MONTHS, direction),
+                    groupAccessor.getNextDateWithData(initialDate, ChronoUnit.MONTHS, direction));
+        }
+    }
+
+    private static List<String> describe(Vector<NoteData> theResults) {
+        return theResults.stream().map(noteData -> ((SearchResultData) noteData).foundIn.getGroupName()
+                + ": " + noteData.getNoteString()).sorted().collect(Collectors.toList());
+    }
+
+    // The two accessors search the same groups, and find the same notes in them.  With a keyword, the
+    //   database only reads the groups that its notes index says might have it.
+    @Test
+    void testScanMatchesTheFiles() {
+        int[] groupsRead = new int[2];
+        String[] theWords = {null, "Birthday"};
+        for (int i = 0; i < theWords.length; i++) {
+            SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+            searchPanelSettings.word1 = theWords[i];
+            SearchPredicate searchPredicate = new SearchPredicate(searchPanelSettings);
+            List<String> fromFiles = describe(fileDataAccessor.scanData(searchPredicate, new SearchMonitor()));
+            Assertions.assertFalse(fromFiles.isEmpty());
+            SearchMonitor searchMonitor = new SearchMonitor();
+            Assertions.assertEquals(fromFiles, describe(databaseDataAccessor.scanData(searchPredicate, searchMonitor)));
+            groupsRead[i] = searchMonitor.getGroupsSearched();
+        }
+        Assertions.assertTrue(groupsRead[1] < groupsRead[0] / 4);
+    }
+
+    // The database is built off to the side, and only put in place when it is complete.  Anything left over
+    //   from an earlier attempt is not used.
+    @Test
+    void testMigrationStartsOver() throws IOException {
+        File theDir = Files.createTempDirectory("migrate").toFile();
+        File theTodoDir = new File(theDir, DataArea.TODO_LISTS.getAreaName());
+        FileUtils.copyFile(new File(NoteGroupFile.todoListGroupAreaPath, "todo_Get New Job.json"),
+                new File(theTodoDir, "todo_Get New Job.json"));
+        File theLeftover = new File(theDir, "." + NoteGroupDatabase.databaseFilename + ".migrating");
+        Files.writeString(theLeftover.toPath(), "{\"table\":\"group\",\"key\":\"TODO_LIST|Leftover\"");
+
+        File dbFile = new File(theDir, NoteGroupDatabase.databaseFilename);
+        Assertions.assertEquals(1, DatabaseMigrator.migrate(theDir, dbFile));
+        Assertions.assertTrue(dbFile.exists());
+        Assertions.assertFalse(theLeftover.exists());
+
+        NoteGroupDatabase theDatabase = NoteGroupDatabase.open(theDir.getPath());
+        List<NoteGroupDatabase.Row> theRows = theDatabase.getGroups(GroupType.TODO_LIST);
+        theDatabase.close();
+        FileUtils.deleteDirectory(theDir);
+        Assertions.assertEquals(1, theRows.size());
+        Assertions.assertEquals("Get New Job", theRows.get(0).groupName);
+    }
+
+    // After a compaction the rows are read from their places in the new file.
+    @Test
+    void testCompaction() throws IOException {
+        GroupInfo groupInfo = new GroupInfo("Compacted List", GroupType.TODO_LIST);
+        TodoNoteGroup todoNoteGroup = new TodoNoteGroup(groupInfo);
+        TodoNoteData todoNoteData = new TodoNoteData();
+        todoNoteGroup.appendNote(todoNoteData);
+        NoteGroupDataAccessor groupAccessor = databaseDataAccessor.getNoteGroupDataAccessor(groupInfo);
+        for (String theText : new String[]{"First", "Second", "Last"}) {
+            todoNoteData.setNoteString(theText);
+            groupAccessor.saveNoteGroupData(todoNoteGroup.getTheData());
+        }
+
+        NoteGroupDatabase.open(FileDataAccessor.userDataHome).compact();
+        Object[] theData = groupAccessor.loadNoteGroupData();
+        Vector<?> theNotes = (Vector<?>) theData[theData.length - 1];
+        Assertions.assertEquals("Last", ((TodoNoteData) theNotes.get(0)).getNoteString());
+        Assertions.assertEquals(fileDataAccessor.loadSubjects("Day Note"), databaseDataAccessor.loadSubjects("Day Note"));
+    }
+}
@@ -0,0 +1,141 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+
+class EventIndexTest {
+    private static final LocalDate theFirstDay = LocalDate.of(2020, 1, 1);
+    private static final String[] theRecurrences = {"D3_", "W1_MoTh_5", "M1_the 15th of each month_20200601"};
+
+    private static EventNoteData makeEvent(Random random) {
+        EventNoteData eventNoteData = new EventNoteData();
+        LocalDate theStartDate = theFirstDay.plusDays(random.nextInt(400));
+        eventNoteData.setStartDate(theStartDate);
+        if (random.nextBoolean()) eventNoteData.setStartTime(LocalTime.of(random.nextInt(24), 0));
+        if (random.nextBoolean()) {
+            eventNoteData.setEndDate(theStartDate.plusDays(random.nextInt(6)));
+            if (random.nextBoolean()) eventNoteData.setEndTime(LocalTime.of(random.nextInt(24), 30));
+        }
+        if (random.nextInt(5) == 0) eventNoteData.setRecurrence(theRecurrences[random.nextInt(theRecurrences.length)]);
+        return eventNoteData;
+    }
+
+    // What the index should find, by looking at every one of them.
+    private static List<EventNoteData> scan(List<EventNoteData> theEvents, LocalDate fromDate, LocalDate toDate) {
+        LocalDateTime windowStart = fromDate.atStartOfDay();
+        LocalDateTime windowEnd = toDate.atTime(LocalTime.MAX);
+        List<EventNoteData> theResults = new ArrayList<>();
+        for (EventNoteData eventNoteData : theEvents) {
+            if (eventNoteData.getStartDate() == null) continue;
+            String theRecurrence = eventNoteData.getRecurrenceString();
+            if (theRecurrence != null && !theRecurrence.isEmpty()) {
+                if (eventNoteData.getOccurrences(fromDate, toDate).findAny().isPresent()) theResults.add(eventNoteData);
+                continue;
+            }
+            LocalDateTime theStart = eventNoteData.getEventStartDateTime();
+            LocalDateTime theEnd = eventNoteData.getEventEndDateTime();
+            if (theEnd == null || theEnd.isBefore(theStart)) theEnd = theStart;
+            if (!theStart.isAfter(windowEnd) && !theEnd.isBefore(windowStart)) theResults.add(eventNoteData);
+        }
+        return theResults;
+    }
+
+    @Test
+    void testSameAsScan() {
+        Random random = new Random(20221106);
+        Vector<EventNoteData> theEvents = new Vector<>();
+        for (int i = 0; i < 300; i++) theEvents.add(makeEvent(random));
+        theEvents.add(new EventNoteData()); // No Start; never found.
+
+        EventIndex eventIndex = new EventIndex(theEvents);
+        Assertions.assertEquals(300, eventIndex.size());
+        for (int i = 0; i < 500; i++) {
+            LocalDate fromDate = theFirstDay.minusDays(10).plusDays(random.nextInt(430));
+            LocalDate toDate = fromDate.plusDays(random.nextInt(i % 2 == 0 ? 1 : 40));
+            List<EventNoteData> theExpected = scan(theEvents, fromDate, toDate);
+            List<EventNoteData> theFound = eventIndex.getEventsBetween(fromDate, toDate);
+            Assertions.assertEquals(theExpected.size(), theFound.size(), fromDate + " to " + toDate);
+            Assertions.assertTrue(theFound.containsAll(theExpected), fromDate + " to " + toDate);
+        }
+    }
+
+    // An Event that runs over several days is found on each of them, and at its end time it is over.
+    @Test
+    void testMultiDayEvent() {
+        EventNoteData eventNoteData = new EventNoteData();
+        eventNoteData.setStartDate(LocalDate.of(2020, 5, 30));
+        eventNoteData.setEndDate(LocalDate.of(2020, 6, 2));
+        Vector<EventNoteData> theEvents = new Vector<>(List.of(eventNoteData));
+
+        EventIndex eventIndex = new EventIndex(theEvents);
+        Assertions.assertTrue(eventIndex.getEventsBetween(LocalDate.of(2020, 5, 1), LocalDate.of(2020, 5, 29)).isEmpty());
+        for (LocalDate theDay = LocalDate.of(2020, 5, 30); !theDay.isAfter(LocalDate.of(2020, 6, 2));
+             theDay = theDay.plusDays(1)) {
+            Assertions.assertEquals(List.of(eventNoteData), eventIndex.getEventsBetween(theDay, theDay));
+        }
+        Assertions.assertTrue(eventIndex.getEventsBetween(LocalDate.of(2020, 6, 3), LocalDate.of(2020, 6, 30)).isEmpty());
+    }
+
+    // As the Events are edited, the index moves them to where they now belong; it does not need to be made again.
+    @Test
+    void testKeptUpToDate() {
+        Random random = new Random(20221113);
+        Vector<EventNoteData> theEvents = new Vector<>();
+        for (int i = 0; i < 200; i++) theEvents.add(makeEvent(random));
+        EventIndex eventIndex = new EventIndex(theEvents);
+
+        for (int i = 0; i < 300; i++) {
+            EventNoteData eventNoteData = theEvents.get(random.nextInt(theEvents.size()));
+            switch (random.nextInt(5)) {
+                case 0 -> eventNoteData.setStartDate(theFirstDay.plusDays(random.nextInt(400)));
+                case 1 -> eventNoteData.setEndDate(random.nextBoolean() ? null
+                        : eventNoteData.getStartDate() == null ? theFirstDay : eventNoteData.getStartDate().plusDays(3));
+                case 2 -> eventNoteData.setStartTime(random.nextBoolean() ? null : LocalTime.of(random.nextInt(24), 15));
+                case 3 -> eventNoteData.setRecurrence(theRecurrences[random.nextInt(theRecurrences.length)]);
+                default -> eventNoteData.clear();
+            }
+            Assertions.assertTrue(eventIndex.isFor(theEvents));
+
+            LocalDate fromDate = theFirstDay.plusDays(random.nextInt(400));
+            LocalDate toDate = fromDate.plusDays(random.nextInt(20));
+            List<EventNoteData> theExpected = scan(theEvents, fromDate, toDate);
+            List<EventNoteData> theFound = eventIndex.getEventsBetween(fromDate, toDate);
+            Assertions.assertEquals(theExpected.size(), theFound.size(), "Edit " + i + ", " + fromDate + " to " + toDate);
+            Assertions.assertTrue(theFound.containsAll(theExpected), "Edit " + i + ", " + fromDate + " to " + toDate);
+        }
+    }
+
+    @Test
+    void testKnowsWhenItIsStale() {
+        Random random = new Random(7);
+        Vector<EventNoteData> theEvents = new Vector<>();
+        for (int i = 0; i < 10; i++) theEvents.add(makeEvent(random));
+
+        EventIndex eventIndex = new EventIndex(theEvents);
+        Assertions.assertTrue(eventIndex.isFor(theEvents));
+        Assertions.assertFalse(eventIndex.isFor(new Vector<>(theEvents)));
+
+        // A change to the times of an Event is taken in, so the index is still good.
+        Assertions.assertTrue(theEvents.get(3).setStartDate(theFirstDay.minusDays(30)));
+        Assertions.assertTrue(eventIndex.isFor(theEvents));
+        Assertions.assertEquals(List.of(theEvents.get(3)),
+                eventIndex.getEventsBetween(theFirstDay.minusDays(30), theFirstDay.minusDays(30)));
+
+        // A note that is replaced with another is seen once the group says that it has changed.
+        theEvents.set(3, new EventNoteData(theEvents.get(3)));
+        eventIndex.notesChanged();
+        Assertions.assertFalse(eventIndex.isFor(theEvents));
+
+        eventIndex = new EventIndex(theEvents);
+        eventIndex.notesChanged(); // But a change to the group that is not to its notes does not matter.
+        Assertions.assertTrue(eventIndex.isFor(theEvents));
+        theEvents.add(makeEvent(random));
+        Assertions.assertFalse(eventIndex.isFor(theEvents));
+    }
+}
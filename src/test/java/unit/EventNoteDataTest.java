@@ -4,6 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 // Coverage for the methods for setting Dates, Times, and Duration - is taken care
 // of by the functional tests for Duration setting and Duration calculation;
@@ -51,6 +54,98 @@ class EventNoteDataTest {
     void testGetRetainNote() {
     }
 
+    @Test
+    void testGetOccurrences() {
+        List<LocalDate> theDates = testEventNoteData.getOccurrences(LocalDate.of(2020, 1, 1), LocalDate.of(2022, 12, 31))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(List.of(LocalDate.of(2020, 10, 31), LocalDate.of(2021, 10, 31),
+                LocalDate.of(2022, 10, 31)), theDates);
+        // The Event itself stays where it was.
+        Assertions.assertEquals(LocalDate.of(2018, 10, 31), testEventNoteData.getStartDate());
+        Assertions.assertEquals("Y_the 31st of October_", testEventNoteData.getRecurrenceString());
+
+        // With no recurrence there is just the one.
+        testEventNoteData.setRecurrence("");
+        Assertions.assertEquals(0, testEventNoteData.getOccurrences(LocalDate.of(2020, 1, 1),
+                LocalDate.of(2022, 12, 31)).count());
+        Assertions.assertEquals(1, testEventNoteData.getOccurrences(LocalDate.of(2018, 1, 1),
+                LocalDate.of(2022, 12, 31)).count());
+    }
+
+    // The occurrences should be the same dates that goForward would go to, and no more.
+    @Test
+    void testOccurrencesMatchGoForward() {
+        for (String theSetting : new String[]{"W2_MoWeFr_9", "D3_20190115", "M1_the last weekday of each month_"}) {
+            EventNoteData theEvent = new EventNoteData();
+            theEvent.setStartDate(LocalDate.of(2018, 12, 28));
+            theEvent.setRecurrence(theSetting);
+
+            List<LocalDate> theExpected = new ArrayList<>();
+            EventNoteData theCopy = (EventNoteData) theEvent.copy();
+            do {
+                theExpected.add(theCopy.getStartDate());
+            } while (theCopy.getStartDate().isBefore(LocalDate.of(2019, 6, 1)) && theCopy.goForward());
+            theExpected.removeIf(theDate -> theDate.isAfter(LocalDate.of(2019, 5, 31)));
+
+            List<LocalDate> theDates = theEvent.getOccurrences(LocalDate.of(2018, 1, 1), LocalDate.of(2019, 5, 31))
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(theExpected, theDates, theSetting);
+        }
+    }
+
+    // A window far from the Start (or one before the last one asked for) gets the same dates that goForwardTo
+    //   would get to, without making all of the ones in between.
+    @Test
+    void testOccurrencesFarAway() {
+        for (String theSetting : new String[]{"D1_", "W2_MoWeFr_", "M1_the last weekday of each month_", "D3_20190115"}) {
+            EventNoteData theEvent = new EventNoteData();
+            theEvent.setStartDate(LocalDate.of(2018, 12, 28));
+            theEvent.setRecurrence(theSetting);
+            for (LocalDate theFrom : new LocalDate[]{LocalDate.of(2400, 3, 1), LocalDate.of(2019, 1, 4),
+                    LocalDate.of(2400, 3, 20), LocalDate.of(2250, 7, 1)}) {
+                LocalDate theTo = theFrom.plusDays(40);
+                List<LocalDate> theExpected = new ArrayList<>();
+                EventNoteData theCopy = (EventNoteData) theEvent.copy();
+                theCopy.goForwardTo(theFrom);
+                while (!theCopy.getStartDate().isBefore(theFrom) && !theCopy.getStartDate().isAfter(theTo)) {
+                    theExpected.add(theCopy.getStartDate());
+                    if (!theCopy.goForward()) break;
+                }
+                List<LocalDate> theDates = theEvent.getOccurrences(theFrom, theTo).collect(Collectors.toList());
+                Assertions.assertEquals(theExpected, theDates, theSetting + " from " + theFrom);
+            }
+        }
+    }
+
+    // An occurrence that started before the window but runs into it is included; the cached occurrences
+    //   are dropped when the dates or the recurrence change.
+    @Test
+    void testOccurrencesFollowChanges() {
+        testEventNoteData.setEndDate(LocalDate.of(2018, 11, 2));
+        Assertions.assertEquals(List.of(LocalDate.of(2019, 10, 31)), testEventNoteData.getOccurrences(
+                LocalDate.of(2019, 11, 1), LocalDate.of(2019, 11, 30)).collect(Collectors.toList()));
+
+        testEventNoteData.setEndDate(null);
+        Assertions.assertEquals(0, testEventNoteData.getOccurrences(LocalDate.of(2019, 11, 1),
+                LocalDate.of(2019, 11, 30)).count());
+
+        testEventNoteData.setRecurrence("M1_the last day of each month_");
+        Assertions.assertEquals(List.of(LocalDate.of(2018, 12, 31), LocalDate.of(2019, 1, 31)),
+                testEventNoteData.getOccurrences(LocalDate.of(2018, 12, 1), LocalDate.of(2019, 1, 31))
+                        .collect(Collectors.toList()));
+
+        testEventNoteData.setStartDate(LocalDate.of(2019, 1, 15)); // This also clears the recurrence.
+        Assertions.assertEquals(List.of(LocalDate.of(2019, 1, 15)), testEventNoteData.getOccurrences(
+                LocalDate.of(2018, 12, 1), LocalDate.of(2019, 1, 31)).collect(Collectors.toList()));
+
+        // When the event goes forward, the occurrences start from where it is now.
+        testEventNoteData.setRecurrence("D7_");
+        Assertions.assertTrue(testEventNoteData.goForward());
+        Assertions.assertEquals(List.of(LocalDate.of(2019, 1, 22), LocalDate.of(2019, 1, 29)),
+                testEventNoteData.getOccurrences(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 31))
+                        .collect(Collectors.toList()));
+    }
+
     @Test
     void testGetRecurrenceSummary() {
     }
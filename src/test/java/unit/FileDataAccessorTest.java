@@ -0,0 +1,116 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+
+class FileDataAccessorTest {
+
+    @BeforeAll
+    static void setup() throws IOException {
+        // Set the test user's data location
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        FileUtils.cleanDirectory(testData);
+
+        // Retrieve a fresh set of test data from test resources.
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(AppTreePanel.class.getResource(fileName));
+        assert testResource != null;
+        FileUtils.copyDirectory(testResource, testData);
+        AppOptions.loadOpts();
+    }
+
+    @AfterAll
+    static void teardown() {
+        FileDataAccessor.parallelSearch = true;
+    }
+
+    // The parallel search must find the same notes, in the same order, as a search of one file at a time.
+    @Test
+    void testParallelSearchMatchesSequential() {
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "money";
+        searchPanelSettings.word2 = "graduate";
+        searchPanelSettings.or1 = true;
+        SearchPanel searchPanel = new SearchPanel();
+        searchPanel.setTheSettings(searchPanelSettings);
+
+        FileDataAccessor.parallelSearch = false;
+        Vector<NoteData> oneAtATime = MemoryBank.dataAccessor.scanData(searchPanel.getSearchPredicate());
+        FileDataAccessor.parallelSearch = true;
+        Vector<NoteData> inParallel = MemoryBank.dataAccessor.scanData(searchPanel.getSearchPredicate());
+
+        Assertions.assertFalse(oneAtATime.isEmpty());
+        Assertions.assertEquals(oneAtATime.size(), inParallel.size());
+        for (int i = 0; i < oneAtATime.size(); i++) {
+            Assertions.assertEquals(oneAtATime.get(i).instanceId, inParallel.get(i).instanceId);
+            Assertions.assertEquals(((SearchResultData) oneAtATime.get(i)).foundIn.getGroupName(),
+                    ((SearchResultData) inParallel.get(i)).foundIn.getGroupName());
+        }
+    }
+
+    // The results are handed over as they are found, in the same order as the final list.
+    @Test
+    void testResultsArePublishedInOrder() {
+        Vector<NoteData> thePublished = new Vector<>();
+        SearchMonitor searchMonitor = new SearchMonitor(thePublished::addAll);
+
+        // With no keywords, every note is found.
+        Vector<NoteData> theResults = MemoryBank.dataAccessor.scanData(new SearchPredicate(new SearchPanelSettings()), searchMonitor);
+        Assertions.assertFalse(theResults.isEmpty());
+        Assertions.assertEquals(theResults, thePublished);
+        Assertions.assertEquals(theResults.size(), searchMonitor.getNotesFound());
+        Assertions.assertEquals(searchMonitor.getGroupsToSearch(), searchMonitor.getGroupsSearched());
+    }
+
+    @Test
+    void testStoppedSearch() {
+        SearchMonitor searchMonitor = new SearchMonitor();
+        searchMonitor.stop();
+        Vector<NoteData> theResults = MemoryBank.dataAccessor.scanData(new SearchPredicate(new SearchPanelSettings()), searchMonitor);
+        Assertions.assertTrue(theResults.isEmpty());
+        Assertions.assertEquals(0, searchMonitor.getGroupsSearched());
+        Assertions.assertTrue(searchMonitor.getSummary().endsWith("(stopped)"));
+    }
+
+    // A search on other threads must not turn off the Last Mod updates of this one.
+    @Test
+    void testLoadingFlagIsPerThread() throws InterruptedException {
+        Thread theLoader = new Thread(() -> BaseData.startLoading());
+        theLoader.start();
+        theLoader.join();
+
+        NoteData noteData = new NoteData();
+        noteData.setNoteString("Touched");
+        Assertions.assertNotNull(noteData.getLastModDate());
+    }
+
+    // Two searches at the same time, on the same accessor, each get their own results.
+    @Test
+    void testConcurrentSearches() {
+        SearchPanelSettings moneySettings = new SearchPanelSettings();
+        moneySettings.word1 = "money";
+        SearchPanelSettings graduateSettings = new SearchPanelSettings();
+        graduateSettings.word1 = "graduate";
+        Vector<NoteData> forMoney = MemoryBank.dataAccessor.scanData(new SearchPredicate(moneySettings), new SearchMonitor());
+        Vector<NoteData> forGraduate = MemoryBank.dataAccessor.scanData(new SearchPredicate(graduateSettings), new SearchMonitor());
+        Assertions.assertNotEquals(forMoney.size(), forGraduate.size());
+
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Vector<NoteData>> moneySearch = CompletableFuture.supplyAsync(() ->
+                    MemoryBank.dataAccessor.scanData(new SearchPredicate(moneySettings), new SearchMonitor()));
+            Vector<NoteData> graduateResults = MemoryBank.dataAccessor.scanData(new SearchPredicate(graduateSettings), new SearchMonitor());
+            Assertions.assertEquals(forMoney.size(), moneySearch.join().size());
+            Assertions.assertEquals(forGraduate.size(), graduateResults.size());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class IconImageCacheTest {
+    private int theMaxEntries;
+
+    @BeforeEach
+    void setUp() {
+        theMaxEntries = IconImageCache.maxEntries;
+        IconImageCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        IconImageCache.maxEntries = theMaxEntries;
+        IconImageCache.clear();
+    }
+
+    @Test
+    void testDecodedOnce() {
+        int theMisses = IconImageCache.getMisses();
+        Image theImage = IconImageCache.getImage("icons/heart0c.gif");
+        Assertions.assertNotNull(theImage);
+        Assertions.assertTrue(theImage.getWidth(null) > 0); // Fully loaded, no flush needed.
+        Assertions.assertSame(theImage, IconImageCache.getImage("icons/heart0c.gif"));
+        Assertions.assertEquals(theMisses + 1, IconImageCache.getMisses());
+
+        // The .ico files go thru a different decoder, but are kept the same way.
+        Assertions.assertNotNull(IconImageCache.getImage("icons/CAKEWALK.ICO"));
+        Assertions.assertEquals(2, IconImageCache.size());
+    }
+
+    @Test
+    void testScaledOnce() {
+        Image theImage = IconImageCache.getImage("icons/heart0c.gif");
+        Image theScaledImage = IconImageCache.getScaledImage(theImage, 10, 12);
+        Assertions.assertEquals(10, theScaledImage.getWidth(null));
+        Assertions.assertEquals(12, theScaledImage.getHeight(null));
+        Assertions.assertSame(theScaledImage, IconImageCache.getScaledImage(theImage, 10, 12));
+        Assertions.assertNotSame(theScaledImage, IconImageCache.getScaledImage(theImage, 20, 24));
+        Assertions.assertEquals(3, IconImageCache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsDropped() {
+        IconImageCache.maxEntries = 2;
+        Image theHeart = IconImageCache.getImage("icons/heart0c.gif");
+        IconImageCache.getImage("icons/CAKEWALK.ICO");
+        IconImageCache.getImage("icons/heart0c.gif"); // Now the cake is the eldest.
+        IconImageCache.getImage("icons/CAR01.ICO");
+        Assertions.assertEquals(2, IconImageCache.size());
+
+        int theMisses = IconImageCache.getMisses();
+        Assertions.assertSame(theHeart, IconImageCache.getImage("icons/heart0c.gif"));
+        IconImageCache.getImage("icons/CAKEWALK.ICO");
+        Assertions.assertEquals(theMisses + 1, IconImageCache.getMisses());
+    }
+
+    @Test
+    void testMissingIcon() {
+        Assertions.assertNull(IconImageCache.getImage("icons/noSuchIcon.gif"));
+        Assertions.assertEquals(0, IconImageCache.size());
+    }
+
+    // Many callers at once, for an icon that nobody has asked for yet, should get one decode between them.
+    @Test
+    void testConcurrentRequestsShareOneDecode() {
+        int theMisses = IconImageCache.getMisses();
+        int theHits = IconImageCache.getHits();
+        List<CompletableFuture<Image>> theRequests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            theRequests.add(CompletableFuture.supplyAsync(() -> IconImageCache.getImage("icons/CAKEWALK.ICO")));
+        }
+        Image theImage = theRequests.get(0).join();
+        for (CompletableFuture<Image> theRequest : theRequests) Assertions.assertSame(theImage, theRequest.join());
+        Assertions.assertEquals(1, IconImageCache.size());
+        Assertions.assertEquals(8, IconImageCache.getMisses() - theMisses + IconImageCache.getHits() - theHits);
+    }
+
+    // An .ico with no images in it gets thru its decoder, but then there is no first image to take.  That
+    //   failure has to let go of anyone waiting on the decode, and not leave it underway for the next caller.
+    @Test
+    void testDecoderFailure() {
+        List<CompletableFuture<Image>> theRequests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            theRequests.add(CompletableFuture.supplyAsync(() -> IconImageCache.getImage("IconImageCacheTest/empty.ico")));
+        }
+        for (CompletableFuture<Image> theRequest : theRequests) {
+            Assertions.assertNull(Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> theRequest.join()));
+        }
+        Assertions.assertNull(Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> IconImageCache.getImage("IconImageCacheTest/empty.ico")));
+        Assertions.assertEquals(0, IconImageCache.size());
+    }
+
+    @Test
+    void testImageLater() throws Exception {
+        CompletableFuture<Image> theLaterImage = new CompletableFuture<>();
+        boolean isReady = IconImageCache.getImageLater("icons/CAR01.ICO", theImage -> {
+            Assertions.assertTrue(SwingUtilities.isEventDispatchThread());
+            theLaterImage.complete(theImage);
+        });
+        Assertions.assertFalse(isReady);
+        Image theImage = theLaterImage.get(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(theImage);
+
+        // Now that it is decoded, the answer comes right away, on this thread.
+        Image[] theNowImage = new Image[1];
+        Assertions.assertTrue(IconImageCache.getImageLater("icons/CAR01.ICO", image -> theNowImage[0] = image));
+        Assertions.assertSame(theImage, theNowImage[0]);
+    }
+
+    // Each IconInfo caller gets an ImageIcon of its own (to scale, or not) but they all start with the same image.
+    @Test
+    void testIconInfoSharesTheImage() {
+        IconInfo iconInfo = new IconInfo(DataArea.APP_ICONS, "CAKEWALK", "ICO");
+        ImageIcon icon1 = iconInfo.getImageIcon();
+        ImageIcon icon2 = iconInfo.getImageIcon();
+        Assertions.assertNotSame(icon1, icon2);
+        Assertions.assertSame(icon1.getImage(), icon2.getImage());
+        Assertions.assertEquals("icons/CAKEWALK.ICO", icon1.getDescription());
+
+        IconInfo.scaleIcon(icon1, 20, 20);
+        IconInfo.scaleIcon(icon2, 20, 20);
+        Assertions.assertSame(icon1.getImage(), icon2.getImage());
+    }
+
+    // An icon that is not decoded yet comes back as a placeholder, and the real one goes to the callback.  Once
+    //   it is decoded, the real one comes back right away and the callback is not used.
+    @Test
+    void testIconInfoLater() throws Exception {
+        IconInfo iconInfo = new IconInfo(DataArea.APP_ICONS, "CAKEWALK", "ICO");
+        CompletableFuture<ImageIcon> theLaterIcon = new CompletableFuture<>();
+        ImageIcon thePlaceholder = iconInfo.getImageIcon(theLaterIcon::complete);
+        Assertions.assertEquals("icons/CAKEWALK.ICO", thePlaceholder.getDescription());
+        ImageIcon theRealIcon = theLaterIcon.get(5, TimeUnit.SECONDS);
+        Assertions.assertNotSame(thePlaceholder.getImage(), theRealIcon.getImage());
+        Assertions.assertSame(IconImageCache.getImage("icons/CAKEWALK.ICO"), theRealIcon.getImage());
+
+        ImageIcon theNowIcon = iconInfo.getImageIcon(icon -> Assertions.fail("Called back for a decoded icon"));
+        Assertions.assertSame(theRealIcon.getImage(), theNowIcon.getImage());
+    }
+}
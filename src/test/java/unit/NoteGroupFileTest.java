@@ -7,6 +7,7 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Vector;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
 
@@ -124,4 +125,64 @@ class NoteGroupFileTest {
         System.out.println("  and the Next backward date with data is: " + targetDate);
     }
 
+    // A starting date in the middle of a Month should not cause the next Month to be passed over.
+    @Test
+    void testGetNextMonthWithData() {
+        GroupInfo gi = new GroupInfo("x", GroupType.MONTH_NOTES); // Name does not matter; we will not load.
+        NoteGroupDataAccessor ngda = MemoryBank.dataAccessor.getNoteGroupDataAccessor(gi);
+        LocalDate startDate = LocalDate.of(2019, 8, 20);
+
+        LocalDate targetDate = ngda.getNextDateWithData(startDate, ChronoUnit.MONTHS, CalendarNoteGroup.Direction.FORWARD);
+        Assertions.assertEquals(LocalDate.of(2019, 9, 1), targetDate);
+
+        targetDate = ngda.getNextDateWithData(LocalDate.of(2019, 9, 20), ChronoUnit.MONTHS, CalendarNoteGroup.Direction.BACKWARD);
+        Assertions.assertEquals(LocalDate.of(2019, 8, 1), targetDate);
+    }
+
+    // A goal file has notes, even though the GoalGroup does not show them.  They are loaded (as plain NoteData),
+    //   and a save of what was loaded keeps them.
+    @Test
+    void testGoalNotesRoundTrip() {
+        NoteGroupFile noteGroupFile = new NoteGroupFile(new GroupInfo("Graduate", GroupType.GOALS));
+        Object[] theData = noteGroupFile.loadNoteGroupData();
+        Assertions.assertTrue(theData[0] instanceof GoalGroupProperties);
+        Vector<?> theNotes = (Vector<?>) theData[theData.length - 1];
+        Assertions.assertEquals(1, theNotes.size());
+        Assertions.assertEquals("take classes", ((NoteData) theNotes.get(0)).getNoteString());
+
+        noteGroupFile.saveNoteGroupData(theData);
+        Assertions.assertNull(noteGroupFile.getFailureReason());
+
+        theData = new NoteGroupFile(new GroupInfo("Graduate", GroupType.GOALS)).loadNoteGroupData();
+        theNotes = (Vector<?>) theData[theData.length - 1];
+        Assertions.assertEquals(1, theNotes.size());
+        Assertions.assertEquals("take classes", ((NoteData) theNotes.get(0)).getNoteString());
+        Assertions.assertEquals("Graduate", ((GroupProperties) theData[0]).getGroupName());
+    }
+
+    // A save replaces the file in one step; the temporary file that it was written to should not remain.
+    @Test
+    void testSaveReplacesTheFile() {
+        TodoNoteGroup todoNoteGroup = new TodoNoteGroup(new GroupInfo("Replace Me", GroupType.TODO_LIST));
+        TodoNoteData todoNoteData = new TodoNoteData();
+        todoNoteData.setNoteString("First version");
+        todoNoteGroup.appendNote(todoNoteData);
+        todoNoteGroup.saveNoteGroup();
+
+        todoNoteData.setNoteString("Second version");
+        todoNoteGroup.saveNoteGroup();
+
+        NoteGroupFile noteGroupFile = (NoteGroupFile) todoNoteGroup.groupDataAccessor;
+        Assertions.assertNull(noteGroupFile.getFailureReason());
+        File theFile = new File(noteGroupFile.foundFilename());
+        Assertions.assertEquals(theFile.length(), noteGroupFile.lastSaveByteCount);
+        String[] leftovers = theFile.getParentFile().list((dir, name) -> name.endsWith(".tmp"));
+        Assertions.assertNotNull(leftovers);
+        Assertions.assertEquals(0, leftovers.length);
+
+        Object[] theData = noteGroupFile.loadNoteGroupData();
+        Vector<?> theNotes = (Vector<?>) theData[theData.length - 1];
+        Assertions.assertEquals("Second version", ((NoteData) theNotes.get(0)).getNoteString());
+    }
+
     }
\ No newline at end of file
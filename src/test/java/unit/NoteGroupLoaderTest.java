@@ -0,0 +1,109 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class NoteGroupLoaderTest {
+
+    @BeforeAll
+    static void meFirst() throws IOException {
+        MemoryBank.debug = true;
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        try {
+            FileUtils.cleanDirectory(testData);
+        } catch (Exception e) {
+            System.out.println("ignored Exception: " + e.getMessage());
+        }
+
+        // Retrieve a fresh set of test data from test resources
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(NoteGroupLoaderTest.class.getResource(fileName));
+        FileUtils.copyDirectory(testResource, testData);
+    }
+
+    @Test
+    void testLoadedOnAnotherThread() throws Exception {
+        NoteGroupLoader noteGroupLoader = new NoteGroupLoader();
+        CompletableFuture<NoteGroup> theResult = new CompletableFuture<>();
+        noteGroupLoader.load(new GroupInfo("20201107080501", GroupType.SEARCH_RESULTS), theNoteGroup -> {
+            Assertions.assertTrue(SwingUtilities.isEventDispatchThread());
+            theResult.complete(theNoteGroup);
+        });
+        NoteGroup theNoteGroup = theResult.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(theNoteGroup instanceof SearchResultGroup);
+        Assertions.assertEquals(16, theNoteGroup.noteGroupDataVector.size());
+        Assertions.assertTrue(theNoteGroup.noteGroupDataVector.get(0) instanceof SearchResultData);
+        Assertions.assertFalse(noteGroupLoader.isLoading());
+
+        // The Panel can take the loaded group without going back to the file for it.
+        GroupInfo groupInfo = theNoteGroup.myGroupInfo;
+        groupInfo.loadedNoteGroup = theNoteGroup;
+        Assertions.assertSame(theNoteGroup, groupInfo.getNoteGroup());
+        Assertions.assertNull(groupInfo.loadedNoteGroup); // Only used once.
+    }
+
+    @Test
+    void testNewerLoadSupersedes() throws Exception {
+        NoteGroupLoader noteGroupLoader = new NoteGroupLoader();
+        CompletableFuture<NoteGroup> theStaleResult = new CompletableFuture<>();
+        CompletableFuture<NoteGroup> theResult = new CompletableFuture<>();
+        noteGroupLoader.load(new GroupInfo("20201107080501", GroupType.SEARCH_RESULTS), theStaleResult::complete);
+        noteGroupLoader.load(new GroupInfo("20201107080423", GroupType.SEARCH_RESULTS), theResult::complete);
+
+        NoteGroup theNoteGroup = theResult.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("20201107080423", theNoteGroup.myGroupInfo.getGroupName());
+        Assertions.assertEquals(7, theNoteGroup.noteGroupDataVector.size());
+
+        // Anything that the first one was going to hand back would be on the EDT queue ahead of this.
+        SwingUtilities.invokeAndWait(() -> { });
+        Assertions.assertFalse(theStaleResult.isDone());
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        // Hold up the EDT, so that the load cannot be handed back before it is cancelled.
+        CountDownLatch theEdtIsHeld = new CountDownLatch(1);
+        CountDownLatch letTheEdtGo = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            theEdtIsHeld.countDown();
+            try {
+                letTheEdtGo.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        Assertions.assertTrue(theEdtIsHeld.await(5, TimeUnit.SECONDS));
+
+        NoteGroupLoader noteGroupLoader = new NoteGroupLoader();
+        CompletableFuture<NoteGroup> theResult = new CompletableFuture<>();
+        noteGroupLoader.load(new GroupInfo("20201107080501", GroupType.SEARCH_RESULTS), theResult::complete);
+        noteGroupLoader.cancel();
+        Assertions.assertFalse(noteGroupLoader.isLoading());
+        letTheEdtGo.countDown();
+
+        // Loads go one at a time, so by the time that another one is handed back, the cancelled one
+        //   has either been stopped or has already come to the EDT (and been dropped there).
+        CompletableFuture<NoteGroup> theNextResult = new CompletableFuture<>();
+        noteGroupLoader.load(new GroupInfo("20201107080423", GroupType.SEARCH_RESULTS), theNextResult::complete);
+        Assertions.assertNotNull(theNextResult.get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(theResult.isDone());
+    }
+
+    @Test
+    void testNoDataGivesNull() throws Exception {
+        NoteGroupLoader noteGroupLoader = new NoteGroupLoader();
+        CompletableFuture<NoteGroup> theResult = new CompletableFuture<>();
+        noteGroupLoader.load(new GroupInfo("No Such Search", GroupType.SEARCH_RESULTS), theResult::complete);
+        Assertions.assertNull(theResult.get(5, TimeUnit.SECONDS));
+    }
+}
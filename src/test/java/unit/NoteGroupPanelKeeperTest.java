@@ -3,6 +3,7 @@ import org.junit.jupiter.api.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -69,4 +70,49 @@ class NoteGroupPanelKeeperTest {
         noteGroupPanelKeeper.remove("Get Lost");
         Assertions.assertEquals(1, noteGroupPanelKeeper.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLeastRecentlyUsedIsLetGo() {
+        noteGroupPanelKeeper.get("Get New Job"); // Now "New Car Shopping" is the least recently used.
+        noteGroupPanelKeeper.setLimits(1, 0);
+        Assertions.assertEquals(1, noteGroupPanelKeeper.size());
+        Assertions.assertEquals(1, noteGroupPanelKeeper.getEvictions());
+        Assertions.assertNull(noteGroupPanelKeeper.get("New Car Shopping"));
+        Assertions.assertSame(theNoteGroup1, noteGroupPanelKeeper.get("Get New Job"));
+        Assertions.assertEquals(2, noteGroupPanelKeeper.getHits());
+        Assertions.assertEquals(1, noteGroupPanelKeeper.getMisses());
+    }
+
+    @Test
+    void testMemoryBudget() {
+        long theBudget = NoteGroupPanelKeeper.estimateSize(theNoteGroup2);
+        noteGroupPanelKeeper.setLimits(0, theBudget);
+        Assertions.assertEquals(1, noteGroupPanelKeeper.size());
+        Assertions.assertEquals(List.of("New Car Shopping"), noteGroupPanelKeeper.getNames());
+
+        // The most recently used panel is kept, even when it is over the budget by itself.
+        noteGroupPanelKeeper.setLimits(0, 1);
+        Assertions.assertEquals(1, noteGroupPanelKeeper.size());
+    }
+
+    // A pinned panel is not let go, even when it is the least recently used; once unpinned, it can be.
+    @Test
+    void testPinnedIsKept() {
+        noteGroupPanelKeeper.pin(theNoteGroup1);
+        noteGroupPanelKeeper.setLimits(1, 0);
+        Assertions.assertEquals(2, noteGroupPanelKeeper.size());
+
+        noteGroupPanelKeeper.unpin(theNoteGroup1);
+        Assertions.assertEquals(List.of("New Car Shopping"), noteGroupPanelKeeper.getNames());
+    }
+
+    // A panel whose group is renamed is found by its new name, and not by the old one.
+    @Test
+    void testRename() {
+        theNoteGroup1.myNoteGroup.getGroupProperties().setGroupName("Get Newer Job");
+        noteGroupPanelKeeper.rename("Get New Job", "Get Newer Job");
+        Assertions.assertSame(theNoteGroup1, noteGroupPanelKeeper.get("Get Newer Job"));
+        Assertions.assertNull(noteGroupPanelKeeper.get("Get New Job"));
+        Assertions.assertEquals(List.of("New Car Shopping", "Get Newer Job"), noteGroupPanelKeeper.getNames());
+    }
+}
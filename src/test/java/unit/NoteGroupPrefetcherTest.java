@@ -0,0 +1,97 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Objects;
+
+class NoteGroupPrefetcherTest {
+
+    @BeforeAll
+    static void meFirst() throws IOException {
+        MemoryBank.debug = true;
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        try {
+            FileUtils.cleanDirectory(testData);
+        } catch (Exception e) {
+            System.out.println("ignored Exception: " + e.getMessage());
+        }
+
+        // Retrieve a fresh set of test data from test resources
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(NoteGroupPrefetcherTest.class.getResource(fileName));
+        FileUtils.copyDirectory(testResource, testData);
+    }
+
+    @BeforeEach
+    void setUp() {
+        NoteGroupPrefetcher.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        NoteGroupPrefetcher.clear();
+    }
+
+    private static GroupInfo getDayGroupInfo(LocalDate theDate) {
+        String theName = CalendarNoteGroup.getGroupNameForDate(theDate, GroupType.DAY_NOTES);
+        return new GroupInfo(theName, GroupType.DAY_NOTES);
+    }
+
+    // The prefetch happens on another thread; give it a reasonable time to finish.
+    private static void waitForPrefetch(int theCount) throws InterruptedException {
+        for (int i = 0; i < 100 && NoteGroupPrefetcher.size() < theCount; i++) Thread.sleep(50);
+        Assertions.assertEquals(theCount, NoteGroupPrefetcher.size());
+    }
+
+    @Test
+    void testPrefetchedGroupIsTaken() throws InterruptedException {
+        GroupInfo groupInfo = getDayGroupInfo(LocalDate.of(2008, 2, 1));
+        NoteGroupPrefetcher.prefetch(groupInfo);
+        waitForPrefetch(1);
+
+        int theHits = NoteGroupPrefetcher.getHits();
+        DayNoteGroup dayNoteGroup = new DayNoteGroup(groupInfo);
+        Assertions.assertEquals(theHits + 1, NoteGroupPrefetcher.getHits());
+        Assertions.assertEquals(0, NoteGroupPrefetcher.size()); // Taken, not copied.
+
+        // The notes should be the same as the ones that come from the file.
+        NoteGroupPrefetcher.clear();
+        DayNoteGroup fromTheFile = new DayNoteGroup(groupInfo);
+        Assertions.assertEquals(theHits + 1, NoteGroupPrefetcher.getHits());
+        Assertions.assertFalse(dayNoteGroup.noteGroupDataVector.isEmpty());
+        Assertions.assertEquals(fromTheFile.noteGroupDataVector.size(), dayNoteGroup.noteGroupDataVector.size());
+        for (int i = 0; i < dayNoteGroup.noteGroupDataVector.size(); i++) {
+            Assertions.assertEquals(((NoteData) fromTheFile.noteGroupDataVector.get(i)).getNoteString(),
+                    ((NoteData) dayNoteGroup.noteGroupDataVector.get(i)).getNoteString());
+        }
+    }
+
+    @Test
+    void testNoFileNoPrefetch() throws InterruptedException {
+        NoteGroupPrefetcher.prefetch(getDayGroupInfo(LocalDate.of(2008, 2, 2)));
+        Thread.sleep(250);
+        Assertions.assertEquals(0, NoteGroupPrefetcher.size());
+    }
+
+    @Test
+    void testSaveDropsThePrefetch() throws InterruptedException {
+        GroupInfo groupInfo = getDayGroupInfo(LocalDate.of(2008, 2, 6));
+        DayNoteGroup dayNoteGroup = new DayNoteGroup(groupInfo);
+        NoteGroupPrefetcher.prefetch(groupInfo);
+        waitForPrefetch(1);
+
+        dayNoteGroup.saveNoteGroup();
+        Assertions.assertEquals(0, NoteGroupPrefetcher.size());
+        Assertions.assertTrue(Objects.requireNonNull(new DayNoteGroup(groupInfo).noteGroupDataVector).size() > 0);
+    }
+}
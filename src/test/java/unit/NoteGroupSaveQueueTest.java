@@ -0,0 +1,77 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Vector;
+
+class NoteGroupSaveQueueTest {
+
+    @BeforeAll
+    static void meFirst() throws IOException {
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        FileUtils.forceMkdir(testData);
+        FileUtils.cleanDirectory(testData);
+    }
+
+    // Two saves of the same group before a flush - only the second one should be written.
+    @Test
+    void testSavesAreCoalesced() {
+        Vector<String> theWrites = new Vector<>();
+        GroupInfo groupInfo = new GroupInfo("Coalesce Me", GroupType.TODO_LIST);
+
+        NoteGroupSaveQueue.submit(groupInfo, () -> theWrites.add("first"));
+        NoteGroupSaveQueue.submit(groupInfo, () -> theWrites.add("second"));
+        NoteGroupSaveQueue.flush();
+
+        Assertions.assertEquals(1, theWrites.size());
+        Assertions.assertEquals("second", theWrites.get(0));
+    }
+
+    // A flush for one group writes that one, and leaves the others to the writer.
+    @Test
+    void testFlushOneGroup() {
+        Vector<String> theWrites = new Vector<>();
+        GroupInfo groupOne = new GroupInfo("One", GroupType.TODO_LIST);
+        GroupInfo groupTwo = new GroupInfo("Two", GroupType.TODO_LIST);
+
+        NoteGroupSaveQueue.submit(groupOne, () -> theWrites.add("one"));
+        NoteGroupSaveQueue.submit(groupTwo, () -> theWrites.add("two"));
+        NoteGroupSaveQueue.flush(groupTwo);
+        Assertions.assertTrue(theWrites.contains("two"));
+
+        NoteGroupSaveQueue.flush();
+        Assertions.assertEquals(2, theWrites.size());
+    }
+
+    // A save that goes thru the queue - after a flush the file is there, with the data as it was at the time
+    //   of the call, and the outcome has been handed back to the accessor.
+    @Test
+    void testSaveLater() {
+        TodoNoteGroup todoNoteGroup = new TodoNoteGroup(new GroupInfo("Save Me Later", GroupType.TODO_LIST));
+        TodoNoteData todoNoteData = new TodoNoteData();
+        todoNoteData.setNoteString("As it was");
+        todoNoteGroup.appendNote(todoNoteData);
+        todoNoteGroup.saveNoteGroupLater();
+        todoNoteData.setNoteString("Changed after the save");
+
+        NoteGroupFile noteGroupFile = (NoteGroupFile) todoNoteGroup.groupDataAccessor;
+        NoteGroupSaveQueue.flush();
+        Assertions.assertNull(noteGroupFile.getFailureReason());
+        File theFile = new File(noteGroupFile.foundFilename());
+        Assertions.assertTrue(theFile.exists());
+        Assertions.assertEquals(theFile.length(), noteGroupFile.lastSaveByteCount);
+
+        NoteGroupFile theReader = new NoteGroupFile(new GroupInfo("Save Me Later", GroupType.TODO_LIST));
+        Object[] theData = theReader.loadNoteGroupData();
+        Vector<?> theNotes = (Vector<?>) theData[theData.length - 1];
+        Assertions.assertEquals(1, theNotes.size());
+        Assertions.assertEquals("As it was", ((NoteData) theNotes.get(0)).getNoteString());
+    }
+}
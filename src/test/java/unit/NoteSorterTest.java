@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+
+class NoteSorterTest {
+    private static final ZonedDateTime theStart = ZonedDateTime.parse("2021-03-04T10:15:30-06:00[America/Chicago]");
+
+    @AfterEach
+    void tearDown() {
+        NoteSorter.parallelThreshold = 8192;
+    }
+
+    private static NoteData makeNote(String theText, int theMinutes) {
+        NoteData noteData = new NoteData(theText);
+        noteData.zdtLastModString = theStart.plusMinutes(theMinutes).toString();
+        return noteData;
+    }
+
+    private static List<String> getTexts(List<NoteData> theNotes) {
+        List<String> theTexts = new ArrayList<>();
+        for (NoteData noteData : theNotes) theTexts.add(noteData.getNoteString());
+        return theTexts;
+    }
+
+    @Test
+    void testByLastMod() {
+        Vector<NoteData> theNotes = new Vector<>();
+        theNotes.add(makeNote("b", 20));
+        theNotes.add(makeNote("c", 30));
+        theNotes.add(makeNote("a", 10));
+        // Same instant, written in another zone; it should sort as the same time.
+        NoteData theOther = new NoteData("d");
+        theOther.zdtLastModString = theStart.plusMinutes(15).withZoneSameInstant(ZoneOffset.UTC).toString();
+        theNotes.add(theOther);
+
+        NoteSorter.sort(theNotes, NoteSorter.byLastMod(NoteGroupPanel.ASCENDING));
+        Assertions.assertEquals(List.of("a", "d", "b", "c"), getTexts(theNotes));
+        NoteSorter.sort(theNotes, NoteSorter.byLastMod(NoteGroupPanel.DESCENDING));
+        Assertions.assertEquals(List.of("c", "b", "d", "a"), getTexts(theNotes));
+    }
+
+    @Test
+    void testStableAndMultiColumn() {
+        Vector<NoteData> theNotes = new Vector<>();
+        theNotes.add(makeNote("pear", 2));
+        theNotes.add(makeNote("apple", 1));
+        theNotes.add(makeNote("pear", 1));
+        theNotes.add(makeNote("apple", 2));
+        NoteData noDate = new NoteData("apple");
+        noDate.zdtLastModString = null;
+        theNotes.add(noDate);
+
+        // Ties stay in the order they were in.
+        NoteSorter.sort(theNotes, NoteSorter.byNoteString(NoteGroupPanel.ASCENDING));
+        Assertions.assertEquals(List.of("apple", "apple", "apple", "pear", "pear"), getTexts(theNotes));
+        Assertions.assertEquals(theStart.plusMinutes(1), theNotes.get(0).getLastModDate());
+        Assertions.assertNull(theNotes.get(2).getLastModDate());
+
+        // Text descending, then the dates ascending within the same text; the one with no date comes first.
+        NoteSorter.sort(theNotes, NoteSorter.byNoteString(NoteGroupPanel.DESCENDING),
+                NoteSorter.byLastMod(NoteGroupPanel.ASCENDING));
+        Assertions.assertEquals(List.of("pear", "pear", "apple", "apple", "apple"), getTexts(theNotes));
+        Assertions.assertEquals(theStart.plusMinutes(1), theNotes.get(0).getLastModDate());
+        Assertions.assertNull(theNotes.get(2).getLastModDate());
+        Assertions.assertEquals(theStart.plusMinutes(2), theNotes.get(4).getLastModDate());
+    }
+
+    // A big list goes to the parallel sort, and it should come out the same as the other one.
+    @Test
+    void testParallelSameAsSequential() {
+        Random random = new Random(12345);
+        Vector<NoteData> theNotes = new Vector<>();
+        for (int i = 0; i < 5000; i++) theNotes.add(makeNote("note " + random.nextInt(100), random.nextInt(500)));
+        Vector<NoteData> theCopy = new Vector<>(theNotes);
+
+        NoteSorter.sort(theNotes, NoteSorter.byLastMod(NoteGroupPanel.DESCENDING));
+        NoteSorter.parallelThreshold = 1000;
+        NoteSorter.sort(theCopy, NoteSorter.byLastMod(NoteGroupPanel.DESCENDING));
+        for (int i = 0; i < theNotes.size(); i++) Assertions.assertSame(theNotes.get(i), theCopy.get(i));
+        for (int i = 1; i < theNotes.size(); i++) {
+            Assertions.assertFalse(theNotes.get(i).getLastModDate().isAfter(theNotes.get(i - 1).getLastModDate()));
+        }
+    }
+}
@@ -0,0 +1,333 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+// The RecurrenceRule took the place of the step-by-step recurrence calculation that EventNoteData.goForward used
+//   to make.  That calculation is kept here (as LegacyRecurrence) so that the two can be compared, over a large
+//   number of randomly made Events and recurrence settings.
+
+class RecurrenceRuleTest {
+    private static final String[] DAYS = {"Su", "Mo", "Tu", "We", "Th", "Fr", "Sa"};
+    private static final String[] ORDINALS = {"first", "second", "third", "fourth", "last"};
+    private final Random random = new Random(20221105);
+
+    // The old calculation never got to an answer for some 'weekend day' settings.
+    private static class NoAnswer extends RuntimeException {
+    }
+
+    // The previous goForward and goForwardMonths, with only the changes needed to run them on their own.
+    //   The two weekend loops that never ended (they advanced a date other than the one they were testing)
+    //   now throw NoAnswer instead.
+    private static class LegacyRecurrence {
+        LocalDate startDate;
+        String recurrenceString;
+
+        LegacyRecurrence(LocalDate startDate, String recurrenceString) {
+            this.startDate = startDate;
+            this.recurrenceString = recurrenceString;
+        }
+
+        boolean goForward() {
+            if (recurrenceString == null) return false;
+            if (recurrenceString.trim().equals("")) return false;
+            LocalDate theStartDate = startDate;
+
+            int intTheInterval;
+            String strDescription;
+            int intUnderscore1 = recurrenceString.indexOf('_');
+            int intUnderscore2 = recurrenceString.lastIndexOf('_');
+
+            LocalDate futureDate = theStartDate;
+            if (recurrenceString.startsWith("D")) {
+                intTheInterval = Integer.parseInt(recurrenceString.substring(1, intUnderscore1));
+                futureDate = futureDate.plusDays(intTheInterval);
+            } else if (recurrenceString.startsWith("W")) {
+                strDescription = recurrenceString.substring(intUnderscore1 + 1, intUnderscore2);
+                intTheInterval = Integer.parseInt(recurrenceString.substring(1, intUnderscore1));
+                while (true) {
+                    DayOfWeek dow = futureDate.getDayOfWeek();
+                    if (dow == DayOfWeek.SATURDAY) {
+                        if (intTheInterval > 1) futureDate = futureDate.plusDays(7L * (intTheInterval - 1));
+                    }
+                    futureDate = futureDate.plusDays(1);
+                    dow = futureDate.getDayOfWeek();
+                    if (dow == DayOfWeek.SUNDAY) {
+                        if (strDescription.contains("Su")) break;
+                    } else if (dow == DayOfWeek.MONDAY) {
+                        if (strDescription.contains("Mo")) break;
+                    } else if (dow == DayOfWeek.TUESDAY) {
+                        if (strDescription.contains("Tu")) break;
+                    } else if (dow == DayOfWeek.WEDNESDAY) {
+                        if (strDescription.contains("We")) break;
+                    } else if (dow == DayOfWeek.THURSDAY) {
+                        if (strDescription.contains("Th")) break;
+                    } else if (dow == DayOfWeek.FRIDAY) {
+                        if (strDescription.contains("Fr")) break;
+                    } else if (dow == DayOfWeek.SATURDAY) {
+                        if (strDescription.contains("Sa")) break;
+                    }
+                }
+            } else if (recurrenceString.startsWith("M")) {
+                strDescription = recurrenceString.substring(intUnderscore1 + 1, intUnderscore2);
+                intTheInterval = Integer.parseInt(recurrenceString.substring(1, intUnderscore1));
+                futureDate = goForwardMonths(intTheInterval, strDescription);
+            } else {
+                strDescription = recurrenceString.substring(intUnderscore1 + 1, intUnderscore2);
+                futureDate = goForwardMonths(12, strDescription);
+            }
+
+            if (!recurrenceString.endsWith("_")) {
+                String strRecurEnd = recurrenceString.substring(intUnderscore2 + 1);
+                if (strRecurEnd.length() < 4) {
+                    int intAfter = Integer.parseInt(strRecurEnd);
+                    intAfter--;
+                    if (intAfter > 1) {
+                        recurrenceString = recurrenceString.substring(0, intUnderscore2 + 1);
+                        recurrenceString += String.valueOf(intAfter);
+                    } else {
+                        recurrenceString = "";
+                    }
+                } else {
+                    try {
+                        LocalDate d = LocalDate.parse(strRecurEnd, DateTimeFormatter.ofPattern("yyyyMMdd"));
+                        if (d.isBefore(futureDate)) return false;
+                    } catch (Exception ignored) {
+                    }
+                }
+            }
+            startDate = futureDate;
+            return true;
+        }
+
+        private LocalDate goForwardMonths(int months, String strMonthPattern) {
+            LocalDate futureDate;
+            String strWhichOne = "first";
+            DayOfWeek dow = startDate.getDayOfWeek();
+            LocalDate ldGood;
+            futureDate = startDate.plusMonths(months);
+            int intMonth = futureDate.getMonthValue() - 1;
+
+            if (!Character.isDigit(strMonthPattern.charAt(4))) {
+                if (strMonthPattern.toLowerCase().contains("weekend")) {
+                    LocalDate tmpFutureDate = futureDate.withDayOfMonth(1);
+                    if (RecurrencePanel.isWeekday(tmpFutureDate)) throw new NoAnswer();
+                    ldGood = tmpFutureDate;
+                    while (!strMonthPattern.toLowerCase().contains(strWhichOne)) {
+                        strWhichOne = switch (strWhichOne) {
+                            case "first" -> "second";
+                            case "second" -> "third";
+                            case "third" -> "fourth";
+                            default -> "keep going...";
+                        };
+                        tmpFutureDate = tmpFutureDate.plusDays(1);
+                        if (RecurrencePanel.isWeekday(tmpFutureDate)) throw new NoAnswer();
+                        if (futureDate.getMonthValue() - 1 != intMonth) {
+                            tmpFutureDate = ldGood;
+                            break;
+                        } else {
+                            if (!RecurrencePanel.isWeekday(tmpFutureDate)) ldGood = tmpFutureDate;
+                        }
+                    }
+                    futureDate = tmpFutureDate;
+                } else if (strMonthPattern.toLowerCase().contains("weekday")) {
+                    LocalDate tmpFutureDate = futureDate.withDayOfMonth(1);
+                    while (!RecurrencePanel.isWeekday(tmpFutureDate)) tmpFutureDate = tmpFutureDate.plusDays(1);
+                    ldGood = tmpFutureDate;
+                    while (!strMonthPattern.contains(strWhichOne)) {
+                        strWhichOne = switch (strWhichOne) {
+                            case "first" -> "second";
+                            case "second" -> "third";
+                            case "third" -> "fourth";
+                            default -> "keep going...";
+                        };
+                        tmpFutureDate = tmpFutureDate.plusDays(1);
+                        while (!RecurrencePanel.isWeekday(tmpFutureDate)) tmpFutureDate = tmpFutureDate.plusDays(1);
+                        if (tmpFutureDate.getMonthValue() - 1 != intMonth) {
+                            tmpFutureDate = ldGood;
+                            break;
+                        } else {
+                            if (RecurrencePanel.isWeekday(tmpFutureDate)) ldGood = tmpFutureDate;
+                        }
+                    }
+                    futureDate = tmpFutureDate;
+                } else if (strMonthPattern.toLowerCase().contains("last day")) {
+                    LocalDate tmpFutureDate = futureDate;
+                    while (true) {
+                        ldGood = tmpFutureDate;
+                        tmpFutureDate = tmpFutureDate.plusDays(1);
+                        if (tmpFutureDate.getMonthValue() - 1 != intMonth) {
+                            tmpFutureDate = ldGood;
+                            break;
+                        }
+                    }
+                    futureDate = tmpFutureDate;
+                } else {
+                    LocalDate tmpFutureDate = futureDate.withDayOfMonth(1);
+                    while (tmpFutureDate.getDayOfWeek() != dow) {
+                        tmpFutureDate = tmpFutureDate.plusDays(1);
+                    }
+                    while (!strMonthPattern.contains(strWhichOne)) {
+                        strWhichOne = switch (strWhichOne) {
+                            case "first" -> "second";
+                            case "second" -> "third";
+                            case "third" -> "fourth";
+                            default -> "keep going...";
+                        };
+                        ldGood = tmpFutureDate;
+                        tmpFutureDate = tmpFutureDate.plusWeeks(1);
+                        if (tmpFutureDate.getMonthValue() - 1 != intMonth) {
+                            tmpFutureDate = ldGood;
+                            break;
+                        }
+                    }
+                    futureDate = tmpFutureDate;
+                }
+            }
+            return futureDate;
+        }
+    } // end class LegacyRecurrence
+
+
+    private LocalDate makeDate() {
+        return LocalDate.of(1995, 1, 1).plusDays(random.nextInt(365 * 40));
+    }
+
+    // A recurrence setting of a kind that the RecurrencePanel could make; the descriptions are not always
+    //   ones that it would have offered for the Start date, but both calculations have to handle those too.
+    private String makeSetting(LocalDate theStartDate) {
+        String theDescription = switch (random.nextInt(5)) {
+            case 0 -> "the " + (1 + random.nextInt(31)) + "th";
+            case 1 -> "the " + ORDINALS[random.nextInt(5)] + " weekday";
+            case 2 -> "the " + ORDINALS[random.nextInt(5)] + " weekend day";
+            case 3 -> "the last day";
+            default -> "the " + ORDINALS[random.nextInt(5)] + " " + theStartDate.getDayOfWeek().toString().toLowerCase();
+        };
+        String theSetting = switch (random.nextInt(4)) {
+            case 0 -> "D" + (1 + random.nextInt(10)) + "_";
+            case 1 -> {
+                StringBuilder theDays = new StringBuilder();
+                while (theDays.length() == 0) {
+                    for (String theDay : DAYS) if (random.nextInt(3) == 0) theDays.append(theDay);
+                }
+                yield "W" + (1 + random.nextInt(4)) + "_" + theDays + "_";
+            }
+            case 2 -> "M" + (1 + random.nextInt(6)) + "_" + theDescription + "_";
+            default -> "Y_" + theDescription + " of " + theStartDate.getMonth() + "_";
+        };
+        return switch (random.nextInt(3)) {
+            case 0 -> theSetting + (2 + random.nextInt(30));
+            case 1 -> theSetting + theStartDate.plusDays(random.nextInt(3000)).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+            default -> theSetting;
+        };
+    }
+
+    private static EventNoteData makeEvent(LocalDate theStartDate, String theSetting, int theDays) {
+        EventNoteData eventNoteData = new EventNoteData();
+        eventNoteData.setStartDate(theStartDate);
+        if (theDays >= 0) eventNoteData.setEndDate(theStartDate.plusDays(theDays));
+        eventNoteData.setRecurrence(theSetting);
+        return eventNoteData;
+    }
+
+    // One goForward at a time; each one should come out the same as the old way, including the End date
+    //   moving along with the Start, the 'stop after' count going down, and stopping at the 'stop by' date.
+    @Test
+    void testGoForwardSameAsBefore() {
+        int theComparisons = 0;
+        for (int i = 0; i < 3000; i++) {
+            LocalDate theStartDate = makeDate();
+            String theSetting = makeSetting(theStartDate);
+            int theDays = random.nextInt(5) - 1;
+            EventNoteData eventNoteData = makeEvent(theStartDate, theSetting, theDays);
+            LegacyRecurrence legacyRecurrence = new LegacyRecurrence(theStartDate, theSetting);
+
+            for (int j = 0; j < 40; j++) {
+                boolean expected;
+                try {
+                    expected = legacyRecurrence.goForward();
+                } catch (NoAnswer noAnswer) {
+                    break;
+                }
+                String theCase = theSetting + " from " + theStartDate + ", step " + (j + 1);
+                Assertions.assertEquals(expected, eventNoteData.goForward(), theCase);
+                Assertions.assertEquals(legacyRecurrence.startDate, eventNoteData.getStartDate(), theCase);
+                Assertions.assertEquals(legacyRecurrence.recurrenceString, eventNoteData.getRecurrenceString(), theCase);
+                if (theDays >= 0) {
+                    Assertions.assertEquals(legacyRecurrence.startDate.plusDays(theDays), eventNoteData.getEndDate(), theCase);
+                }
+                theComparisons++;
+                if (!expected) break;
+            }
+        }
+        Assertions.assertTrue(theComparisons > 20000, "Only " + theComparisons); // Most of them got somewhere.
+    }
+
+    // Skipping ahead lands where going forward one at a time would have.
+    @Test
+    void testGoForwardToSameAsOneAtATime() {
+        int theComparisons = 0;
+        for (int i = 0; i < 3000; i++) {
+            LocalDate theStartDate = makeDate();
+            String theSetting = makeSetting(theStartDate);
+            LocalDate theTargetDate = theStartDate.plusDays(random.nextInt(2500) - 100);
+            EventNoteData eventNoteData = makeEvent(theStartDate, theSetting, -1);
+            LegacyRecurrence legacyRecurrence = new LegacyRecurrence(theStartDate, theSetting);
+
+            boolean expected = false;
+            try {
+                while (legacyRecurrence.startDate.isBefore(theTargetDate) && legacyRecurrence.goForward()) expected = true;
+            } catch (NoAnswer noAnswer) {
+                continue;
+            }
+            String theCase = theSetting + " from " + theStartDate + " to " + theTargetDate;
+            Assertions.assertEquals(expected, eventNoteData.goForwardTo(theTargetDate), theCase);
+            Assertions.assertEquals(legacyRecurrence.startDate, eventNoteData.getStartDate(), theCase);
+            Assertions.assertEquals(legacyRecurrence.recurrenceString, eventNoteData.getRecurrenceString(), theCase);
+            theComparisons++;
+        }
+        Assertions.assertTrue(theComparisons > 2000, "Only " + theComparisons);
+    }
+
+    // Where the old way never came back; these are the days that the descriptions call for.
+    @Test
+    void testWeekendDays() {
+        LocalDate theStartDate = LocalDate.of(2022, 10, 3); // November 2022 starts on a Tuesday.
+        Assertions.assertEquals(LocalDate.of(2022, 11, 5), RecurrenceRule.compile("M1_the first weekend day_").next(theStartDate));
+        Assertions.assertEquals(LocalDate.of(2022, 11, 13), RecurrenceRule.compile("M1_the fourth weekend day_").next(theStartDate));
+        Assertions.assertEquals(LocalDate.of(2022, 11, 27), RecurrenceRule.compile("M1_the last weekend day_").next(theStartDate));
+    }
+
+    // Settings that would never get anywhere have no rule, so the Event does not go forward.
+    @Test
+    void testNoRule() {
+        Assertions.assertNull(RecurrenceRule.compile(""));
+        Assertions.assertNull(RecurrenceRule.compile("W1__"));
+        Assertions.assertNull(RecurrenceRule.compile("D0_"));
+        Assertions.assertNull(RecurrenceRule.compile("Mx_the 5th_"));
+        Assertions.assertFalse(makeEvent(LocalDate.of(2020, 1, 1), "W2__", -1).goForward());
+    }
+
+    // An Event that was left alone for years is brought up to date in one go.
+    @Test
+    void testManyYearsAtOnce() {
+        EventNoteData eventNoteData = makeEvent(LocalDate.of(1900, 1, 1), "W1_MoWeFr_", 0);
+        long theSteps = 0; // Counted the long way.
+        for (LocalDate theDate = LocalDate.of(1900, 1, 2); !theDate.isAfter(LocalDate.of(2000, 3, 1)); theDate = theDate.plusDays(1)) {
+            if (theDate.getDayOfWeek().getValue() % 2 == 1 && theDate.getDayOfWeek() != DayOfWeek.SUNDAY) theSteps++;
+        }
+        RecurrenceRule theRule = RecurrenceRule.compile("W1_MoWeFr_");
+        Assertions.assertEquals(theSteps, theRule.getStepsUntil(LocalDate.of(1900, 1, 1), LocalDate.of(2000, 3, 1)));
+        Assertions.assertTrue(eventNoteData.goForwardTo(LocalDate.of(2000, 3, 1)));
+        Assertions.assertEquals(LocalDate.of(2000, 3, 1), eventNoteData.getStartDate());
+        Assertions.assertEquals(LocalDate.of(2000, 3, 1), eventNoteData.getEndDate());
+
+        eventNoteData = makeEvent(LocalDate.of(2000, 1, 1), "D7_5", -1);
+        Assertions.assertTrue(eventNoteData.goForwardTo(LocalDate.of(2020, 1, 1)));
+        Assertions.assertEquals(LocalDate.of(2000, 1, 29), eventNoteData.getStartDate()); // 4 more, then no more.
+        Assertions.assertEquals("", eventNoteData.getRecurrenceString());
+    }
+}
@@ -0,0 +1,66 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+
+class RetainedNotesTest {
+
+    @BeforeAll
+    static void meFirst() throws IOException {
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        try {
+            FileUtils.cleanDirectory(testData);
+        } catch (Exception e) {
+            System.out.println("ignored Exception: " + e.getMessage());
+        }
+
+        // Retrieve a fresh set of test data from test resources
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(RetainedNotesTest.class.getResource(fileName));
+        FileUtils.copyDirectory(testResource, testData);
+    }
+
+    private static int countNotes(LocalDate theDate) {
+        String dayName = CalendarNoteGroup.getGroupNameForDate(theDate, GroupType.DAY_NOTES);
+        return new GroupInfo(dayName, GroupType.DAY_NOTES).getNoteGroup().noteGroupDataVector.size();
+    }
+
+    private static DayNoteData makeNote(String theText) {
+        EventNoteData eventNoteData = new EventNoteData();
+        eventNoteData.setNoteString(theText);
+        return new DayNoteData(eventNoteData);
+    }
+
+    // Notes for the same day go into one save of that day; a day with no file yet gets one.
+    @Test
+    void testOneSavePerDay() {
+        LocalDate theOldDay = LocalDate.of(2020, 1, 31); // Already has notes.
+        LocalDate theNewDay = LocalDate.of(2031, 2, 3);
+        int theOldCount = countNotes(theOldDay);
+        Assertions.assertEquals(0, countNotes(theNewDay));
+
+        RetainedNotes retainedNotes = new RetainedNotes();
+        retainedNotes.add(theOldDay, makeNote("first"));
+        retainedNotes.add(theNewDay, makeNote("second"));
+        retainedNotes.add(theOldDay, makeNote("third"));
+        Assertions.assertEquals(3, retainedNotes.getNoteCount());
+        Assertions.assertEquals(2, retainedNotes.getDayCount());
+
+        Assertions.assertEquals(2, retainedNotes.saveAll());
+        Assertions.assertEquals(0, retainedNotes.getNoteCount());
+        Assertions.assertEquals(theOldCount + 2, countNotes(theOldDay));
+        Assertions.assertEquals(1, countNotes(theNewDay));
+
+        // There is nothing left to save.
+        Assertions.assertEquals(0, retainedNotes.saveAll());
+        Assertions.assertEquals(1, countNotes(theNewDay));
+    }
+}
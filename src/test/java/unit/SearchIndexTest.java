@@ -0,0 +1,148 @@
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class SearchIndexTest {
+    private static final List<File> allFiles = new ArrayList<>();
+
+    @BeforeAll
+    static void setup() throws IOException {
+        // Set the test user's data location
+        MemoryBank.userEmail = "test.user@lcware.net";
+        MemoryBank.dataAccessor = DataAccessor.getDataAccessor(DataAccessor.AccessType.FILE);
+
+        // Remove any pre-existing Test data
+        File testData = new File(FileDataAccessor.userDataHome);
+        FileUtils.cleanDirectory(testData);
+
+        // Retrieve a fresh set of test data from test resources.
+        String fileName = "jondo.nonamus@lcware.net";
+        File testResource = FileUtils.toFile(AppTreePanel.class.getResource(fileName));
+        assert testResource != null;
+        FileUtils.copyDirectory(testResource, testData);
+
+        for (File aFile : FileUtils.listFiles(testData, new String[]{"json"}, true)) {
+            if (aFile.getPath().contains("Archives")) continue;
+            allFiles.add(aFile);
+        }
+    }
+
+    // The files that the index leaves out must not have any note that the SearchPanel would find.
+    private void checkCandidates(SearchPanelSettings searchPanelSettings) {
+        SearchPanel searchPanel = new SearchPanel();
+        searchPanel.setTheSettings(searchPanelSettings);
+        List<File> theCandidates = SearchIndex.getCandidates(allFiles, searchPanel.getSearchPredicate(), new SearchMonitor());
+        for (File aFile : allFiles) {
+            if (theCandidates.contains(aFile)) continue;
+            BaseData.startLoading();
+            Object[] theGroupData = NoteGroupFile.loadFileData(aFile, null, AllNoteData.class);
+            BaseData.endLoading();
+            if (theGroupData == null || !(theGroupData[theGroupData.length - 1] instanceof Vector<?> theNotes)) continue;
+            for (Object theNote : theNotes) {
+                Assertions.assertFalse(searchPanel.foundIt((NoteData) theNote), aFile.getName());
+            }
+        }
+    }
+
+    @Test
+    void testCandidatesAreNarrowed() {
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "Birthday";
+        SearchPanel searchPanel = new SearchPanel();
+        searchPanel.setTheSettings(searchPanelSettings);
+        List<File> theCandidates = SearchIndex.getCandidates(allFiles, searchPanel.getSearchPredicate(), new SearchMonitor());
+        Assertions.assertTrue(theCandidates.size() < allFiles.size());
+        checkCandidates(searchPanelSettings);
+        Assertions.assertTrue(new File(FileDataAccessor.userDataHome + File.separatorChar
+                + CalendarYearIndex.indexDirectoryName + File.separatorChar + "search.json").exists());
+    }
+
+    @Test
+    void testKeywordCombinations() {
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "money";
+        searchPanelSettings.word2 = "car";
+        searchPanelSettings.or1 = true;
+        checkCandidates(searchPanelSettings);
+
+        searchPanelSettings.or1 = false;
+        searchPanelSettings.and1 = true;
+        searchPanelSettings.not2 = true;
+        checkCandidates(searchPanelSettings);
+
+        searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "graduate";
+        searchPanelSettings.word2 = "money";
+        searchPanelSettings.word3 = "meeting";
+        searchPanelSettings.or1 = true;
+        searchPanelSettings.and2 = true;
+        searchPanelSettings.paren1 = true;
+        checkCandidates(searchPanelSettings);
+    }
+
+    // A save that goes thru the NoteGroupFile is seen by the index right away.
+    @Test
+    void testSavedGroupIsFound() {
+        GroupInfo groupInfo = new GroupInfo("Indexed List", GroupType.TODO_LIST);
+        TodoNoteGroup todoNoteGroup = new TodoNoteGroup(groupInfo);
+        TodoNoteData todoNoteData = new TodoNoteData();
+        todoNoteData.setNoteString("Find the xylophone");
+        todoNoteGroup.appendNote(todoNoteData);
+
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "xylophone";
+        SearchPanel searchPanel = new SearchPanel();
+        searchPanel.setTheSettings(searchPanelSettings);
+        Assertions.assertTrue(SearchIndex.getCandidates(allFiles, searchPanel.getSearchPredicate(), new SearchMonitor()).isEmpty());
+
+        NoteGroupFile noteGroupFile = new NoteGroupFile(groupInfo);
+        noteGroupFile.saveNoteGroupData(todoNoteGroup.getTheData());
+        List<File> theFiles = new ArrayList<>(allFiles);
+        theFiles.add(new File(noteGroupFile.makeFullFilename(GroupType.TODO_LIST, "Indexed List")));
+        List<File> theCandidates = SearchIndex.getCandidates(theFiles, searchPanel.getSearchPredicate(), new SearchMonitor());
+        Assertions.assertEquals(1, theCandidates.size());
+    }
+
+    // While the files are being read for the index, it is not locked; a save can still get in with its change.
+    @Test
+    void testNotLockedWhileReading() throws InterruptedException {
+        File theFile = allFiles.get(0);
+        Assertions.assertTrue(theFile.setLastModified(theFile.lastModified() + 2000)); // So that it must be read again.
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch goOn = new CountDownLatch(1);
+        SearchMonitor searchMonitor = new SearchMonitor() {
+            @Override
+            boolean isStopped() {
+                reading.countDown();
+                try {
+                    goOn.await();
+                } catch (InterruptedException ignore) {
+                }
+                return false;
+            }
+        };
+        Thread theSearch = new Thread(() -> SearchIndex.getCandidates(allFiles,
+                new SearchPredicate(new SearchPanelSettings()), searchMonitor));
+        theSearch.start();
+        Assertions.assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        Thread theSave = new Thread(() -> SearchIndex.fileChanged(theFile, null));
+        theSave.start();
+        theSave.join(5000);
+        boolean saveGotIn = !theSave.isAlive();
+        goOn.countDown();
+        theSearch.join();
+        theSave.join();
+        Assertions.assertTrue(theFile.setLastModified(theFile.lastModified() + 2000)); // Its entry is not right now.
+        Assertions.assertTrue(saveGotIn);
+    }
+}
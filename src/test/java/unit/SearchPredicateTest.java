@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class SearchPredicateTest {
+
+    private static NoteData makeNote(String theNote, String theSubject, String theExtended) {
+        NoteData noteData = new NoteData();
+        noteData.setNoteString(theNote);
+        noteData.setSubjectString(theSubject);
+        noteData.setExtendedNoteString(theExtended);
+        return noteData;
+    }
+
+    // The keywords are matched against the note, subject and extended note as though they were joined
+    //   by single spaces, the same as the lower-cased copy that used to be made.
+    @Test
+    void testMatchesTheJoinedText() {
+        NoteData noteData = makeNote("Happy Birth", "day party", null);
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+
+        searchPanelSettings.word1 = "BIRTH DAY";
+        Assertions.assertTrue(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+        searchPanelSettings.word1 = "party null";
+        Assertions.assertTrue(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+        searchPanelSettings.word1 = "birthday";
+        Assertions.assertFalse(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+        searchPanelSettings.word1 = "null ";
+        Assertions.assertFalse(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+
+        // A keyword of only spaces is no keyword at all.
+        searchPanelSettings.word1 = "   ";
+        searchPanelSettings.not1 = true;
+        Assertions.assertTrue(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+    }
+
+    @Test
+    void testKeywordLogic() {
+        NoteData noteData = makeNote("Pay for the car", "Money", "Before the meeting");
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "car";
+        searchPanelSettings.word2 = "graduate";
+        searchPanelSettings.and1 = true;
+        Assertions.assertFalse(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+
+        searchPanelSettings.not2 = true;
+        Assertions.assertTrue(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+
+        // (car OR graduate) AND NOT money
+        searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "car";
+        searchPanelSettings.word2 = "graduate";
+        searchPanelSettings.word3 = "money";
+        searchPanelSettings.not3 = true;
+        searchPanelSettings.or1 = true;
+        searchPanelSettings.and2 = true;
+        searchPanelSettings.paren1 = true;
+        SearchPredicate searchPredicate = new SearchPredicate(searchPanelSettings);
+        Assertions.assertFalse(searchPredicate.foundIt(noteData));
+        Assertions.assertTrue(searchPredicate.foundIt(makeNote("Graduate", null, null)));
+        Assertions.assertTrue(searchPredicate.conditionsMet(false, true, true));
+        Assertions.assertFalse(searchPredicate.conditionsMet(false, false, true));
+    }
+
+    @Test
+    void testDateFilters() {
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.whenChoice = SearchPanel.BETWEEN;
+        searchPanelSettings.noteDateWhen1String = "2019-08-01";
+        searchPanelSettings.noteDateWhen2String = "2019-08-31";
+        searchPanelSettings.modChoice = SearchPanel.AFTER;
+        searchPanelSettings.dateLastMod1String = LocalDate.now().plusDays(1).toString();
+        SearchPredicate searchPredicate = new SearchPredicate(searchPanelSettings);
+
+        Assertions.assertFalse(searchPredicate.filterWhen(LocalDate.of(2019, 8, 20)));
+        Assertions.assertTrue(searchPredicate.filterWhen(LocalDate.of(2019, 9, 1)));
+        Assertions.assertFalse(searchPredicate.filterWhen(null));
+        Assertions.assertFalse(searchPredicate.foundIt(makeNote("Changed today", null, null)));
+    }
+
+    // A note with no Last Mod date is not found by any of the Last Mod settings.
+    @Test
+    void testNoLastMod() {
+        NoteData noteData = makeNote("Never saved", null, null);
+        noteData.zdtLastModString = null;
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.dateLastMod1String = "2019-08-01";
+        searchPanelSettings.dateLastMod2String = "2019-08-31";
+        for (int theChoice : new int[]{SearchPanel.AFTER, SearchPanel.BEFORE, SearchPanel.BETWEEN}) {
+            searchPanelSettings.modChoice = theChoice;
+            SearchPredicate searchPredicate = new SearchPredicate(searchPanelSettings);
+            Assertions.assertTrue(searchPredicate.filterLastMod((LocalDate) null));
+            Assertions.assertFalse(searchPredicate.foundIt(noteData));
+        }
+
+        // With no Last Mod setting, nothing is filtered out.
+        searchPanelSettings.modChoice = -1;
+        Assertions.assertFalse(new SearchPredicate(searchPanelSettings).filterLastMod((LocalDate) null));
+        Assertions.assertTrue(new SearchPredicate(searchPanelSettings).foundIt(noteData));
+    }
+
+    // Once made, the predicate does not need the SearchPanel or the EDT.
+    @Test
+    void testUsableFromAnyThread() {
+        SearchPanelSettings searchPanelSettings = new SearchPanelSettings();
+        searchPanelSettings.word1 = "even";
+        SearchPredicate searchPredicate = new SearchPredicate(searchPanelSettings);
+
+        List<NoteData> theNotes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) theNotes.add(makeNote("Note " + i, i % 2 == 0 ? "Even" : "Odd", null));
+        List<Boolean> oneAtATime = theNotes.stream().map(searchPredicate::foundIt).collect(Collectors.toList());
+        List<Boolean> inParallel = theNotes.parallelStream().map(searchPredicate::foundIt).collect(Collectors.toList());
+        Assertions.assertEquals(oneAtATime, inParallel);
+        Assertions.assertEquals(1000, oneAtATime.stream().filter(found -> found).count());
+    }
+}
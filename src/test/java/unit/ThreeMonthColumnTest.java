@@ -1,5 +1,7 @@
 import org.junit.jupiter.api.*;
 
+import javax.swing.*;
+import java.awt.*;
 import java.io.IOException;
 import java.time.LocalDate;
 
@@ -25,4 +27,34 @@ class ThreeMonthColumnTest {
         LocalDate theChoice = tmc.getChoice();
         Assertions.assertEquals(ld, theChoice);
     }
+
+    // The marked days are shown in blue, and are asked about again when the marks are shown again.
+    @Test
+    void testDayMarker() {
+        int[] theMarkedDay = {10};
+        tmc.setDayMarker(theDay -> theDay.getDayOfMonth() == theMarkedDay[0]);
+        ThreeMonthColumn.MonthCanvas theCanvas = (ThreeMonthColumn.MonthCanvas) ((Container) tmc.getComponent(0)).getComponent(1);
+        Assertions.assertEquals(Color.blue, getDayLabel(theCanvas, 10).getForeground());
+        Assertions.assertEquals(Color.black, getDayLabel(theCanvas, 11).getForeground());
+
+        theMarkedDay[0] = 11;
+        tmc.showMarks();
+        Assertions.assertEquals(Color.black, getDayLabel(theCanvas, 10).getForeground());
+        Assertions.assertEquals(Color.blue, getDayLabel(theCanvas, 11).getForeground());
+
+        // The highlight of a chosen day is not covered up by its mark, and the mark comes back after it.
+        tmc.setChoice(LocalDate.now().withDayOfMonth(11));
+        tmc.showMarks();
+        Assertions.assertEquals(Color.red, getDayLabel(theCanvas, 11).getForeground());
+        tmc.setChoice(null);
+        Assertions.assertEquals(Color.blue, getDayLabel(theCanvas, 11).getForeground());
+    }
+
+    private static JLabel getDayLabel(ThreeMonthColumn.MonthCanvas theCanvas, int theDay) {
+        for (Component theComponent : theCanvas.monthGridPanel.getComponents()) {
+            JLabel theLabel = (JLabel) theComponent;
+            if (theLabel.getText().equals(String.valueOf(theDay))) return theLabel;
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -34,6 +34,20 @@ class TodoNoteGroupPanelTest {
         NoteGroupPanel.optionPane = testUtil;
     }
 
+    // A panel only makes the NoteComponents that its page needs; any other is made when it is asked for.
+    @Test
+    void testComponentsAreMadeAsNeeded() {
+        TodoNoteGroupPanel theTodoPanel = new TodoNoteGroupPanel("Get New Job");
+        int theLastVisible = theTodoPanel.getLastVisibleNoteIndex();
+        Assertions.assertTrue(theLastVisible < theTodoPanel.pageSize - 1);
+        Assertions.assertEquals(theLastVisible, theTodoPanel.getHighestNoteComponentIndex());
+        Assertions.assertEquals(theLastVisible + 1, theTodoPanel.groupNotesListPanel.getComponentCount());
+
+        TodoNoteComponent theLastComponent = theTodoPanel.getNoteComponent(theTodoPanel.pageSize - 1);
+        Assertions.assertFalse(theLastComponent.initialized);
+        Assertions.assertEquals(theTodoPanel.pageSize - 1, theTodoPanel.getHighestNoteComponentIndex());
+    }
+
     @Test
     // This test looks at three code paths; one essentially a no-op, one
     // considered a user-fail, and finally the saveAs() method's happy path.